@@ -0,0 +1,69 @@
+-- message correlation keys --
+ALTER TABLE ACT_RU_EVENT_SUBSCR
+  ADD CORRELATION_KEY_ varchar(64);
+
+create index ACT_IDX_EVENT_SUBSCR_CORR_KEY ON ACT_RU_EVENT_SUBSCR(CORRELATION_KEY_);
+
+-- history removal time --
+ALTER TABLE ACT_HI_PROCINST
+  ADD REMOVAL_TIME_ timestamp;
+
+ALTER TABLE ACT_HI_ACTINST
+  ADD REMOVAL_TIME_ timestamp;
+
+ALTER TABLE ACT_HI_TASKINST
+  ADD REMOVAL_TIME_ timestamp;
+
+ALTER TABLE ACT_HI_DETAIL
+  ADD REMOVAL_TIME_ timestamp;
+
+ALTER TABLE ACT_HI_IDENTITYLINK
+  ADD REMOVAL_TIME_ timestamp;
+
+ALTER TABLE ACT_HI_VARINST
+  ADD REMOVAL_TIME_ timestamp;
+
+ALTER TABLE ACT_HI_INCIDENT
+  ADD REMOVAL_TIME_ timestamp;
+
+ALTER TABLE ACT_HI_JOB_LOG
+  ADD REMOVAL_TIME_ timestamp;
+
+ALTER TABLE ACT_HI_EXT_TASK_LOG
+  ADD REMOVAL_TIME_ timestamp;
+
+ALTER TABLE ACT_HI_ATTACHMENT
+  ADD REMOVAL_TIME_ timestamp;
+
+ALTER TABLE ACT_HI_COMMENT
+  ADD REMOVAL_TIME_ timestamp;
+
+create index ACT_IDX_HI_PRO_INST_RM_TIME ON ACT_HI_PROCINST(REMOVAL_TIME_);
+create index ACT_IDX_HI_ACT_INST_RM_TIME ON ACT_HI_ACTINST(REMOVAL_TIME_);
+create index ACT_IDX_HI_TASK_INST_RM_TIME ON ACT_HI_TASKINST(REMOVAL_TIME_);
+create index ACT_IDX_HI_DETAIL_RM_TIME ON ACT_HI_DETAIL(REMOVAL_TIME_);
+create index ACT_IDX_HI_IDENT_LINK_RM_TIME ON ACT_HI_IDENTITYLINK(REMOVAL_TIME_);
+create index ACT_IDX_HI_VAR_INST_RM_TIME ON ACT_HI_VARINST(REMOVAL_TIME_);
+create index ACT_IDX_HI_INCIDENT_RM_TIME ON ACT_HI_INCIDENT(REMOVAL_TIME_);
+create index ACT_IDX_HI_JOB_LOG_RM_TIME ON ACT_HI_JOB_LOG(REMOVAL_TIME_);
+create index ACT_IDX_HI_EXTTASKLOG_RM_TIME ON ACT_HI_EXT_TASK_LOG(REMOVAL_TIME_);
+create index ACT_IDX_HI_ATTACHMENT_RM_TIME ON ACT_HI_ATTACHMENT(REMOVAL_TIME_);
+create index ACT_IDX_HI_COMMENT_RM_TIME ON ACT_HI_COMMENT(REMOVAL_TIME_);
+
+-- metric rollups --
+ALTER TABLE ACT_RU_METER_LOG
+  ADD GRANULARITY_ integer;
+
+insert into ACT_GE_PROPERTY
+values ('metrics.rollup.lock', '0', 1);
+
+-- deployment content hashes --
+ALTER TABLE ACT_GE_BYTEARRAY
+  ADD HASH_ varchar(64);
+
+ALTER TABLE ACT_RE_DEPLOYMENT
+  ADD HASH_ varchar(64);
+
+-- job acquisition partitions --
+ALTER TABLE ACT_RU_JOB
+  ADD ACQ_PARTITION_ integer;
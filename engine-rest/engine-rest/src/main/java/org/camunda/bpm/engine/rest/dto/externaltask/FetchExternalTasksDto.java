@@ -24,6 +24,7 @@ public class FetchExternalTasksDto {
   protected String workerId;
   protected boolean usePriority = false;
   protected List<FetchExternalTaskTopicDto> topics;
+  protected Long asyncResponseTimeout;
 
   public int getMaxTasks() {
     return maxTasks;
@@ -52,6 +53,14 @@ public class FetchExternalTasksDto {
     this.usePriority = usePriority;
   }
 
+  public Long getAsyncResponseTimeout() {
+    return asyncResponseTimeout;
+  }
+
+  public void setAsyncResponseTimeout(Long asyncResponseTimeout) {
+    this.asyncResponseTimeout = asyncResponseTimeout;
+  }
+
   public static class FetchExternalTaskTopicDto {
     protected String topicName;
     protected long lockDuration;
@@ -30,6 +30,8 @@ import org.camunda.bpm.engine.externaltask.ExternalTaskQueryTopicBuilder;
 import org.camunda.bpm.engine.externaltask.LockedExternalTask;
 import org.camunda.bpm.engine.externaltask.UpdateExternalTaskRetriesBuilder;
 import org.camunda.bpm.engine.history.HistoricProcessInstanceQuery;
+import org.camunda.bpm.engine.impl.cfg.ProcessEngineConfigurationImpl;
+import org.camunda.bpm.engine.impl.externaltask.ExternalTaskNotifier;
 import org.camunda.bpm.engine.rest.ExternalTaskRestService;
 import org.camunda.bpm.engine.rest.dto.CountResultDto;
 import org.camunda.bpm.engine.rest.dto.batch.BatchDto;
@@ -55,6 +57,25 @@ import org.camunda.bpm.engine.runtime.ProcessInstanceQuery;
  */
 public class ExternalTaskRestServiceImpl extends AbstractRestProcessEngineAware implements ExternalTaskRestService {
 
+  /**
+   * the maximum time in milliseconds a fetch and lock request waits for external tasks (1 minute);
+   * waiting requests block a request thread, so the timeout is kept short
+   */
+  public static final long MAX_ASYNC_RESPONSE_TIMEOUT = 60000;
+
+  /**
+   * the maximum time in milliseconds a request waits for a notification before it queries
+   * again; this picks up external tasks committed by other nodes of a cluster
+   */
+  public static final long NOTIFICATION_WAIT_SLICE = 5000;
+
+  /**
+   * the time in milliseconds a request is delayed if it may not wait for notifications
+   * because too many requests are waiting already and no external task could be locked;
+   * this keeps clients from polling in a tight loop while the server is saturated
+   */
+  public static final long OVERLOADED_FETCH_DELAY = 1000;
+
   public ExternalTaskRestServiceImpl(String processEngine, ObjectMapper objectMapper) {
     super(processEngine, objectMapper);
   }
@@ -117,7 +138,97 @@ public class ExternalTaskRestServiceImpl extends AbstractRestProcessEngineAware
 
   @Override
   public List<LockedExternalTaskDto> fetchAndLock(FetchExternalTasksDto fetchingDto) {
-    ExternalTaskQueryBuilder fetchBuilder = processEngine
+    Long asyncResponseTimeout = fetchingDto.getAsyncResponseTimeout();
+
+    if (asyncResponseTimeout == null || asyncResponseTimeout <= 0) {
+      return LockedExternalTaskDto.fromLockedExternalTasks(executeFetchAndLock(fetchingDto));
+    }
+    else if (asyncResponseTimeout > MAX_ASYNC_RESPONSE_TIMEOUT) {
+      throw new InvalidRequestException(Status.BAD_REQUEST,
+          "The asynchronous response timeout cannot be set to a value greater than " + MAX_ASYNC_RESPONSE_TIMEOUT + " milliseconds");
+    }
+    else {
+      return LockedExternalTaskDto.fromLockedExternalTasks(awaitFetchAndLock(fetchingDto, asyncResponseTimeout));
+    }
+  }
+
+  /**
+   * Fetches and locks external tasks. If there are none, the request is parked on the
+   * engine's {@link ExternalTaskNotifier} until new external tasks are committed for
+   * one of the requested topics or the timeout expires. The request queries again at
+   * least every {@link #NOTIFICATION_WAIT_SLICE} milliseconds.
+   *
+   * <p>If too many requests are waiting already (see
+   * {@link ProcessEngineConfigurationImpl#getExternalTaskMaxWaitingFetchers()}), the request
+   * queries once. If that returns nothing, the response is delayed by at most
+   * {@link #OVERLOADED_FETCH_DELAY} milliseconds so that clients are slowed down
+   * instead of retrying immediately.</p>
+   */
+  protected List<LockedExternalTask> awaitFetchAndLock(FetchExternalTasksDto fetchingDto, long asyncResponseTimeout) {
+    ExternalTaskNotifier externalTaskNotifier = ((ProcessEngineConfigurationImpl) getProcessEngine().getProcessEngineConfiguration())
+      .getExternalTaskNotifier();
+
+    if (!externalTaskNotifier.tryAcquireWaitingSlot()) {
+      return delayFetchAndLock(fetchingDto, Math.min(asyncResponseTimeout, OVERLOADED_FETCH_DELAY));
+    }
+
+    try {
+      return awaitFetchAndLock(fetchingDto, asyncResponseTimeout, externalTaskNotifier);
+    }
+    finally {
+      externalTaskNotifier.releaseWaitingSlot();
+    }
+  }
+
+  protected List<LockedExternalTask> awaitFetchAndLock(FetchExternalTasksDto fetchingDto, long asyncResponseTimeout,
+      ExternalTaskNotifier externalTaskNotifier) {
+
+    List<String> topicNames = new ArrayList<String>();
+    if (fetchingDto.getTopics() != null) {
+      for (FetchExternalTaskTopicDto topicDto : fetchingDto.getTopics()) {
+        topicNames.add(topicDto.getTopicName());
+      }
+    }
+
+    long deadline = System.currentTimeMillis() + asyncResponseTimeout;
+
+    while (true) {
+      long notificationCount = externalTaskNotifier.getNotificationCount(topicNames);
+
+      List<LockedExternalTask> tasks = executeFetchAndLock(fetchingDto);
+      long remainingMillis = deadline - System.currentTimeMillis();
+
+      if (!tasks.isEmpty() || remainingMillis <= 0) {
+        return tasks;
+      }
+
+      try {
+        externalTaskNotifier.awaitNotification(topicNames, notificationCount, Math.min(remainingMillis, NOTIFICATION_WAIT_SLICE));
+      }
+      catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        return tasks;
+      }
+    }
+  }
+
+  protected List<LockedExternalTask> delayFetchAndLock(FetchExternalTasksDto fetchingDto, long delay) {
+    List<LockedExternalTask> tasks = executeFetchAndLock(fetchingDto);
+
+    if (tasks.isEmpty()) {
+      try {
+        Thread.sleep(delay);
+      }
+      catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      }
+    }
+
+    return tasks;
+  }
+
+  protected List<LockedExternalTask> executeFetchAndLock(FetchExternalTasksDto fetchingDto) {
+    ExternalTaskQueryBuilder fetchBuilder = getProcessEngine()
       .getExternalTaskService()
       .fetchAndLock(fetchingDto.getMaxTasks(), fetchingDto.getWorkerId(), fetchingDto.isUsePriority());
 
@@ -138,9 +249,7 @@ public class ExternalTaskRestServiceImpl extends AbstractRestProcessEngineAware
       }
     }
 
-    List<LockedExternalTask> tasks = fetchBuilder.execute();
-
-    return LockedExternalTaskDto.fromLockedExternalTasks(tasks);
+    return fetchBuilder.execute();
   }
 
   @Override
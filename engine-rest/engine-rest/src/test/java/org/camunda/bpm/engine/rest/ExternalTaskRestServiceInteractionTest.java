@@ -25,13 +25,16 @@ import static org.mockito.Matchers.anyLong;
 import static org.mockito.Matchers.anyMapOf;
 import static org.mockito.Matchers.argThat;
 import static org.mockito.Matchers.eq;
+import static org.mockito.Mockito.atLeastOnce;
 import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.inOrder;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoMoreInteractions;
 import static org.mockito.Mockito.when;
 
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.HashMap;
 import java.util.List;
@@ -56,15 +59,19 @@ import org.camunda.bpm.engine.impl.HistoricProcessInstanceQueryImpl;
 import org.camunda.bpm.engine.impl.HistoryServiceImpl;
 import org.camunda.bpm.engine.impl.ProcessInstanceQueryImpl;
 import org.camunda.bpm.engine.impl.RuntimeServiceImpl;
+import org.camunda.bpm.engine.impl.cfg.ProcessEngineConfigurationImpl;
+import org.camunda.bpm.engine.impl.externaltask.ExternalTaskNotifier;
 import org.camunda.bpm.engine.rest.dto.externaltask.ExternalTaskQueryDto;
 import org.camunda.bpm.engine.rest.dto.history.HistoricProcessInstanceQueryDto;
 import org.camunda.bpm.engine.rest.dto.runtime.ProcessInstanceQueryDto;
+import org.camunda.bpm.engine.rest.exception.InvalidRequestException;
 import org.camunda.bpm.engine.rest.exception.RestException;
 import org.camunda.bpm.engine.rest.helper.EqualsVariableMap;
 import org.camunda.bpm.engine.rest.helper.MockProvider;
 import org.camunda.bpm.engine.rest.helper.variable.EqualsObjectValue;
 import org.camunda.bpm.engine.rest.helper.variable.EqualsPrimitiveValue;
 import org.camunda.bpm.engine.rest.helper.variable.EqualsUntypedValue;
+import org.camunda.bpm.engine.rest.impl.ExternalTaskRestServiceImpl;
 import org.camunda.bpm.engine.rest.util.VariablesBuilder;
 import org.camunda.bpm.engine.rest.util.container.TestContainerRule;
 import org.camunda.bpm.engine.runtime.ProcessInstanceQuery;
@@ -74,6 +81,8 @@ import org.junit.ClassRule;
 import org.junit.Test;
 import org.mockito.ArgumentCaptor;
 import org.mockito.InOrder;
+import org.mockito.invocation.InvocationOnMock;
+import org.mockito.stubbing.Answer;
 
 import com.jayway.restassured.http.ContentType;
 
@@ -280,6 +289,139 @@ public class ExternalTaskRestServiceInteractionTest extends AbstractRestServiceT
     verifyNoMoreInteractions(fetchTopicBuilder, externalTaskService);
   }
 
+  @Test
+  public void testFetchAndLockWithAsyncResponseTimeoutExpires() {
+    // given
+    mockExternalTaskNotifier();
+    when(fetchTopicBuilder.execute()).thenReturn(new ArrayList<LockedExternalTask>());
+
+    Map<String, Object> parameters = createFetchAndLockParameters();
+    parameters.put("asyncResponseTimeout", 100L);
+
+    // when
+    given()
+      .contentType(POST_JSON_CONTENT_TYPE)
+      .body(parameters)
+      .header("accept", MediaType.APPLICATION_JSON)
+    .then()
+      .expect()
+      .statusCode(Status.OK.getStatusCode())
+      .body("size()", equalTo(0))
+    .when()
+      .post(FETCH_EXTERNAL_TASK_URL);
+
+    // then
+    verify(externalTaskService, atLeastOnce()).fetchAndLock(5, "aWorkerId", false);
+  }
+
+  @Test
+  public void testFetchAndLockWithAsyncResponseTimeoutReturnsNotifiedTasks() {
+    // given
+    final ExternalTaskNotifier externalTaskNotifier = mockExternalTaskNotifier();
+    when(fetchTopicBuilder.execute()).thenAnswer(new Answer<List<LockedExternalTask>>() {
+      public List<LockedExternalTask> answer(InvocationOnMock invocation) throws Throwable {
+        if (externalTaskNotifier.getNotificationCount(Arrays.asList("aTopicName")) == 0) {
+          externalTaskNotifier.externalTaskWasAdded("anotherTopicName");
+          externalTaskNotifier.externalTaskWasAdded("aTopicName");
+          return new ArrayList<LockedExternalTask>();
+        }
+        else {
+          return Arrays.asList(lockedExternalTaskMock);
+        }
+      }
+    });
+
+    Map<String, Object> parameters = createFetchAndLockParameters();
+    parameters.put("asyncResponseTimeout", 10000L);
+
+    // when
+    given()
+      .contentType(POST_JSON_CONTENT_TYPE)
+      .body(parameters)
+      .header("accept", MediaType.APPLICATION_JSON)
+    .then()
+      .expect()
+      .statusCode(Status.OK.getStatusCode())
+      .body("[0].id", equalTo(MockProvider.EXTERNAL_TASK_ID))
+    .when()
+      .post(FETCH_EXTERNAL_TASK_URL);
+
+    // then
+    verify(fetchTopicBuilder, times(2)).execute();
+  }
+
+  @Test
+  public void testFetchAndLockWithAsyncResponseTimeoutWithoutWaitingSlot() {
+    // given no request may wait
+    ExternalTaskNotifier externalTaskNotifier = mockExternalTaskNotifier();
+    externalTaskNotifier.setMaxWaitingFetchers(0);
+    when(fetchTopicBuilder.execute()).thenReturn(new ArrayList<LockedExternalTask>());
+
+    Map<String, Object> parameters = createFetchAndLockParameters();
+    parameters.put("asyncResponseTimeout", ExternalTaskRestServiceImpl.MAX_ASYNC_RESPONSE_TIMEOUT);
+
+    // when
+    long start = System.currentTimeMillis();
+    given()
+      .contentType(POST_JSON_CONTENT_TYPE)
+      .body(parameters)
+      .header("accept", MediaType.APPLICATION_JSON)
+    .then()
+      .expect()
+      .statusCode(Status.OK.getStatusCode())
+      .body("size()", equalTo(0))
+    .when()
+      .post(FETCH_EXTERNAL_TASK_URL);
+
+    // then the request returned after a single query and a bounded delay
+    long duration = System.currentTimeMillis() - start;
+    assertThat(duration).isGreaterThanOrEqualTo(ExternalTaskRestServiceImpl.OVERLOADED_FETCH_DELAY);
+    assertThat(duration).isLessThan(ExternalTaskRestServiceImpl.MAX_ASYNC_RESPONSE_TIMEOUT);
+    verify(fetchTopicBuilder, times(1)).execute();
+  }
+
+  @Test
+  public void testFetchAndLockWithAsyncResponseTimeoutExceedingMaximum() {
+    Map<String, Object> parameters = createFetchAndLockParameters();
+    parameters.put("asyncResponseTimeout", ExternalTaskRestServiceImpl.MAX_ASYNC_RESPONSE_TIMEOUT + 1);
+
+    given()
+      .contentType(POST_JSON_CONTENT_TYPE)
+      .body(parameters)
+      .header("accept", MediaType.APPLICATION_JSON)
+    .then()
+      .expect()
+      .statusCode(Status.BAD_REQUEST.getStatusCode())
+      .body("type", equalTo(InvalidRequestException.class.getSimpleName()))
+    .when()
+      .post(FETCH_EXTERNAL_TASK_URL);
+
+    verifyNoMoreInteractions(externalTaskService);
+  }
+
+  protected ExternalTaskNotifier mockExternalTaskNotifier() {
+    ExternalTaskNotifier externalTaskNotifier = new ExternalTaskNotifier();
+
+    ProcessEngineConfigurationImpl processEngineConfiguration = mock(ProcessEngineConfigurationImpl.class);
+    when(processEngineConfiguration.getExternalTaskNotifier()).thenReturn(externalTaskNotifier);
+    when(processEngine.getProcessEngineConfiguration()).thenReturn(processEngineConfiguration);
+
+    return externalTaskNotifier;
+  }
+
+  protected Map<String, Object> createFetchAndLockParameters() {
+    Map<String, Object> parameters = new HashMap<String, Object>();
+    parameters.put("maxTasks", 5);
+    parameters.put("workerId", "aWorkerId");
+
+    Map<String, Object> topicParameter = new HashMap<String, Object>();
+    topicParameter.put("topicName", "aTopicName");
+    topicParameter.put("lockDuration", 12354L);
+    parameters.put("topics", Arrays.asList(topicParameter));
+
+    return parameters;
+  }
+
   @Test
   public void testComplete() {
     Map<String, String> parameters = new HashMap<String, String>();
@@ -197,11 +197,19 @@ public interface HistoryService {
   Job cleanUpHistoryAsync(boolean immediatelyDue);
 
   /**
-   * Finds history cleanup job if present.
+   * Finds history cleanup job if present. If several history cleanup jobs exist
+   * (see {@link #findHistoryCleanupJobs()}), one of them is returned.
    * @return job entity
    */
   Job findHistoryCleanupJob();
 
+  /**
+   * Finds all history cleanup jobs. The number of jobs is determined by the configured
+   * degree of parallelism of the history cleanup.
+   * @return job entities
+   */
+  List<Job> findHistoryCleanupJobs();
+
   /**
    * Deletes historic process instances asynchronously. All historic activities, historic task and
    * historic details (variable updates, form properties) are deleted as well.
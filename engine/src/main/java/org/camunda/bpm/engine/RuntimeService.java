@@ -12,6 +12,7 @@
  */
 package org.camunda.bpm.engine;
 
+import java.io.InputStream;
 import java.util.Collection;
 import java.util.List;
 import java.util.Map;
@@ -26,6 +27,7 @@ import org.camunda.bpm.engine.migration.MigrationPlanExecutionBuilder;
 import org.camunda.bpm.engine.repository.Deployment;
 import org.camunda.bpm.engine.repository.ProcessDefinition;
 import org.camunda.bpm.engine.runtime.ActivityInstance;
+import org.camunda.bpm.engine.runtime.BulkMessageCorrelationBuilder;
 import org.camunda.bpm.engine.runtime.EventSubscriptionQuery;
 import org.camunda.bpm.engine.runtime.Execution;
 import org.camunda.bpm.engine.runtime.ExecutionQuery;
@@ -1221,6 +1223,29 @@ public interface RuntimeService {
    */
   <T extends TypedValue> T getVariableLocalTyped(String executionId, String variableName, boolean deserializeValue);
 
+  /**
+   * Returns the binary content of a variable as a stream.
+   * This applies to byte array and file variables as well as to object variables in their serialized form.
+   * The content is copied into a temporary file which is deleted when the stream is closed,
+   * so callers must close the returned stream. The copy is made before the method returns,
+   * within the transaction of the call. On most databases the content is read from the database
+   * as a stream. On PostgreSQL, the JDBC driver reads the complete content into memory while copying.
+   * Searching for the variable is done in all scopes that are visible to the given execution
+   * (including parent scopes).
+   *
+   * @param executionId id of process instance or execution, cannot be null.
+   * @param variableName name of variable, cannot be null.
+   *
+   * @return the binary content or null if the variable is undefined or its value is not stored as binary content.
+   *
+   * @throws ProcessEngineException
+   *          when no execution is found for the given executionId.
+   * @throws AuthorizationException
+   *          if the user has no {@link Permissions#READ} permission on {@link Resources#PROCESS_INSTANCE}
+   *          or no {@link Permissions#READ_INSTANCE} permission on {@link Resources#PROCESS_DEFINITION}.
+   */
+  InputStream getVariableBinaryStream(String executionId, String variableName);
+
   /**
    * Update or create a variable for an execution.  If the variable does not already exist
    * somewhere in the execution hierarchy (i.e. the specified execution or any ancestor),
@@ -1705,6 +1730,14 @@ public interface RuntimeService {
    */
   MessageCorrelationBuilder createMessageCorrelation(String messageName);
 
+  /**
+   * Define the correlation of many messages in a single command using a fluent builder.
+   * Use this to correlate high volumes of incoming messages.
+   *
+   * @return the fluent builder for adding the message correlations.
+   */
+  BulkMessageCorrelationBuilder createBulkMessageCorrelation();
+
   /**
    * Correlates a message to either an execution that is waiting for this message or a process definition
    * that can be started by this message.
@@ -91,6 +91,16 @@ public interface HistoricVariableInstanceQuery extends Query<HistoricVariableIns
    */
   HistoricVariableInstanceQuery disableBinaryFetching();
 
+  /**
+   * Disable fetching of all values which are stored as byte arrays. In addition to
+   * {@link #disableBinaryFetching()}, this applies to object values in their serialized
+   * form, so that the query does not read any blob data at all. The variables and their
+   * types are nonetheless included in the query result.
+   *
+   * @return the query builder
+   */
+  HistoricVariableInstanceQuery disableByteArrayValueFetching();
+
   /**
    * Disable deserialization of variable values that are custom objects. By default, the query
    * will attempt to deserialize the value of these variables. By calling this method you can
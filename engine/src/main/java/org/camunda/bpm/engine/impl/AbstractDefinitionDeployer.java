@@ -19,6 +19,7 @@ import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.Callable;
 
 import org.camunda.bpm.engine.ProcessEngineException;
 import org.camunda.bpm.engine.impl.cfg.IdGenerator;
@@ -28,6 +29,7 @@ import org.camunda.bpm.engine.impl.context.Context;
 import org.camunda.bpm.engine.impl.core.model.Properties;
 import org.camunda.bpm.engine.impl.interceptor.CommandContext;
 import org.camunda.bpm.engine.impl.persistence.deploy.Deployer;
+import org.camunda.bpm.engine.impl.persistence.deploy.DeploymentParseExecutor;
 import org.camunda.bpm.engine.impl.persistence.deploy.cache.DeploymentCache;
 import org.camunda.bpm.engine.impl.persistence.entity.DeploymentEntity;
 import org.camunda.bpm.engine.impl.persistence.entity.ResourceEntity;
@@ -63,14 +65,39 @@ public abstract class AbstractDefinitionDeployer<DefinitionEntity extends Resour
     postProcessDefinitions(deployment, definitions, properties);
   }
 
-  protected List<DefinitionEntity> parseDefinitionResources(DeploymentEntity deployment, Properties properties) {
-    List<DefinitionEntity> definitions = new ArrayList<DefinitionEntity>();
+  protected List<DefinitionEntity> parseDefinitionResources(final DeploymentEntity deployment, final Properties properties) {
+    List<ResourceEntity> resources = new ArrayList<ResourceEntity>();
     for (ResourceEntity resource : deployment.getResources().values()) {
       LOG.debugProcessingResource(resource.getName());
       if (isResourceHandled(resource)) {
+        resources.add(resource);
+      }
+    }
+
+    List<DefinitionEntity> definitions = new ArrayList<DefinitionEntity>();
+
+    DeploymentParseExecutor parseExecutor = getProcessEngineConfiguration().getDeploymentParseExecutor();
+    if (parseExecutor != null && resources.size() > 1) {
+      // the resources are independent of each other and can be transformed in parallel
+      List<Callable<Collection<DefinitionEntity>>> transformations = new ArrayList<Callable<Collection<DefinitionEntity>>>();
+      for (final ResourceEntity resource : resources) {
+        transformations.add(new Callable<Collection<DefinitionEntity>>() {
+          public Collection<DefinitionEntity> call() throws Exception {
+            return transformResource(deployment, resource, properties);
+          }
+        });
+      }
+
+      for (Collection<DefinitionEntity> resourceDefinitions : parseExecutor.invokeAll(transformations)) {
+        definitions.addAll(resourceDefinitions);
+      }
+    }
+    else {
+      for (ResourceEntity resource : resources) {
         definitions.addAll(transformResource(deployment, resource, properties));
       }
     }
+
     return definitions;
   }
 
@@ -109,7 +136,10 @@ public abstract class AbstractDefinitionDeployer<DefinitionEntity extends Resour
 
 
   /**
-   * Transform the resource entity into definition entities.
+   * Transform the resource entity into definition entities. If a
+   * {@link DeploymentParseExecutor} is configured, this method is called
+   * concurrently for the resources of a deployment and must not access the
+   * command context.
    *
    * @param deployment the deployment the resources belongs to
    * @param resource the resource to transform
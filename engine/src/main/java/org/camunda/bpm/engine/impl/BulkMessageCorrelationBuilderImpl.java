@@ -0,0 +1,68 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl;
+
+import static org.camunda.bpm.engine.impl.util.EnsureUtil.ensureNotNull;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import org.camunda.bpm.engine.impl.cmd.CorrelateMessagesInBulkCmd;
+import org.camunda.bpm.engine.impl.interceptor.CommandExecutor;
+import org.camunda.bpm.engine.runtime.BulkMessageCorrelationBuilder;
+import org.camunda.bpm.engine.runtime.BulkMessageCorrelationResult;
+import org.camunda.bpm.engine.runtime.MessageCorrelationBuilder;
+
+public class BulkMessageCorrelationBuilderImpl implements BulkMessageCorrelationBuilder {
+
+  protected CommandExecutor commandExecutor;
+
+  protected List<MessageCorrelationBuilderImpl> messageCorrelations = new ArrayList<MessageCorrelationBuilderImpl>();
+
+  public BulkMessageCorrelationBuilderImpl(CommandExecutor commandExecutor) {
+    ensureNotNull("commandExecutor", commandExecutor);
+    this.commandExecutor = commandExecutor;
+  }
+
+  public BulkMessageCorrelationBuilder add(MessageCorrelationBuilder messageCorrelation) {
+    ensureNotNull("messageCorrelation", messageCorrelation);
+
+    MessageCorrelationBuilderImpl messageCorrelationImpl = (MessageCorrelationBuilderImpl) messageCorrelation;
+    messageCorrelationImpl.ensureProcessDefinitionIdNotSet();
+    messageCorrelationImpl.ensureProcessInstanceAndTenantIdNotSet();
+
+    messageCorrelations.add(messageCorrelationImpl);
+    return this;
+  }
+
+  public BulkMessageCorrelationBuilder add(String messageName, String businessKey, Map<String, Object> variables) {
+    MessageCorrelationBuilder messageCorrelation = new MessageCorrelationBuilderImpl(commandExecutor, messageName)
+      .processInstanceBusinessKey(businessKey);
+
+    if (variables != null) {
+      messageCorrelation.setVariables(variables);
+    }
+
+    return add(messageCorrelation);
+  }
+
+  public List<BulkMessageCorrelationResult> correlate() {
+    return commandExecutor.execute(new CorrelateMessagesInBulkCmd(this));
+  }
+
+  public List<MessageCorrelationBuilderImpl> getMessageCorrelations() {
+    return messageCorrelations;
+  }
+
+}
@@ -121,6 +121,9 @@ public abstract class GroupQueryImpl extends AbstractQuery<GroupQuery, Group> im
   public String getUserId() {
     return userId;
   }
+  public String getProcDefId() {
+    return procDefId;
+  }
   public String getTenantId() {
     return tenantId;
   }
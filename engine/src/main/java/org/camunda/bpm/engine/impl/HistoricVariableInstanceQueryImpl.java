@@ -56,6 +56,7 @@ public class HistoricVariableInstanceQueryImpl extends AbstractQuery<HistoricVar
   protected boolean includeDeleted = false;
 
   protected boolean isByteArrayFetchingEnabled = true;
+  protected boolean isByteArrayValueFetchingEnabled = true;
   protected boolean isCustomObjectDeserializationEnabled = true;
 
   public HistoricVariableInstanceQueryImpl() {
@@ -166,6 +167,11 @@ public class HistoricVariableInstanceQueryImpl extends AbstractQuery<HistoricVar
     return this;
   }
 
+  public HistoricVariableInstanceQuery disableByteArrayValueFetching() {
+    this.isByteArrayValueFetchingEnabled = false;
+    return this;
+  }
+
   public HistoricVariableInstanceQuery disableCustomObjectDeserialization() {
     this.isCustomObjectDeserializationEnabled = false;
     return this;
@@ -210,6 +216,10 @@ public class HistoricVariableInstanceQueryImpl extends AbstractQuery<HistoricVar
   }
 
   protected boolean shouldFetchValue(HistoricVariableInstanceEntity entity) {
+    if (!isByteArrayValueFetchingEnabled && entity.getByteArrayValueId() != null) {
+      return false;
+    }
+
     // do not fetch values for byte arrays eagerly (unless requested by the user)
     return isByteArrayFetchingEnabled
         || !AbstractTypedValueSerializer.BINARY_VALUE_TYPES.contains(entity.getSerializer().getType().getName());
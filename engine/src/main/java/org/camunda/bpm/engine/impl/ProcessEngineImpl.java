@@ -32,10 +32,12 @@ import org.camunda.bpm.engine.impl.cfg.ProcessEngineConfigurationImpl;
 import org.camunda.bpm.engine.impl.cfg.TransactionContextFactory;
 import org.camunda.bpm.engine.impl.el.ExpressionManager;
 import org.camunda.bpm.engine.impl.history.HistoryLevel;
+import org.camunda.bpm.engine.impl.history.buffer.HistoryEventBuffer;
 import org.camunda.bpm.engine.impl.interceptor.CommandExecutor;
 import org.camunda.bpm.engine.impl.interceptor.SessionFactory;
 import org.camunda.bpm.engine.impl.jobexecutor.JobExecutor;
 import org.camunda.bpm.engine.impl.metrics.reporter.DbMetricsReporter;
+import org.camunda.bpm.engine.impl.persistence.deploy.cache.DeploymentCacheWarmUp;
 
 /**
  * @author Tom Baeyens
@@ -97,6 +99,11 @@ public class ProcessEngineImpl implements ProcessEngine {
 
     executeSchemaOperations();
 
+    HistoryEventBuffer historyEventBuffer = processEngineConfiguration.getHistoryEventBuffer();
+    if (historyEventBuffer != null) {
+      historyEventBuffer.start();
+    }
+
     if (name == null) {
       LOG.processEngineCreated(ProcessEngines.NAME_DEFAULT);
     } else {
@@ -105,6 +112,10 @@ public class ProcessEngineImpl implements ProcessEngine {
 
     ProcessEngines.registerProcessEngine(this);
 
+    if (processEngineConfiguration.isDeploymentCacheWarmUpEnabled()) {
+      new DeploymentCacheWarmUp(processEngineConfiguration).warmUp();
+    }
+
     if ((jobExecutor != null)) {
       // register process engine with Job Executor
       jobExecutor.registerProcessEngine(this);
@@ -146,6 +157,12 @@ public class ProcessEngineImpl implements ProcessEngine {
       jobExecutor.unregisterProcessEngine(this);
     }
 
+    HistoryEventBuffer historyEventBuffer = processEngineConfiguration.getHistoryEventBuffer();
+    if (historyEventBuffer != null) {
+      // write the remaining events before the schema may be dropped
+      historyEventBuffer.stop();
+    }
+
     commandExecutorSchemaOperations.execute(new SchemaOperationProcessEngineClose());
 
     processEngineConfiguration.close();
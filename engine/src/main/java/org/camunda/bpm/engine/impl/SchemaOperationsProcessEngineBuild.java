@@ -54,6 +54,9 @@ public final class SchemaOperationsProcessEngineBuild implements SchemaOperation
 
     checkDeploymentLockExists(commandContext);
     checkHistoryCleanupLockExists(commandContext);
+    if (Context.getProcessEngineConfiguration().isMetricsRollupEnabled()) {
+      checkMetricsRollupLockExists(commandContext);
+    }
 
     //create history cleanup job
     if (Context.getProcessEngineConfiguration().getManagementService().getTableMetaData("ACT_RU_JOB") != null) {
@@ -77,4 +80,11 @@ public final class SchemaOperationsProcessEngineBuild implements SchemaOperation
     }
   }
 
+  public void checkMetricsRollupLockExists(CommandContext commandContext) {
+    PropertyEntity metricsRollupLockProperty = commandContext.getPropertyManager().findPropertyById("metrics.rollup.lock");
+    if (metricsRollupLockProperty == null) {
+      LOG.noMetricsRollupLockPropertyFound();
+    }
+  }
+
 }
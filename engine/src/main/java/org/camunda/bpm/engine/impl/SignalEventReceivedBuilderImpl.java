@@ -17,7 +17,9 @@ import static org.camunda.bpm.engine.impl.util.EnsureUtil.ensureNotNull;
 
 import java.util.Map;
 
+import org.camunda.bpm.engine.batch.Batch;
 import org.camunda.bpm.engine.impl.cmd.CommandLogger;
+import org.camunda.bpm.engine.impl.cmd.SignalEventReceivedBatchCmd;
 import org.camunda.bpm.engine.impl.cmd.SignalEventReceivedCmd;
 import org.camunda.bpm.engine.impl.interceptor.CommandExecutor;
 import org.camunda.bpm.engine.runtime.SignalEventReceivedBuilder;
@@ -91,6 +93,15 @@ public class SignalEventReceivedBuilderImpl implements SignalEventReceivedBuilde
     commandExecutor.execute(command);
   }
 
+  @Override
+  public Batch sendAsync() {
+    if (executionId != null) {
+      throw LOG.exceptionDeliverSignalAsyncToSingleExecution();
+    }
+
+    return commandExecutor.execute(new SignalEventReceivedBatchCmd(this));
+  }
+
   public String getSignalName() {
     return signalName;
   }
@@ -49,6 +49,7 @@ public class VariableInstanceQueryImpl extends AbstractVariableQueryImpl<Variabl
   protected String[] tenantIds;
 
   protected boolean isByteArrayFetchingEnabled = true;
+  protected boolean isByteArrayValueFetchingEnabled = true;
   protected boolean isCustomObjectDeserializationEnabled = true;
 
   public VariableInstanceQueryImpl() { }
@@ -118,6 +119,11 @@ public class VariableInstanceQueryImpl extends AbstractVariableQueryImpl<Variabl
     return this;
   }
 
+  public VariableInstanceQuery disableByteArrayValueFetching() {
+    this.isByteArrayValueFetchingEnabled = false;
+    return this;
+  }
+
   public VariableInstanceQuery disableCustomObjectDeserialization() {
     this.isCustomObjectDeserializationEnabled = false;
     return this;
@@ -199,6 +205,10 @@ public class VariableInstanceQueryImpl extends AbstractVariableQueryImpl<Variabl
   }
 
   protected boolean shouldFetchValue(VariableInstanceEntity entity) {
+    if (!isByteArrayValueFetchingEnabled && entity.getByteArrayValueId() != null) {
+      return false;
+    }
+
     // do not fetch values for byte arrays eagerly (unless requested by the user)
     return isByteArrayFetchingEnabled
         || !AbstractTypedValueSerializer.BINARY_VALUE_TYPES.contains(entity.getSerializer().getType().getName());
@@ -13,6 +13,8 @@
 
 package org.camunda.bpm.engine.impl.batch;
 
+import static org.camunda.bpm.engine.impl.util.EnsureUtil.ensureNotNull;
+
 import org.camunda.bpm.engine.impl.context.Context;
 import org.camunda.bpm.engine.impl.interceptor.CommandContext;
 import org.camunda.bpm.engine.impl.jobexecutor.JobDeclaration;
@@ -23,13 +25,16 @@ import org.camunda.bpm.engine.impl.persistence.entity.JobEntity;
 import org.camunda.bpm.engine.impl.persistence.entity.JobManager;
 import org.camunda.bpm.engine.impl.persistence.entity.MessageEntity;
 import org.camunda.bpm.engine.impl.util.IoUtil;
+import org.camunda.bpm.engine.impl.util.JsonUtil;
 import org.camunda.bpm.engine.impl.util.StringUtil;
+import org.camunda.bpm.engine.impl.util.json.JSONArray;
 import org.camunda.bpm.engine.impl.util.json.JSONObject;
 import org.camunda.bpm.engine.impl.util.json.JSONTokener;
 
 import java.io.ByteArrayOutputStream;
 import java.io.Reader;
 import java.io.Writer;
+import java.util.ArrayList;
 import java.util.List;
 
 /**
@@ -39,6 +44,10 @@ import java.util.List;
  */
 public abstract class AbstractBatchJobHandler<T extends BatchConfiguration> implements BatchJobHandler<T> {
 
+  public static final String ID_CHUNKS = "idChunks";
+  public static final String NEXT_ID_CHUNK = "nextIdChunk";
+  public static final String ID_CHUNK_BYTE_ARRAY_NAME = "batch-id-chunk";
+
   public abstract JobDeclaration<BatchJobContext, MessageEntity> getJobDeclaration();
 
   @Override
@@ -48,6 +57,7 @@ public abstract class AbstractBatchJobHandler<T extends BatchConfiguration> impl
     JobManager jobManager = commandContext.getJobManager();
 
     T configuration = readConfiguration(batch.getConfigurationBytes());
+    prepareIdsForSeedJob(batch, configuration);
 
     int batchJobsPerSeed = batch.getBatchJobsPerSeed();
     int invocationsPerBatchJob = batch.getInvocationsPerBatchJob();
@@ -80,7 +90,90 @@ public abstract class AbstractBatchJobHandler<T extends BatchConfiguration> impl
     // update batch configuration
     batch.setConfigurationBytes(writeConfiguration(configuration));
 
-    return ids.isEmpty();
+    return ids.isEmpty() && !configuration.hasRemainingIdChunks();
+  }
+
+  /**
+   * Bounds the number of ids a seed job has to read and write. The first seed job moves
+   * all ids exceeding the id chunk size into separate byte arrays, and whenever the ids
+   * of the configuration are processed, the next chunk is moved back into the configuration.
+   */
+  protected void prepareIdsForSeedJob(BatchEntity batch, T configuration) {
+    int idChunkSize = getIdChunkSize(batch);
+
+    if (configuration.getIds().isEmpty() && configuration.hasRemainingIdChunks()) {
+      loadNextIdChunk(batch, configuration);
+    }
+    else if (configuration.getIds().size() > idChunkSize && configuration.getIdChunks() == 0) {
+      splitIdsIntoChunks(batch, configuration, idChunkSize);
+    }
+  }
+
+  protected int getIdChunkSize(BatchEntity batch) {
+    int idsPerSeedJob = batch.getBatchJobsPerSeed() * batch.getInvocationsPerBatchJob();
+    int idChunkSize = Context.getProcessEngineConfiguration().getBatchIdChunkSize();
+    return Math.max(idChunkSize, idsPerSeedJob);
+  }
+
+  protected void splitIdsIntoChunks(BatchEntity batch, T configuration, int idChunkSize) {
+    ByteArrayManager byteArrayManager = Context.getCommandContext().getByteArrayManager();
+    List<String> ids = configuration.getIds();
+
+    int idChunks = 0;
+    for (int fromIndex = idChunkSize; fromIndex < ids.size(); fromIndex += idChunkSize) {
+      List<String> idsForChunk = ids.subList(fromIndex, Math.min(fromIndex + idChunkSize, ids.size()));
+
+      ByteArrayEntity idChunk = new ByteArrayEntity(ID_CHUNK_BYTE_ARRAY_NAME, writeIds(idsForChunk));
+      idChunk.setId(getIdChunkId(batch, idChunks));
+      byteArrayManager.insert(idChunk);
+
+      idChunks++;
+    }
+
+    configuration.setIds(new ArrayList<String>(ids.subList(0, idChunkSize)));
+    configuration.setIdChunks(idChunks);
+    configuration.setNextIdChunk(0);
+  }
+
+  protected void loadNextIdChunk(BatchEntity batch, T configuration) {
+    CommandContext commandContext = Context.getCommandContext();
+
+    String idChunkId = getIdChunkId(batch, configuration.getNextIdChunk());
+    ByteArrayEntity idChunk = commandContext.getDbEntityManager().selectById(ByteArrayEntity.class, idChunkId);
+    ensureNotNull("Id chunk '" + idChunkId + "' of batch '" + batch.getId() + "' cannot be found", "idChunk", idChunk);
+
+    configuration.setIds(readIds(idChunk.getBytes()));
+    configuration.setNextIdChunk(configuration.getNextIdChunk() + 1);
+
+    commandContext.getByteArrayManager().delete(idChunk);
+  }
+
+  protected void deleteIdChunks(BatchEntity batch) {
+    T configuration = readConfiguration(batch.getConfigurationBytes());
+
+    ByteArrayManager byteArrayManager = Context.getCommandContext().getByteArrayManager();
+    for (int i = configuration.getNextIdChunk(); i < configuration.getIdChunks(); i++) {
+      byteArrayManager.deleteByteArrayById(getIdChunkId(batch, i));
+    }
+  }
+
+  protected String getIdChunkId(BatchEntity batch, int idChunk) {
+    return batch.getId() + "-ids-" + idChunk;
+  }
+
+  protected byte[] writeIds(List<String> ids) {
+    return StringUtil.toByteArray(new JSONArray(ids).toString());
+  }
+
+  protected List<String> readIds(byte[] serializedIds) {
+    Reader jsonReader = StringUtil.readerFromBytes(serializedIds);
+    List<Object> objects = JsonUtil.jsonArrayAsList(new JSONArray(new JSONTokener(jsonReader)));
+
+    List<String> ids = new ArrayList<String>();
+    for (Object object : objects) {
+      ids.add((String) object);
+    }
+    return ids;
   }
 
   protected abstract T createJobConfiguration(T configuration, List<String> processIdsForJob);
@@ -104,6 +197,8 @@ public abstract class AbstractBatchJobHandler<T extends BatchConfiguration> impl
     for (JobEntity job : jobs) {
       job.delete();
     }
+
+    deleteIdChunks(batch);
   }
 
   @Override
@@ -131,6 +226,11 @@ public abstract class AbstractBatchJobHandler<T extends BatchConfiguration> impl
   public byte[] writeConfiguration(T configuration) {
     JSONObject jsonObject = getJsonConverterInstance().toJsonObject(configuration);
 
+    if (configuration.getIdChunks() > 0) {
+      JsonUtil.addField(jsonObject, ID_CHUNKS, configuration.getIdChunks());
+      JsonUtil.addField(jsonObject, NEXT_ID_CHUNK, configuration.getNextIdChunk());
+    }
+
     ByteArrayOutputStream outStream = new ByteArrayOutputStream();
     Writer writer = StringUtil.writerForStream(outStream);
 
@@ -143,7 +243,13 @@ public abstract class AbstractBatchJobHandler<T extends BatchConfiguration> impl
   @Override
   public T readConfiguration(byte[] serializedConfiguration) {
     Reader jsonReader = StringUtil.readerFromBytes(serializedConfiguration);
-    return getJsonConverterInstance().toObject(new JSONObject(new JSONTokener(jsonReader)));
+    JSONObject jsonObject = new JSONObject(new JSONTokener(jsonReader));
+
+    T configuration = getJsonConverterInstance().toObject(jsonObject);
+    configuration.setIdChunks(jsonObject.optInt(ID_CHUNKS));
+    configuration.setNextIdChunk(jsonObject.optInt(NEXT_ID_CHUNK));
+
+    return configuration;
   }
 
   protected abstract JsonObjectConverter<T> getJsonConverterInstance();
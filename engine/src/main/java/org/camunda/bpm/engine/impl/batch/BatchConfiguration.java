@@ -20,6 +20,13 @@ public class BatchConfiguration {
 
   protected List<String> ids;
 
+  /**
+   * Number of chunks of ids which are stored in separate byte arrays
+   * because the batch contains too many ids to rewrite them on every seed job run.
+   */
+  protected int idChunks;
+  protected int nextIdChunk;
+
   public BatchConfiguration(List<String> ids) {
     this.ids = ids;
   }
@@ -32,4 +39,24 @@ public class BatchConfiguration {
     this.ids = ids;
   }
 
+  public int getIdChunks() {
+    return idChunks;
+  }
+
+  public void setIdChunks(int idChunks) {
+    this.idChunks = idChunks;
+  }
+
+  public int getNextIdChunk() {
+    return nextIdChunk;
+  }
+
+  public void setNextIdChunk(int nextIdChunk) {
+    this.nextIdChunk = nextIdChunk;
+  }
+
+  public boolean hasRemainingIdChunks() {
+    return nextIdChunk < idChunks;
+  }
+
 }
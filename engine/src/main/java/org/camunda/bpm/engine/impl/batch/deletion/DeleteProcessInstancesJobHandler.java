@@ -86,6 +86,7 @@ public class DeleteProcessInstancesJobHandler extends AbstractBatchJobHandler<De
   @Override
   public boolean createJobs(BatchEntity batch) {
     DeleteProcessInstanceBatchConfiguration configuration = readConfiguration(batch.getConfigurationBytes());
+    prepareIdsForSeedJob(batch, configuration);
 
     List<String> ids = configuration.getIds();
     final CommandContext commandContext = Context.getCommandContext();
@@ -125,7 +126,7 @@ public class DeleteProcessInstancesJobHandler extends AbstractBatchJobHandler<De
       createJobEntities(batch, configuration, null, processIds, invocationsPerBatchJob);
     }
 
-    return ids.isEmpty();
+    return ids.isEmpty() && !configuration.hasRemainingIdChunks();
   }
 
   protected void createJobEntities(BatchEntity batch, DeleteProcessInstanceBatchConfiguration configuration, String deploymentId,
@@ -0,0 +1,37 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.batch.signal;
+
+import java.util.List;
+import java.util.Map;
+
+import org.camunda.bpm.engine.impl.batch.BatchConfiguration;
+
+/**
+ * Configuration of an asynchronous signal broadcast. The ids are the ids
+ * of the signal event subscriptions the signal is delivered to.
+ */
+public class SignalEventReceivedBatchConfiguration extends BatchConfiguration {
+
+  protected final Map<String, Object> variables;
+
+  public SignalEventReceivedBatchConfiguration(List<String> ids, Map<String, Object> variables) {
+    super(ids);
+    this.variables = variables;
+  }
+
+  public Map<String, Object> getVariables() {
+    return variables;
+  }
+
+}
@@ -0,0 +1,161 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.batch.signal;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+import org.camunda.bpm.engine.impl.json.JsonObjectConverter;
+import org.camunda.bpm.engine.impl.util.JsonUtil;
+import org.camunda.bpm.engine.impl.util.json.JSONObject;
+
+/**
+ * Serializes the configuration of an asynchronous signal broadcast. The variables
+ * are written together with their type, such that only variables of primitive
+ * types are supported, see {@link #isSupportedVariableValue(Object)}.
+ */
+public class SignalEventReceivedBatchConfigurationJsonConverter extends JsonObjectConverter<SignalEventReceivedBatchConfiguration> {
+
+  public static final SignalEventReceivedBatchConfigurationJsonConverter INSTANCE = new SignalEventReceivedBatchConfigurationJsonConverter();
+
+  public static final String EVENT_SUBSCRIPTION_IDS = "eventSubscriptionIds";
+  public static final String VARIABLES = "variables";
+  public static final String VARIABLE_TYPE = "type";
+  public static final String VARIABLE_VALUE = "value";
+
+  public JSONObject toJsonObject(SignalEventReceivedBatchConfiguration configuration) {
+    JSONObject json = new JSONObject();
+
+    JsonUtil.addListField(json, EVENT_SUBSCRIPTION_IDS, configuration.getIds());
+
+    Map<String, Object> variables = configuration.getVariables();
+    if (variables != null && !variables.isEmpty()) {
+      JSONObject variablesJson = new JSONObject();
+      for (Map.Entry<String, Object> variable : variables.entrySet()) {
+        variablesJson.put(variable.getKey(), writeVariableValue(variable.getValue()));
+      }
+      json.put(VARIABLES, variablesJson);
+    }
+
+    return json;
+  }
+
+  public SignalEventReceivedBatchConfiguration toObject(JSONObject json) {
+    Map<String, Object> variables = null;
+
+    JSONObject variablesJson = json.optJSONObject(VARIABLES);
+    if (variablesJson != null) {
+      variables = new HashMap<String, Object>();
+      Iterator<?> names = variablesJson.keys();
+      while (names.hasNext()) {
+        String name = (String) names.next();
+        variables.put(name, readVariableValue(variablesJson.getJSONObject(name)));
+      }
+    }
+
+    return new SignalEventReceivedBatchConfiguration(readEventSubscriptionIds(json), variables);
+  }
+
+  protected List<String> readEventSubscriptionIds(JSONObject jsonObject) {
+    List<Object> objects = JsonUtil.jsonArrayAsList(jsonObject.getJSONArray(EVENT_SUBSCRIPTION_IDS));
+    List<String> eventSubscriptionIds = new ArrayList<String>();
+    for (Object object : objects) {
+      eventSubscriptionIds.add((String) object);
+    }
+    return eventSubscriptionIds;
+  }
+
+  public static boolean isSupportedVariableValue(Object value) {
+    return value == null
+        || value instanceof String
+        || value instanceof Boolean
+        || value instanceof Integer
+        || value instanceof Long
+        || value instanceof Short
+        || value instanceof Double
+        || value instanceof Date;
+  }
+
+  protected JSONObject writeVariableValue(Object value) {
+    JSONObject json = new JSONObject();
+
+    if (value == null) {
+      json.put(VARIABLE_TYPE, "null");
+    }
+    else if (value instanceof Date) {
+      json.put(VARIABLE_TYPE, "date");
+      json.put(VARIABLE_VALUE, ((Date) value).getTime());
+    }
+    else {
+      json.put(VARIABLE_TYPE, getVariableType(value));
+      json.put(VARIABLE_VALUE, value);
+    }
+
+    return json;
+  }
+
+  protected String getVariableType(Object value) {
+    if (value instanceof String) {
+      return "string";
+    }
+    else if (value instanceof Boolean) {
+      return "boolean";
+    }
+    else if (value instanceof Integer) {
+      return "integer";
+    }
+    else if (value instanceof Long) {
+      return "long";
+    }
+    else if (value instanceof Short) {
+      return "short";
+    }
+    else {
+      return "double";
+    }
+  }
+
+  protected Object readVariableValue(JSONObject json) {
+    String type = json.getString(VARIABLE_TYPE);
+
+    if ("string".equals(type)) {
+      return json.getString(VARIABLE_VALUE);
+    }
+    else if ("boolean".equals(type)) {
+      return json.getBoolean(VARIABLE_VALUE);
+    }
+    else if ("integer".equals(type)) {
+      return json.getInt(VARIABLE_VALUE);
+    }
+    else if ("long".equals(type)) {
+      return json.getLong(VARIABLE_VALUE);
+    }
+    else if ("short".equals(type)) {
+      return (short) json.getInt(VARIABLE_VALUE);
+    }
+    else if ("double".equals(type)) {
+      return json.getDouble(VARIABLE_VALUE);
+    }
+    else if ("date".equals(type)) {
+      return new Date(json.getLong(VARIABLE_VALUE));
+    }
+    else {
+      return null;
+    }
+  }
+
+}
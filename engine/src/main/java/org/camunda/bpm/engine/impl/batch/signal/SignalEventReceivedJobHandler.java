@@ -0,0 +1,105 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.batch.signal;
+
+import java.util.List;
+
+import org.camunda.bpm.engine.batch.Batch;
+import org.camunda.bpm.engine.impl.batch.AbstractBatchJobHandler;
+import org.camunda.bpm.engine.impl.batch.BatchJobConfiguration;
+import org.camunda.bpm.engine.impl.batch.BatchJobContext;
+import org.camunda.bpm.engine.impl.batch.BatchJobDeclaration;
+import org.camunda.bpm.engine.impl.event.EventType;
+import org.camunda.bpm.engine.impl.interceptor.CommandContext;
+import org.camunda.bpm.engine.impl.jobexecutor.JobDeclaration;
+import org.camunda.bpm.engine.impl.persistence.entity.ByteArrayEntity;
+import org.camunda.bpm.engine.impl.persistence.entity.EventSubscriptionEntity;
+import org.camunda.bpm.engine.impl.persistence.entity.EventSubscriptionManager;
+import org.camunda.bpm.engine.impl.persistence.entity.ExecutionEntity;
+import org.camunda.bpm.engine.impl.persistence.entity.MessageEntity;
+import org.camunda.bpm.engine.impl.persistence.entity.ProcessDefinitionEntity;
+import org.camunda.bpm.engine.impl.pvm.PvmProcessInstance;
+import org.camunda.bpm.engine.impl.pvm.process.ActivityImpl;
+
+/**
+ * Delivers a signal to the event subscriptions of a batch job. Subscriptions which were
+ * removed or whose execution was suspended since the batch was created are skipped.
+ */
+public class SignalEventReceivedJobHandler extends AbstractBatchJobHandler<SignalEventReceivedBatchConfiguration> {
+
+  public static final BatchJobDeclaration JOB_DECLARATION = new BatchJobDeclaration(Batch.TYPE_SIGNAL_EVENT_RECEIVED);
+
+  @Override
+  public String getType() {
+    return Batch.TYPE_SIGNAL_EVENT_RECEIVED;
+  }
+
+  protected SignalEventReceivedBatchConfigurationJsonConverter getJsonConverterInstance() {
+    return SignalEventReceivedBatchConfigurationJsonConverter.INSTANCE;
+  }
+
+  @Override
+  public JobDeclaration<BatchJobContext, MessageEntity> getJobDeclaration() {
+    return JOB_DECLARATION;
+  }
+
+  @Override
+  protected SignalEventReceivedBatchConfiguration createJobConfiguration(SignalEventReceivedBatchConfiguration configuration, List<String> eventSubscriptionIdsForJob) {
+    return new SignalEventReceivedBatchConfiguration(eventSubscriptionIdsForJob, configuration.getVariables());
+  }
+
+  @Override
+  public void execute(BatchJobConfiguration configuration, ExecutionEntity execution, CommandContext commandContext, String tenantId) {
+    ByteArrayEntity configurationEntity = commandContext
+        .getDbEntityManager()
+        .selectById(ByteArrayEntity.class, configuration.getConfigurationByteArrayId());
+
+    SignalEventReceivedBatchConfiguration batchConfiguration = readConfiguration(configurationEntity.getBytes());
+
+    EventSubscriptionManager eventSubscriptionManager = commandContext.getEventSubscriptionManager();
+    for (String eventSubscriptionId : batchConfiguration.getIds()) {
+      EventSubscriptionEntity eventSubscription = eventSubscriptionManager.findEventSubscriptionById(eventSubscriptionId);
+
+      if (eventSubscription != null && eventSubscription.isSubscriptionForEventType(EventType.SIGNAL)) {
+        if (eventSubscription.getExecutionId() != null) {
+          notifyExecution(eventSubscription, batchConfiguration);
+        }
+        else {
+          startProcessInstance(commandContext, eventSubscription, batchConfiguration);
+        }
+      }
+    }
+
+    commandContext.getByteArrayManager().delete(configurationEntity);
+  }
+
+  protected void notifyExecution(EventSubscriptionEntity eventSubscription, SignalEventReceivedBatchConfiguration batchConfiguration) {
+    ExecutionEntity execution = eventSubscription.getExecution();
+    if (!execution.isEnded() && !execution.isCanceled() && !execution.isSuspended()) {
+      eventSubscription.eventReceived(batchConfiguration.getVariables(), false);
+    }
+  }
+
+  protected void startProcessInstance(CommandContext commandContext, EventSubscriptionEntity eventSubscription, SignalEventReceivedBatchConfiguration batchConfiguration) {
+    ProcessDefinitionEntity processDefinition = commandContext.getProcessEngineConfiguration()
+        .getDeploymentCache()
+        .findDeployedProcessDefinitionById(eventSubscription.getConfiguration());
+
+    if (processDefinition != null && !processDefinition.isSuspended()) {
+      ActivityImpl signalStartEvent = processDefinition.findActivity(eventSubscription.getActivityId());
+      PvmProcessInstance processInstance = processDefinition.createProcessInstanceForInitial(signalStartEvent);
+      processInstance.start(batchConfiguration.getVariables());
+    }
+  }
+
+}
@@ -13,12 +13,15 @@
 package org.camunda.bpm.engine.impl.bpmn.deployer;
 
 import java.io.ByteArrayInputStream;
+import java.io.IOException;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
 
+import org.camunda.bpm.engine.ProcessEngine;
 import org.camunda.bpm.engine.delegate.Expression;
 import org.camunda.bpm.engine.impl.AbstractDefinitionDeployer;
 import org.camunda.bpm.engine.impl.ProcessEngineLogger;
@@ -27,6 +30,7 @@ import org.camunda.bpm.engine.impl.bpmn.parser.BpmnParse;
 import org.camunda.bpm.engine.impl.bpmn.parser.BpmnParseLogger;
 import org.camunda.bpm.engine.impl.bpmn.parser.BpmnParser;
 import org.camunda.bpm.engine.impl.bpmn.parser.EventSubscriptionDeclaration;
+import org.camunda.bpm.engine.impl.cfg.TransactionState;
 import org.camunda.bpm.engine.impl.cmd.DeleteJobsCmd;
 import org.camunda.bpm.engine.impl.context.Context;
 import org.camunda.bpm.engine.impl.core.model.Properties;
@@ -39,6 +43,7 @@ import org.camunda.bpm.engine.impl.jobexecutor.TimerDeclarationImpl;
 import org.camunda.bpm.engine.impl.jobexecutor.TimerStartEventJobHandler;
 import org.camunda.bpm.engine.impl.persistence.deploy.Deployer;
 import org.camunda.bpm.engine.impl.persistence.deploy.cache.DeploymentCache;
+import org.camunda.bpm.engine.impl.persistence.entity.ByteArrayEntity;
 import org.camunda.bpm.engine.impl.persistence.entity.DeploymentEntity;
 import org.camunda.bpm.engine.impl.persistence.entity.EventSubscriptionEntity;
 import org.camunda.bpm.engine.impl.persistence.entity.EventSubscriptionManager;
@@ -51,6 +56,9 @@ import org.camunda.bpm.engine.impl.persistence.entity.ProcessDefinitionEntity;
 import org.camunda.bpm.engine.impl.persistence.entity.ProcessDefinitionManager;
 import org.camunda.bpm.engine.impl.persistence.entity.ResourceEntity;
 import org.camunda.bpm.engine.impl.pvm.runtime.LegacyBehavior;
+import org.camunda.bpm.engine.impl.util.ResourceHashUtil;
+import org.camunda.bpm.engine.impl.util.xml.Element;
+import org.camunda.bpm.engine.impl.util.xml.ElementSnapshot;
 import org.camunda.bpm.engine.management.JobDefinition;
 import org.camunda.bpm.engine.repository.ProcessDefinition;
 import org.camunda.bpm.engine.task.IdentityLinkType;
@@ -73,6 +81,17 @@ public class BpmnDeployer extends AbstractDefinitionDeployer<ProcessDefinitionEn
   protected static final PropertyMapKey<String, List<JobDeclaration<?, ?>>> JOB_DECLARATIONS_PROPERTY =
       new PropertyMapKey<String, List<JobDeclaration<?, ?>>>("JOB_DECLARATIONS_PROPERTY");
 
+  /** prefix of the name of the byte arrays holding parse snapshots, followed by the resource hash */
+  public static final String PARSE_SNAPSHOT_NAME_PREFIX = "bpmn-parse-snapshot:";
+
+  /** the snapshots found for the resources of the deployment, by resource name */
+  protected static final PropertyMapKey<String, Element> PARSE_SNAPSHOTS_PROPERTY =
+      new PropertyMapKey<String, Element>("PARSE_SNAPSHOTS_PROPERTY");
+
+  /** the element trees of the resources which were parsed without snapshot, by resource name */
+  protected static final PropertyMapKey<String, Element> PARSED_ELEMENTS_PROPERTY =
+      new PropertyMapKey<String, Element>("PARSED_ELEMENTS_PROPERTY");
+
   protected ExpressionManager expressionManager;
   protected BpmnParser bpmnParser;
 
@@ -83,8 +102,33 @@ public class BpmnDeployer extends AbstractDefinitionDeployer<ProcessDefinitionEn
     return BPMN_RESOURCE_SUFFIXES;
   }
 
+  @Override
+  protected List<ProcessDefinitionEntity> parseDefinitionResources(DeploymentEntity deployment, Properties properties) {
+    if (!getProcessEngineConfiguration().isBpmnParseSnapshotsEnabled()) {
+      return super.parseDefinitionResources(deployment, properties);
+    }
+
+    // the snapshots are read and written in the deploying thread, since the
+    // resources may be transformed in parallel without access to the command context
+    properties.set(PARSE_SNAPSHOTS_PROPERTY, findParseSnapshots(deployment));
+    properties.set(PARSED_ELEMENTS_PROPERTY, Collections.synchronizedMap(new HashMap<String, Element>()));
+
+    List<ProcessDefinitionEntity> definitions = super.parseDefinitionResources(deployment, properties);
+
+    storeParseSnapshots(deployment, properties.get(PARSED_ELEMENTS_PROPERTY));
+
+    return definitions;
+  }
+
   @Override
   protected List<ProcessDefinitionEntity> transformDefinitions(DeploymentEntity deployment, ResourceEntity resource, Properties properties) {
+    Element parseSnapshot;
+    Map<String, Element> parsedElements;
+    synchronized (properties) {
+      parseSnapshot = properties.get(PARSE_SNAPSHOTS_PROPERTY).get(resource.getName());
+      parsedElements = properties.contains(PARSED_ELEMENTS_PROPERTY) ? properties.get(PARSED_ELEMENTS_PROPERTY) : null;
+    }
+
     byte[] bytes = resource.getBytes();
     ByteArrayInputStream inputStream = new ByteArrayInputStream(bytes);
 
@@ -98,16 +142,98 @@ public class BpmnDeployer extends AbstractDefinitionDeployer<ProcessDefinitionEn
       bpmnParse.setSchemaResource(null);
     }
 
+    if (parseSnapshot != null) {
+      // the resource was validated when the snapshot was created
+      bpmnParse.rootElement(parseSnapshot);
+    }
+
     bpmnParse.execute();
 
-    if (!properties.contains(JOB_DECLARATIONS_PROPERTY)) {
-      properties.set(JOB_DECLARATIONS_PROPERTY, new HashMap<String, List<JobDeclaration<?, ?>>>());
+    if (parseSnapshot == null && parsedElements != null) {
+      parsedElements.put(resource.getName(), bpmnParse.getRootElement());
+    }
+
+    // the resources of a deployment may be parsed in parallel
+    synchronized (properties) {
+      if (!properties.contains(JOB_DECLARATIONS_PROPERTY)) {
+        properties.set(JOB_DECLARATIONS_PROPERTY, new HashMap<String, List<JobDeclaration<?, ?>>>());
+      }
+      properties.get(JOB_DECLARATIONS_PROPERTY).putAll(bpmnParse.getJobDeclarations());
     }
-    properties.get(JOB_DECLARATIONS_PROPERTY).putAll(bpmnParse.getJobDeclarations());
 
     return bpmnParse.getProcessDefinitions();
   }
 
+  protected Map<String, Element> findParseSnapshots(DeploymentEntity deployment) {
+    Map<String, Element> parseSnapshots = new HashMap<String, Element>();
+
+    for (ResourceEntity resource : deployment.getResources().values()) {
+      if (isResourceHandled(resource)) {
+        String snapshotId = getParseSnapshotId(getResourceHash(resource), deployment.isValidatingSchema());
+        ByteArrayEntity snapshot = getDbEntityManager().selectById(ByteArrayEntity.class, snapshotId);
+
+        if (snapshot != null) {
+          try {
+            parseSnapshots.put(resource.getName(), ElementSnapshot.read(snapshot.getBytes()));
+          }
+          catch (IOException e) {
+            LOG.couldNotReadParseSnapshot(resource.getName(), e);
+          }
+        }
+      }
+    }
+
+    return parseSnapshots;
+  }
+
+  protected void storeParseSnapshots(DeploymentEntity deployment, Map<String, Element> parsedElements) {
+    List<ByteArrayEntity> snapshots = new ArrayList<ByteArrayEntity>();
+
+    for (Map.Entry<String, Element> parsedElement : parsedElements.entrySet()) {
+      String resourceHash = getResourceHash(deployment.getResource(parsedElement.getKey()));
+      try {
+        ByteArrayEntity snapshot = new ByteArrayEntity(PARSE_SNAPSHOT_NAME_PREFIX + resourceHash, ElementSnapshot.write(parsedElement.getValue()));
+        snapshot.setId(getParseSnapshotId(resourceHash, deployment.isValidatingSchema()));
+        snapshots.add(snapshot);
+      }
+      catch (IOException e) {
+        LOG.couldNotStoreParseSnapshot(parsedElement.getKey(), e);
+      }
+    }
+
+    if (!snapshots.isEmpty()) {
+      StoreParseSnapshotsListener listener = new StoreParseSnapshotsListener(snapshots,
+          getProcessEngineConfiguration().getCommandExecutorTxRequiresNew());
+      getCommandContext().getTransactionContext().addTransactionListener(TransactionState.COMMITTED, listener);
+    }
+  }
+
+  protected String getResourceHash(ResourceEntity resource) {
+    String resourceHash = resource.getHash();
+    if (resourceHash == null) {
+      // the resource was deployed before hashes were stored
+      resourceHash = ResourceHashUtil.hash(resource.getBytes());
+    }
+    return resourceHash;
+  }
+
+  /**
+   * The id of a parse snapshot depends on the content of the resource, the format of the
+   * snapshot and the engine version, since the parser may change between versions. Snapshots
+   * of validated and unvalidated resources are kept apart, since they are parsed differently.
+   */
+  public static String getParseSnapshotId(String resourceHash, boolean validatingSchema) {
+    return ResourceHashUtil.hash(resourceHash
+        + ":" + getEngineVersion()
+        + ":" + ElementSnapshot.FORMAT_VERSION
+        + ":" + validatingSchema);
+  }
+
+  protected static String getEngineVersion() {
+    Package enginePackage = ProcessEngine.class.getPackage();
+    return enginePackage != null ? enginePackage.getImplementationVersion() : null;
+  }
+
   @Override
   protected ProcessDefinitionEntity findDefinitionByDeploymentAndKey(String deploymentId, String definitionKey) {
     return getProcessDefinitionManager().findProcessDefinitionByDeploymentAndKey(deploymentId, definitionKey);
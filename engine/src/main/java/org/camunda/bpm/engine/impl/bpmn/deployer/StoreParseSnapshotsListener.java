@@ -0,0 +1,58 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.bpmn.deployer;
+
+import java.util.List;
+
+import org.camunda.bpm.engine.impl.ProcessEngineLogger;
+import org.camunda.bpm.engine.impl.bpmn.parser.BpmnParseLogger;
+import org.camunda.bpm.engine.impl.cfg.TransactionListener;
+import org.camunda.bpm.engine.impl.interceptor.Command;
+import org.camunda.bpm.engine.impl.interceptor.CommandContext;
+import org.camunda.bpm.engine.impl.interceptor.CommandExecutor;
+import org.camunda.bpm.engine.impl.persistence.entity.ByteArrayEntity;
+
+/**
+ * Stores parse snapshots after the transaction which parsed the resources is
+ * committed. Every snapshot is inserted in a separate transaction, since another
+ * process engine may have stored the same snapshot in the meantime.
+ */
+public class StoreParseSnapshotsListener implements TransactionListener {
+
+  protected static final BpmnParseLogger LOG = ProcessEngineLogger.BPMN_PARSE_LOGGER;
+
+  protected CommandExecutor commandExecutor;
+  protected List<ByteArrayEntity> snapshots;
+
+  public StoreParseSnapshotsListener(List<ByteArrayEntity> snapshots, CommandExecutor commandExecutor) {
+    this.snapshots = snapshots;
+    this.commandExecutor = commandExecutor;
+  }
+
+  public void execute(CommandContext commandContext) {
+    for (final ByteArrayEntity snapshot : snapshots) {
+      try {
+        commandExecutor.execute(new Command<Void>() {
+          public Void execute(CommandContext commandContext) {
+            commandContext.getDbEntityManager().insert(snapshot);
+            return null;
+          }
+        });
+      }
+      catch (RuntimeException e) {
+        LOG.couldNotStoreParseSnapshot(snapshot.getName(), e);
+      }
+    }
+  }
+
+}
@@ -26,6 +26,7 @@ import org.camunda.bpm.engine.impl.bpmn.listener.ClassDelegateExecutionListener;
 import org.camunda.bpm.engine.impl.bpmn.listener.DelegateExpressionExecutionListener;
 import org.camunda.bpm.engine.impl.bpmn.listener.ExpressionExecutionListener;
 import org.camunda.bpm.engine.impl.bpmn.listener.ScriptExecutionListener;
+import org.camunda.bpm.engine.impl.cfg.ProcessEngineConfigurationImpl;
 import org.camunda.bpm.engine.impl.context.Context;
 import org.camunda.bpm.engine.impl.core.model.*;
 import org.camunda.bpm.engine.impl.core.model.BaseCallableElement.CallableElementBinding;
@@ -1129,7 +1130,19 @@ public class BpmnParse extends Parse {
     if (messageDefinition == null) {
       addError("Invalid 'messageRef': no message with id '" + messageRef + "' found.", messageEventDefinition);
     }
-    return new EventSubscriptionDeclaration(messageDefinition.getExpression(), EventType.MESSAGE);
+    EventSubscriptionDeclaration declaration = new EventSubscriptionDeclaration(messageDefinition.getExpression(), EventType.MESSAGE);
+
+    String correlationKeys = messageEventDefinition.attributeNS(CAMUNDA_BPMN_EXTENSIONS_NS, "correlationKeys");
+    if (correlationKeys != null) {
+      declaration.setCorrelationKeys(parseCommaSeparatedList(correlationKeys));
+
+      ProcessEngineConfigurationImpl processEngineConfiguration = Context.getProcessEngineConfiguration();
+      if (processEngineConfiguration != null) {
+        processEngineConfiguration.getCorrelationKeyDeclarations().addDeclaration(declaration);
+      }
+    }
+
+    return declaration;
   }
 
   @SuppressWarnings("unchecked")
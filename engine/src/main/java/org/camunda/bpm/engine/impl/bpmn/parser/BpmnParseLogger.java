@@ -58,4 +58,16 @@ public class BpmnParseLogger extends ProcessEngineLogger {
         "Cannot deploy process definition '{}': there already is a message event subscription for the message with name '{}'.", resourceName, eventName));
   }
 
+  public void couldNotReadParseSnapshot(String resourceName, Throwable cause) {
+    logDebug(
+        "012",
+        "Could not read the parse snapshot of resource '{}', parsing the resource: {}", resourceName, cause.getMessage(), cause);
+  }
+
+  public void couldNotStoreParseSnapshot(String snapshotName, Throwable cause) {
+    logDebug(
+        "013",
+        "Could not store parse snapshot '{}', it may have been stored by another process engine: {}", snapshotName, cause.getMessage(), cause);
+  }
+
 }
@@ -25,9 +25,12 @@ import org.camunda.bpm.engine.impl.persistence.entity.ProcessDefinitionEntity;
 import org.camunda.bpm.engine.impl.pvm.PvmScope;
 import org.camunda.bpm.engine.impl.pvm.process.ActivityImpl;
 import org.camunda.bpm.engine.impl.pvm.runtime.LegacyBehavior;
+import org.camunda.bpm.engine.impl.util.CorrelationKeyUtil;
 
 import java.io.Serializable;
 import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 
@@ -47,6 +50,7 @@ public class EventSubscriptionDeclaration implements Serializable {
   protected String activityId = null;
   protected String eventScopeActivityId = null;
   protected boolean isStartEvent;
+  protected List<String> correlationKeys;
 
   protected EventSubscriptionJobDeclaration jobDeclaration = null;
 
@@ -63,6 +67,24 @@ public class EventSubscriptionDeclaration implements Serializable {
     return scope.getProperties().get(BpmnProperties.EVENT_SUBSCRIPTION_DECLARATIONS);
   }
 
+  /**
+   * @return the declaration the given subscription was created from, or <code>null</code>
+   *   if it is not known
+   */
+  public static EventSubscriptionDeclaration getDeclarationForSubscription(EventSubscriptionEntity eventSubscription) {
+    ActivityImpl activity = eventSubscription.getActivity();
+    if (activity == null) {
+      return null;
+    }
+
+    EventSubscriptionDeclaration declaration = getDeclarationsForScope(activity.getEventScope()).get(activity.getId());
+    if (declaration == null) {
+      // receive tasks declare their subscription on the activity itself
+      declaration = getDeclarationsForScope(activity).get(activity.getId());
+    }
+    return declaration;
+  }
+
   /**
    * Returns the name of the event without evaluating the possible expression that it might contain.
    */
@@ -114,6 +136,18 @@ public class EventSubscriptionDeclaration implements Serializable {
     return eventType.name();
   }
 
+  /**
+   * @return the names of the variables which are stored as correlation key of the
+   *   subscriptions, or <code>null</code> if no correlation keys are declared
+   */
+  public List<String> getCorrelationKeys() {
+    return correlationKeys;
+  }
+
+  public void setCorrelationKeys(List<String> correlationKeys) {
+    this.correlationKeys = correlationKeys;
+  }
+
   public void setJobDeclaration(EventSubscriptionJobDeclaration jobDeclaration) {
     this.jobDeclaration = jobDeclaration;
   }
@@ -139,6 +173,7 @@ public class EventSubscriptionDeclaration implements Serializable {
 
     String eventName = resolveExpressionOfEventName(execution);
     eventSubscriptionEntity.setEventName(eventName);
+    eventSubscriptionEntity.setCorrelationKey(resolveCorrelationKey(execution));
     if (activityId != null) {
       ActivityImpl activity = execution.getProcessDefinition().findActivity(activityId);
       eventSubscriptionEntity.setActivity(activity);
@@ -161,6 +196,26 @@ public class EventSubscriptionDeclaration implements Serializable {
     }
   }
 
+  /**
+   * Resolves the declared correlation keys within the given scope. Returns <code>null</code>
+   * if no correlation keys are declared or if a correlation variable is not set.
+   */
+  public String resolveCorrelationKey(VariableScope scope) {
+    if (correlationKeys == null || correlationKeys.isEmpty() || scope == null) {
+      return null;
+    }
+
+    Map<String, Object> variables = new HashMap<String, Object>();
+    for (String correlationKey : correlationKeys) {
+      if (!scope.hasVariable(correlationKey)) {
+        return null;
+      }
+      variables.put(correlationKey, scope.getVariable(correlationKey));
+    }
+
+    return CorrelationKeyUtil.createCorrelationKey(variables);
+  }
+
   protected boolean isExpressionAvailable() {
     return eventName != null;
   }
@@ -169,6 +224,7 @@ public class EventSubscriptionDeclaration implements Serializable {
     String eventName = resolveExpressionOfEventName(eventSubscription.getExecution());
     eventSubscription.setEventName(eventName);
     eventSubscription.setActivityId(activityId);
+    eventSubscription.setCorrelationKey(resolveCorrelationKey(eventSubscription.getExecution()));
   }
 
 }
@@ -25,10 +25,12 @@ import java.sql.DatabaseMetaData;
 import java.sql.SQLException;
 import java.text.ParseException;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.Date;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
@@ -95,6 +97,7 @@ import org.camunda.bpm.engine.impl.batch.deletion.DeleteHistoricProcessInstances
 import org.camunda.bpm.engine.impl.batch.deletion.DeleteProcessInstancesJobHandler;
 import org.camunda.bpm.engine.impl.batch.externaltask.SetExternalTaskRetriesJobHandler;
 import org.camunda.bpm.engine.impl.batch.job.SetJobRetriesJobHandler;
+import org.camunda.bpm.engine.impl.batch.signal.SignalEventReceivedJobHandler;
 import org.camunda.bpm.engine.impl.batch.update.UpdateProcessInstancesSuspendStateJobHandler;
 import org.camunda.bpm.engine.impl.bpmn.behavior.ExternalTaskActivityBehavior;
 import org.camunda.bpm.engine.impl.bpmn.deployer.BpmnDeployer;
@@ -112,6 +115,7 @@ import org.camunda.bpm.engine.impl.cfg.auth.ResourceAuthorizationProvider;
 import org.camunda.bpm.engine.impl.cfg.multitenancy.TenantCommandChecker;
 import org.camunda.bpm.engine.impl.cfg.multitenancy.TenantIdProvider;
 import org.camunda.bpm.engine.impl.cfg.standalone.StandaloneTransactionContextFactory;
+import org.camunda.bpm.engine.impl.cmd.HistoryCleanupCmd;
 import org.camunda.bpm.engine.impl.cmmn.CaseServiceImpl;
 import org.camunda.bpm.engine.impl.cmmn.deployer.CmmnDeployer;
 import org.camunda.bpm.engine.impl.cmmn.entity.repository.CaseDefinitionManager;
@@ -123,9 +127,12 @@ import org.camunda.bpm.engine.impl.cmmn.transformer.CmmnTransformListener;
 import org.camunda.bpm.engine.impl.cmmn.transformer.CmmnTransformer;
 import org.camunda.bpm.engine.impl.cmmn.transformer.DefaultCmmnTransformFactory;
 import org.camunda.bpm.engine.impl.context.Context;
+import org.camunda.bpm.engine.impl.db.DbEntity;
 import org.camunda.bpm.engine.impl.db.DbIdGenerator;
+import org.camunda.bpm.engine.impl.db.PrefetchingDbIdGenerator;
 import org.camunda.bpm.engine.impl.db.entitymanager.DbEntityManagerFactory;
 import org.camunda.bpm.engine.impl.db.entitymanager.cache.DbEntityCacheKeyMapping;
+import org.camunda.bpm.engine.impl.db.entitymanager.cache.SecondLevelCache;
 import org.camunda.bpm.engine.impl.db.sql.DbSqlPersistenceProviderFactory;
 import org.camunda.bpm.engine.impl.db.sql.DbSqlSessionFactory;
 import org.camunda.bpm.engine.impl.delegate.DefaultDelegateInterceptor;
@@ -150,6 +157,7 @@ import org.camunda.bpm.engine.impl.event.EventHandlerImpl;
 import org.camunda.bpm.engine.impl.event.EventType;
 import org.camunda.bpm.engine.impl.event.SignalEventHandler;
 import org.camunda.bpm.engine.impl.externaltask.DefaultExternalTaskPriorityProvider;
+import org.camunda.bpm.engine.impl.externaltask.ExternalTaskNotifier;
 import org.camunda.bpm.engine.impl.form.engine.FormEngine;
 import org.camunda.bpm.engine.impl.form.engine.HtmlFormEngine;
 import org.camunda.bpm.engine.impl.form.engine.JuelFormEngine;
@@ -169,6 +177,10 @@ import org.camunda.bpm.engine.impl.form.validator.ReadOnlyValidator;
 import org.camunda.bpm.engine.impl.form.validator.RequiredValidator;
 import org.camunda.bpm.engine.impl.history.HistoryLevel;
 import org.camunda.bpm.engine.impl.history.event.HistoricDecisionInstanceManager;
+import org.camunda.bpm.engine.impl.history.buffer.HistoryEventBuffer;
+import org.camunda.bpm.engine.impl.history.buffer.HistoryEventBufferDurability;
+import org.camunda.bpm.engine.impl.history.buffer.HistoryEventBufferSessionFactory;
+import org.camunda.bpm.engine.impl.history.handler.BufferedHistoryEventHandler;
 import org.camunda.bpm.engine.impl.history.handler.DbHistoryEventHandler;
 import org.camunda.bpm.engine.impl.history.handler.HistoryEventHandler;
 import org.camunda.bpm.engine.impl.history.parser.HistoryParseListener;
@@ -194,6 +206,7 @@ import org.camunda.bpm.engine.impl.jobexecutor.AsyncContinuationJobHandler;
 import org.camunda.bpm.engine.impl.jobexecutor.DefaultJobExecutor;
 import org.camunda.bpm.engine.impl.jobexecutor.DefaultJobPriorityProvider;
 import org.camunda.bpm.engine.impl.jobexecutor.FailedJobCommandFactory;
+import org.camunda.bpm.engine.impl.jobexecutor.JobAcquisitionPartitions;
 import org.camunda.bpm.engine.impl.jobexecutor.DefaultFailedJobCommandFactory;
 import org.camunda.bpm.engine.impl.jobexecutor.JobDeclaration;
 import org.camunda.bpm.engine.impl.jobexecutor.JobExecutor;
@@ -218,6 +231,8 @@ import org.camunda.bpm.engine.impl.metrics.SimpleIpBasedProvider;
 import org.camunda.bpm.engine.impl.metrics.parser.MetricsBpmnParseListener;
 import org.camunda.bpm.engine.impl.metrics.parser.MetricsCmmnTransformListener;
 import org.camunda.bpm.engine.impl.metrics.reporter.DbMetricsReporter;
+import org.camunda.bpm.engine.impl.metrics.reporter.MetricsRollupTask;
+import org.camunda.bpm.engine.impl.metrics.sql.SqlStatementMetrics;
 import org.camunda.bpm.engine.impl.migration.DefaultMigrationActivityMatcher;
 import org.camunda.bpm.engine.impl.migration.DefaultMigrationInstructionGenerator;
 import org.camunda.bpm.engine.impl.migration.MigrationActivityMatcher;
@@ -251,10 +266,12 @@ import org.camunda.bpm.engine.impl.migration.validation.instruction.SameEventTyp
 import org.camunda.bpm.engine.impl.migration.validation.instruction.UpdateEventTriggersValidator;
 import org.camunda.bpm.engine.impl.persistence.GenericManagerFactory;
 import org.camunda.bpm.engine.impl.persistence.deploy.Deployer;
+import org.camunda.bpm.engine.impl.persistence.deploy.DeploymentParseExecutor;
 import org.camunda.bpm.engine.impl.persistence.deploy.cache.CacheFactory;
 import org.camunda.bpm.engine.impl.persistence.deploy.cache.DefaultCacheFactory;
 import org.camunda.bpm.engine.impl.persistence.deploy.cache.DeploymentCache;
 import org.camunda.bpm.engine.impl.persistence.entity.AttachmentManager;
+import org.camunda.bpm.engine.impl.persistence.entity.AuthorizationEntity;
 import org.camunda.bpm.engine.impl.persistence.entity.AuthorizationManager;
 import org.camunda.bpm.engine.impl.persistence.entity.BatchManager;
 import org.camunda.bpm.engine.impl.persistence.entity.ByteArrayManager;
@@ -264,6 +281,7 @@ import org.camunda.bpm.engine.impl.persistence.entity.EventSubscriptionManager;
 import org.camunda.bpm.engine.impl.persistence.entity.ExecutionManager;
 import org.camunda.bpm.engine.impl.persistence.entity.ExternalTaskManager;
 import org.camunda.bpm.engine.impl.persistence.entity.FilterManager;
+import org.camunda.bpm.engine.impl.persistence.entity.GroupEntity;
 import org.camunda.bpm.engine.impl.persistence.entity.HistoricActivityInstanceManager;
 import org.camunda.bpm.engine.impl.persistence.entity.HistoricBatchManager;
 import org.camunda.bpm.engine.impl.persistence.entity.HistoricCaseActivityInstanceManager;
@@ -280,8 +298,10 @@ import org.camunda.bpm.engine.impl.persistence.entity.HistoricVariableInstanceMa
 import org.camunda.bpm.engine.impl.persistence.entity.IdentityInfoManager;
 import org.camunda.bpm.engine.impl.persistence.entity.IdentityLinkManager;
 import org.camunda.bpm.engine.impl.persistence.entity.IncidentManager;
+import org.camunda.bpm.engine.impl.persistence.entity.JobDefinitionEntity;
 import org.camunda.bpm.engine.impl.persistence.entity.JobDefinitionManager;
 import org.camunda.bpm.engine.impl.persistence.entity.JobManager;
+import org.camunda.bpm.engine.impl.persistence.entity.MembershipEntity;
 import org.camunda.bpm.engine.impl.persistence.entity.MeterLogManager;
 import org.camunda.bpm.engine.impl.persistence.entity.ProcessDefinitionManager;
 import org.camunda.bpm.engine.impl.persistence.entity.PropertyManager;
@@ -291,10 +311,13 @@ import org.camunda.bpm.engine.impl.persistence.entity.StatisticsManager;
 import org.camunda.bpm.engine.impl.persistence.entity.TableDataManager;
 import org.camunda.bpm.engine.impl.persistence.entity.TaskManager;
 import org.camunda.bpm.engine.impl.persistence.entity.TaskReportManager;
+import org.camunda.bpm.engine.impl.persistence.entity.TenantEntity;
 import org.camunda.bpm.engine.impl.persistence.entity.TenantManager;
+import org.camunda.bpm.engine.impl.persistence.entity.TenantMembershipEntity;
 import org.camunda.bpm.engine.impl.persistence.entity.UserOperationLogManager;
 import org.camunda.bpm.engine.impl.persistence.entity.VariableInstanceManager;
 import org.camunda.bpm.engine.impl.runtime.CorrelationHandler;
+import org.camunda.bpm.engine.impl.runtime.CorrelationKeyDeclarations;
 import org.camunda.bpm.engine.impl.runtime.DefaultCorrelationHandler;
 import org.camunda.bpm.engine.impl.scripting.ScriptFactory;
 import org.camunda.bpm.engine.impl.scripting.engine.BeansResolverFactory;
@@ -355,6 +378,9 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
 
   public static final int DEFAULT_FAILED_JOB_LISTENER_MAX_RETRIES = 3;
 
+  public static final String HISTORY_CLEANUP_STRATEGY_END_TIME_BASED = "endTimeBased";
+  public static final String HISTORY_CLEANUP_STRATEGY_REMOVAL_TIME_BASED = "removalTimeBased";
+
   public static SqlSessionFactory cachedSqlSessionFactory;
 
   // SERVICES /////////////////////////////////////////////////////////////////
@@ -419,6 +445,29 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
   protected List<Deployer> deployers;
   protected DeploymentCache deploymentCache;
 
+  /**
+   * The number of threads parsing the resources of a deployment in parallel.
+   * With the default of 1, the resources are parsed one after another in the
+   * deploying thread. Parse listeners must not access the command context
+   * if the resources are parsed in parallel.
+   */
+  protected int deploymentParseParallelism = 1;
+  protected DeploymentParseExecutor deploymentParseExecutor;
+
+  /**
+   * If true, the latest versions of the process definitions are parsed into the
+   * deployment cache when the process engine starts.
+   */
+  protected boolean deploymentCacheWarmUpEnabled = false;
+
+  /**
+   * If true, the parsed XML of BPMN resources is stored as a binary snapshot and
+   * reused instead of parsing and validating the XML again when the deployment cache
+   * is populated, e.g. after a restart. The snapshots are stored in the
+   * ACT_GE_BYTEARRAY table and keyed by the content hash of the resource.
+   */
+  protected boolean bpmnParseSnapshotsEnabled = false;
+
   // CACHE ////////////////////////////////////////////////////////////////////
 
   protected CacheFactory cacheFactory;
@@ -433,8 +482,40 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
 
   protected PriorityProvider<JobDeclaration<?, ?>> jobPriorityProvider;
 
+  /**
+   * If true, the jobs are partitioned between the job executors of a cluster and
+   * every job executor acquires only jobs of the partitions it holds a lease for.
+   */
+  protected boolean jobExecutorPartitionedAcquisition = false;
+  protected int jobExecutorAcquisitionPartitionCount = 64;
+  protected long jobExecutorAcquisitionPartitionLeaseTime = 60000;
+  protected JobAcquisitionPartitions jobAcquisitionPartitions;
+
+  /**
+   * The maximum number of jobs executed in one transaction by the job executor.
+   * Batching is disabled if the size is less than 2.
+   */
+  protected int jobExecutorBatchSize = 1;
+  /** the handler types of jobs which may be executed together in one transaction */
+  protected Set<String> jobExecutorBatchHandlerTypes = new HashSet<String>(Arrays.asList(AsyncContinuationJobHandler.TYPE));
+  /**
+   * The activity ids of job definitions whose jobs may be executed together in one transaction,
+   * regardless of their handler type. Clear {@link #jobExecutorBatchHandlerTypes} to batch
+   * the jobs of these job definitions only.
+   */
+  protected Set<String> jobExecutorBatchActivityIds = new HashSet<String>();
+
   // EXTERNAL TASK /////////////////////////////////////////////////////////////
   protected PriorityProvider<ExternalTaskActivityBehavior> externalTaskPriorityProvider;
+  protected ExternalTaskNotifier externalTaskNotifier;
+  /**
+   * The maximum number of fetch and lock requests which may wait for external tasks at the same time.
+   * Every waiting request holds a request thread of the servlet container for up to one minute, and
+   * requests beyond the limit still hold one for up to a second. The limit should therefore stay
+   * well below the size of the container's request thread pool (e.g. <code>maxThreads</code> of a
+   * Tomcat connector), leaving enough threads for the remaining REST API calls.
+   */
+  protected int externalTaskMaxWaitingFetchers = ExternalTaskNotifier.DEFAULT_MAX_WAITING_FETCHERS;
 
   // MYBATIS SQL SESSION FACTORY //////////////////////////////////////////////
 
@@ -447,6 +528,14 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
   protected DataSource idGeneratorDataSource;
   protected String idGeneratorDataSourceJndiName;
 
+  /**
+   * If true, the default id generator hands out ids without locking and fetches
+   * the next id block in the background before the current one is exhausted.
+   * The block size then adapts to the consumption rate, up to {@link #maxIdBlockSize}.
+   */
+  protected boolean isIdBlockPrefetchEnabled = false;
+  protected int maxIdBlockSize = 10000;
+
   // INCIDENT HANDLER /////////////////////////////////////////////////////////
 
   protected Map<String, IncidentHandler> incidentHandlers;
@@ -465,6 +554,12 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
    * Number of invocations executed by a single batch job
    */
   protected int invocationsPerBatchJob = 1;
+  /**
+   * Maximum number of ids kept in the configuration of a batch. The remaining ids are
+   * stored in chunks of this size, so that a seed job does not read and write all ids
+   * of a large batch.
+   */
+  protected int batchIdChunkSize = 1000;
   /**
    * seconds to wait between polling for batch completion
    */
@@ -573,6 +668,21 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
 
   protected CorrelationHandler correlationHandler;
 
+  /**
+   * If a message is correlated by variables which are declared as correlation keys,
+   * the executions are looked up by the correlation key of their subscriptions and
+   * checked against the current variable values. The keys are refreshed when a correlation
+   * variable changes. If an execution waits for the message with a subscription without key,
+   * or if a key differs because a correlation variable is shadowed by a local variable, the
+   * correlation falls back to querying the variables, unless this flag is disabled. Without
+   * the fallback, executions are always looked up by correlation key, also for messages
+   * without declared keys, and executions waiting without a key are not correlated.
+   */
+  protected boolean messageCorrelationKeyFallbackEnabled = true;
+
+  /** the messages for which correlation keys are declared in the parsed process definitions */
+  protected CorrelationKeyDeclarations correlationKeyDeclarations = new CorrelationKeyDeclarations();
+
   /**
    * session factory to be used for obtaining identity provider sessions
    */
@@ -600,8 +710,35 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
 
   protected HistoryEventHandler historyEventHandler;
 
+  /**
+   * If true, history events are not written in the transaction which produced them. They are
+   * added to the {@link HistoryEventBuffer} after commit and written by a background thread.
+   * Only applies if no custom history event handler is set.
+   *
+   * <p>History queries only see events which were written already. In particular, a command
+   * does not see the history it produced itself, nor the history of recently committed
+   * commands. Deleting historic process instances and history cleanup write the buffered
+   * events first.</p>
+   */
+  protected boolean historyEventBufferEnabled = false;
+  /** the maximum number of history events waiting to be written */
+  protected int historyEventBufferCapacity = 10000;
+  /** the maximum number of history events written in one transaction */
+  protected int historyEventBufferBatchSize = 500;
+  /** the maximum time in milliseconds the writer waits for further events */
+  protected long historyEventBufferFlushInterval = 1000;
+  protected HistoryEventBufferDurability historyEventBufferDurability = HistoryEventBufferDurability.BLOCK;
+  protected HistoryEventBuffer historyEventBuffer;
+
   protected boolean isExecutionTreePrefetchEnabled = true;
 
+  /**
+   * If true, executions, case executions and tasks fetch single variables by name
+   * as long as not all of their variables are accessed, instead of always loading
+   * the complete variables of the scope.
+   */
+  protected boolean partialVariableLoadingEnabled = false;
+
   /**
    * If true the process engine will attempt to acquire an exclusive lock before
    * creating a deployment.
@@ -633,6 +770,21 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
 
   protected DbEntityCacheKeyMapping dbEntityCacheKeyMapping = DbEntityCacheKeyMapping.defaultEntityCacheKeyMapping();
 
+  /**
+   * If true, read-mostly entities are cached across transactions in a process engine wide
+   * second level cache. The cache is local to the JVM, in a cluster changes made by other
+   * nodes become visible after the time to live of the cached entries.
+   */
+  protected boolean secondLevelCacheEnabled = false;
+  /** the maximum number of entries per entity type, if not specified per entity type */
+  protected int secondLevelCacheMaxSize = 1000;
+  protected long secondLevelCacheTimeToLive = 60000;
+  /** the cached entity types mapped to their maximum number of entries, or null to use the default size */
+  protected Map<Class<? extends DbEntity>, Integer> secondLevelCacheEntityTypes;
+  /** the select statements whose results are cached mapped to the entity types whose writes invalidate them */
+  protected Map<String, Class<? extends DbEntity>> secondLevelCacheStatements;
+  protected SecondLevelCache secondLevelCache;
+
   /**
    * the metrics registry
    */
@@ -645,6 +797,32 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
 
   protected MetricsReporterIdProvider metricsReporterIdProvider;
 
+  /**
+   * If true, the meter log is periodically rolled up into quarter hours, hours and days,
+   * see {@link MetricsRollupTask}. The entries of each granularity are kept next to their rollups
+   * until they exceed their retention. Metrics queries read every period in the finest granularity
+   * which is kept for it only if enabled. If rollups were written before, they are read next to the
+   * entries they were rolled up from while it is disabled.
+   */
+  protected boolean metricsRollupEnabled = false;
+  /** number of days reported meter log entries are kept next to their quarter hour rollups */
+  protected int metricsRollupRawRetentionDays = 1;
+  /** number of days quarter hours are kept next to their hour rollups */
+  protected int metricsRollupQuarterHourRetentionDays = 7;
+  /** number of days hours are kept next to their day rollups */
+  protected int metricsRollupHourRetentionDays = 90;
+  /** number of days days are kept in the meter log, 0 to keep them */
+  protected int metricsRollupDayRetentionDays = 0;
+
+  /**
+   * If true, latency, row count and batch size statistics are collected per mapped statement.
+   * The statistics are kept in memory and are not reported to the database.
+   */
+  protected boolean sqlStatementMetricsEnabled = false;
+  /** if true, the statement statistics are registered with the platform MBean server */
+  protected boolean sqlStatementMetricsJmxEnabled = false;
+  protected SqlStatementMetrics sqlStatementMetrics;
+
   /**
    * handling of expressions submitted via API; can be used as guards against remote code execution
    */
@@ -690,6 +868,16 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
 
   protected boolean isUseSharedSqlSessionFactory = false;
 
+  /**
+   * If true, INSERTs of the same entity type are merged into multi-row
+   * <code>INSERT</code> statements of at most {@link #multiRowInsertBatchSize} rows
+   * when flushing. Only applies to entity types which provide a multi-row insert
+   * statement for the configured database. Note that Microsoft SQL Server limits
+   * a statement to 2100 parameters.
+   */
+  protected boolean isMultiRowInsertEnabled = false;
+  protected int multiRowInsertBatchSize = 50;
+
   //History cleanup configuration
   private String historyCleanupBatchWindowStartTime;
   private String historyCleanupBatchWindowEndTime = "00:00";
@@ -712,6 +900,24 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
 
   private boolean historyCleanupMetricsEnabled = true;
 
+  /**
+   * Determines how the history cleanup finds the historic process instances to remove.
+   * With {@link #HISTORY_CLEANUP_STRATEGY_END_TIME_BASED}, the removal is calculated from the end time
+   * and the history time to live of the process definition when the cleanup runs, and the history is
+   * deleted by process instance ids. With {@link #HISTORY_CLEANUP_STRATEGY_REMOVAL_TIME_BASED}, the
+   * removal time is stamped on the historic process instance and its related history when the instance
+   * ends, so that the cleanup can delete each table by a range of its indexed removal time column.
+   * Later changes of the history time to live do not affect removal times which are already stamped.
+   */
+  protected String historyCleanupStrategy = HISTORY_CLEANUP_STRATEGY_END_TIME_BASED;
+
+  /**
+   * Number of history cleanup jobs which run at the same time. Each job removes the history
+   * whose end or removal time falls into its own share of the minutes of an hour, so that the
+   * jobs never delete the same rows. Must be between 1 and {@link HistoryCleanupCmd#MAX_THREADS_NUMBER}.
+   */
+  protected int historyCleanupDegreeOfParallelism = 1;
+
   private int failedJobListenerMaxRetries = DEFAULT_FAILED_JOB_LISTENER_MAX_RETRIES;
 
   protected String failedJobRetryTimeCycle;
@@ -751,11 +957,14 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
     initServices();
     initIdGenerator();
     initFailedJobCommandFactory();
+    initDeploymentParseExecutor();
     initDeployers();
     initJobProvider();
     initExternalTaskPriorityProvider();
+    initExternalTaskNotifier();
     initBatchHandlers();
     initJobExecutor();
+    initJobAcquisitionPartitions();
     initDataSource();
     initTransactionFactory();
     initSqlSessionFactory();
@@ -773,6 +982,9 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
     initDeploymentRegistration();
     initResourceAuthorizationProvider();
     initMetrics();
+    initSecondLevelCache();
+    initSqlStatementMetrics();
+    initHistoryEventBuffer();
     initMigration();
     initCommandCheckers();
     initDefaultUserPermissionForTask();
@@ -799,6 +1011,18 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
           "History cleanup batch threshold cannot be negative.");
     }
 
+    if (!HISTORY_CLEANUP_STRATEGY_END_TIME_BASED.equals(historyCleanupStrategy)
+        && !HISTORY_CLEANUP_STRATEGY_REMOVAL_TIME_BASED.equals(historyCleanupStrategy)) {
+      throw LOG.invalidPropertyValue("historyCleanupStrategy", String.valueOf(historyCleanupStrategy),
+          String.format("history cleanup strategy must be either '%s' or '%s'",
+              HISTORY_CLEANUP_STRATEGY_END_TIME_BASED, HISTORY_CLEANUP_STRATEGY_REMOVAL_TIME_BASED));
+    }
+
+    if (historyCleanupDegreeOfParallelism < 1 || historyCleanupDegreeOfParallelism > HistoryCleanupCmd.MAX_THREADS_NUMBER) {
+      throw LOG.invalidPropertyValue("historyCleanupDegreeOfParallelism", String.valueOf(historyCleanupDegreeOfParallelism),
+          String.format("value for number of threads for history cleanup should be between 1 and %s", HistoryCleanupCmd.MAX_THREADS_NUMBER));
+    }
+
     initBatchOperationsHistoryTimeToLive();
   }
 
@@ -944,6 +1168,9 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
 
       DeleteHistoricDecisionInstancesJobHandler deleteHistoricDecisionInstancesJobHandler = new DeleteHistoricDecisionInstancesJobHandler();
       batchHandlers.put(deleteHistoricDecisionInstancesJobHandler.getType(), deleteHistoricDecisionInstancesJobHandler);
+
+      SignalEventReceivedJobHandler signalEventReceivedJobHandler = new SignalEventReceivedJobHandler();
+      batchHandlers.put(signalEventReceivedJobHandler.getType(), signalEventReceivedJobHandler);
     }
 
     if (customBatchJobHandlers != null) {
@@ -1289,6 +1516,9 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
       properties.put("datepart2", DbSqlSessionFactory.databaseSpecificDatepart2.get(databaseType));
       properties.put("datepart3", DbSqlSessionFactory.databaseSpecificDatepart3.get(databaseType));
 
+      properties.put("minuteOf1", DbSqlSessionFactory.databaseSpecificMinuteOf1.get(databaseType));
+      properties.put("minuteOf2", DbSqlSessionFactory.databaseSpecificMinuteOf2.get(databaseType));
+
       properties.put("trueConstant", DbSqlSessionFactory.databaseSpecificTrueConstant.get(databaseType));
       properties.put("falseConstant", DbSqlSessionFactory.databaseSpecificFalseConstant.get(databaseType));
 
@@ -1296,6 +1526,7 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
       properties.put("dbSpecificIfNullFunction", DbSqlSessionFactory.databaseSpecificIfNull.get(databaseType));
 
       properties.put("dayComparator", DbSqlSessionFactory.databaseSpecificDaysComparator.get(databaseType));
+      properties.put("durationSinceStartTime", DbSqlSessionFactory.databaseSpecificDurationSinceStartTime.get(databaseType));
 
       Map<String, String> constants = DbSqlSessionFactory.dbSpecificConstants.get(databaseType);
       for (Entry<String, String> entry : constants.entrySet()) {
@@ -1531,6 +1762,12 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
     }
   }
 
+  protected void initDeploymentParseExecutor() {
+    if (deploymentParseExecutor == null && deploymentParseParallelism > 1) {
+      deploymentParseExecutor = new DeploymentParseExecutor(deploymentParseParallelism);
+    }
+  }
+
   protected Collection<? extends Deployer> getDefaultDeployers() {
     List<Deployer> defaultDeployers = new ArrayList<Deployer>();
 
@@ -1727,6 +1964,12 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
 
   }
 
+  protected void initJobAcquisitionPartitions() {
+    if (jobExecutorPartitionedAcquisition && jobAcquisitionPartitions == null) {
+      jobAcquisitionPartitions = new JobAcquisitionPartitions(jobExecutorAcquisitionPartitionCount, jobExecutorAcquisitionPartitionLeaseTime);
+    }
+  }
+
   protected void initJobProvider() {
     if (producePrioritizedJobs && jobPriorityProvider == null) {
       jobPriorityProvider = new DefaultJobPriorityProvider();
@@ -1741,6 +1984,13 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
     }
   }
 
+  protected void initExternalTaskNotifier() {
+    if (externalTaskNotifier == null) {
+      externalTaskNotifier = new ExternalTaskNotifier();
+      externalTaskNotifier.setMaxWaitingFetchers(externalTaskMaxWaitingFetchers);
+    }
+  }
+
   // history //////////////////////////////////////////////////////////////////
 
   public void initHistoryLevel() {
@@ -1798,7 +2048,14 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
         idGeneratorCommandExecutor = commandExecutorTxRequiresNew;
       }
 
-      DbIdGenerator dbIdGenerator = new DbIdGenerator();
+      DbIdGenerator dbIdGenerator;
+      if (isIdBlockPrefetchEnabled) {
+        PrefetchingDbIdGenerator prefetchingDbIdGenerator = new PrefetchingDbIdGenerator();
+        prefetchingDbIdGenerator.setMaxIdBlockSize(Math.max(idBlockSize, maxIdBlockSize));
+        dbIdGenerator = prefetchingDbIdGenerator;
+      } else {
+        dbIdGenerator = new DbIdGenerator();
+      }
       dbIdGenerator.setIdBlockSize(idBlockSize);
       dbIdGenerator.setCommandExecutor(idGeneratorCommandExecutor);
       idGenerator = dbIdGenerator;
@@ -1851,6 +2108,29 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
       if (dbMetricsReporter == null) {
         dbMetricsReporter = new DbMetricsReporter(metricsRegistry, commandExecutorTxRequired);
       }
+
+      if (metricsRollupEnabled) {
+        initMetricsRollup();
+      }
+    }
+  }
+
+  protected void initMetricsRollup() {
+    checkMetricsRollupRetentionDays("metricsRollupRawRetentionDays", metricsRollupRawRetentionDays);
+    checkMetricsRollupRetentionDays("metricsRollupQuarterHourRetentionDays", metricsRollupQuarterHourRetentionDays);
+    checkMetricsRollupRetentionDays("metricsRollupHourRetentionDays", metricsRollupHourRetentionDays);
+    checkMetricsRollupRetentionDays("metricsRollupDayRetentionDays", metricsRollupDayRetentionDays);
+
+    if (dbMetricsReporter.getMetricsRollupTask() == null) {
+      dbMetricsReporter.setMetricsRollupTask(new MetricsRollupTask(commandExecutorTxRequired,
+          metricsRollupRawRetentionDays, metricsRollupQuarterHourRetentionDays,
+          metricsRollupHourRetentionDays, metricsRollupDayRetentionDays));
+    }
+  }
+
+  protected void checkMetricsRollupRetentionDays(String propertyName, int value) {
+    if (value < 0) {
+      throw LOG.invalidPropertyValue(propertyName, String.valueOf(value), "value cannot be negative");
     }
   }
 
@@ -1867,6 +2147,88 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
     metricsRegistry.createMeter(Metrics.JOB_EXECUTION_REJECTED);
 
     metricsRegistry.createMeter(Metrics.EXECUTED_DECISION_ELEMENTS);
+
+    if (secondLevelCacheEnabled) {
+      metricsRegistry.createMeter(Metrics.SECOND_LEVEL_CACHE_HIT);
+      metricsRegistry.createMeter(Metrics.SECOND_LEVEL_CACHE_MISS);
+    }
+
+    if (historyEventBufferEnabled) {
+      metricsRegistry.createMeter(Metrics.HISTORY_EVENT_BUFFER_ENQUEUED);
+      metricsRegistry.createMeter(Metrics.HISTORY_EVENT_BUFFER_WRITTEN);
+      metricsRegistry.createMeter(Metrics.HISTORY_EVENT_BUFFER_OVERFLOW);
+      metricsRegistry.createMeter(Metrics.HISTORY_EVENT_BUFFER_DISCARDED);
+    }
+
+    metricsRegistry.createTimer(Metrics.ACTIVITY_INSTANCE_DURATION);
+    metricsRegistry.createTimer(Metrics.JOB_EXECUTION_TIME);
+    metricsRegistry.createTimer(Metrics.JOB_ACQUISITION_TIME);
+    metricsRegistry.createHistogram(Metrics.JOB_ACQUISITION_SIZE);
+    metricsRegistry.createTimer(Metrics.COMMAND_LATENCY);
+  }
+
+  protected void initSqlStatementMetrics() {
+    if (sqlStatementMetricsEnabled) {
+
+      if (sqlStatementMetrics == null) {
+        sqlStatementMetrics = new SqlStatementMetrics();
+      }
+
+      if (dbSqlSessionFactory != null) {
+        dbSqlSessionFactory.setSqlStatementMetrics(sqlStatementMetrics);
+      }
+
+      if (metricsRegistry != null) {
+        metricsRegistry.setSqlStatementMetrics(sqlStatementMetrics);
+      }
+
+      if (sqlStatementMetricsJmxEnabled) {
+        sqlStatementMetrics.registerMBean(processEngineName);
+      }
+    }
+  }
+
+  protected void initSecondLevelCache() {
+    if (secondLevelCacheEnabled && secondLevelCache == null) {
+
+      if (secondLevelCacheEntityTypes == null) {
+        secondLevelCacheEntityTypes = new HashMap<Class<? extends DbEntity>, Integer>();
+        secondLevelCacheEntityTypes.put(JobDefinitionEntity.class, null);
+        secondLevelCacheEntityTypes.put(AuthorizationEntity.class, null);
+        secondLevelCacheEntityTypes.put(MembershipEntity.class, null);
+        secondLevelCacheEntityTypes.put(TenantMembershipEntity.class, null);
+      }
+
+      if (secondLevelCacheStatements == null) {
+        secondLevelCacheStatements = new HashMap<String, Class<? extends DbEntity>>();
+        secondLevelCacheStatements.put("selectJobDefinitionsByProcessDefinitionId", JobDefinitionEntity.class);
+        // the authorization checks of every command
+        secondLevelCacheStatements.put("isUserAuthorizedForResource", AuthorizationEntity.class);
+        secondLevelCacheStatements.put("selectRevokeAuthorization", AuthorizationEntity.class);
+        secondLevelCacheStatements.put("selectAuthorizedGroupIds", AuthorizationEntity.class);
+        // the group and tenant memberships looked up to authenticate a user
+        secondLevelCacheStatements.put("selectGroupByQueryCriteria", MembershipEntity.class);
+        secondLevelCacheStatements.put("selectTenantByQueryCriteria", TenantMembershipEntity.class);
+      }
+
+      secondLevelCache = new SecondLevelCache(secondLevelCacheTimeToLive, isMetricsEnabled ? metricsRegistry : null);
+
+      for (Entry<Class<? extends DbEntity>, Integer> entityType : secondLevelCacheEntityTypes.entrySet()) {
+        Integer maxSize = entityType.getValue();
+        secondLevelCache.addEntityType(entityType.getKey(), maxSize != null ? maxSize : secondLevelCacheMaxSize);
+      }
+
+      for (Entry<String, Class<? extends DbEntity>> statement : secondLevelCacheStatements.entrySet()) {
+        if (secondLevelCacheEntityTypes.containsKey(statement.getValue())) {
+          secondLevelCache.addStatement(statement.getKey(), statement.getValue());
+        }
+      }
+
+      // the memberships of a user are returned as groups and tenants
+      secondLevelCache.addDependency(GroupEntity.class, MembershipEntity.class);
+      secondLevelCache.addDependency(TenantEntity.class, TenantMembershipEntity.class);
+      secondLevelCache.addDependency(MembershipEntity.class, TenantMembershipEntity.class);
+    }
   }
 
   protected void initSerialization() {
@@ -2127,7 +2489,25 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
 
   protected void initHistoryEventHandler() {
     if (historyEventHandler == null) {
-      historyEventHandler = new DbHistoryEventHandler();
+      if (historyEventBufferEnabled) {
+        historyEventHandler = new BufferedHistoryEventHandler();
+      }
+      else {
+        historyEventHandler = new DbHistoryEventHandler();
+      }
+    }
+  }
+
+  protected void initHistoryEventBuffer() {
+    if (historyEventBufferEnabled) {
+      if (historyEventBuffer == null) {
+        historyEventBuffer = new HistoryEventBuffer(historyEventBufferCapacity, historyEventBufferBatchSize,
+            historyEventBufferFlushInterval, historyEventBufferDurability);
+      }
+      historyEventBuffer.setCommandExecutor(commandExecutorTxRequiresNew);
+      historyEventBuffer.setMetricsRegistry(isMetricsEnabled ? metricsRegistry : null);
+
+      addSessionFactory(new HistoryEventBufferSessionFactory(historyEventBuffer));
     }
   }
 
@@ -2431,6 +2811,15 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
     this.externalTaskPriorityProvider = externalTaskPriorityProvider;
   }
 
+  public ExternalTaskNotifier getExternalTaskNotifier() {
+    return externalTaskNotifier;
+  }
+
+  public ProcessEngineConfigurationImpl setExternalTaskNotifier(ExternalTaskNotifier externalTaskNotifier) {
+    this.externalTaskNotifier = externalTaskNotifier;
+    return this;
+  }
+
   public IdGenerator getIdGenerator() {
     return idGenerator;
   }
@@ -2555,6 +2944,10 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
     this.cacheFactory = cacheFactory;
   }
 
+  public int getCacheCapacity() {
+    return cacheCapacity;
+  }
+
   public void setCacheCapacity(int cacheCapacity) {
     this.cacheCapacity = cacheCapacity;
   }
@@ -3049,6 +3442,24 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
     this.idGeneratorDataSourceJndiName = idGeneratorDataSourceJndiName;
   }
 
+  public boolean isIdBlockPrefetchEnabled() {
+    return isIdBlockPrefetchEnabled;
+  }
+
+  public ProcessEngineConfigurationImpl setIdBlockPrefetchEnabled(boolean isIdBlockPrefetchEnabled) {
+    this.isIdBlockPrefetchEnabled = isIdBlockPrefetchEnabled;
+    return this;
+  }
+
+  public int getMaxIdBlockSize() {
+    return maxIdBlockSize;
+  }
+
+  public ProcessEngineConfigurationImpl setMaxIdBlockSize(int maxIdBlockSize) {
+    this.maxIdBlockSize = maxIdBlockSize;
+    return this;
+  }
+
   public ProcessApplicationManager getProcessApplicationManager() {
     return processApplicationManager;
   }
@@ -3462,6 +3873,18 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
   }
 
   public void close() {
+    if (idGenerator instanceof PrefetchingDbIdGenerator) {
+      ((PrefetchingDbIdGenerator) idGenerator).close();
+    }
+
+    if (sqlStatementMetrics != null) {
+      sqlStatementMetrics.unregisterMBean();
+    }
+
+    if (deploymentParseExecutor != null) {
+      deploymentParseExecutor.close();
+    }
+
     if (forceCloseMybatisConnectionPool
         && dataSource instanceof PooledDataSource) {
 
@@ -3840,4 +4263,371 @@ public abstract class ProcessEngineConfigurationImpl extends ProcessEngineConfig
     this.failedJobRetryTimeCycle = failedJobRetryTimeCycle;
   }
 
+  public boolean isMultiRowInsertEnabled() {
+    return isMultiRowInsertEnabled;
+  }
+
+  public ProcessEngineConfigurationImpl setMultiRowInsertEnabled(boolean isMultiRowInsertEnabled) {
+    this.isMultiRowInsertEnabled = isMultiRowInsertEnabled;
+    return this;
+  }
+
+  public int getMultiRowInsertBatchSize() {
+    return multiRowInsertBatchSize;
+  }
+
+  public ProcessEngineConfigurationImpl setMultiRowInsertBatchSize(int multiRowInsertBatchSize) {
+    this.multiRowInsertBatchSize = multiRowInsertBatchSize;
+    return this;
+  }
+
+
+  public boolean isJobExecutorPartitionedAcquisition() {
+    return jobExecutorPartitionedAcquisition;
+  }
+
+  public ProcessEngineConfigurationImpl setJobExecutorPartitionedAcquisition(boolean jobExecutorPartitionedAcquisition) {
+    this.jobExecutorPartitionedAcquisition = jobExecutorPartitionedAcquisition;
+    return this;
+  }
+
+  public int getJobExecutorAcquisitionPartitionCount() {
+    return jobExecutorAcquisitionPartitionCount;
+  }
+
+  public ProcessEngineConfigurationImpl setJobExecutorAcquisitionPartitionCount(int jobExecutorAcquisitionPartitionCount) {
+    this.jobExecutorAcquisitionPartitionCount = jobExecutorAcquisitionPartitionCount;
+    return this;
+  }
+
+  public long getJobExecutorAcquisitionPartitionLeaseTime() {
+    return jobExecutorAcquisitionPartitionLeaseTime;
+  }
+
+  public ProcessEngineConfigurationImpl setJobExecutorAcquisitionPartitionLeaseTime(long jobExecutorAcquisitionPartitionLeaseTime) {
+    this.jobExecutorAcquisitionPartitionLeaseTime = jobExecutorAcquisitionPartitionLeaseTime;
+    return this;
+  }
+
+  public JobAcquisitionPartitions getJobAcquisitionPartitions() {
+    return jobAcquisitionPartitions;
+  }
+
+  public ProcessEngineConfigurationImpl setJobAcquisitionPartitions(JobAcquisitionPartitions jobAcquisitionPartitions) {
+    this.jobAcquisitionPartitions = jobAcquisitionPartitions;
+    return this;
+  }
+
+
+  public int getJobExecutorBatchSize() {
+    return jobExecutorBatchSize;
+  }
+
+  public ProcessEngineConfigurationImpl setJobExecutorBatchSize(int jobExecutorBatchSize) {
+    this.jobExecutorBatchSize = jobExecutorBatchSize;
+    return this;
+  }
+
+  public Set<String> getJobExecutorBatchHandlerTypes() {
+    return jobExecutorBatchHandlerTypes;
+  }
+
+  public ProcessEngineConfigurationImpl setJobExecutorBatchHandlerTypes(Set<String> jobExecutorBatchHandlerTypes) {
+    this.jobExecutorBatchHandlerTypes = jobExecutorBatchHandlerTypes;
+    return this;
+  }
+
+  public Set<String> getJobExecutorBatchActivityIds() {
+    return jobExecutorBatchActivityIds;
+  }
+
+  public ProcessEngineConfigurationImpl setJobExecutorBatchActivityIds(Set<String> jobExecutorBatchActivityIds) {
+    this.jobExecutorBatchActivityIds = jobExecutorBatchActivityIds;
+    return this;
+  }
+
+  public boolean isSecondLevelCacheEnabled() {
+    return secondLevelCacheEnabled;
+  }
+
+  public ProcessEngineConfigurationImpl setSecondLevelCacheEnabled(boolean secondLevelCacheEnabled) {
+    this.secondLevelCacheEnabled = secondLevelCacheEnabled;
+    return this;
+  }
+
+  public int getSecondLevelCacheMaxSize() {
+    return secondLevelCacheMaxSize;
+  }
+
+  public ProcessEngineConfigurationImpl setSecondLevelCacheMaxSize(int secondLevelCacheMaxSize) {
+    this.secondLevelCacheMaxSize = secondLevelCacheMaxSize;
+    return this;
+  }
+
+  public long getSecondLevelCacheTimeToLive() {
+    return secondLevelCacheTimeToLive;
+  }
+
+  public ProcessEngineConfigurationImpl setSecondLevelCacheTimeToLive(long secondLevelCacheTimeToLive) {
+    this.secondLevelCacheTimeToLive = secondLevelCacheTimeToLive;
+    return this;
+  }
+
+  public Map<Class<? extends DbEntity>, Integer> getSecondLevelCacheEntityTypes() {
+    return secondLevelCacheEntityTypes;
+  }
+
+  public ProcessEngineConfigurationImpl setSecondLevelCacheEntityTypes(Map<Class<? extends DbEntity>, Integer> secondLevelCacheEntityTypes) {
+    this.secondLevelCacheEntityTypes = secondLevelCacheEntityTypes;
+    return this;
+  }
+
+  public Map<String, Class<? extends DbEntity>> getSecondLevelCacheStatements() {
+    return secondLevelCacheStatements;
+  }
+
+  public ProcessEngineConfigurationImpl setSecondLevelCacheStatements(Map<String, Class<? extends DbEntity>> secondLevelCacheStatements) {
+    this.secondLevelCacheStatements = secondLevelCacheStatements;
+    return this;
+  }
+
+  public SecondLevelCache getSecondLevelCache() {
+    return secondLevelCache;
+  }
+
+  public ProcessEngineConfigurationImpl setSecondLevelCache(SecondLevelCache secondLevelCache) {
+    this.secondLevelCache = secondLevelCache;
+    return this;
+  }
+
+  public boolean isSqlStatementMetricsEnabled() {
+    return sqlStatementMetricsEnabled;
+  }
+
+  public ProcessEngineConfigurationImpl setSqlStatementMetricsEnabled(boolean sqlStatementMetricsEnabled) {
+    this.sqlStatementMetricsEnabled = sqlStatementMetricsEnabled;
+    return this;
+  }
+
+  public boolean isSqlStatementMetricsJmxEnabled() {
+    return sqlStatementMetricsJmxEnabled;
+  }
+
+  public ProcessEngineConfigurationImpl setSqlStatementMetricsJmxEnabled(boolean sqlStatementMetricsJmxEnabled) {
+    this.sqlStatementMetricsJmxEnabled = sqlStatementMetricsJmxEnabled;
+    return this;
+  }
+
+  public SqlStatementMetrics getSqlStatementMetrics() {
+    return sqlStatementMetrics;
+  }
+
+  public ProcessEngineConfigurationImpl setSqlStatementMetrics(SqlStatementMetrics sqlStatementMetrics) {
+    this.sqlStatementMetrics = sqlStatementMetrics;
+    return this;
+  }
+
+  public int getBatchIdChunkSize() {
+    return batchIdChunkSize;
+  }
+
+  public ProcessEngineConfigurationImpl setBatchIdChunkSize(int batchIdChunkSize) {
+    this.batchIdChunkSize = batchIdChunkSize;
+    return this;
+  }
+
+  public boolean isMessageCorrelationKeyFallbackEnabled() {
+    return messageCorrelationKeyFallbackEnabled;
+  }
+
+  public ProcessEngineConfigurationImpl setMessageCorrelationKeyFallbackEnabled(boolean messageCorrelationKeyFallbackEnabled) {
+    this.messageCorrelationKeyFallbackEnabled = messageCorrelationKeyFallbackEnabled;
+    return this;
+  }
+
+  public boolean isHistoryEventBufferEnabled() {
+    return historyEventBufferEnabled;
+  }
+
+  public ProcessEngineConfigurationImpl setHistoryEventBufferEnabled(boolean historyEventBufferEnabled) {
+    this.historyEventBufferEnabled = historyEventBufferEnabled;
+    return this;
+  }
+
+  public int getHistoryEventBufferCapacity() {
+    return historyEventBufferCapacity;
+  }
+
+  public ProcessEngineConfigurationImpl setHistoryEventBufferCapacity(int historyEventBufferCapacity) {
+    this.historyEventBufferCapacity = historyEventBufferCapacity;
+    return this;
+  }
+
+  public int getHistoryEventBufferBatchSize() {
+    return historyEventBufferBatchSize;
+  }
+
+  public ProcessEngineConfigurationImpl setHistoryEventBufferBatchSize(int historyEventBufferBatchSize) {
+    this.historyEventBufferBatchSize = historyEventBufferBatchSize;
+    return this;
+  }
+
+  public long getHistoryEventBufferFlushInterval() {
+    return historyEventBufferFlushInterval;
+  }
+
+  public ProcessEngineConfigurationImpl setHistoryEventBufferFlushInterval(long historyEventBufferFlushInterval) {
+    this.historyEventBufferFlushInterval = historyEventBufferFlushInterval;
+    return this;
+  }
+
+  public HistoryEventBufferDurability getHistoryEventBufferDurability() {
+    return historyEventBufferDurability;
+  }
+
+  public ProcessEngineConfigurationImpl setHistoryEventBufferDurability(HistoryEventBufferDurability historyEventBufferDurability) {
+    this.historyEventBufferDurability = historyEventBufferDurability;
+    return this;
+  }
+
+  public HistoryEventBuffer getHistoryEventBuffer() {
+    return historyEventBuffer;
+  }
+
+  public ProcessEngineConfigurationImpl setHistoryEventBuffer(HistoryEventBuffer historyEventBuffer) {
+    this.historyEventBuffer = historyEventBuffer;
+    return this;
+  }
+
+  public String getHistoryCleanupStrategy() {
+    return historyCleanupStrategy;
+  }
+
+  public ProcessEngineConfigurationImpl setHistoryCleanupStrategy(String historyCleanupStrategy) {
+    this.historyCleanupStrategy = historyCleanupStrategy;
+    return this;
+  }
+
+  public boolean isHistoryCleanupRemovalTimeBased() {
+    return HISTORY_CLEANUP_STRATEGY_REMOVAL_TIME_BASED.equals(historyCleanupStrategy);
+  }
+
+  public int getHistoryCleanupDegreeOfParallelism() {
+    return historyCleanupDegreeOfParallelism;
+  }
+
+  public ProcessEngineConfigurationImpl setHistoryCleanupDegreeOfParallelism(int historyCleanupDegreeOfParallelism) {
+    this.historyCleanupDegreeOfParallelism = historyCleanupDegreeOfParallelism;
+    return this;
+  }
+
+
+  public boolean isMetricsRollupEnabled() {
+    return metricsRollupEnabled;
+  }
+
+  public ProcessEngineConfigurationImpl setMetricsRollupEnabled(boolean metricsRollupEnabled) {
+    this.metricsRollupEnabled = metricsRollupEnabled;
+    return this;
+  }
+
+  public int getMetricsRollupRawRetentionDays() {
+    return metricsRollupRawRetentionDays;
+  }
+
+  public ProcessEngineConfigurationImpl setMetricsRollupRawRetentionDays(int metricsRollupRawRetentionDays) {
+    this.metricsRollupRawRetentionDays = metricsRollupRawRetentionDays;
+    return this;
+  }
+
+  public int getMetricsRollupQuarterHourRetentionDays() {
+    return metricsRollupQuarterHourRetentionDays;
+  }
+
+  public ProcessEngineConfigurationImpl setMetricsRollupQuarterHourRetentionDays(int metricsRollupQuarterHourRetentionDays) {
+    this.metricsRollupQuarterHourRetentionDays = metricsRollupQuarterHourRetentionDays;
+    return this;
+  }
+
+  public int getMetricsRollupHourRetentionDays() {
+    return metricsRollupHourRetentionDays;
+  }
+
+  public ProcessEngineConfigurationImpl setMetricsRollupHourRetentionDays(int metricsRollupHourRetentionDays) {
+    this.metricsRollupHourRetentionDays = metricsRollupHourRetentionDays;
+    return this;
+  }
+
+  public int getMetricsRollupDayRetentionDays() {
+    return metricsRollupDayRetentionDays;
+  }
+
+  public ProcessEngineConfigurationImpl setMetricsRollupDayRetentionDays(int metricsRollupDayRetentionDays) {
+    this.metricsRollupDayRetentionDays = metricsRollupDayRetentionDays;
+    return this;
+  }
+
+  public int getDeploymentParseParallelism() {
+    return deploymentParseParallelism;
+  }
+
+  public ProcessEngineConfigurationImpl setDeploymentParseParallelism(int deploymentParseParallelism) {
+    this.deploymentParseParallelism = deploymentParseParallelism;
+    return this;
+  }
+
+  public DeploymentParseExecutor getDeploymentParseExecutor() {
+    return deploymentParseExecutor;
+  }
+
+  public ProcessEngineConfigurationImpl setDeploymentParseExecutor(DeploymentParseExecutor deploymentParseExecutor) {
+    this.deploymentParseExecutor = deploymentParseExecutor;
+    return this;
+  }
+
+  public boolean isDeploymentCacheWarmUpEnabled() {
+    return deploymentCacheWarmUpEnabled;
+  }
+
+  public ProcessEngineConfigurationImpl setDeploymentCacheWarmUpEnabled(boolean deploymentCacheWarmUpEnabled) {
+    this.deploymentCacheWarmUpEnabled = deploymentCacheWarmUpEnabled;
+    return this;
+  }
+
+  public boolean isBpmnParseSnapshotsEnabled() {
+    return bpmnParseSnapshotsEnabled;
+  }
+
+  public ProcessEngineConfigurationImpl setBpmnParseSnapshotsEnabled(boolean bpmnParseSnapshotsEnabled) {
+    this.bpmnParseSnapshotsEnabled = bpmnParseSnapshotsEnabled;
+    return this;
+  }
+
+  public boolean isPartialVariableLoadingEnabled() {
+    return partialVariableLoadingEnabled;
+  }
+
+  public ProcessEngineConfigurationImpl setPartialVariableLoadingEnabled(boolean partialVariableLoadingEnabled) {
+    this.partialVariableLoadingEnabled = partialVariableLoadingEnabled;
+    return this;
+  }
+
+  public int getExternalTaskMaxWaitingFetchers() {
+    return externalTaskMaxWaitingFetchers;
+  }
+
+  public ProcessEngineConfigurationImpl setExternalTaskMaxWaitingFetchers(int externalTaskMaxWaitingFetchers) {
+    this.externalTaskMaxWaitingFetchers = externalTaskMaxWaitingFetchers;
+    return this;
+  }
+
+  public CorrelationKeyDeclarations getCorrelationKeyDeclarations() {
+    return correlationKeyDeclarations;
+  }
+
+  public ProcessEngineConfigurationImpl setCorrelationKeyDeclarations(CorrelationKeyDeclarations correlationKeyDeclarations) {
+    this.correlationKeyDeclarations = correlationKeyDeclarations;
+    return this;
+  }
+
 }
@@ -13,6 +13,7 @@
 package org.camunda.bpm.engine.impl.cmd;
 
 import org.camunda.bpm.engine.impl.Page;
+import org.camunda.bpm.engine.impl.cfg.ProcessEngineConfigurationImpl;
 import org.camunda.bpm.engine.impl.db.DbEntity;
 import org.camunda.bpm.engine.impl.db.entitymanager.OptimisticLockingListener;
 import org.camunda.bpm.engine.impl.db.entitymanager.operation.DbEntityOperation;
@@ -20,6 +21,7 @@ import org.camunda.bpm.engine.impl.db.entitymanager.operation.DbOperation;
 import org.camunda.bpm.engine.impl.interceptor.Command;
 import org.camunda.bpm.engine.impl.interceptor.CommandContext;
 import org.camunda.bpm.engine.impl.jobexecutor.AcquiredJobs;
+import org.camunda.bpm.engine.impl.jobexecutor.JobAcquisitionPartitions;
 import org.camunda.bpm.engine.impl.jobexecutor.JobExecutor;
 import org.camunda.bpm.engine.impl.persistence.entity.JobEntity;
 import org.camunda.bpm.engine.impl.util.ClockUtil;
@@ -51,12 +53,26 @@ public class AcquireJobsCmd implements Command<AcquiredJobs>, OptimisticLockingL
 
     acquiredJobs = new AcquiredJobs(numJobsToAcquire);
 
+    JobAcquisitionPartitions partitions = commandContext
+      .getProcessEngineConfiguration()
+      .getJobAcquisitionPartitions();
+
+    if (partitions != null && !partitions.hasOwnedPartitions()) {
+      return acquiredJobs;
+    }
+
+    // the job manager selects only jobs of the owned partitions
     List<JobEntity> jobs = commandContext
       .getJobManager()
       .findNextJobsToExecute(new Page(0, numJobsToAcquire));
 
     Map<String, List<String>> exclusiveJobsByProcessInstance = new HashMap<String, List<String>>();
 
+    // non-exclusive jobs which may be executed together in one transaction
+    ProcessEngineConfigurationImpl configuration = commandContext.getProcessEngineConfiguration();
+    int batchSize = configuration.getJobExecutorBatchSize();
+    List<String> jobBatch = new ArrayList<String>();
+
     for (JobEntity job : jobs) {
 
       lockJob(job);
@@ -69,11 +85,20 @@ public class AcquireJobsCmd implements Command<AcquiredJobs>, OptimisticLockingL
         }
         list.add(job.getId());
       }
+      else if (batchSize > 1 && ExecuteJobsBatchCmd.isBatchable(job, configuration)) {
+        jobBatch.add(job.getId());
+        if (jobBatch.size() >= batchSize) {
+          acquiredJobs.addJobIdBatch(jobBatch);
+          jobBatch = new ArrayList<String>();
+        }
+      }
       else {
         acquiredJobs.addJobIdBatch(job.getId());
       }
     }
 
+    acquiredJobs.addJobIdBatch(jobBatch);
+
     for (List<String> jobIds : exclusiveJobsByProcessInstance.values()) {
       acquiredJobs.addJobIdBatch(jobIds);
     }
@@ -67,6 +67,9 @@ public class AddCommentCmd implements Command<Comment>, Serializable {
 
     comment.setFullMessage(message);
 
+    // comments on an ended process instance are removed together with its history
+    comment.setRemovalTime(commandContext.getHistoricProcessInstanceManager().findRemovalTime(processInstanceId, taskId));
+
     commandContext
       .getCommentManager()
       .insert(comment);
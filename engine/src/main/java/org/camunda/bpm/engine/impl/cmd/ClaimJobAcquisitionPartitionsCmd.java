@@ -0,0 +1,171 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.cmd;
+
+import static org.camunda.bpm.engine.impl.jobexecutor.JobAcquisitionPartitions.NODE_PROPERTY_PREFIX;
+import static org.camunda.bpm.engine.impl.jobexecutor.JobAcquisitionPartitions.PARTITION_PROPERTY_PREFIX;
+import static org.camunda.bpm.engine.impl.jobexecutor.JobAcquisitionPartitions.PROPERTY_PREFIX;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+
+import org.camunda.bpm.engine.impl.db.entitymanager.DbEntityManager;
+import org.camunda.bpm.engine.impl.interceptor.Command;
+import org.camunda.bpm.engine.impl.interceptor.CommandContext;
+import org.camunda.bpm.engine.impl.jobexecutor.JobAcquisitionPartitions;
+import org.camunda.bpm.engine.impl.persistence.entity.PropertyEntity;
+import org.camunda.bpm.engine.impl.util.ClockUtil;
+
+/**
+ * <p>Registers a job executor as active and claims its fair share of the job
+ * acquisition partitions. Leases of partitions which are already owned are renewed,
+ * leases exceeding the fair share are released and expired leases are taken over.</p>
+ *
+ * <p>Concurrent claims of the same partition are detected by optimistic locking
+ * on the lease properties.</p>
+ */
+public class ClaimJobAcquisitionPartitionsCmd implements Command<Set<Integer>> {
+
+  protected static final String LEASE_SEPARATOR = "|";
+
+  protected JobAcquisitionPartitions partitions;
+  protected String ownerKey;
+
+  public ClaimJobAcquisitionPartitionsCmd(JobAcquisitionPartitions partitions, String lockOwner) {
+    this.partitions = partitions;
+    this.ownerKey = JobAcquisitionPartitions.getOwnerKey(lockOwner);
+  }
+
+  public Set<Integer> execute(CommandContext commandContext) {
+    long now = ClockUtil.getCurrentTime().getTime();
+    String lease = createLease(ownerKey, now + partitions.getLeaseTimeInMillis());
+
+    Map<String, PropertyEntity> properties = new HashMap<String, PropertyEntity>();
+    for (PropertyEntity property : commandContext.getPropertyManager().findPropertiesByNamePrefix(PROPERTY_PREFIX)) {
+      properties.put(property.getName(), property);
+    }
+
+    int activeNodes = registerNode(commandContext, properties, lease, now);
+    int partitionCount = partitions.getPartitionCount();
+    int fairShare = (partitionCount + activeNodes - 1) / activeNodes;
+
+    List<Integer> ownedPartitions = new ArrayList<Integer>();
+    List<Integer> freePartitions = new ArrayList<Integer>();
+
+    // start at an owner specific offset to avoid that all nodes claim the same free partitions
+    int offset = (ownerKey.hashCode() & Integer.MAX_VALUE) % partitionCount;
+    for (int i = 0; i < partitionCount; i++) {
+      int partition = (offset + i) % partitionCount;
+      PropertyEntity property = properties.get(PARTITION_PROPERTY_PREFIX + partition);
+
+      if (property != null && isLeaseOwnedBy(property.getValue(), ownerKey)) {
+        ownedPartitions.add(partition);
+      }
+      else if (property == null || isLeaseExpired(property.getValue(), now)) {
+        freePartitions.add(partition);
+      }
+    }
+
+    Set<Integer> claimedPartitions = new TreeSet<Integer>();
+    DbEntityManager dbEntityManager = commandContext.getDbEntityManager();
+
+    for (Integer partition : ownedPartitions) {
+      PropertyEntity property = properties.get(PARTITION_PROPERTY_PREFIX + partition);
+      if (claimedPartitions.size() < fairShare) {
+        property.setValue(lease);
+        claimedPartitions.add(partition);
+      }
+      else {
+        // release partitions exceeding the fair share so that joining nodes can claim them
+        property.setValue(createLease(ownerKey, 0));
+      }
+    }
+
+    for (Integer partition : freePartitions) {
+      if (claimedPartitions.size() >= fairShare) {
+        break;
+      }
+
+      String propertyName = PARTITION_PROPERTY_PREFIX + partition;
+      PropertyEntity property = properties.get(propertyName);
+      if (property == null) {
+        dbEntityManager.insert(new PropertyEntity(propertyName, lease));
+      }
+      else {
+        property.setValue(lease);
+      }
+      claimedPartitions.add(partition);
+    }
+
+    return claimedPartitions;
+  }
+
+  /**
+   * Renews the heartbeat of this node and removes the heartbeats of nodes which left.
+   *
+   * @return the number of active nodes including this one
+   */
+  protected int registerNode(CommandContext commandContext, Map<String, PropertyEntity> properties, String lease, long now) {
+    DbEntityManager dbEntityManager = commandContext.getDbEntityManager();
+    String nodePropertyName = NODE_PROPERTY_PREFIX + ownerKey;
+
+    int activeNodes = 1;
+    for (PropertyEntity property : properties.values()) {
+      String name = property.getName();
+      if (name.startsWith(NODE_PROPERTY_PREFIX) && !name.equals(nodePropertyName)) {
+        if (isLeaseExpired(property.getValue(), now)) {
+          dbEntityManager.delete(property);
+        }
+        else {
+          activeNodes++;
+        }
+      }
+    }
+
+    PropertyEntity nodeProperty = properties.get(nodePropertyName);
+    if (nodeProperty == null) {
+      dbEntityManager.insert(new PropertyEntity(nodePropertyName, lease));
+    }
+    else {
+      nodeProperty.setValue(lease);
+    }
+
+    return activeNodes;
+  }
+
+  public static String createLease(String ownerKey, long expirationTime) {
+    return ownerKey + LEASE_SEPARATOR + expirationTime;
+  }
+
+  public static boolean isLeaseOwnedBy(String lease, String ownerKey) {
+    return lease != null && lease.startsWith(ownerKey + LEASE_SEPARATOR);
+  }
+
+  public static boolean isLeaseExpired(String lease, long now) {
+    if (lease == null || lease.lastIndexOf(LEASE_SEPARATOR) < 0) {
+      return true;
+    }
+    try {
+      long expirationTime = Long.parseLong(lease.substring(lease.lastIndexOf(LEASE_SEPARATOR) + 1));
+      return expirationTime <= now;
+    }
+    catch (NumberFormatException e) {
+      return true;
+    }
+  }
+
+}
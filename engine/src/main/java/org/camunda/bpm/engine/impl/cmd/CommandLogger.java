@@ -270,4 +270,38 @@ public class CommandLogger extends ProcessEngineLogger {
       historicProcessInstance.getProcessDefinitionId()
     ));
   }
+
+  public MismatchingMessageCorrelationException exceptionExecutionAlreadyCorrelatedInBulk(String messageName, String executionId) {
+    return new MismatchingMessageCorrelationException(exceptionMessage(
+      "041",
+      "Cannot correlate a message with name '{}' to execution '{}'. Another message of the same bulk is already correlated to the execution.",
+      messageName,
+      executionId
+    ));
+  }
+
+  public BadUserRequestException exceptionDeliverSignalAsyncToSingleExecution() {
+    return new BadUserRequestException(exceptionMessage(
+      "042",
+      "Cannot deliver a signal asynchronously to a single execution."
+    ));
+  }
+
+  public BadUserRequestException exceptionSignalVariableNotSupportedForAsyncDelivery(String variableName) {
+    return new BadUserRequestException(exceptionMessage(
+      "043",
+      "Cannot deliver a signal asynchronously with variable '{}'. Only variables of primitive types are supported.",
+      variableName
+    ));
+  }
+
+  public void debugWarmingUpDeploymentCache(int processDefinitions) {
+    logDebug(
+        "044", "Warming up the deployment cache with {} process definitions", processDefinitions);
+  }
+
+  public void couldNotWarmUpDeploymentCache(Throwable cause) {
+    logWarn(
+        "045", "Could not warm up the deployment cache: {}", cause.getMessage(), cause);
+  }
 }
@@ -0,0 +1,218 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.cmd;
+
+import static org.camunda.bpm.engine.impl.util.EnsureUtil.ensureAtLeastOneNotNull;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Callable;
+
+import org.camunda.bpm.engine.MismatchingMessageCorrelationException;
+import org.camunda.bpm.engine.ProcessEngineException;
+import org.camunda.bpm.engine.impl.BulkMessageCorrelationBuilderImpl;
+import org.camunda.bpm.engine.impl.MessageCorrelationBuilderImpl;
+import org.camunda.bpm.engine.impl.ProcessEngineLogger;
+import org.camunda.bpm.engine.impl.context.Context;
+import org.camunda.bpm.engine.impl.interceptor.Command;
+import org.camunda.bpm.engine.impl.interceptor.CommandContext;
+import org.camunda.bpm.engine.impl.runtime.BulkMessageCorrelationResultImpl;
+import org.camunda.bpm.engine.impl.runtime.CorrelationHandler;
+import org.camunda.bpm.engine.impl.runtime.CorrelationHandlerResult;
+import org.camunda.bpm.engine.impl.runtime.CorrelationSet;
+import org.camunda.bpm.engine.impl.runtime.DefaultCorrelationHandler;
+import org.camunda.bpm.engine.runtime.BulkMessageCorrelationResult;
+import org.camunda.bpm.engine.runtime.MessageCorrelationResultType;
+
+/**
+ * Correlates the messages of a {@link BulkMessageCorrelationBuilderImpl} in one command.
+ * All messages are matched first and delivered afterwards. Messages which are correlated
+ * by name and business key only are matched with one query per message name if the
+ * {@link DefaultCorrelationHandler} is used.
+ */
+public class CorrelateMessagesInBulkCmd implements Command<List<BulkMessageCorrelationResult>> {
+
+  private final static CommandLogger LOG = ProcessEngineLogger.CMD_LOGGER;
+
+  protected List<MessageCorrelationBuilderImpl> messageCorrelations;
+
+  public CorrelateMessagesInBulkCmd(BulkMessageCorrelationBuilderImpl builder) {
+    this.messageCorrelations = new ArrayList<MessageCorrelationBuilderImpl>(builder.getMessageCorrelations());
+  }
+
+  public List<BulkMessageCorrelationResult> execute(final CommandContext commandContext) {
+    final List<MessageCorrelation> correlations = new ArrayList<MessageCorrelation>();
+    for (MessageCorrelationBuilderImpl messageCorrelation : messageCorrelations) {
+      correlations.add(new MessageCorrelation(messageCorrelation));
+    }
+
+    commandContext.runWithoutAuthorization(new Callable<Void>() {
+      public Void call() throws Exception {
+        matchCorrelations(commandContext, correlations);
+        return null;
+      }
+    });
+
+    List<BulkMessageCorrelationResult> results = new ArrayList<BulkMessageCorrelationResult>();
+    Set<String> correlatedExecutionIds = new HashSet<String>();
+
+    for (MessageCorrelation correlation : correlations) {
+      BulkMessageCorrelationResultImpl result = new BulkMessageCorrelationResultImpl(correlation.messageName);
+      results.add(result);
+
+      if (correlation.exception != null) {
+        result.setException(correlation.exception);
+        continue;
+      }
+
+      CorrelationHandlerResult handlerResult = correlation.handlerResult;
+      try {
+        correlation.checkAuthorization(handlerResult);
+      }
+      catch (ProcessEngineException e) {
+        result.setException(e);
+        continue;
+      }
+
+      if (MessageCorrelationResultType.Execution.equals(handlerResult.getResultType())
+          && !correlatedExecutionIds.add(handlerResult.getExecutionEntity().getId())) {
+        result.setException(LOG.exceptionExecutionAlreadyCorrelatedInBulk(correlation.messageName, handlerResult.getExecutionEntity().getId()));
+        continue;
+      }
+
+      result.setCorrelationResult(correlation.createMessageCorrelationResult(commandContext, handlerResult));
+    }
+
+    return results;
+  }
+
+  protected void matchCorrelations(CommandContext commandContext, List<MessageCorrelation> correlations) {
+    CorrelationHandler correlationHandler = Context.getProcessEngineConfiguration().getCorrelationHandler();
+
+    Map<String, List<MessageCorrelation>> correlationsByMessageName = new LinkedHashMap<String, List<MessageCorrelation>>();
+
+    for (MessageCorrelation correlation : correlations) {
+      if (correlationHandler instanceof DefaultCorrelationHandler && correlation.isCorrelatedByBusinessKeyOnly()) {
+        List<MessageCorrelation> correlationsOfMessage = correlationsByMessageName.get(correlation.messageName);
+        if (correlationsOfMessage == null) {
+          correlationsOfMessage = new ArrayList<MessageCorrelation>();
+          correlationsByMessageName.put(correlation.messageName, correlationsOfMessage);
+        }
+        correlationsOfMessage.add(correlation);
+      }
+      else {
+        matchCorrelation(commandContext, correlationHandler, correlation);
+      }
+    }
+
+    for (Map.Entry<String, List<MessageCorrelation>> correlationsOfMessage : correlationsByMessageName.entrySet()) {
+      matchCorrelationsByBusinessKey(commandContext, (DefaultCorrelationHandler) correlationHandler,
+          correlationsOfMessage.getKey(), correlationsOfMessage.getValue());
+    }
+  }
+
+  protected void matchCorrelation(CommandContext commandContext, CorrelationHandler correlationHandler, MessageCorrelation correlation) {
+    MessageCorrelationBuilderImpl builder = correlation.getBuilder();
+    try {
+      ensureAtLeastOneNotNull(
+          "At least one of the following correlation criteria has to be present: " + "messageName, businessKey, correlationKeys, processInstanceId", correlation.messageName,
+          builder.getBusinessKey(), builder.getCorrelationProcessInstanceVariables(), builder.getProcessInstanceId());
+
+      CorrelationHandlerResult handlerResult = correlationHandler.correlateMessage(commandContext, correlation.messageName, new CorrelationSet(builder));
+      if (handlerResult == null) {
+        throw new MismatchingMessageCorrelationException(correlation.messageName, "No process definition or execution matches the parameters");
+      }
+      correlation.handlerResult = handlerResult;
+    }
+    catch (ProcessEngineException e) {
+      correlation.exception = e;
+    }
+  }
+
+  protected void matchCorrelationsByBusinessKey(CommandContext commandContext, DefaultCorrelationHandler correlationHandler,
+      String messageName, List<MessageCorrelation> correlations) {
+
+    Set<String> businessKeys = new LinkedHashSet<String>();
+    for (MessageCorrelation correlation : correlations) {
+      businessKeys.add(correlation.getBuilder().getBusinessKey());
+    }
+
+    Map<String, List<CorrelationHandlerResult>> executionCorrelations = correlationHandler
+        .correlateMessageToExecutionsByBusinessKeys(commandContext, messageName, businessKeys);
+
+    // the start message correlations do not depend on the business key
+    List<CorrelationHandlerResult> startMessageCorrelations = null;
+
+    for (MessageCorrelation correlation : correlations) {
+      CorrelationSet correlationSet = new CorrelationSet(correlation.getBuilder());
+      List<CorrelationHandlerResult> handlerResults = executionCorrelations.get(correlation.getBuilder().getBusinessKey());
+
+      if (handlerResults != null) {
+        if (handlerResults.size() > 1) {
+          correlation.exception = LOG.exceptionCorrelateMessageToSingleExecution(messageName, handlerResults.size(), correlationSet);
+        }
+        else {
+          correlation.handlerResult = handlerResults.get(0);
+        }
+        continue;
+      }
+
+      if (startMessageCorrelations == null) {
+        startMessageCorrelations = correlationHandler.correlateStartMessages(commandContext, messageName, correlationSet);
+      }
+
+      if (startMessageCorrelations.size() > 1) {
+        correlation.exception = LOG.exceptionCorrelateMessageToSingleProcessDefinition(messageName, startMessageCorrelations.size(), correlationSet);
+      }
+      else if (startMessageCorrelations.size() == 1) {
+        correlation.handlerResult = startMessageCorrelations.get(0);
+      }
+      else {
+        correlation.exception = new MismatchingMessageCorrelationException(messageName, "No process definition or execution matches the parameters");
+      }
+    }
+  }
+
+  /**
+   * A single message of the bulk together with the result of matching it.
+   */
+  protected static class MessageCorrelation extends AbstractCorrelateMessageCmd {
+
+    protected CorrelationHandlerResult handlerResult;
+    protected ProcessEngineException exception;
+
+    protected MessageCorrelation(MessageCorrelationBuilderImpl builder) {
+      super(builder);
+    }
+
+    protected MessageCorrelationBuilderImpl getBuilder() {
+      return builder;
+    }
+
+    protected boolean isCorrelatedByBusinessKeyOnly() {
+      return messageName != null
+          && builder.getBusinessKey() != null
+          && builder.getProcessInstanceId() == null
+          && builder.getProcessDefinitionId() == null
+          && builder.getCorrelationProcessInstanceVariables() == null
+          && builder.getCorrelationLocalVariables() == null
+          && !builder.isTenantIdSet();
+    }
+  }
+
+}
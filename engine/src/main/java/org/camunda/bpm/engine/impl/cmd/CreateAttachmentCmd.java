@@ -82,6 +82,7 @@ public class CreateAttachmentCmd implements Command<Attachment> {
     attachment.setTaskId(taskId);
     attachment.setProcessInstanceId(processInstanceId);
     attachment.setUrl(url);
+    attachment.setRemovalTime(commandContext.getHistoricProcessInstanceManager().findRemovalTime(processInstanceId, taskId));
 
     DbEntityManager dbEntityManger = commandContext.getDbEntityManager();
     dbEntityManger.insert(attachment);
@@ -17,6 +17,7 @@ import org.camunda.bpm.engine.BadUserRequestException;
 import org.camunda.bpm.engine.history.HistoricProcessInstance;
 import org.camunda.bpm.engine.impl.HistoricProcessInstanceQueryImpl;
 import org.camunda.bpm.engine.impl.cfg.CommandChecker;
+import org.camunda.bpm.engine.impl.history.buffer.HistoryEventBuffer;
 import org.camunda.bpm.engine.impl.interceptor.Command;
 import org.camunda.bpm.engine.impl.interceptor.CommandContext;
 
@@ -48,6 +49,9 @@ public class DeleteHistoricProcessInstancesCmd implements Command<Void>, Seriali
     ensureNotEmpty(BadUserRequestException.class,"processInstanceIds", processInstanceIds);
     ensureNotContainsNull(BadUserRequestException.class, "processInstanceId is null", "processInstanceIds", processInstanceIds);
 
+    // the history of the instances may still be buffered
+    HistoryEventBuffer.flushBuffer(commandContext);
+
     // Check if process instance is still running
     List<HistoricProcessInstance> instances = commandContext.runWithoutAuthorization(new Callable<List<HistoricProcessInstance>>() {
       @Override
@@ -49,11 +49,13 @@ import org.camunda.bpm.engine.impl.persistence.entity.ProcessApplicationDeployme
 import org.camunda.bpm.engine.impl.persistence.entity.ProcessDefinitionManager;
 import org.camunda.bpm.engine.impl.persistence.entity.PropertyChange;
 import org.camunda.bpm.engine.impl.persistence.entity.ResourceEntity;
+import org.camunda.bpm.engine.impl.persistence.entity.ResourceHashResultEntity;
 import org.camunda.bpm.engine.impl.persistence.entity.ResourceManager;
 import org.camunda.bpm.engine.impl.persistence.entity.UserOperationLogManager;
 import org.camunda.bpm.engine.impl.repository.DeploymentBuilderImpl;
 import org.camunda.bpm.engine.impl.repository.ProcessApplicationDeploymentBuilderImpl;
 import org.camunda.bpm.engine.impl.util.ClockUtil;
+import org.camunda.bpm.engine.impl.util.ResourceHashUtil;
 import org.camunda.bpm.engine.impl.util.StringUtil;
 import org.camunda.bpm.engine.repository.*;
 import org.camunda.bpm.model.bpmn.Bpmn;
@@ -438,17 +440,28 @@ public class DeployCmd implements Command<DeploymentWithDefinitions>, Serializab
         source = ProcessApplicationDeployment.PROCESS_APPLICATION_DEPLOYMENT_SOURCE;
       }
 
-      Map<String, ResourceEntity> existingResources = commandContext
+      // compare the hash of the whole deployment first, this is a single small query
+      List<String> latestDeploymentHashes = commandContext
+          .getDeploymentManager()
+          .findLatestDeploymentHashesByName(deployment.getName(), source, deployment.getTenantId());
+
+      String deploymentHash = ResourceHashUtil.hashDeployment(containedResources.values());
+      if (latestDeploymentHashes.size() == 1 && deploymentHash.equals(latestDeploymentHashes.get(0))) {
+        return resourcesToDeploy;
+      }
+
+      // otherwise compare the hashes of the single resources without fetching their bytes
+      Map<String, ResourceHashResultEntity> existingResources = commandContext
           .getResourceManager()
-          .findLatestResourcesByDeploymentName(deployment.getName(), containedResources.keySet(), source, deployment.getTenantId());
+          .findLatestResourceHashesByDeploymentName(deployment.getName(), containedResources.keySet(), source, deployment.getTenantId());
 
       for (ResourceEntity deployedResource : containedResources.values()) {
         String resourceName = deployedResource.getName();
-        ResourceEntity existingResource = existingResources.get(resourceName);
+        ResourceHashResultEntity existingResource = existingResources.get(resourceName);
 
         if (existingResource == null
             || existingResource.isGenerated()
-            || resourcesDiffer(deployedResource, existingResource)) {
+            || resourcesDiffer(commandContext, deployedResource, existingResource)) {
           // resource should be deployed
 
           if (deploymentBuilder.isDeployChangedOnly()) {
@@ -468,6 +481,20 @@ public class DeployCmd implements Command<DeploymentWithDefinitions>, Serializab
     return resourcesToDeploy;
   }
 
+  protected boolean resourcesDiffer(CommandContext commandContext, ResourceEntity resource, ResourceHashResultEntity existing) {
+    String existingHash = existing.getHash();
+    if (existingHash != null) {
+      return !existingHash.equals(ResourceHashUtil.ensureHash(resource));
+    }
+    else {
+      // the resource was deployed before hashes were stored
+      ResourceEntity existingResource = commandContext
+          .getDbEntityManager()
+          .selectById(ResourceEntity.class, existing.getId());
+      return existingResource == null || resourcesDiffer(resource, existingResource);
+    }
+  }
+
   protected boolean resourcesDiffer(ResourceEntity resource, ResourceEntity existing) {
     byte[] bytes = resource.getBytes();
     byte[] savedBytes = existing.getBytes();
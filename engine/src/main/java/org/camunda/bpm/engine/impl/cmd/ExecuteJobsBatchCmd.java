@@ -0,0 +1,101 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.cmd;
+
+import static org.camunda.bpm.engine.impl.util.EnsureUtil.ensureNotNull;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import org.camunda.bpm.engine.impl.cfg.ProcessEngineConfigurationImpl;
+import org.camunda.bpm.engine.impl.cfg.TransactionListener;
+import org.camunda.bpm.engine.impl.cfg.TransactionState;
+import org.camunda.bpm.engine.impl.interceptor.Command;
+import org.camunda.bpm.engine.impl.interceptor.CommandContext;
+import org.camunda.bpm.engine.impl.jobexecutor.JobFailureCollector;
+import org.camunda.bpm.engine.impl.persistence.entity.JobEntity;
+import org.camunda.bpm.engine.management.Metrics;
+
+/**
+ * <p>Executes several jobs in one command context, so that they are flushed and
+ * committed together. Only jobs with a handler type contained in
+ * {@link ProcessEngineConfigurationImpl#getJobExecutorBatchHandlerTypes()} or of a job
+ * definition whose activity id is contained in
+ * {@link ProcessEngineConfigurationImpl#getJobExecutorBatchActivityIds()} are executed,
+ * the ids of all other jobs are returned to be executed one by one. Jobs which do not
+ * exist anymore are skipped.</p>
+ *
+ * <p>If one of the jobs fails, the whole batch is rolled back. The caller is
+ * responsible to execute the jobs of the batch one by one in this case, so that
+ * the failure is attributed to the failing job only.</p>
+ */
+public class ExecuteJobsBatchCmd implements Command<List<String>> {
+
+  protected List<String> jobIds;
+
+  public ExecuteJobsBatchCmd(List<String> jobIds) {
+    this.jobIds = jobIds;
+  }
+
+  public List<String> execute(CommandContext commandContext) {
+    ensureNotNull("jobIds", jobIds);
+
+    ProcessEngineConfigurationImpl configuration = commandContext.getProcessEngineConfiguration();
+    List<String> skippedJobIds = new ArrayList<String>();
+    int executedJobs = 0;
+
+    for (String jobId : jobIds) {
+      JobEntity job = commandContext.getDbEntityManager().selectById(JobEntity.class, jobId);
+
+      if (job == null) {
+        // the job was deleted or executed by someone else in the meantime
+        continue;
+      }
+      else if (!isBatchable(job, configuration)) {
+        skippedJobIds.add(jobId);
+      }
+      else {
+        new ExecuteJobsCmd(jobId, new JobFailureCollector(jobId)).execute(commandContext);
+        executedJobs++;
+      }
+    }
+
+    if (executedJobs > 0 && configuration.isMetricsEnabled()) {
+      final long successfulJobs = executedJobs;
+      commandContext.getTransactionContext().addTransactionListener(TransactionState.COMMITTED, new TransactionListener() {
+        public void execute(CommandContext commandContext) {
+          commandContext.getProcessEngineConfiguration()
+            .getMetricsRegistry()
+            .markOccurrence(Metrics.JOB_SUCCESSFUL, successfulJobs);
+        }
+      });
+    }
+
+    return skippedJobIds;
+  }
+
+  public static boolean isBatchable(JobEntity job, ProcessEngineConfigurationImpl configuration) {
+    Set<String> batchHandlerTypes = configuration.getJobExecutorBatchHandlerTypes();
+    if (batchHandlerTypes != null && batchHandlerTypes.contains(job.getJobHandlerType())) {
+      return true;
+    }
+
+    Set<String> batchActivityIds = configuration.getJobExecutorBatchActivityIds();
+    return batchActivityIds != null
+        && !batchActivityIds.isEmpty()
+        && job.getJobDefinitionId() != null
+        && batchActivityIds.contains(job.getActivityId());
+  }
+
+}
@@ -0,0 +1,85 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.cmd;
+
+import static org.camunda.bpm.engine.impl.util.EnsureUtil.ensureNotNull;
+
+import java.io.InputStream;
+import java.io.Serializable;
+
+import org.camunda.bpm.engine.impl.cfg.CommandChecker;
+import org.camunda.bpm.engine.impl.core.variable.CoreVariableInstance;
+import org.camunda.bpm.engine.impl.interceptor.Command;
+import org.camunda.bpm.engine.impl.interceptor.CommandContext;
+import org.camunda.bpm.engine.impl.persistence.entity.ExecutionEntity;
+import org.camunda.bpm.engine.impl.persistence.entity.VariableInstanceEntity;
+import org.camunda.bpm.engine.impl.util.IoUtil;
+import org.camunda.bpm.engine.impl.util.TemporaryFileInputStream;
+
+/**
+ * <p>Copies the byte array of a variable into a temporary file, so that the caller
+ * can read it after the command has released the connection.</p>
+ *
+ * <p>The copy is made while the command and its transaction are open, i.e. the
+ * connection is held for as long as the copy takes. Whether the command itself keeps
+ * the value in memory depends on the database, see
+ * {@link org.camunda.bpm.engine.impl.persistence.entity.ByteArrayManager#openByteArrayStream(String)}.</p>
+ */
+public class GetExecutionVariableBinaryStreamCmd implements Command<InputStream>, Serializable {
+
+  private static final long serialVersionUID = 1L;
+  protected String executionId;
+  protected String variableName;
+
+  public GetExecutionVariableBinaryStreamCmd(String executionId, String variableName) {
+    this.executionId = executionId;
+    this.variableName = variableName;
+  }
+
+  public InputStream execute(CommandContext commandContext) {
+    ensureNotNull("executionId", executionId);
+    ensureNotNull("variableName", variableName);
+
+    ExecutionEntity execution = commandContext
+      .getExecutionManager()
+      .findExecutionById(executionId);
+
+    ensureNotNull("execution " + executionId + " doesn't exist", "execution", execution);
+
+    checkGetExecutionVariable(execution, commandContext);
+
+    CoreVariableInstance variableInstance = execution.getVariableInstance(variableName);
+    if (!(variableInstance instanceof VariableInstanceEntity)) {
+      return null;
+    }
+
+    InputStream byteArrayStream = ((VariableInstanceEntity) variableInstance).openByteArrayValueStream();
+    if (byteArrayStream == null) {
+      return null;
+    }
+
+    try {
+      return TemporaryFileInputStream.copyOf(byteArrayStream, "variable '" + variableName + "'");
+    }
+    finally {
+      IoUtil.closeSilently(byteArrayStream);
+    }
+  }
+
+  protected void checkGetExecutionVariable(ExecutionEntity execution, CommandContext commandContext) {
+    for(CommandChecker checker : commandContext.getProcessEngineConfiguration().getCommandCheckers()) {
+      checker.checkReadProcessInstance(execution);
+    }
+  }
+
+}
@@ -14,8 +14,9 @@
 package org.camunda.bpm.engine.impl.cmd;
 
 import java.util.Date;
+import java.util.List;
+
 import org.camunda.bpm.engine.impl.ProcessEngineLogger;
-import org.camunda.bpm.engine.impl.context.Context;
 import org.camunda.bpm.engine.impl.interceptor.Command;
 import org.camunda.bpm.engine.impl.interceptor.CommandContext;
 import org.camunda.bpm.engine.impl.jobexecutor.JobDeclaration;
@@ -36,12 +37,23 @@ public class HistoryCleanupCmd implements Command<Job> {
 
   public static final JobDeclaration HISTORY_CLEANUP_JOB_DECLARATION = new HistoryCleanupJobDeclaration();
 
+  /**
+   * Maximum number of history cleanup jobs which run at the same time.
+   */
+  public static final int MAX_THREADS_NUMBER = 8;
+
   private boolean immediatelyDue;
 
   public HistoryCleanupCmd(boolean immediatelyDue) {
     this.immediatelyDue = immediatelyDue;
   }
 
+  /**
+   * Creates, reconfigures or suspends one history cleanup job per configured degree of parallelism.
+   * Each job cleans up the history of its own range of minutes, see {@link HistoryCleanupHelper#listMinutePartitions(int)}.
+   *
+   * @return the first history cleanup job or <code>null</code> if no job exists
+   */
   @Override
   public Job execute(CommandContext commandContext) {
     commandContext.getAuthorizationManager().checkCamundaAdmin();
@@ -51,38 +63,50 @@ public class HistoryCleanupCmd implements Command<Job> {
       LOG.debugHistoryCleanupWrongConfiguration();
     }
 
-    //find job instance
-    JobEntity historyCleanupJob = commandContext.getJobManager().findJobByHandlerType(HistoryCleanupJobHandler.TYPE);
-
-    boolean createJob = historyCleanupJob == null && willBeScheduled(commandContext);
+    int degreeOfParallelism = commandContext.getProcessEngineConfiguration().getHistoryCleanupDegreeOfParallelism();
 
-    boolean reconfigureJob = historyCleanupJob != null && willBeScheduled(commandContext);
+    //find job instances
+    List<JobEntity> historyCleanupJobs = commandContext.getJobManager().findJobsByHandlerType(HistoryCleanupJobHandler.TYPE);
 
-    boolean suspendJob = historyCleanupJob != null && !willBeScheduled(commandContext);
+    if (willBeScheduled(commandContext)) {
+      if (historyCleanupJobs.size() != degreeOfParallelism) {
+        //exclusive lock
+        commandContext.getPropertyManager().acquireExclusiveLockForHistoryCleanupJob();
 
-    if (createJob) {
-      //exclusive lock
-      commandContext.getPropertyManager().acquireExclusiveLockForHistoryCleanupJob();
+        //check again after lock
+        historyCleanupJobs = commandContext.getJobManager().findJobsByHandlerType(HistoryCleanupJobHandler.TYPE);
 
-      //check again after lock
-      historyCleanupJob = commandContext.getJobManager().findJobByHandlerType(HistoryCleanupJobHandler.TYPE);
+        //remove the jobs of a former, higher degree of parallelism
+        while (historyCleanupJobs.size() > degreeOfParallelism) {
+          JobEntity historyCleanupJob = historyCleanupJobs.remove(historyCleanupJobs.size() - 1);
+          commandContext.getJobManager().deleteJob(historyCleanupJob);
+        }
+      }
 
-      if (historyCleanupJob == null) {
-        historyCleanupJob = HISTORY_CLEANUP_JOB_DECLARATION.createJobInstance(new HistoryCleanupContext(immediatelyDue));
-        Context.getCommandContext().getJobManager().insertAndHintJobExecutor(historyCleanupJob);
+      int[][] minutePartitions = HistoryCleanupHelper.listMinutePartitions(degreeOfParallelism);
+      for (int i = 0; i < degreeOfParallelism; i++) {
+        HistoryCleanupContext historyCleanupContext = new HistoryCleanupContext(immediatelyDue, minutePartitions[i][0], minutePartitions[i][1]);
+
+        if (i < historyCleanupJobs.size()) {
+          //apply new configuration
+          JobEntity historyCleanupJob = historyCleanupJobs.get(i);
+          HISTORY_CLEANUP_JOB_DECLARATION.reconfigure(historyCleanupContext, historyCleanupJob);
+          Date newDueDate = HISTORY_CLEANUP_JOB_DECLARATION.resolveDueDate(historyCleanupContext);
+          commandContext.getJobManager().reschedule(historyCleanupJob, newDueDate);
+        } else {
+          JobEntity historyCleanupJob = HISTORY_CLEANUP_JOB_DECLARATION.createJobInstance(historyCleanupContext);
+          commandContext.getJobManager().insertAndHintJobExecutor(historyCleanupJob);
+          historyCleanupJobs.add(historyCleanupJob);
+        }
+      }
+    } else {
+      for (JobEntity historyCleanupJob : historyCleanupJobs) {
+        historyCleanupJob.setDuedate(null);
+        historyCleanupJob.setSuspensionState(SuspensionState.SUSPENDED.getStateCode());
       }
-    } else if (reconfigureJob) {
-      //apply new configuration
-      HistoryCleanupContext historyCleanupContext = new HistoryCleanupContext(immediatelyDue);
-      HISTORY_CLEANUP_JOB_DECLARATION.reconfigure(historyCleanupContext, historyCleanupJob);
-      Date newDueDate = HISTORY_CLEANUP_JOB_DECLARATION.resolveDueDate(historyCleanupContext);
-      commandContext.getJobManager().reschedule(historyCleanupJob, newDueDate);
-    } else if (suspendJob) {
-      historyCleanupJob.setDuedate(null);
-      historyCleanupJob.setSuspensionState(SuspensionState.SUSPENDED.getStateCode());
     }
 
-    return historyCleanupJob;
+    return historyCleanupJobs.isEmpty() ? null : historyCleanupJobs.get(0);
   }
 
   private boolean willBeScheduled(CommandContext commandContext) {
@@ -0,0 +1,50 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.cmd;
+
+import static org.camunda.bpm.engine.impl.jobexecutor.JobAcquisitionPartitions.NODE_PROPERTY_PREFIX;
+import static org.camunda.bpm.engine.impl.jobexecutor.JobAcquisitionPartitions.PARTITION_PROPERTY_PREFIX;
+
+import org.camunda.bpm.engine.impl.interceptor.Command;
+import org.camunda.bpm.engine.impl.interceptor.CommandContext;
+import org.camunda.bpm.engine.impl.jobexecutor.JobAcquisitionPartitions;
+import org.camunda.bpm.engine.impl.persistence.entity.PropertyEntity;
+
+/**
+ * Unregisters a job executor and releases the leases of all job acquisition
+ * partitions it owns.
+ */
+public class ReleaseJobAcquisitionPartitionsCmd implements Command<Void> {
+
+  protected String ownerKey;
+
+  public ReleaseJobAcquisitionPartitionsCmd(String lockOwner) {
+    this.ownerKey = JobAcquisitionPartitions.getOwnerKey(lockOwner);
+  }
+
+  public Void execute(CommandContext commandContext) {
+    for (PropertyEntity property : commandContext.getPropertyManager().findPropertiesByNamePrefix(PARTITION_PROPERTY_PREFIX)) {
+      if (ClaimJobAcquisitionPartitionsCmd.isLeaseOwnedBy(property.getValue(), ownerKey)) {
+        property.setValue(ClaimJobAcquisitionPartitionsCmd.createLease(ownerKey, 0));
+      }
+    }
+
+    PropertyEntity nodeProperty = commandContext.getPropertyManager().findPropertyById(NODE_PROPERTY_PREFIX + ownerKey);
+    if (nodeProperty != null) {
+      commandContext.getDbEntityManager().delete(nodeProperty);
+    }
+
+    return null;
+  }
+
+}
@@ -0,0 +1,130 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.cmd;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+
+import org.camunda.bpm.engine.authorization.Permissions;
+import org.camunda.bpm.engine.authorization.Resources;
+import org.camunda.bpm.engine.batch.Batch;
+import org.camunda.bpm.engine.impl.ProcessEngineLogger;
+import org.camunda.bpm.engine.impl.SignalEventReceivedBuilderImpl;
+import org.camunda.bpm.engine.impl.batch.BatchEntity;
+import org.camunda.bpm.engine.impl.batch.BatchJobHandler;
+import org.camunda.bpm.engine.impl.batch.signal.SignalEventReceivedBatchConfiguration;
+import org.camunda.bpm.engine.impl.batch.signal.SignalEventReceivedBatchConfigurationJsonConverter;
+import org.camunda.bpm.engine.impl.cfg.ProcessEngineConfigurationImpl;
+import org.camunda.bpm.engine.impl.interceptor.Command;
+import org.camunda.bpm.engine.impl.interceptor.CommandContext;
+import org.camunda.bpm.engine.impl.persistence.entity.EventSubscriptionManager;
+
+/**
+ * Creates a batch which delivers a signal to all matching event subscriptions.
+ * The ids of the subscriptions are collected page by page so that a single
+ * query never returns more than {@link #SUBSCRIPTION_ID_PAGE_SIZE} rows.
+ */
+public class SignalEventReceivedBatchCmd implements Command<Batch> {
+
+  private final static CommandLogger LOG = ProcessEngineLogger.CMD_LOGGER;
+
+  public static final int SUBSCRIPTION_ID_PAGE_SIZE = 1000;
+
+  protected final SignalEventReceivedBuilderImpl builder;
+
+  public SignalEventReceivedBatchCmd(SignalEventReceivedBuilderImpl builder) {
+    this.builder = builder;
+  }
+
+  public Batch execute(CommandContext commandContext) {
+    checkAuthorization(commandContext);
+    checkVariables(builder.getVariables());
+
+    List<String> eventSubscriptionIds = collectEventSubscriptionIds(commandContext);
+    BatchEntity batch = createBatch(commandContext, eventSubscriptionIds);
+
+    batch.createSeedJobDefinition();
+    batch.createMonitorJobDefinition();
+    batch.createBatchJobDefinition();
+
+    batch.fireHistoricStartEvent();
+
+    batch.createSeedJob();
+    return batch;
+  }
+
+  protected void checkAuthorization(CommandContext commandContext) {
+    commandContext.getAuthorizationManager().checkAuthorization(Permissions.CREATE, Resources.BATCH);
+  }
+
+  protected void checkVariables(Map<String, Object> variables) {
+    if (variables != null) {
+      for (Entry<String, Object> variable : variables.entrySet()) {
+        if (!SignalEventReceivedBatchConfigurationJsonConverter.isSupportedVariableValue(variable.getValue())) {
+          throw LOG.exceptionSignalVariableNotSupportedForAsyncDelivery(variable.getKey());
+        }
+      }
+    }
+  }
+
+  protected List<String> collectEventSubscriptionIds(CommandContext commandContext) {
+    EventSubscriptionManager eventSubscriptionManager = commandContext.getEventSubscriptionManager();
+
+    List<String> eventSubscriptionIds = new ArrayList<String>();
+    String lastId = null;
+
+    List<String> page;
+    do {
+      page = eventSubscriptionManager.findSignalEventSubscriptionIdsByEventName(builder.getSignalName(),
+          builder.getTenantId(), builder.isTenantIdSet(), lastId, SUBSCRIPTION_ID_PAGE_SIZE);
+
+      if (!page.isEmpty()) {
+        eventSubscriptionIds.addAll(page);
+        lastId = page.get(page.size() - 1);
+      }
+    } while (page.size() == SUBSCRIPTION_ID_PAGE_SIZE);
+
+    return eventSubscriptionIds;
+  }
+
+  protected BatchEntity createBatch(CommandContext commandContext, List<String> eventSubscriptionIds) {
+    ProcessEngineConfigurationImpl processEngineConfiguration = commandContext.getProcessEngineConfiguration();
+    BatchJobHandler<SignalEventReceivedBatchConfiguration> batchJobHandler = getBatchJobHandler(processEngineConfiguration);
+
+    SignalEventReceivedBatchConfiguration configuration = new SignalEventReceivedBatchConfiguration(eventSubscriptionIds, builder.getVariables());
+
+    BatchEntity batch = new BatchEntity();
+    batch.setType(batchJobHandler.getType());
+    batch.setTotalJobs(calculateSize(processEngineConfiguration, eventSubscriptionIds.size()));
+    batch.setBatchJobsPerSeed(processEngineConfiguration.getBatchJobsPerSeed());
+    batch.setInvocationsPerBatchJob(processEngineConfiguration.getInvocationsPerBatchJob());
+    batch.setConfigurationBytes(batchJobHandler.writeConfiguration(configuration));
+    commandContext.getBatchManager().insert(batch);
+
+    return batch;
+  }
+
+  protected int calculateSize(ProcessEngineConfigurationImpl processEngineConfiguration, int eventSubscriptionCount) {
+    int invocationsPerBatchJob = processEngineConfiguration.getInvocationsPerBatchJob();
+    return (eventSubscriptionCount + invocationsPerBatchJob - 1) / invocationsPerBatchJob;
+  }
+
+  @SuppressWarnings("unchecked")
+  protected BatchJobHandler<SignalEventReceivedBatchConfiguration> getBatchJobHandler(ProcessEngineConfigurationImpl processEngineConfiguration) {
+    Map<String, BatchJobHandler<?>> batchHandlers = processEngineConfiguration.getBatchHandlers();
+    return (BatchJobHandler<SignalEventReceivedBatchConfiguration>) batchHandlers.get(Batch.TYPE_SIGNAL_EVENT_RECEIVED);
+  }
+
+}
@@ -0,0 +1,47 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.cmd;
+
+import java.util.Collections;
+import java.util.List;
+
+import org.camunda.bpm.engine.impl.history.buffer.BufferedDbHistoryEventHandler;
+import org.camunda.bpm.engine.impl.history.event.HistoryEvent;
+import org.camunda.bpm.engine.impl.interceptor.Command;
+import org.camunda.bpm.engine.impl.interceptor.CommandContext;
+
+/**
+ * Writes history events taken from the {@link org.camunda.bpm.engine.impl.history.buffer.HistoryEventBuffer}.
+ */
+public class WriteHistoryEventsCmd implements Command<Void> {
+
+  protected final List<HistoryEvent> historyEvents;
+
+  public WriteHistoryEventsCmd(HistoryEvent historyEvent) {
+    this(Collections.singletonList(historyEvent));
+  }
+
+  public WriteHistoryEventsCmd(List<HistoryEvent> historyEvents) {
+    this.historyEvents = historyEvents;
+  }
+
+  public Void execute(CommandContext commandContext) {
+    new BufferedDbHistoryEventHandler().handleEvents(historyEvents);
+    return null;
+  }
+
+  public List<HistoryEvent> getHistoryEvents() {
+    return historyEvents;
+  }
+
+}
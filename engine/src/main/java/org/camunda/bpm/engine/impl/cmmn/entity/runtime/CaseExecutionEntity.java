@@ -728,6 +728,17 @@ public class CaseExecutionEntity extends CmmnExecution implements CaseExecution,
       .findVariableInstancesByCaseExecutionId(id);
   }
 
+  @Override
+  public Collection<VariableInstanceEntity> provideVariables(Collection<String> variableNames) {
+    if (!Context.getProcessEngineConfiguration().isPartialVariableLoadingEnabled()) {
+      return null;
+    }
+    return Context
+      .getCommandContext()
+      .getVariableInstanceManager()
+      .findVariableInstancesByCaseExecutionIdAndVariableNames(id, variableNames);
+  }
+
   // toString /////////////////////////////////////////////////////////////
 
   public String toString() {
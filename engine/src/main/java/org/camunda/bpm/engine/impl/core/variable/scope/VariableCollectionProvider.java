@@ -41,6 +41,14 @@ public class VariableCollectionProvider<T extends CoreVariableInstance> implemen
     }
   }
 
+  /**
+   * The variables are in memory already, so they are always provided at once.
+   */
+  @Override
+  public Collection<T> provideVariables(Collection<String> variableNames) {
+    return null;
+  }
+
   public static <T extends CoreVariableInstance> VariableCollectionProvider<T> emptyVariables() {
     return new VariableCollectionProvider<T>(Collections.<T>emptySet());
   }
@@ -15,6 +15,7 @@ package org.camunda.bpm.engine.impl.core.variable.scope;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
@@ -34,6 +35,12 @@ public class VariableStore<T extends CoreVariableInstance> {
   protected VariablesProvider<T> variablesProvider;
   protected Map<String, T> variables;
 
+  /**
+   * Variables which were fetched by name before the store was initialized.
+   * A <code>null</code> value marks a variable which does not exist or was removed.
+   */
+  protected Map<String, T> partiallyLoadedVariables;
+
   protected Map<String, T> removedVariables = new HashMap<String, T>();
 
   protected List<VariableStoreObserver<T>> observers;
@@ -73,6 +80,9 @@ public class VariableStore<T extends CoreVariableInstance> {
   }
 
   public T getVariable(String name) {
+    if (!isInitialized() && loadVariable(name)) {
+      return partiallyLoadedVariables.get(name);
+    }
 
     return getVariablesMap().get(name);
   }
@@ -88,7 +98,12 @@ public class VariableStore<T extends CoreVariableInstance> {
       throw ProcessEngineLogger.CORE_LOGGER.duplicateVariableInstanceException(value);
     }
 
-    getVariablesMap().put(value.getName(), value);
+    if (isInitialized()) {
+      variables.put(value.getName(), value);
+    }
+    else {
+      partiallyLoadedVariables.put(value.getName(), value);
+    }
 
     for (VariableStoreObserver<T> listener : observers) {
       listener.onAdd(value);
@@ -116,6 +131,10 @@ public class VariableStore<T extends CoreVariableInstance> {
   }
 
   public boolean containsKey(String key) {
+    if (!isInitialized() && loadVariable(key)) {
+      return partiallyLoadedVariables.get(key) != null;
+    }
+
     return getVariablesMap().containsKey(key);
   }
 
@@ -134,16 +153,61 @@ public class VariableStore<T extends CoreVariableInstance> {
       for (T variable : variablesProvider.provideVariables()) {
         variables.put(variable.getName(), variable);
       }
+
+      if (partiallyLoadedVariables != null) {
+        // variables added or removed before the initialization take precedence
+        for (Map.Entry<String, T> variable : partiallyLoadedVariables.entrySet()) {
+          if (variable.getValue() != null) {
+            variables.put(variable.getKey(), variable.getValue());
+          }
+          else {
+            variables.remove(variable.getKey());
+          }
+        }
+        partiallyLoadedVariables = null;
+      }
     }
   }
 
+  /**
+   * Fetches a single variable by name if the provider supports it, so that the
+   * store does not have to be initialized for accessing it.
+   *
+   * @return true if the variable is known afterwards, false if the store has to be initialized
+   */
+  protected boolean loadVariable(String name) {
+    if (partiallyLoadedVariables != null && partiallyLoadedVariables.containsKey(name)) {
+      return true;
+    }
+
+    Collection<T> providedVariables = variablesProvider.provideVariables(Collections.singleton(name));
+    if (providedVariables == null) {
+      return false;
+    }
+
+    if (partiallyLoadedVariables == null) {
+      partiallyLoadedVariables = new HashMap<String, T>();
+    }
+    partiallyLoadedVariables.put(name, null);
+    for (T variable : providedVariables) {
+      partiallyLoadedVariables.put(variable.getName(), variable);
+    }
+    return true;
+  }
+
   public T removeVariable(String variableName) {
 
-    if (!getVariablesMap().containsKey(variableName)) {
+    if (!containsKey(variableName)) {
       return null;
     }
 
-    T value = getVariablesMap().remove(variableName);
+    T value;
+    if (isInitialized()) {
+      value = variables.remove(variableName);
+    }
+    else {
+      value = partiallyLoadedVariables.put(variableName, null);
+    }
 
     for (VariableStoreObserver<T> observer : observers) {
       observer.onRemove(value);
@@ -188,6 +252,12 @@ public class VariableStore<T extends CoreVariableInstance> {
 
     Collection<T> provideVariables();
 
+    /**
+     * @return the variables with the given names or <code>null</code> if the provider
+     *   does not load variables by name, in which case all variables are provided at once
+     */
+    Collection<T> provideVariables(Collection<String> variableNames);
+
   }
 
   public boolean isRemoved(String variableName) {
@@ -23,6 +23,7 @@ import org.camunda.bpm.engine.impl.cfg.ProcessEngineConfigurationImpl;
 import org.camunda.bpm.engine.impl.context.Context;
 import org.camunda.bpm.engine.impl.db.entitymanager.operation.DbBulkOperation;
 import org.camunda.bpm.engine.impl.db.entitymanager.operation.DbEntityOperation;
+import org.camunda.bpm.engine.impl.db.entitymanager.operation.DbMultiRowInsertOperation;
 import org.camunda.bpm.engine.impl.db.entitymanager.operation.DbOperation;
 import org.camunda.bpm.engine.impl.history.HistoryLevel;
 
@@ -40,6 +41,9 @@ public abstract class AbstractPersistenceSession implements PersistenceSession {
       case INSERT:
         insertEntity((DbEntityOperation) operation);
         break;
+      case INSERT_MULTI_ROW:
+        insertEntities((DbMultiRowInsertOperation) operation);
+        break;
 
       case DELETE:
         deleteEntity((DbEntityOperation) operation);
@@ -60,6 +64,8 @@ public abstract class AbstractPersistenceSession implements PersistenceSession {
 
   protected abstract void insertEntity(DbEntityOperation operation);
 
+  protected abstract void insertEntities(DbMultiRowInsertOperation operation);
+
   protected abstract void deleteEntity(DbEntityOperation operation);
 
   protected abstract void deleteBulk(DbBulkOperation operation);
@@ -34,6 +34,7 @@ import org.camunda.bpm.engine.impl.db.entitymanager.cache.CachedDbEntity;
 import org.camunda.bpm.engine.impl.db.entitymanager.cache.DbEntityState;
 import org.camunda.bpm.engine.impl.db.entitymanager.operation.DbOperation;
 import org.camunda.bpm.engine.impl.history.HistoryLevel;
+import org.camunda.bpm.engine.impl.history.event.HistoryEvent;
 import org.camunda.bpm.engine.impl.persistence.entity.ExecutionEntity;
 import org.camunda.bpm.engine.impl.persistence.entity.JobEntity;
 import org.camunda.bpm.engine.impl.util.ClassNameUtil;
@@ -701,4 +702,44 @@ public class EnginePersistenceLogger extends ProcessEngineLogger {
     ));
   }
 
+  public void idBlockPrefetchFailed(Throwable cause) {
+    logWarn(
+        "085", "Could not prefetch the next id block, fetching it synchronously: {}", cause.getMessage(), cause);
+  }
+
+  public void secondLevelCacheCopyFailed(Throwable cause) {
+    logWarn(
+        "086", "Could not copy entity for the second level cache, bypassing the cache: {}", cause.getMessage(), cause);
+  }
+
+  public void writeBufferedHistoryEventsFailed(int count, Throwable cause) {
+    logWarn(
+        "087", "Could not write {} buffered history events, writing them separately: {}", count, cause.getMessage(), cause);
+  }
+
+  public void discardBufferedHistoryEvent(HistoryEvent historyEvent, Throwable cause) {
+    logError(
+        "088", "Could not write buffered history event {}, discarding it: {}", historyEvent, cause.getMessage(), cause);
+  }
+
+  public void noMetricsRollupLockPropertyFound() {
+    logError(
+        "089", "No metrics rollup lock property found in databse");
+  }
+
+  public ProcessEngineException couldNotOpenByteArrayStream(String byteArrayId, Throwable cause) {
+    return new ProcessEngineException(exceptionMessage(
+        "090", "Could not open stream for byte array '{}': {}", byteArrayId, cause.getMessage()), cause);
+  }
+
+  public void retryBufferedHistoryEvents(int count, long backoffMillis, Throwable cause) {
+    logWarn(
+        "091", "Could not write {} buffered history events, retrying in {} ms: {}", count, backoffMillis, cause.getMessage(), cause);
+  }
+
+  public void discardBufferedHistoryEvents(int count, Throwable cause) {
+    logError(
+        "092", "Could not write {} buffered history events before the buffer was stopped, discarding them: {}", count, cause.getMessage(), cause);
+  }
+
 }
@@ -29,6 +29,12 @@ public interface PersistenceSession extends Session {
 
   void executeDbOperation(DbOperation operation);
 
+  /**
+   * @return true if several INSERTs of the given entity type can be merged into
+   *   a single {@link org.camunda.bpm.engine.impl.db.entitymanager.operation.DbMultiRowInsertOperation}
+   */
+  boolean isMultiRowInsertSupported(Class<? extends DbEntity> entityType);
+
   List<?> selectList(String statement, Object parameter);
 
   <T extends DbEntity> T selectById(Class<T> type, String id);
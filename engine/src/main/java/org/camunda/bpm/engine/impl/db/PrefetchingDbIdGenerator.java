@@ -0,0 +1,226 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.camunda.bpm.engine.impl.db;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.camunda.bpm.engine.impl.ProcessEngineLogger;
+import org.camunda.bpm.engine.impl.cmd.GetNextIdBlockCmd;
+
+/**
+ * <p>{@link DbIdGenerator} which hands out ids without locking.</p>
+ *
+ * <p>Ids of the current block are handed out through an atomic counter. Once a
+ * configurable share of the block is consumed, the next block is fetched by a
+ * background thread (double buffering), so that callers of {@link #getNextId()}
+ * only have to wait for the database if ids are consumed faster than a block
+ * can be fetched.</p>
+ *
+ * <p>The size of the fetched blocks adapts to the observed consumption rate: it
+ * is chosen such that one block lasts roughly {@link #getTargetBlockDurationMillis()}
+ * and is bounded by the configured {@link #getIdBlockSize() id block size} and
+ * {@link #getMaxIdBlockSize()}.</p>
+ */
+public class PrefetchingDbIdGenerator extends DbIdGenerator {
+
+  protected static final EnginePersistenceLogger LOG = ProcessEngineLogger.PERSISTENCE_LOGGER;
+
+  protected int maxIdBlockSize = 10000;
+  protected long targetBlockDurationMillis = 10000;
+  protected int prefetchThresholdPercentage = 50;
+
+  protected volatile AtomicReference<IdRange> currentRange;
+  protected Future<IdRange> nextRange;
+  protected ExecutorService prefetchExecutor;
+
+  @Override
+  public String getNextId() {
+    while (true) {
+      IdRange range = currentRange.get();
+      long id = range.next.getAndIncrement();
+
+      if (id <= range.lastId) {
+        if (id >= range.prefetchThreshold && !range.prefetchTriggered.get()) {
+          triggerPrefetch(range);
+        }
+        return Long.toString(id);
+      }
+      else {
+        switchToNextRange(range);
+      }
+    }
+  }
+
+  protected synchronized void triggerPrefetch(IdRange range) {
+    if (currentRange.get() == range && nextRange == null && range.prefetchTriggered.compareAndSet(false, true)) {
+      final int blockSize = calculateNextBlockSize(range, range.prefetchThreshold);
+
+      nextRange = getPrefetchExecutor().submit(new Callable<IdRange>() {
+        public IdRange call() throws Exception {
+          return fetchRange(blockSize);
+        }
+      });
+    }
+  }
+
+  protected synchronized void switchToNextRange(IdRange exhaustedRange) {
+    if (currentRange.get() != exhaustedRange) {
+      // another thread already switched
+      return;
+    }
+
+    IdRange range = null;
+    Future<IdRange> prefetchedRange = nextRange;
+    nextRange = null;
+
+    if (prefetchedRange != null) {
+      try {
+        range = prefetchedRange.get();
+      }
+      catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        LOG.idBlockPrefetchFailed(e);
+      }
+      catch (ExecutionException e) {
+        LOG.idBlockPrefetchFailed(e.getCause());
+      }
+    }
+
+    if (range == null) {
+      range = fetchRange(calculateNextBlockSize(exhaustedRange, exhaustedRange.lastId + 1));
+    }
+
+    currentRange.set(range);
+  }
+
+  protected IdRange fetchRange(int blockSize) {
+    IdBlock idBlock = commandExecutor.execute(new GetNextIdBlockCmd(blockSize));
+    return new IdRange(idBlock.getNextId(), idBlock.getLastId(), prefetchThresholdPercentage);
+  }
+
+  /**
+   * Calculates the size of the next block based on the rate at which the
+   * ids of the given range were consumed up to <code>consumedUpToId</code>.
+   */
+  protected int calculateNextBlockSize(IdRange range, long consumedUpToId) {
+    long consumedIds = consumedUpToId - range.firstId;
+    if (consumedIds <= 0) {
+      return idBlockSize;
+    }
+
+    long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - range.fetchedAtNanos);
+    long blockSize = consumedIds * targetBlockDurationMillis / Math.max(elapsedMillis, 1);
+
+    return (int) Math.max(idBlockSize, Math.min(blockSize, maxIdBlockSize));
+  }
+
+  protected synchronized ExecutorService getPrefetchExecutor() {
+    if (prefetchExecutor == null) {
+      prefetchExecutor = Executors.newSingleThreadExecutor(new ThreadFactory() {
+        public Thread newThread(Runnable runnable) {
+          Thread thread = new Thread(runnable, "camunda-id-block-prefetcher");
+          thread.setDaemon(true);
+          return thread;
+        }
+      });
+    }
+    return prefetchExecutor;
+  }
+
+  /**
+   * Stops the background thread fetching id blocks.
+   */
+  public synchronized void close() {
+    if (prefetchExecutor != null) {
+      prefetchExecutor.shutdownNow();
+      prefetchExecutor = null;
+    }
+  }
+
+  @Override
+  public synchronized void reset() {
+    currentRange = new AtomicReference<IdRange>(IdRange.exhausted());
+    if (nextRange != null) {
+      nextRange.cancel(false);
+      nextRange = null;
+    }
+  }
+
+  public int getMaxIdBlockSize() {
+    return maxIdBlockSize;
+  }
+
+  public void setMaxIdBlockSize(int maxIdBlockSize) {
+    this.maxIdBlockSize = maxIdBlockSize;
+  }
+
+  public long getTargetBlockDurationMillis() {
+    return targetBlockDurationMillis;
+  }
+
+  public void setTargetBlockDurationMillis(long targetBlockDurationMillis) {
+    this.targetBlockDurationMillis = targetBlockDurationMillis;
+  }
+
+  public int getPrefetchThresholdPercentage() {
+    return prefetchThresholdPercentage;
+  }
+
+  public void setPrefetchThresholdPercentage(int prefetchThresholdPercentage) {
+    this.prefetchThresholdPercentage = prefetchThresholdPercentage;
+  }
+
+  /**
+   * A block of ids which is consumed through an atomic counter.
+   */
+  protected static class IdRange {
+
+    protected final long firstId;
+    protected final long lastId;
+    protected final long prefetchThreshold;
+    protected final long fetchedAtNanos;
+
+    protected final AtomicLong next;
+    protected final AtomicBoolean prefetchTriggered = new AtomicBoolean(false);
+
+    public IdRange(long firstId, long lastId, int prefetchThresholdPercentage) {
+      this(firstId, lastId, System.nanoTime(), firstId + (lastId - firstId + 1) * prefetchThresholdPercentage / 100);
+    }
+
+    protected IdRange(long firstId, long lastId, long fetchedAtNanos, long prefetchThreshold) {
+      this.firstId = firstId;
+      this.lastId = lastId;
+      this.fetchedAtNanos = fetchedAtNanos;
+      this.prefetchThreshold = prefetchThreshold;
+      this.next = new AtomicLong(firstId);
+    }
+
+    /**
+     * @return an empty range which causes a block to be fetched on first access
+     */
+    protected static IdRange exhausted() {
+      return new IdRange(0, -1, System.nanoTime(), Long.MAX_VALUE);
+    }
+  }
+
+}
@@ -26,8 +26,10 @@ import static org.camunda.bpm.engine.impl.db.entitymanager.operation.DbOperation
 
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Set;
 
 import org.apache.ibatis.executor.BatchResult;
 import org.camunda.bpm.engine.impl.DeploymentQueryImpl;
@@ -48,6 +50,8 @@ import org.camunda.bpm.engine.impl.UserQueryImpl;
 import org.camunda.bpm.engine.impl.ProcessEngineLogger;
 import org.camunda.bpm.engine.impl.cfg.IdGenerator;
 import org.camunda.bpm.engine.impl.cfg.ProcessEngineConfigurationImpl;
+import org.camunda.bpm.engine.impl.cfg.TransactionListener;
+import org.camunda.bpm.engine.impl.cfg.TransactionState;
 import org.camunda.bpm.engine.impl.cmmn.entity.repository.CaseDefinitionQueryImpl;
 import org.camunda.bpm.engine.impl.context.Context;
 import org.camunda.bpm.engine.impl.db.DbEntity;
@@ -60,13 +64,17 @@ import org.camunda.bpm.engine.impl.db.EnginePersistenceLogger;
 import org.camunda.bpm.engine.impl.db.entitymanager.cache.CachedDbEntity;
 import org.camunda.bpm.engine.impl.db.entitymanager.cache.DbEntityCache;
 import org.camunda.bpm.engine.impl.db.entitymanager.cache.DbEntityState;
+import org.camunda.bpm.engine.impl.db.entitymanager.cache.SecondLevelCache;
+import org.camunda.bpm.engine.impl.db.entitymanager.cache.SecondLevelCacheKeys;
 import org.camunda.bpm.engine.impl.db.entitymanager.operation.DbBulkOperation;
 import org.camunda.bpm.engine.impl.db.entitymanager.operation.DbEntityOperation;
+import org.camunda.bpm.engine.impl.db.entitymanager.operation.DbMultiRowInsertOperation;
 import org.camunda.bpm.engine.impl.db.entitymanager.operation.DbOperation;
 import org.camunda.bpm.engine.impl.db.entitymanager.operation.DbOperationManager;
 import org.camunda.bpm.engine.impl.db.entitymanager.operation.DbOperationType;
 import org.camunda.bpm.engine.impl.identity.db.DbGroupQueryImpl;
 import org.camunda.bpm.engine.impl.identity.db.DbUserQueryImpl;
+import org.camunda.bpm.engine.impl.interceptor.CommandContext;
 import org.camunda.bpm.engine.impl.interceptor.Session;
 import org.camunda.bpm.engine.impl.jobexecutor.JobExecutorContext;
 import org.camunda.bpm.engine.impl.util.CollectionUtil;
@@ -90,6 +98,11 @@ public class DbEntityManager implements Session, EntityLoadListener {
 
   protected DbEntityCache dbEntityCache;
 
+  protected SecondLevelCache secondLevelCache;
+
+  /** entity types written by this transaction, which bypass the second level cache */
+  protected Set<Class<?>> secondLevelCacheInvalidatedTypes = new HashSet<Class<?>>();
+
   protected DbOperationManager dbOperationManager;
 
   protected PersistenceSession persistenceSession;
@@ -103,6 +116,7 @@ public class DbEntityManager implements Session, EntityLoadListener {
     }
     initializeEntityCache();
     initializeOperationManager();
+    initializeSecondLevelCache();
   }
 
   protected void initializeOperationManager() {
@@ -135,6 +149,13 @@ public class DbEntityManager implements Session, EntityLoadListener {
 
   }
 
+  protected void initializeSecondLevelCache() {
+    ProcessEngineConfigurationImpl processEngineConfiguration = Context.getProcessEngineConfiguration();
+    if (processEngineConfiguration != null) {
+      secondLevelCache = processEngineConfiguration.getSecondLevelCache();
+    }
+  }
+
   // selects /////////////////////////////////////////////////
 
   public List selectList(String statement) {
@@ -170,10 +191,63 @@ public class DbEntityManager implements Session, EntityLoadListener {
     if(firstResult == -1 ||  maxResults==-1) {
       return Collections.EMPTY_LIST;
     }
+
+    Class<?> entityType = secondLevelCache != null ? secondLevelCache.getEntityType(statement) : null;
+    if (entityType != null && isSecondLevelCacheable(entityType)) {
+      String queryKey = getSecondLevelCacheQueryKey(statement, parameter, firstResult, maxResults);
+      if (queryKey != null) {
+        return selectListThroughSecondLevelCache(entityType, queryKey, statement, parameter);
+      }
+    }
+
     List loadedObjects = persistenceSession.selectList(statement, parameter);
     return filterLoadedObjects(loadedObjects);
   }
 
+  @SuppressWarnings("unchecked")
+  protected List selectListThroughSecondLevelCache(Class<?> entityType, String queryKey, String statement, Object parameter) {
+    List<Object> cachedObjects = secondLevelCache.getList(entityType, queryKey);
+    if (cachedObjects != null) {
+      for (Object cachedObject : cachedObjects) {
+        if (cachedObject instanceof DbEntity) {
+          onEntityLoaded((DbEntity) cachedObject);
+        }
+      }
+      return filterLoadedObjects(cachedObjects);
+    }
+
+    long version = secondLevelCache.getVersion(entityType);
+    List loadedObjects = persistenceSession.selectList(statement, parameter);
+
+    // values like the results of authorization checks are cached as well
+    boolean isCleanState = true;
+    for (Object loadedObject : loadedObjects) {
+      if (loadedObject instanceof DbEntity && isDirty((DbEntity) loadedObject)) {
+        isCleanState = false;
+        break;
+      }
+    }
+    if (isCleanState) {
+      secondLevelCache.putList(entityType, queryKey, new ArrayList<Object>(loadedObjects), version);
+    }
+
+    return filterLoadedObjects(loadedObjects);
+  }
+
+  /**
+   * @return a key for the query result in the second level cache or <code>null</code>
+   *   if the parameter is not simple enough to be part of the key.
+   */
+  protected String getSecondLevelCacheQueryKey(String statement, Object parameter, int firstResult, int maxResults) {
+    return SecondLevelCacheKeys.getQueryKey(statement, parameter, firstResult, maxResults);
+  }
+
+  protected boolean isSecondLevelCacheable(Class<?> entityType) {
+    return secondLevelCache != null
+        && secondLevelCache.isCached(entityType)
+        && !secondLevelCacheInvalidatedTypes.contains(entityType);
+  }
+
   public Object selectOne(String statement, Object parameter) {
     Object result = persistenceSession.selectOne(statement, parameter);
     if (result instanceof DbEntity) {
@@ -185,7 +259,19 @@ public class DbEntityManager implements Session, EntityLoadListener {
 
   @SuppressWarnings("unchecked")
   public boolean selectBoolean(String statement, Object parameter) {
-    List<String> result = (List<String>) persistenceSession.selectList(statement, parameter);
+    List<String> result = null;
+
+    Class<?> entityType = secondLevelCache != null ? secondLevelCache.getEntityType(statement) : null;
+    if (entityType != null && isSecondLevelCacheable(entityType)) {
+      String queryKey = getSecondLevelCacheQueryKey(statement, parameter, 0, Integer.MAX_VALUE);
+      if (queryKey != null) {
+        result = selectListThroughSecondLevelCache(entityType, queryKey, statement, parameter);
+      }
+    }
+
+    if (result == null) {
+      result = (List<String>) persistenceSession.selectList(statement, parameter);
+    }
     if(result != null) {
       return result.contains(1);
     }
@@ -199,6 +285,10 @@ public class DbEntityManager implements Session, EntityLoadListener {
       return persistentObject;
     }
 
+    if (isSecondLevelCacheable(entityClass)) {
+      return selectByIdThroughSecondLevelCache(entityClass, id);
+    }
+
     persistentObject = persistenceSession.selectById(entityClass, id);
 
     if (persistentObject==null) {
@@ -208,6 +298,21 @@ public class DbEntityManager implements Session, EntityLoadListener {
     return persistentObject;
   }
 
+  protected <T extends DbEntity> T selectByIdThroughSecondLevelCache(Class<T> entityClass, String id) {
+    T cachedObject = secondLevelCache.get(entityClass, id);
+    if (cachedObject != null) {
+      onEntityLoaded(cachedObject);
+      return cachedObject;
+    }
+
+    long version = secondLevelCache.getVersion(entityClass);
+    T persistentObject = persistenceSession.selectById(entityClass, id);
+    if (persistentObject != null && !isDirty(persistentObject)) {
+      secondLevelCache.put(entityClass, persistentObject, version);
+    }
+    return persistentObject;
+  }
+
   public <T extends DbEntity> T getCachedEntity(Class<T> type, String id) {
     return dbEntityCache.get(type, id);
   }
@@ -298,6 +403,15 @@ public class DbEntityManager implements Session, EntityLoadListener {
       return;
     }
 
+    if (secondLevelCache != null) {
+      invalidateSecondLevelCache(operationsToFlush);
+    }
+
+    ProcessEngineConfigurationImpl processEngineConfiguration = Context.getProcessEngineConfiguration();
+    if (processEngineConfiguration != null && processEngineConfiguration.isMultiRowInsertEnabled()) {
+      operationsToFlush = mergeInserts(operationsToFlush, processEngineConfiguration.getMultiRowInsertBatchSize());
+    }
+
     LOG.databaseFlushSummary(operationsToFlush);
 
     // If we want to delete all table data as bulk operation, on tables which have self references,
@@ -322,6 +436,88 @@ public class DbEntityManager implements Session, EntityLoadListener {
     }
   }
 
+  /**
+   * Removes the entities written by the flush from the second level cache. Since other
+   * transactions may cache the old state again until this transaction commits, the
+   * written entity types are invalidated once more after the commit.
+   */
+  protected void invalidateSecondLevelCache(List<DbOperation> operationsToFlush) {
+    boolean isListenerRegistered = !secondLevelCacheInvalidatedTypes.isEmpty();
+
+    for (DbOperation operation : operationsToFlush) {
+      Class<?> entityType = operation.getEntityType();
+      if (secondLevelCache.isCached(entityType)) {
+        if (operation instanceof DbEntityOperation) {
+          secondLevelCache.invalidate(entityType, ((DbEntityOperation) operation).getEntity().getId());
+        }
+        else {
+          secondLevelCache.invalidate(entityType);
+        }
+        secondLevelCacheInvalidatedTypes.add(entityType);
+      }
+      for (Class<?> dependentType : secondLevelCache.getDependentEntityTypes(entityType)) {
+        if (secondLevelCache.isCached(dependentType)) {
+          secondLevelCache.invalidate(dependentType);
+          secondLevelCacheInvalidatedTypes.add(dependentType);
+        }
+      }
+    }
+
+    CommandContext commandContext = Context.getCommandContext();
+    if (!isListenerRegistered && !secondLevelCacheInvalidatedTypes.isEmpty() && commandContext != null) {
+      final SecondLevelCache cache = secondLevelCache;
+      final Set<Class<?>> invalidatedTypes = secondLevelCacheInvalidatedTypes;
+      commandContext.getTransactionContext().addTransactionListener(TransactionState.COMMITTED, new TransactionListener() {
+        public void execute(CommandContext commandContext) {
+          for (Class<?> entityType : invalidatedTypes) {
+            cache.invalidate(entityType);
+          }
+        }
+      });
+    }
+  }
+
+  /**
+   * Merges consecutive INSERTs of the same entity type into {@link DbMultiRowInsertOperation}s
+   * of at most <code>batchSize</code> entities, if the persistence session supports
+   * multi-row inserts for the entity type.
+   */
+  protected List<DbOperation> mergeInserts(List<DbOperation> operationsToFlush, int batchSize) {
+    List<DbOperation> mergedOperations = new ArrayList<DbOperation>();
+    DbMultiRowInsertOperation currentInsert = null;
+
+    for (DbOperation operation : operationsToFlush) {
+      if (operation.getOperationType() == DbOperationType.INSERT
+          && persistenceSession.isMultiRowInsertSupported(operation.getEntityType())) {
+
+        if (currentInsert == null
+            || currentInsert.getEntityType() != operation.getEntityType()
+            || currentInsert.getEntityOperations().size() >= batchSize) {
+          currentInsert = new DbMultiRowInsertOperation(operation.getEntityType());
+          mergedOperations.add(currentInsert);
+        }
+        currentInsert.addEntityOperation((DbEntityOperation) operation);
+
+      } else {
+        currentInsert = null;
+        mergedOperations.add(operation);
+      }
+    }
+
+    // single INSERTs are executed with the plain insert statement
+    for (int i = 0; i < mergedOperations.size(); i++) {
+      DbOperation operation = mergedOperations.get(i);
+      if (operation instanceof DbMultiRowInsertOperation) {
+        List<DbEntityOperation> entityOperations = ((DbMultiRowInsertOperation) operation).getEntityOperations();
+        if (entityOperations.size() == 1) {
+          mergedOperations.set(i, entityOperations.get(0));
+        }
+      }
+    }
+
+    return mergedOperations;
+  }
+
   protected void flushDbOperations(List<DbOperation> operationsToFlush) {
     // execute the flush
     for (DbOperation dbOperation : operationsToFlush) {
@@ -0,0 +1,332 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.db.entitymanager.cache;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+
+import org.camunda.bpm.engine.impl.ProcessEngineLogger;
+import org.camunda.bpm.engine.impl.db.DbEntity;
+import org.camunda.bpm.engine.impl.db.EnginePersistenceLogger;
+import org.camunda.bpm.engine.impl.metrics.MetricsRegistry;
+import org.camunda.bpm.engine.impl.util.ClockUtil;
+import org.camunda.bpm.engine.impl.util.IoUtil;
+import org.camunda.bpm.engine.management.Metrics;
+
+/**
+ * <p>Process engine wide cache for read-mostly entities which is shared by all
+ * transactions. In contrast to the {@link DbEntityCache}, which lives as long as a
+ * command context, entries survive the transaction that loaded them.</p>
+ *
+ * <p>The cache is divided into one region per entity type. Each region is bounded in
+ * size (least recently used entries are evicted first) and entries expire after a
+ * time to live. Entries are stored in serialized form, so that every transaction gets
+ * its own copy of a cached entity and may modify it without affecting other
+ * transactions.</p>
+ *
+ * <p>Query results may depend on other entity types than the type of their region,
+ * e.g. the groups of a user depend on the groups and the memberships. Writes of such
+ * a type invalidate the dependent regions as well, see {@link #addDependency(Class, Class)}.</p>
+ *
+ * <p>A region keeps a version which is incremented whenever entities of the region are
+ * invalidated. Readers obtain the version before reading from the database and pass it
+ * when putting the result into the cache, so that results which were read concurrently
+ * to an invalidation are discarded.</p>
+ *
+ * <p>Note that the cache is local to the JVM. In a cluster, changes made by other nodes
+ * become visible after the time to live of the cached entries has elapsed.</p>
+ */
+public class SecondLevelCache {
+
+  protected static final EnginePersistenceLogger LOG = ProcessEngineLogger.PERSISTENCE_LOGGER;
+
+  protected Map<Class<?>, Region> regions = new HashMap<Class<?>, Region>();
+  protected Map<String, Class<?>> statementEntityTypes = new HashMap<String, Class<?>>();
+  protected Map<Class<?>, List<Class<?>>> dependentEntityTypes = new HashMap<Class<?>, List<Class<?>>>();
+
+  protected long timeToLive;
+  protected MetricsRegistry metricsRegistry;
+
+  public SecondLevelCache(long timeToLive, MetricsRegistry metricsRegistry) {
+    this.timeToLive = timeToLive;
+    this.metricsRegistry = metricsRegistry;
+  }
+
+  /**
+   * Enables caching of entities of the given type.
+   *
+   * @param entityType the type of the entities
+   * @param maxSize the maximum number of entities and the maximum number of
+   *   query results cached for the type
+   */
+  public void addEntityType(Class<? extends DbEntity> entityType, int maxSize) {
+    regions.put(entityType, new Region(maxSize));
+  }
+
+  /**
+   * Enables caching of the results of the given select statement. The statement must
+   * return entities of a type for which caching is enabled.
+   */
+  public void addStatement(String statement, Class<? extends DbEntity> entityType) {
+    statementEntityTypes.put(statement, entityType);
+  }
+
+  /**
+   * Invalidates the region of the cached entity type whenever entities of
+   * the written entity type are written.
+   */
+  public void addDependency(Class<? extends DbEntity> writtenEntityType, Class<? extends DbEntity> cachedEntityType) {
+    List<Class<?>> dependentTypes = dependentEntityTypes.get(writtenEntityType);
+    if (dependentTypes == null) {
+      dependentTypes = new ArrayList<Class<?>>();
+      dependentEntityTypes.put(writtenEntityType, dependentTypes);
+    }
+    dependentTypes.add(cachedEntityType);
+  }
+
+  /**
+   * @return the cached entity types whose regions are invalidated completely
+   *   if entities of the given type are written
+   */
+  public List<Class<?>> getDependentEntityTypes(Class<?> writtenEntityType) {
+    List<Class<?>> dependentTypes = dependentEntityTypes.get(writtenEntityType);
+    if (dependentTypes == null) {
+      return Collections.emptyList();
+    }
+    return dependentTypes;
+  }
+
+  public boolean isCached(Class<?> entityType) {
+    return regions.containsKey(entityType);
+  }
+
+  /**
+   * @return the type of the entities returned by the statement or <code>null</code>
+   *   if the results of the statement are not cached.
+   */
+  public Class<?> getEntityType(String statement) {
+    return statementEntityTypes.get(statement);
+  }
+
+  public long getVersion(Class<?> entityType) {
+    return regions.get(entityType).getVersion();
+  }
+
+  // entities /////////////////////////////////////////////////
+
+  /**
+   * @return a copy of the cached entity or <code>null</code> if the entity is not cached
+   */
+  @SuppressWarnings("unchecked")
+  public <T extends DbEntity> T get(Class<T> entityType, String id) {
+    byte[] value = regions.get(entityType).getEntity(id);
+    return (T) deserialize(value);
+  }
+
+  public void put(Class<?> entityType, DbEntity entity, long version) {
+    byte[] value = serialize(entity);
+    if (value != null) {
+      regions.get(entityType).putEntity(entity.getId(), value, version);
+    }
+  }
+
+  // query results ////////////////////////////////////////////
+
+  /**
+   * @return copies of the cached entities or values or <code>null</code> if the query result is not cached
+   */
+  @SuppressWarnings("unchecked")
+  public List<Object> getList(Class<?> entityType, String queryKey) {
+    byte[] value = regions.get(entityType).getList(queryKey);
+    return (List<Object>) deserialize(value);
+  }
+
+  public void putList(Class<?> entityType, String queryKey, List<Object> results, long version) {
+    byte[] value = serialize(results);
+    if (value != null) {
+      regions.get(entityType).putList(queryKey, value, version);
+    }
+  }
+
+  // invalidation /////////////////////////////////////////////
+
+  /**
+   * Removes the entity with the given id and all cached query results of its type.
+   */
+  public void invalidate(Class<?> entityType, String id) {
+    regions.get(entityType).invalidate(id);
+  }
+
+  /**
+   * Removes all entities and query results of the given type.
+   */
+  public void invalidate(Class<?> entityType) {
+    regions.get(entityType).clear();
+  }
+
+  public void clear() {
+    for (Region region : regions.values()) {
+      region.clear();
+    }
+  }
+
+  // helpers //////////////////////////////////////////////////
+
+  protected Object deserialize(byte[] value) {
+    if (value == null) {
+      markOccurrence(Metrics.SECOND_LEVEL_CACHE_MISS);
+      return null;
+    }
+
+    ObjectInputStream inputStream = null;
+    try {
+      inputStream = new ObjectInputStream(new ByteArrayInputStream(value));
+      Object object = inputStream.readObject();
+      markOccurrence(Metrics.SECOND_LEVEL_CACHE_HIT);
+      return object;
+    }
+    catch (Exception e) {
+      LOG.secondLevelCacheCopyFailed(e);
+      markOccurrence(Metrics.SECOND_LEVEL_CACHE_MISS);
+      return null;
+    }
+    finally {
+      IoUtil.closeSilently(inputStream);
+    }
+  }
+
+  protected byte[] serialize(Object object) {
+    if (!(object instanceof Serializable)) {
+      return null;
+    }
+
+    ByteArrayOutputStream byteStream = new ByteArrayOutputStream();
+    ObjectOutputStream outputStream = null;
+    try {
+      outputStream = new ObjectOutputStream(byteStream);
+      outputStream.writeObject(object);
+      outputStream.flush();
+      return byteStream.toByteArray();
+    }
+    catch (Exception e) {
+      LOG.secondLevelCacheCopyFailed(e);
+      return null;
+    }
+    finally {
+      IoUtil.closeSilently(outputStream);
+    }
+  }
+
+  @SuppressWarnings("serial")
+  protected Map<String, CacheEntry> createLruMap(final int maxSize) {
+    return new LinkedHashMap<String, CacheEntry>(16, 0.75f, true) {
+      protected boolean removeEldestEntry(Entry<String, CacheEntry> eldest) {
+        return size() > maxSize;
+      }
+    };
+  }
+
+  protected void markOccurrence(String name) {
+    if (metricsRegistry != null) {
+      metricsRegistry.markOccurrence(name);
+    }
+  }
+
+  protected class Region {
+
+    protected Map<String, CacheEntry> entities;
+    protected Map<String, CacheEntry> lists;
+    protected long version;
+
+    public Region(int maxSize) {
+      entities = createLruMap(maxSize);
+      lists = createLruMap(maxSize);
+    }
+
+    public synchronized long getVersion() {
+      return version;
+    }
+
+    public synchronized byte[] getEntity(String id) {
+      return getValue(entities, id);
+    }
+
+    public synchronized void putEntity(String id, byte[] value, long readVersion) {
+      if (readVersion == version) {
+        entities.put(id, new CacheEntry(value));
+      }
+    }
+
+    public synchronized byte[] getList(String queryKey) {
+      return getValue(lists, queryKey);
+    }
+
+    public synchronized void putList(String queryKey, byte[] value, long readVersion) {
+      if (readVersion == version) {
+        lists.put(queryKey, new CacheEntry(value));
+      }
+    }
+
+    public synchronized void invalidate(String id) {
+      version++;
+      entities.remove(id);
+      lists.clear();
+    }
+
+    public synchronized void clear() {
+      version++;
+      entities.clear();
+      lists.clear();
+    }
+
+    protected byte[] getValue(Map<String, CacheEntry> map, String key) {
+      CacheEntry entry = map.get(key);
+      if (entry == null) {
+        return null;
+      }
+      else if (entry.isExpired()) {
+        map.remove(key);
+        return null;
+      }
+      else {
+        return entry.value;
+      }
+    }
+  }
+
+  protected class CacheEntry {
+
+    protected byte[] value;
+    protected long expiresAt;
+
+    public CacheEntry(byte[] value) {
+      this.value = value;
+      this.expiresAt = ClockUtil.getCurrentTime().getTime() + timeToLive;
+    }
+
+    public boolean isExpired() {
+      return ClockUtil.getCurrentTime().getTime() >= expiresAt;
+    }
+  }
+
+}
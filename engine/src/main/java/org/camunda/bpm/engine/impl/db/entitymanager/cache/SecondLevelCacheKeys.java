@@ -0,0 +1,191 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.db.entitymanager.cache;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.TreeMap;
+
+import org.camunda.bpm.engine.impl.GroupQueryImpl;
+import org.camunda.bpm.engine.impl.TenantQueryImpl;
+import org.camunda.bpm.engine.impl.db.AuthorizationCheck;
+import org.camunda.bpm.engine.impl.db.CompositePermissionCheck;
+import org.camunda.bpm.engine.impl.db.ListQueryParameterObject;
+import org.camunda.bpm.engine.impl.db.PermissionCheck;
+
+/**
+ * <p>Creates the keys of query results in the {@link SecondLevelCache}. A key must contain
+ * everything the result depends on besides the cached entity types, so only parameters
+ * which are fully understood get a key:</p>
+ *
+ * <ul>
+ *   <li>simple values, collections and maps of simple values</li>
+ *   <li>authorization checks which do not reference other tables</li>
+ *   <li>group and tenant queries which only look up the memberships of a user</li>
+ * </ul>
+ */
+public class SecondLevelCacheKeys {
+
+  /**
+   * @return a key for the query result or <code>null</code> if the parameter
+   *   is not simple enough to be part of the key.
+   */
+  public static String getQueryKey(String statement, Object parameter, int firstResult, int maxResults) {
+    String parameterKey;
+    if (parameter instanceof GroupQueryImpl) {
+      parameterKey = getGroupMembershipKey((GroupQueryImpl) parameter);
+    }
+    else if (parameter instanceof TenantQueryImpl) {
+      parameterKey = getTenantMembershipKey((TenantQueryImpl) parameter);
+    }
+    else if (parameter != null && parameter.getClass() == ListQueryParameterObject.class) {
+      parameterKey = getKey(((ListQueryParameterObject) parameter).getParameter());
+    }
+    else {
+      parameterKey = getKey(parameter);
+    }
+
+    if (parameterKey == null) {
+      return null;
+    }
+    return statement + "|" + parameterKey + "|" + firstResult + "|" + maxResults;
+  }
+
+  protected static String getKey(Object parameter) {
+    if (parameter == null
+        || parameter instanceof String
+        || parameter instanceof Number
+        || parameter instanceof Boolean) {
+      return String.valueOf(parameter);
+    }
+    else if (parameter instanceof Collection) {
+      return getCollectionKey((Collection<?>) parameter);
+    }
+    else if (parameter instanceof Map) {
+      return getMapKey((Map<?, ?>) parameter);
+    }
+    else if (parameter instanceof AuthorizationCheck) {
+      return getAuthorizationCheckKey((AuthorizationCheck) parameter);
+    }
+    else {
+      return null;
+    }
+  }
+
+  protected static String getCollectionKey(Collection<?> collection) {
+    List<String> elementKeys = new ArrayList<String>();
+    for (Object element : collection) {
+      String elementKey = getKey(element);
+      if (elementKey == null) {
+        return null;
+      }
+      elementKeys.add(elementKey);
+    }
+    // the order of ids does not change the result of an IN clause
+    Collections.sort(elementKeys);
+    return elementKeys.toString();
+  }
+
+  protected static String getMapKey(Map<?, ?> map) {
+    Map<String, String> entryKeys = new TreeMap<String, String>();
+    for (Entry<?, ?> entry : map.entrySet()) {
+      String valueKey = getKey(entry.getValue());
+      if (!(entry.getKey() instanceof String) || valueKey == null) {
+        return null;
+      }
+      entryKeys.put((String) entry.getKey(), valueKey);
+    }
+    return entryKeys.toString();
+  }
+
+  protected static String getAuthorizationCheckKey(AuthorizationCheck authCheck) {
+    String permissionChecksKey = getPermissionChecksKey(authCheck.getPermissionChecks());
+    if (permissionChecksKey == null) {
+      return null;
+    }
+    return authCheck.isAuthorizationCheckEnabled()
+        + "," + authCheck.isRevokeAuthorizationCheckEnabled()
+        + "," + authCheck.getAuthUserId()
+        + "," + getCollectionKey(authCheck.getAuthGroupIds())
+        + "," + authCheck.getAuthDefaultPerm()
+        + "," + permissionChecksKey;
+  }
+
+  protected static String getPermissionChecksKey(CompositePermissionCheck compositeCheck) {
+    StringBuilder key = new StringBuilder();
+    key.append(compositeCheck.isDisjunctive() ? "or(" : "and(");
+
+    for (PermissionCheck atomicCheck : compositeCheck.getAtomicChecks()) {
+      if (atomicCheck.getResourceIdQueryParam() != null) {
+        // the check is joined with the table of the resource
+        return null;
+      }
+      key.append(atomicCheck.getPerms())
+        .append(',').append(atomicCheck.getResourceType())
+        .append(',').append(atomicCheck.getResourceId())
+        .append(',').append(atomicCheck.getAuthorizationNotFoundReturnValue())
+        .append(';');
+    }
+
+    for (CompositePermissionCheck subCheck : compositeCheck.getCompositeChecks()) {
+      String subCheckKey = getPermissionChecksKey(subCheck);
+      if (subCheckKey == null) {
+        return null;
+      }
+      key.append(subCheckKey).append(';');
+    }
+
+    return key.append(')').toString();
+  }
+
+  protected static String getGroupMembershipKey(GroupQueryImpl query) {
+    if (query.getUserId() == null
+        || query.getId() != null
+        || query.getIds() != null
+        || query.getName() != null
+        || query.getNameLike() != null
+        || query.getType() != null
+        || query.getProcDefId() != null
+        || query.getTenantId() != null
+        || !isPlainQuery(query)) {
+      return null;
+    }
+    return "groupsOfUser," + query.getUserId();
+  }
+
+  protected static String getTenantMembershipKey(TenantQueryImpl query) {
+    if (query.getUserId() == null
+        || query.getId() != null
+        || query.getIds() != null
+        || query.getName() != null
+        || query.getNameLike() != null
+        || query.getGroupId() != null
+        || !isPlainQuery(query)) {
+      return null;
+    }
+    return "tenantsOfUser," + query.getUserId() + "," + query.isIncludingGroups();
+  }
+
+  /**
+   * @return true if the query neither checks authorizations nor has a custom ordering
+   */
+  protected static boolean isPlainQuery(ListQueryParameterObject query) {
+    return !query.getAuthCheck().isAuthorizationCheckEnabled()
+        && query.getOrderingProperties().isEmpty();
+  }
+
+}
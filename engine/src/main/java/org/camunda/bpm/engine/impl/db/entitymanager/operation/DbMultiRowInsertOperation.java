@@ -0,0 +1,64 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.db.entitymanager.operation;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.camunda.bpm.engine.impl.db.DbEntity;
+import org.camunda.bpm.engine.impl.util.ClassNameUtil;
+
+/**
+ * INSERT of several entities of the same type which is executed as
+ * a single multi-row <code>INSERT</code> statement.
+ */
+public class DbMultiRowInsertOperation extends DbOperation {
+
+  protected List<DbEntityOperation> entityOperations = new ArrayList<DbEntityOperation>();
+
+  public DbMultiRowInsertOperation(Class<? extends DbEntity> entityType) {
+    this.operationType = DbOperationType.INSERT_MULTI_ROW;
+    this.entityType = entityType;
+  }
+
+  @Override
+  public void recycle() {
+    entityOperations = null;
+    super.recycle();
+  }
+
+  public boolean isFailed() {
+    return false;
+  }
+
+  public void addEntityOperation(DbEntityOperation entityOperation) {
+    entityOperations.add(entityOperation);
+  }
+
+  public List<DbEntityOperation> getEntityOperations() {
+    return entityOperations;
+  }
+
+  public List<DbEntity> getEntities() {
+    List<DbEntity> entities = new ArrayList<DbEntity>();
+    for (DbEntityOperation entityOperation : entityOperations) {
+      entities.add(entityOperation.getEntity());
+    }
+    return entities;
+  }
+
+  public String toString() {
+    return operationType + " " + ClassNameUtil.getClassNameWithoutPackage(entityType) + entityOperations;
+  }
+
+}
@@ -19,6 +19,7 @@ package org.camunda.bpm.engine.impl.db.entitymanager.operation;
 public enum DbOperationType {
 
   INSERT,
+  INSERT_MULTI_ROW,
 
   UPDATE,
   UPDATE_BULK,
@@ -44,6 +44,8 @@ import org.camunda.bpm.engine.impl.db.EnginePersistenceLogger;
 import org.camunda.bpm.engine.impl.db.HasDbRevision;
 import org.camunda.bpm.engine.impl.db.entitymanager.operation.DbBulkOperation;
 import org.camunda.bpm.engine.impl.db.entitymanager.operation.DbEntityOperation;
+import org.camunda.bpm.engine.impl.db.entitymanager.operation.DbMultiRowInsertOperation;
+import org.camunda.bpm.engine.impl.metrics.sql.SqlStatementMetrics;
 import org.camunda.bpm.engine.impl.util.IoUtil;
 import org.camunda.bpm.engine.impl.util.ReflectUtil;
 
@@ -67,11 +69,17 @@ public class DbSqlSession extends AbstractPersistenceSession {
   protected String connectionMetadataDefaultCatalog = null;
   protected String connectionMetadataDefaultSchema = null;
 
+  /** null if statement metrics are disabled */
+  protected SqlStatementMetrics sqlStatementMetrics;
+  /** if true, writes are executed when the session is flushed and are recorded there */
+  protected boolean isBatchExecutor;
+
   public DbSqlSession(DbSqlSessionFactory dbSqlSessionFactory) {
     this.dbSqlSessionFactory = dbSqlSessionFactory;
     this.sqlSession = dbSqlSessionFactory
       .getSqlSessionFactory()
       .openSession();
+    initSqlStatementMetrics();
   }
 
   public DbSqlSession(DbSqlSessionFactory dbSqlSessionFactory, Connection connection, String catalog, String schema) {
@@ -81,18 +89,35 @@ public class DbSqlSession extends AbstractPersistenceSession {
       .openSession(connection);
     this.connectionMetadataDefaultCatalog = catalog;
     this.connectionMetadataDefaultSchema = schema;
+    initSqlStatementMetrics();
+  }
+
+  protected void initSqlStatementMetrics() {
+    sqlStatementMetrics = dbSqlSessionFactory.getSqlStatementMetrics();
+    if (sqlStatementMetrics != null) {
+      isBatchExecutor = sqlSession.getConfiguration().getDefaultExecutorType() == ExecutorType.BATCH;
+    }
   }
 
   @Override
   public List<BatchResult> flushOperations() {
-    return sqlSession.flushStatements();
+    if (sqlStatementMetrics == null) {
+      return sqlSession.flushStatements();
+    }
+
+    long startTime = System.nanoTime();
+    List<BatchResult> batchResults = sqlSession.flushStatements();
+    recordBatchResults(batchResults, System.nanoTime() - startTime);
+    return batchResults;
   }
 
   // select ////////////////////////////////////////////
 
   public List<?> selectList(String statement, Object parameter){
     statement = dbSqlSessionFactory.mapStatement(statement);
+    long startTime = getStartTime();
     List<Object> resultList = sqlSession.selectList(statement, parameter);
+    recordRead(statement, startTime, resultList.size());
     for (Object object : resultList) {
       fireEntityLoaded(object);
     }
@@ -105,14 +130,18 @@ public class DbSqlSession extends AbstractPersistenceSession {
     selectStatement = dbSqlSessionFactory.mapStatement(selectStatement);
     ensureNotNull("no select statement for " + type + " in the ibatis mapping files", "selectStatement", selectStatement);
 
+    long startTime = getStartTime();
     Object result = sqlSession.selectOne(selectStatement, id);
+    recordRead(selectStatement, startTime, result != null ? 1 : 0);
     fireEntityLoaded(result);
     return (T) result;
   }
 
   public Object selectOne(String statement, Object parameter) {
     statement = dbSqlSessionFactory.mapStatement(statement);
+    long startTime = getStartTime();
     Object result = sqlSession.selectOne(statement, parameter);
+    recordRead(statement, startTime, result != null ? 1 : 0);
     fireEntityLoaded(result);
     return result;
   }
@@ -125,10 +154,13 @@ public class DbSqlSession extends AbstractPersistenceSession {
     // Id using the DbIdGenerator while performing a deployment.
     if (!DbSqlSessionFactory.H2.equals(dbSqlSessionFactory.getDatabaseType())) {
       String mappedStatement = dbSqlSessionFactory.mapStatement(statement);
+      long startTime = getStartTime();
       if (!Context.getProcessEngineConfiguration().isJdbcBatchProcessing()) {
-        sqlSession.update(mappedStatement, parameter);
+        int rows = sqlSession.update(mappedStatement, parameter);
+        recordWrite(mappedStatement, startTime, rows);
       } else {
-        sqlSession.selectList(mappedStatement, parameter);
+        List<Object> rows = sqlSession.selectList(mappedStatement, parameter);
+        recordRead(mappedStatement, startTime, rows.size());
       }
     }
   }
@@ -154,7 +186,9 @@ public class DbSqlSession extends AbstractPersistenceSession {
 
   protected void executeInsertEntity(String insertStatement, Object parameter) {
     LOG.executeDatabaseOperation("INSERT", parameter);
-    sqlSession.insert(insertStatement, parameter);
+    long startTime = getStartTime();
+    int rows = sqlSession.insert(insertStatement, parameter);
+    recordWrite(insertStatement, startTime, rows);
 
     // set revision of our copy to 1
     if (parameter instanceof HasDbRevision) {
@@ -163,6 +197,36 @@ public class DbSqlSession extends AbstractPersistenceSession {
     }
   }
 
+  @Override
+  protected void insertEntities(DbMultiRowInsertOperation operation) {
+
+    final List<DbEntity> dbEntities = operation.getEntities();
+
+    // get statement
+    String insertStatement = dbSqlSessionFactory.getMultiRowInsertStatement(operation.getEntityType());
+    insertStatement = dbSqlSessionFactory.mapStatement(insertStatement);
+
+    // execute the insert
+    LOG.executeDatabaseOperation("INSERT", operation);
+    long startTime = getStartTime();
+    int rows = sqlSession.insert(insertStatement, dbEntities);
+    recordWrite(insertStatement, startTime, rows);
+
+    for (DbEntity dbEntity : dbEntities) {
+      // set revision of our copy to 1
+      if (dbEntity instanceof HasDbRevision) {
+        ((HasDbRevision) dbEntity).setRevision(1);
+      }
+
+      // perform post insert actions on entity
+      entityInserted(dbEntity);
+    }
+  }
+
+  public boolean isMultiRowInsertSupported(Class<? extends DbEntity> entityType) {
+    return dbSqlSessionFactory.isMultiRowInsertSupported(entityType);
+  }
+
   protected void entityInserted(final DbEntity entity) {
     // nothing to do
   }
@@ -196,7 +260,10 @@ public class DbSqlSession extends AbstractPersistenceSession {
   protected int executeDelete(String deleteStatement, Object parameter) {
     // map the statement
     deleteStatement = dbSqlSessionFactory.mapStatement(deleteStatement);
-    return sqlSession.delete(deleteStatement, parameter);
+    long startTime = getStartTime();
+    int rows = sqlSession.delete(deleteStatement, parameter);
+    recordWrite(deleteStatement, startTime, rows);
+    return rows;
   }
 
   protected void entityDeleted(final DbEntity entity) {
@@ -252,7 +319,10 @@ public class DbSqlSession extends AbstractPersistenceSession {
   @Override
   public int executeUpdate(String updateStatement, Object parameter) {
     updateStatement = dbSqlSessionFactory.mapStatement(updateStatement);
-    return sqlSession.update(updateStatement, parameter);
+    long startTime = getStartTime();
+    int rows = sqlSession.update(updateStatement, parameter);
+    recordWrite(updateStatement, startTime, rows);
+    return rows;
   }
 
   @Override
@@ -264,7 +334,10 @@ public class DbSqlSession extends AbstractPersistenceSession {
     if (mappedStatement.getBoundSql(parameter).getSql().isEmpty())
       return 0;
 
-    return sqlSession.update(updateStmt, parameter);
+    long startTime = getStartTime();
+    int rows = sqlSession.update(updateStmt, parameter);
+    recordWrite(updateStmt, startTime, rows);
+    return rows;
   }
 
   protected void entityUpdated(final DbEntity entity) {
@@ -281,6 +354,52 @@ public class DbSqlSession extends AbstractPersistenceSession {
     executeUpdate(statement, parameter);
   }
 
+  // statement metrics ////////////////////////////////////////////////////////
+
+  protected long getStartTime() {
+    return sqlStatementMetrics != null ? System.nanoTime() : 0;
+  }
+
+  protected void recordRead(String statement, long startTime, int rows) {
+    if (sqlStatementMetrics != null) {
+      sqlStatementMetrics.recordExecution(statement, System.nanoTime() - startTime, rows);
+    }
+  }
+
+  protected void recordWrite(String statement, long startTime, int rows) {
+    // with the batch executor, the statement is only queued and recorded on flush
+    if (sqlStatementMetrics != null && !isBatchExecutor) {
+      sqlStatementMetrics.recordExecution(statement, System.nanoTime() - startTime, rows);
+    }
+  }
+
+  /**
+   * Records each JDBC batch. The driver executes the batches one after another, so
+   * the time of the whole flush is divided evenly between them.
+   */
+  protected void recordBatchResults(List<BatchResult> batchResults, long durationNanos) {
+    if (batchResults.isEmpty()) {
+      return;
+    }
+
+    long batchDurationNanos = durationNanos / batchResults.size();
+    for (BatchResult batchResult : batchResults) {
+      long rows = 0;
+      for (int updateCount : batchResult.getUpdateCounts()) {
+        // drivers may return Statement.SUCCESS_NO_INFO instead of the row count
+        if (updateCount > 0) {
+          rows += updateCount;
+        }
+      }
+
+      // strip the namespace to record the statement under the name used by the engine
+      String statement = batchResult.getMappedStatement().getId();
+      statement = statement.substring(statement.lastIndexOf('.') + 1);
+
+      sqlStatementMetrics.recordBatch(statement, batchDurationNanos, rows, batchResult.getParameterObjects().size());
+    }
+  }
+
   // flush ////////////////////////////////////////////////////////////////////
 
   public void flush() {
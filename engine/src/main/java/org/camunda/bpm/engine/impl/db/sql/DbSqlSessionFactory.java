@@ -23,6 +23,7 @@ import org.camunda.bpm.engine.impl.cfg.IdGenerator;
 import org.camunda.bpm.engine.impl.db.DbEntity;
 import org.camunda.bpm.engine.impl.interceptor.Session;
 import org.camunda.bpm.engine.impl.interceptor.SessionFactory;
+import org.camunda.bpm.engine.impl.metrics.sql.SqlStatementMetrics;
 import org.camunda.bpm.engine.impl.util.ClassNameUtil;
 
 
@@ -59,6 +60,9 @@ public class DbSqlSessionFactory implements SessionFactory {
   public static final Map<String, String> databaseSpecificDatepart2 = new HashMap<String, String>();
   public static final Map<String, String> databaseSpecificDatepart3 = new HashMap<String, String>();
 
+  public static final Map<String, String> databaseSpecificMinuteOf1 = new HashMap<String, String>();
+  public static final Map<String, String> databaseSpecificMinuteOf2 = new HashMap<String, String>();
+
   public static final Map<String, String> databaseSpecificDummyTable = new HashMap<String, String>();
 
   public static final Map<String, String> databaseSpecificIfNull = new HashMap<String, String>();
@@ -72,6 +76,9 @@ public class DbSqlSessionFactory implements SessionFactory {
 
   public static final Map<String, String> databaseSpecificDaysComparator = new HashMap<String, String>();
 
+  /** the milliseconds between the column bound to <code>startTimeColumn</code> and the <code>endTime</code> parameter */
+  public static final Map<String, String> databaseSpecificDurationSinceStartTime = new HashMap<String, String>();
+
   static {
 
     String defaultOrderBy = "order by ${internalOrderBy}";
@@ -93,12 +100,16 @@ public class DbSqlSessionFactory implements SessionFactory {
     databaseSpecificDatepart2.put(H2, "(");
     databaseSpecificDatepart3.put(H2, ")");
 
+    databaseSpecificMinuteOf1.put(H2, "MINUTE(");
+    databaseSpecificMinuteOf2.put(H2, ")");
+
     databaseSpecificDummyTable.put(H2, "");
     databaseSpecificTrueConstant.put(H2, "1");
     databaseSpecificFalseConstant.put(H2, "0");
     databaseSpecificIfNull.put(H2, "IFNULL");
 
     databaseSpecificDaysComparator.put(H2, "DATEDIFF(DAY, ${date}, #{currentTimestamp}) >= ${days}");
+    databaseSpecificDurationSinceStartTime.put(H2, "DATEDIFF(MILLISECOND, ${startTimeColumn}, #{endTime})");
 
     HashMap<String, String> constants = new HashMap<String, String>();
     constants.put("constant.event", "'event'");
@@ -130,12 +141,16 @@ public class DbSqlSessionFactory implements SessionFactory {
       databaseSpecificDatepart2.put(mysqlLikeDatabase, "(");
       databaseSpecificDatepart3.put(mysqlLikeDatabase, ")");
 
+      databaseSpecificMinuteOf1.put(mysqlLikeDatabase, "MINUTE(");
+      databaseSpecificMinuteOf2.put(mysqlLikeDatabase, ")");
+
       databaseSpecificDummyTable.put(mysqlLikeDatabase, "");
       databaseSpecificTrueConstant.put(mysqlLikeDatabase, "1");
       databaseSpecificFalseConstant.put(mysqlLikeDatabase, "0");
       databaseSpecificIfNull.put(mysqlLikeDatabase, "IFNULL");
 
       databaseSpecificDaysComparator.put(mysqlLikeDatabase, "DATEDIFF(#{currentTimestamp}, ${date}) >= ${days}");
+      databaseSpecificDurationSinceStartTime.put(mysqlLikeDatabase, "TIMESTAMPDIFF(MICROSECOND, ${startTimeColumn}, #{endTime}) DIV 1000");
 
       addDatabaseSpecificStatement(mysqlLikeDatabase, "toggleForeignKey", "toggleForeignKey_mysql");
       addDatabaseSpecificStatement(mysqlLikeDatabase, "selectProcessDefinitionsByQueryCriteria", "selectProcessDefinitionsByQueryCriteria_mysql");
@@ -154,6 +169,11 @@ public class DbSqlSessionFactory implements SessionFactory {
       addDatabaseSpecificStatement(mysqlLikeDatabase, "deleteHistoricDecisionOutputInstanceByteArraysByDecisionInstanceIds", "deleteHistoricDecisionOutputInstanceByteArraysByDecisionInstanceIds_mysql");
       addDatabaseSpecificStatement(mysqlLikeDatabase, "deleteHistoricVariableInstanceByIds", "deleteHistoricVariableInstanceByIds_mysql");
       addDatabaseSpecificStatement(mysqlLikeDatabase, "deleteHistoricVariableInstanceByteArraysByIds", "deleteHistoricVariableInstanceByteArraysByIds_mysql");
+      addDatabaseSpecificStatement(mysqlLikeDatabase, "deleteHistoricVariableInstanceByteArraysByRemovalTime", "deleteHistoricVariableInstanceByteArraysByRemovalTime_mysql");
+      addDatabaseSpecificStatement(mysqlLikeDatabase, "deleteHistoricDetailByteArraysByRemovalTime", "deleteHistoricDetailByteArraysByRemovalTime_mysql");
+      addDatabaseSpecificStatement(mysqlLikeDatabase, "deleteAttachmentByteArraysByRemovalTime", "deleteAttachmentByteArraysByRemovalTime_mysql");
+      addDatabaseSpecificStatement(mysqlLikeDatabase, "deleteExceptionByteArraysByRemovalTime", "deleteExceptionByteArraysByRemovalTime_mysql");
+      addDatabaseSpecificStatement(mysqlLikeDatabase, "deleteErrorDetailsByteArraysByRemovalTime", "deleteErrorDetailsByteArraysByRemovalTime_mysql");
       addDatabaseSpecificStatement(mysqlLikeDatabase, "deleteCommentsByIds", "deleteCommentsByIds_mysql");
       addDatabaseSpecificStatement(mysqlLikeDatabase, "deleteAttachmentByteArraysByIds", "deleteAttachmentByteArraysByIds_mysql");
       addDatabaseSpecificStatement(mysqlLikeDatabase, "deleteAttachmentByIds", "deleteAttachmentByIds_mysql");
@@ -188,14 +208,19 @@ public class DbSqlSessionFactory implements SessionFactory {
     databaseSpecificDatepart2.put(POSTGRES, " from ");
     databaseSpecificDatepart3.put(POSTGRES, ")");
 
+    databaseSpecificMinuteOf1.put(POSTGRES, "extract(MINUTE from ");
+    databaseSpecificMinuteOf2.put(POSTGRES, ")");
+
     databaseSpecificDummyTable.put(POSTGRES, "");
     databaseSpecificTrueConstant.put(POSTGRES, "true");
     databaseSpecificFalseConstant.put(POSTGRES, "false");
     databaseSpecificIfNull.put(POSTGRES, "COALESCE");
 
     databaseSpecificDaysComparator.put(POSTGRES, "EXTRACT (DAY FROM #{currentTimestamp} - ${date}) >= ${days}");
+    databaseSpecificDurationSinceStartTime.put(POSTGRES, "CAST(ROUND(EXTRACT (EPOCH FROM CAST(#{endTime} AS TIMESTAMP) - ${startTimeColumn}) * 1000) AS BIGINT)");
 
     addDatabaseSpecificStatement(POSTGRES, "insertByteArray", "insertByteArray_postgres");
+    addDatabaseSpecificStatement(POSTGRES, "bulkInsertByteArray", "bulkInsertByteArray_postgres");
     addDatabaseSpecificStatement(POSTGRES, "updateByteArray", "updateByteArray_postgres");
     addDatabaseSpecificStatement(POSTGRES, "selectByteArray", "selectByteArray_postgres");
     addDatabaseSpecificStatement(POSTGRES, "selectResourceByDeploymentIdAndResourceName", "selectResourceByDeploymentIdAndResourceName_postgres");
@@ -246,16 +271,28 @@ public class DbSqlSessionFactory implements SessionFactory {
     databaseSpecificDatepart2.put(ORACLE, ",");
     databaseSpecificDatepart3.put(ORACLE, "))");
 
+    databaseSpecificMinuteOf1.put(ORACLE, "to_number(to_char(");
+    databaseSpecificMinuteOf2.put(ORACLE, ",'MI'))");
+
     databaseSpecificTrueConstant.put(ORACLE, "1");
     databaseSpecificFalseConstant.put(ORACLE, "0");
     databaseSpecificIfNull.put(ORACLE, "NVL");
 
     databaseSpecificDaysComparator.put(ORACLE, "${date} + ${days} <= #{currentTimestamp}");
+    String oracleInterval = "(CAST(#{endTime} AS TIMESTAMP) - ${startTimeColumn})";
+    databaseSpecificDurationSinceStartTime.put(ORACLE, "(EXTRACT(DAY FROM " + oracleInterval + ") * 86400000"
+        + " + EXTRACT(HOUR FROM " + oracleInterval + ") * 3600000"
+        + " + EXTRACT(MINUTE FROM " + oracleInterval + ") * 60000"
+        + " + ROUND(EXTRACT(SECOND FROM " + oracleInterval + ") * 1000))");
 
     addDatabaseSpecificStatement(ORACLE, "selectHistoricProcessInstanceDurationReport", "selectHistoricProcessInstanceDurationReport_oracle");
     addDatabaseSpecificStatement(ORACLE, "selectHistoricTaskInstanceDurationReport", "selectHistoricTaskInstanceDurationReport_oracle");
     addDatabaseSpecificStatement(ORACLE, "selectHistoricTaskInstanceCountByTaskNameReport", "selectHistoricTaskInstanceCountByTaskNameReport_oracle");
     addDatabaseSpecificStatement(ORACLE, "selectFilterByQueryCriteria", "selectFilterByQueryCriteria_oracleDb2");
+    addDatabaseSpecificStatement(ORACLE, "bulkInsertHistoricActivityInstanceEvent", "bulkInsertHistoricActivityInstanceEvent_oracle");
+    addDatabaseSpecificStatement(ORACLE, "bulkInsertHistoricVariableInstance", "bulkInsertHistoricVariableInstance_oracle");
+    addDatabaseSpecificStatement(ORACLE, "bulkInsertVariableInstance", "bulkInsertVariableInstance_oracle");
+    addDatabaseSpecificStatement(ORACLE, "bulkInsertByteArray", "bulkInsertByteArray_oracle");
 
     constants = new HashMap<String, String>();
     constants.put("constant.event", "cast('event' as nvarchar2(255))");
@@ -284,12 +321,19 @@ public class DbSqlSessionFactory implements SessionFactory {
     databaseSpecificDatepart2.put(DB2, "(");
     databaseSpecificDatepart3.put(DB2, ")");
 
+    databaseSpecificMinuteOf1.put(DB2, "MINUTE(");
+    databaseSpecificMinuteOf2.put(DB2, ")");
+
     databaseSpecificDummyTable.put(DB2, "FROM SYSIBM.SYSDUMMY1");
     databaseSpecificTrueConstant.put(DB2, "1");
     databaseSpecificFalseConstant.put(DB2, "0");
     databaseSpecificIfNull.put(DB2, "NVL");
 
     databaseSpecificDaysComparator.put(DB2, "${date} + ${days} DAYS <= #{currentTimestamp}");
+    String db2EndTime = "CAST(#{endTime} AS TIMESTAMP)";
+    databaseSpecificDurationSinceStartTime.put(DB2, "(CAST(DAYS(" + db2EndTime + ") - DAYS(${startTimeColumn}) AS BIGINT) * 86400000"
+        + " + (MIDNIGHT_SECONDS(" + db2EndTime + ") - MIDNIGHT_SECONDS(${startTimeColumn})) * 1000"
+        + " + (MICROSECOND(" + db2EndTime + ") - MICROSECOND(${startTimeColumn})) / 1000)");
 
     addDatabaseSpecificStatement(DB2, "selectMeterLogAggregatedByTimeInterval", "selectMeterLogAggregatedByTimeInterval_db2_or_mssql");
     addDatabaseSpecificStatement(DB2, "selectExecutionByNativeQuery", "selectExecutionByNativeQuery_mssql_or_db2");
@@ -331,12 +375,17 @@ public class DbSqlSessionFactory implements SessionFactory {
     databaseSpecificDatepart2.put(MSSQL, ",");
     databaseSpecificDatepart3.put(MSSQL, ")");
 
+    databaseSpecificMinuteOf1.put(MSSQL, "datepart(MINUTE, ");
+    databaseSpecificMinuteOf2.put(MSSQL, ")");
+
     databaseSpecificDummyTable.put(MSSQL, "");
     databaseSpecificTrueConstant.put(MSSQL, "1");
     databaseSpecificFalseConstant.put(MSSQL, "0");
     databaseSpecificIfNull.put(MSSQL, "ISNULL");
 
     databaseSpecificDaysComparator.put(MSSQL, "DATEDIFF(DAY, ${date}, #{currentTimestamp}) >= ${days}");
+    databaseSpecificDurationSinceStartTime.put(MSSQL, "(CAST(DATEDIFF(SECOND, ${startTimeColumn}, #{endTime}) AS BIGINT) * 1000"
+        + " + DATEPART(MILLISECOND, #{endTime}) - DATEPART(MILLISECOND, ${startTimeColumn}))");
 
     addDatabaseSpecificStatement(MSSQL, "selectMeterLogAggregatedByTimeInterval", "selectMeterLogAggregatedByTimeInterval_db2_or_mssql");
     addDatabaseSpecificStatement(MSSQL, "selectExecutionByNativeQuery", "selectExecutionByNativeQuery_mssql_or_db2");
@@ -381,10 +430,14 @@ public class DbSqlSessionFactory implements SessionFactory {
   protected Map<Class<?>,String>  updateStatements = new ConcurrentHashMap<Class<?>, String>();
   protected Map<Class<?>,String>  deleteStatements = new ConcurrentHashMap<Class<?>, String>();
   protected Map<Class<?>,String>  selectStatements = new ConcurrentHashMap<Class<?>, String>();
+  protected Map<Class<?>,String>  multiRowInsertStatements = new ConcurrentHashMap<Class<?>, String>();
+  protected Map<Class<?>,Boolean> multiRowInsertSupport = new ConcurrentHashMap<Class<?>, Boolean>();
   protected boolean isDbIdentityUsed = true;
   protected boolean isDbHistoryUsed = true;
   protected boolean cmmnEnabled = true;
   protected boolean dmnEnabled = true;
+  /** collects per statement statistics if not null */
+  protected SqlStatementMetrics sqlStatementMetrics;
 
   public Class< ? > getSessionType() {
     return DbSqlSession.class;
@@ -400,6 +453,24 @@ public class DbSqlSessionFactory implements SessionFactory {
     return getStatement(object.getClass(), insertStatements, "insert");
   }
 
+  public String getMultiRowInsertStatement(Class<?> persistentObjectClass) {
+    return getStatement(persistentObjectClass, multiRowInsertStatements, "bulkInsert");
+  }
+
+  /**
+   * @return true if a multi-row insert statement is mapped for the given entity type
+   *   and the configured database
+   */
+  public boolean isMultiRowInsertSupported(Class<?> persistentObjectClass) {
+    Boolean isSupported = multiRowInsertSupport.get(persistentObjectClass);
+    if (isSupported == null) {
+      String statement = mapStatement(getMultiRowInsertStatement(persistentObjectClass));
+      isSupported = sqlSessionFactory.getConfiguration().hasStatement(statement);
+      multiRowInsertSupport.put(persistentObjectClass, isSupported);
+    }
+    return isSupported;
+  }
+
   public String getUpdateStatement(DbEntity object) {
     return getStatement(object.getClass(), updateStatements, "update");
   }
@@ -570,5 +641,12 @@ public class DbSqlSessionFactory implements SessionFactory {
     this.databaseSchema = databaseSchema;
   }
 
+  public SqlStatementMetrics getSqlStatementMetrics() {
+    return sqlStatementMetrics;
+  }
+
+  public void setSqlStatementMetrics(SqlStatementMetrics sqlStatementMetrics) {
+    this.sqlStatementMetrics = sqlStatementMetrics;
+  }
 
 }
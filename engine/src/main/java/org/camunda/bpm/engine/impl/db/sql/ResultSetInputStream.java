@@ -0,0 +1,53 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.db.sql;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * Binary column content which is read directly from an open {@link ResultSet}.
+ * Closing the stream closes the result set and its statement. The stream can
+ * only be read as long as the connection is open, i.e. within the command.
+ */
+public class ResultSetInputStream extends FilterInputStream {
+
+  protected ResultSet resultSet;
+  protected Statement statement;
+
+  public ResultSetInputStream(InputStream binaryStream, ResultSet resultSet, Statement statement) {
+    super(binaryStream);
+    this.resultSet = resultSet;
+    this.statement = statement;
+  }
+
+  public void close() throws IOException {
+    try {
+      super.close();
+    }
+    finally {
+      try {
+        resultSet.close();
+        statement.close();
+      }
+      catch (SQLException e) {
+        throw new IOException("Could not close result set: " + e.getMessage(), e);
+      }
+    }
+  }
+
+}
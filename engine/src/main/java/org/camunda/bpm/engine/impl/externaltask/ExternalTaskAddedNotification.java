@@ -0,0 +1,36 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.externaltask;
+
+import org.camunda.bpm.engine.impl.cfg.TransactionListener;
+import org.camunda.bpm.engine.impl.interceptor.CommandContext;
+
+/**
+ * Notifies the {@link ExternalTaskNotifier} about the topic of an external
+ * task once the transaction which created it is committed.
+ */
+public class ExternalTaskAddedNotification implements TransactionListener {
+
+  protected ExternalTaskNotifier externalTaskNotifier;
+  protected String topicName;
+
+  public ExternalTaskAddedNotification(ExternalTaskNotifier externalTaskNotifier, String topicName) {
+    this.externalTaskNotifier = externalTaskNotifier;
+    this.topicName = topicName;
+  }
+
+  public void execute(CommandContext commandContext) {
+    externalTaskNotifier.externalTaskWasAdded(topicName);
+  }
+
+}
@@ -0,0 +1,181 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.externaltask;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * <p>Notifies waiting fetchers that new external tasks were committed for a topic.
+ * There is one instance per process engine which can be obtained from the
+ * process engine configuration, such that REST handlers and in-JVM clients can
+ * block on a set of topics instead of polling.</p>
+ *
+ * <p>A fetcher remembers the {@link #getNotificationCount(Collection) notification count}
+ * of its topics before it queries for external tasks. If the query returns nothing,
+ * it waits with {@link #awaitNotification(Collection, long, long)} until an external
+ * task is added for one of the topics after that point in time or the timeout expires.
+ * Only fetchers waiting for the topic of an added external task are woken up.</p>
+ *
+ * <p>The notifier only sees external tasks committed by this process engine. In a
+ * cluster, fetchers should therefore wait in short slices and query again after
+ * each slice. Since every waiting fetcher blocks a thread, the number of fetchers
+ * which may wait at the same time is limited, see {@link #tryAcquireWaitingSlot()}.
+ * The limit has to be sized against the thread pool which serves the fetchers.</p>
+ */
+public class ExternalTaskNotifier {
+
+  public static final int DEFAULT_MAX_WAITING_FETCHERS = 20;
+
+  protected final Object monitor = new Object();
+
+  protected int maxWaitingFetchers = DEFAULT_MAX_WAITING_FETCHERS;
+  protected int waitingFetchers = 0;
+
+  protected Map<String, Long> notificationCounts = new HashMap<String, Long>();
+  protected Map<String, List<Waiter>> waiters = new HashMap<String, List<Waiter>>();
+
+  public void externalTaskWasAdded(String topicName) {
+    List<Waiter> topicWaiters;
+
+    synchronized (monitor) {
+      Long count = notificationCounts.get(topicName);
+      notificationCounts.put(topicName, count == null ? 1L : count + 1);
+
+      topicWaiters = waiters.get(topicName);
+      if (topicWaiters != null) {
+        topicWaiters = new ArrayList<Waiter>(topicWaiters);
+      }
+    }
+
+    if (topicWaiters != null) {
+      for (Waiter waiter : topicWaiters) {
+        waiter.signal();
+      }
+    }
+  }
+
+  /**
+   * @return the number of external tasks added so far for the given topics
+   */
+  public long getNotificationCount(Collection<String> topicNames) {
+    synchronized (monitor) {
+      long notificationCount = 0;
+      for (String topicName : topicNames) {
+        Long count = notificationCounts.get(topicName);
+        if (count != null) {
+          notificationCount += count;
+        }
+      }
+      return notificationCount;
+    }
+  }
+
+  /**
+   * Waits until an external task was added for one of the given topics since the
+   * given notification count or until the timeout expired.
+   *
+   * @return true if an external task was added, false if the timeout expired
+   */
+  public boolean awaitNotification(Collection<String> topicNames, long sinceNotificationCount, long timeoutMillis) throws InterruptedException {
+    Waiter waiter = new Waiter();
+
+    synchronized (monitor) {
+      if (getNotificationCount(topicNames) != sinceNotificationCount) {
+        return true;
+      }
+      for (String topicName : topicNames) {
+        List<Waiter> topicWaiters = waiters.get(topicName);
+        if (topicWaiters == null) {
+          topicWaiters = new ArrayList<Waiter>();
+          waiters.put(topicName, topicWaiters);
+        }
+        topicWaiters.add(waiter);
+      }
+    }
+
+    try {
+      return waiter.await(timeoutMillis);
+    }
+    finally {
+      synchronized (monitor) {
+        for (String topicName : topicNames) {
+          List<Waiter> topicWaiters = waiters.get(topicName);
+          if (topicWaiters != null) {
+            topicWaiters.remove(waiter);
+            if (topicWaiters.isEmpty()) {
+              waiters.remove(topicName);
+            }
+          }
+        }
+      }
+    }
+  }
+
+  /**
+   * Reserves a slot for a fetcher which is going to wait for notifications.
+   * A reserved slot must be released with {@link #releaseWaitingSlot()}.
+   *
+   * @return false if the maximum number of waiting fetchers is reached
+   */
+  public boolean tryAcquireWaitingSlot() {
+    synchronized (monitor) {
+      if (waitingFetchers >= maxWaitingFetchers) {
+        return false;
+      }
+      waitingFetchers++;
+      return true;
+    }
+  }
+
+  public void releaseWaitingSlot() {
+    synchronized (monitor) {
+      waitingFetchers--;
+    }
+  }
+
+  public int getMaxWaitingFetchers() {
+    return maxWaitingFetchers;
+  }
+
+  public void setMaxWaitingFetchers(int maxWaitingFetchers) {
+    this.maxWaitingFetchers = maxWaitingFetchers;
+  }
+
+  protected static class Waiter {
+
+    protected boolean signalled = false;
+
+    public synchronized void signal() {
+      signalled = true;
+      notifyAll();
+    }
+
+    public synchronized boolean await(long timeoutMillis) throws InterruptedException {
+      long deadline = System.currentTimeMillis() + timeoutMillis;
+
+      while (!signalled) {
+        long remainingMillis = deadline - System.currentTimeMillis();
+        if (remainingMillis <= 0) {
+          return false;
+        }
+        wait(remainingMillis);
+      }
+      return true;
+    }
+  }
+
+}
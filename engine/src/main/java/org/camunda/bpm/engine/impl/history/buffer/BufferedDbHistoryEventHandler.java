@@ -0,0 +1,94 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.history.buffer;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.camunda.bpm.engine.impl.db.entitymanager.DbEntityManager;
+import org.camunda.bpm.engine.impl.history.event.HistoricDecisionEvaluationEvent;
+import org.camunda.bpm.engine.impl.history.event.HistoricScopeInstanceEvent;
+import org.camunda.bpm.engine.impl.history.event.HistoricVariableUpdateEventEntity;
+import org.camunda.bpm.engine.impl.history.event.HistoryEvent;
+import org.camunda.bpm.engine.impl.history.handler.DbHistoryEventHandler;
+
+/**
+ * <p>Writes the events taken from the {@link HistoryEventBuffer}.</p>
+ *
+ * <p>In contrast to events written in the transaction which produced them, the
+ * buffered events of an entity are separate objects which are not known to the
+ * entity cache. A batch may contain both the event inserting an entity and events
+ * updating it. Therefore all inserts are flushed first and the updates are merged
+ * afterwards.</p>
+ */
+public class BufferedDbHistoryEventHandler extends DbHistoryEventHandler {
+
+  @Override
+  public void handleEvents(List<HistoryEvent> historyEvents) {
+    List<HistoryEvent> updateEvents = new ArrayList<HistoryEvent>();
+
+    for (HistoryEvent historyEvent : historyEvents) {
+      if (isUpdateEvent(historyEvent)) {
+        updateEvents.add(historyEvent);
+      }
+      else {
+        handleEvent(historyEvent);
+      }
+    }
+
+    if (!updateEvents.isEmpty()) {
+      getDbEntityManager().flush();
+
+      for (HistoryEvent updateEvent : updateEvents) {
+        handleEvent(updateEvent);
+      }
+    }
+  }
+
+  protected boolean isUpdateEvent(HistoryEvent historyEvent) {
+    return !(historyEvent instanceof HistoricVariableUpdateEventEntity)
+        && !(historyEvent instanceof HistoricDecisionEvaluationEvent)
+        && !isInitialEvent(historyEvent);
+  }
+
+  @Override
+  protected boolean isStartTimeRequired() {
+    // the buffered events are not passed to other handlers
+    return false;
+  }
+
+  @Override
+  protected void insertOrUpdate(HistoryEvent historyEvent) {
+    DbEntityManager dbEntityManager = getDbEntityManager();
+
+    HistoryEvent cachedEvent = null;
+    if (!isInitialEvent(historyEvent) && historyEvent.getId() != null) {
+      cachedEvent = dbEntityManager.getCachedEntity(historyEvent.getClass(), historyEvent.getId());
+    }
+
+    if (cachedEvent == null || cachedEvent == historyEvent) {
+      super.insertOrUpdate(historyEvent);
+    }
+    else {
+      // the entity was written by an earlier event of the batch
+      if (historyEvent instanceof HistoricScopeInstanceEvent) {
+        HistoricScopeInstanceEvent cachedScopeEvent = (HistoricScopeInstanceEvent) cachedEvent;
+        if (cachedScopeEvent.getStartTime() != null) {
+          ((HistoricScopeInstanceEvent) historyEvent).setStartTime(cachedScopeEvent.getStartTime());
+        }
+      }
+      dbEntityManager.merge(historyEvent);
+    }
+  }
+
+}
@@ -0,0 +1,411 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.history.buffer;
+
+import java.sql.SQLException;
+import java.sql.SQLNonTransientConnectionException;
+import java.sql.SQLRecoverableException;
+import java.sql.SQLTransientException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import org.camunda.bpm.engine.impl.ProcessEngineLogger;
+import org.camunda.bpm.engine.impl.cfg.ProcessEngineConfigurationImpl;
+import org.camunda.bpm.engine.impl.cmd.WriteHistoryEventsCmd;
+import org.camunda.bpm.engine.impl.db.EnginePersistenceLogger;
+import org.camunda.bpm.engine.impl.history.event.HistoryEvent;
+import org.camunda.bpm.engine.impl.interceptor.CommandContext;
+import org.camunda.bpm.engine.impl.interceptor.CommandExecutor;
+import org.camunda.bpm.engine.impl.metrics.MetricsRegistry;
+import org.camunda.bpm.engine.impl.util.ExceptionUtil;
+import org.camunda.bpm.engine.management.Metrics;
+
+/**
+ * <p>Bounded in-memory buffer for the history events of committed transactions.
+ * A background thread takes the events from the buffer and writes them to the
+ * database in batches of up to {@link #getBatchSize()} events per transaction.</p>
+ *
+ * <p>The events of a transaction become visible to history queries once the writer
+ * has written them, i.e. the history is eventually consistent with the runtime data.
+ * The events are kept in memory only, so buffered events are lost if the process
+ * engine is not closed regularly. What happens if the buffer is full is determined
+ * by the {@link HistoryEventBufferDurability}.</p>
+ *
+ * <p>All writes are serialized, so that events are written in the order in which
+ * they were added to the buffer.</p>
+ *
+ * <p>Commands which delete history call {@link #flushBuffer(CommandContext)} first,
+ * so that buffered events cannot recreate the deleted history afterwards.</p>
+ *
+ * <p>If a batch cannot be written because of a transient database failure (e.g. a
+ * lost connection or a deadlock), the batch is kept and retried with an exponential
+ * backoff as long as the buffer is running. If it fails for another reason, the
+ * events are written one by one and only the events which fail on their own are
+ * discarded.</p>
+ */
+public class HistoryEventBuffer {
+
+  protected static final EnginePersistenceLogger LOG = ProcessEngineLogger.PERSISTENCE_LOGGER;
+
+  protected static final long INITIAL_RETRY_BACKOFF_MILLIS = 100;
+  protected static final long MAX_RETRY_BACKOFF_MILLIS = 30000;
+
+  protected final BlockingQueue<HistoryEvent> queue;
+  protected final int capacity;
+  protected final int batchSize;
+  protected final long flushIntervalMillis;
+  protected final HistoryEventBufferDurability durability;
+
+  protected CommandExecutor commandExecutor;
+  protected MetricsRegistry metricsRegistry;
+
+  protected final Object writeLock = new Object();
+
+  protected volatile boolean running = false;
+  protected Thread writerThread;
+
+  public HistoryEventBuffer(int capacity, int batchSize, long flushIntervalMillis, HistoryEventBufferDurability durability) {
+    this.queue = new ArrayBlockingQueue<HistoryEvent>(capacity);
+    this.capacity = capacity;
+    this.batchSize = batchSize;
+    this.flushIntervalMillis = flushIntervalMillis;
+    this.durability = durability;
+  }
+
+  /**
+   * Adds the events of a committed transaction to the buffer.
+   */
+  public void add(List<HistoryEvent> historyEvents) {
+    markOccurrence(Metrics.HISTORY_EVENT_BUFFER_ENQUEUED, historyEvents.size());
+
+    for (int i = 0; i < historyEvents.size(); i++) {
+      HistoryEvent historyEvent = historyEvents.get(i);
+
+      if (!queue.offer(historyEvent)) {
+        List<HistoryEvent> remainingEvents = historyEvents.subList(i, historyEvents.size());
+        markOccurrence(Metrics.HISTORY_EVENT_BUFFER_OVERFLOW, remainingEvents.size());
+        addToFullBuffer(remainingEvents);
+        return;
+      }
+    }
+  }
+
+  protected void addToFullBuffer(List<HistoryEvent> historyEvents) {
+    switch (durability) {
+
+    case DISCARD:
+      markOccurrence(Metrics.HISTORY_EVENT_BUFFER_DISCARDED, historyEvents.size());
+      break;
+
+    case WRITE_THROUGH:
+      writeThrough(historyEvents);
+      break;
+
+    default:
+      for (int i = 0; i < historyEvents.size(); i++) {
+        if (!put(historyEvents.get(i))) {
+          // the writer is not running, nobody would make room
+          writeThrough(historyEvents.subList(i, historyEvents.size()));
+          return;
+        }
+      }
+    }
+  }
+
+  protected boolean put(HistoryEvent historyEvent) {
+    try {
+      while (!queue.offer(historyEvent, flushIntervalMillis, TimeUnit.MILLISECONDS)) {
+        if (!running) {
+          return false;
+        }
+      }
+      return true;
+    }
+    catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      return false;
+    }
+  }
+
+  protected void writeThrough(List<HistoryEvent> historyEvents) {
+    synchronized (writeLock) {
+      // write the buffered events first to keep the order
+      flush();
+      write(new ArrayList<HistoryEvent>(historyEvents));
+    }
+  }
+
+  /**
+   * Writes all buffered events in the calling thread.
+   */
+  public void flush() {
+    synchronized (writeLock) {
+      List<HistoryEvent> historyEvents = new ArrayList<HistoryEvent>();
+      while (queue.drainTo(historyEvents, batchSize) > 0) {
+        write(historyEvents);
+        historyEvents = new ArrayList<HistoryEvent>();
+      }
+    }
+  }
+
+  /**
+   * Writes all buffered events of the process engine in separate transactions if the
+   * buffer is enabled. Events of the calling command are not written, since they are
+   * only added to the buffer once the command is committed.
+   */
+  public static void flushBuffer(CommandContext commandContext) {
+    ProcessEngineConfigurationImpl configuration = commandContext.getProcessEngineConfiguration();
+    HistoryEventBuffer historyEventBuffer = configuration.getHistoryEventBuffer();
+
+    if (configuration.isHistoryEventBufferEnabled() && historyEventBuffer != null) {
+      historyEventBuffer.flush();
+    }
+  }
+
+  /**
+   * Writes the events and retries them with an exponential backoff as long as the
+   * buffer is running and the database is unavailable.
+   */
+  protected void write(List<HistoryEvent> historyEvents) {
+    long backoffMillis = INITIAL_RETRY_BACKOFF_MILLIS;
+    List<HistoryEvent> remainingEvents = historyEvents;
+
+    while (true) {
+      try {
+        remainingEvents = tryWrite(remainingEvents);
+        return;
+      }
+      catch (TransientWriteFailure failure) {
+        remainingEvents = failure.remainingEvents;
+
+        if (!running || Thread.currentThread().isInterrupted()) {
+          LOG.discardBufferedHistoryEvents(remainingEvents.size(), failure.getCause());
+          markOccurrence(Metrics.HISTORY_EVENT_BUFFER_DISCARDED, remainingEvents.size());
+          return;
+        }
+
+        LOG.retryBufferedHistoryEvents(remainingEvents.size(), backoffMillis, failure.getCause());
+        backOff(backoffMillis);
+        backoffMillis = Math.min(2 * backoffMillis, MAX_RETRY_BACKOFF_MILLIS);
+      }
+    }
+  }
+
+  protected List<HistoryEvent> tryWrite(List<HistoryEvent> historyEvents) {
+    try {
+      commandExecutor.execute(new WriteHistoryEventsCmd(historyEvents));
+      markOccurrence(Metrics.HISTORY_EVENT_BUFFER_WRITTEN, historyEvents.size());
+      return Collections.emptyList();
+    }
+    catch (Exception e) {
+      if (isTransientFailure(e)) {
+        throw new TransientWriteFailure(historyEvents, e);
+      }
+
+      LOG.writeBufferedHistoryEventsFailed(historyEvents.size(), e);
+      writeSeparately(historyEvents);
+      return Collections.emptyList();
+    }
+  }
+
+  /**
+   * Writes each event in its own transaction, so that a single event which cannot
+   * be written does not cause the other events of the batch to be lost.
+   */
+  protected void writeSeparately(List<HistoryEvent> historyEvents) {
+    for (int i = 0; i < historyEvents.size(); i++) {
+      HistoryEvent historyEvent = historyEvents.get(i);
+      try {
+        commandExecutor.execute(new WriteHistoryEventsCmd(historyEvent));
+        markOccurrence(Metrics.HISTORY_EVENT_BUFFER_WRITTEN, 1);
+      }
+      catch (Exception e) {
+        if (isTransientFailure(e)) {
+          // the database became unavailable, keep the event and all following ones
+          throw new TransientWriteFailure(new ArrayList<HistoryEvent>(historyEvents.subList(i, historyEvents.size())), e);
+        }
+
+        LOG.discardBufferedHistoryEvent(historyEvent, e);
+        markOccurrence(Metrics.HISTORY_EVENT_BUFFER_DISCARDED, 1);
+      }
+    }
+  }
+
+  /**
+   * @return true if the failure is caused by the connection to the database or
+   * by a transaction rollback (e.g. a deadlock), i.e. writing the same events
+   * again may succeed
+   */
+  protected boolean isTransientFailure(Throwable failure) {
+    for (SQLException sqlException : ExceptionUtil.findRelatedSqlExceptions(failure)) {
+      if (sqlException instanceof SQLTransientException
+          || sqlException instanceof SQLRecoverableException
+          || sqlException instanceof SQLNonTransientConnectionException) {
+        return true;
+      }
+
+      // SQL state class 08: connection exception, class 40: transaction rollback
+      String sqlState = sqlException.getSQLState();
+      if (sqlState != null && (sqlState.startsWith("08") || sqlState.startsWith("40"))) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  /**
+   * Waits for the given time or until the buffer is stopped.
+   */
+  protected void backOff(long backoffMillis) {
+    long deadline = System.currentTimeMillis() + backoffMillis;
+    try {
+      long remainingMillis = backoffMillis;
+      while (running && remainingMillis > 0) {
+        Thread.sleep(Math.min(remainingMillis, flushIntervalMillis));
+        remainingMillis = deadline - System.currentTimeMillis();
+      }
+    }
+    catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  protected void markOccurrence(String name, long times) {
+    if (metricsRegistry != null && times > 0) {
+      metricsRegistry.markOccurrence(name, times);
+    }
+  }
+
+  protected static class TransientWriteFailure extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    protected final List<HistoryEvent> remainingEvents;
+
+    public TransientWriteFailure(List<HistoryEvent> remainingEvents, Throwable cause) {
+      super(cause);
+      this.remainingEvents = remainingEvents;
+    }
+  }
+
+  // writer thread ////////////////////////////////////////////////////////////
+
+  public synchronized void start() {
+    if (running) {
+      return;
+    }
+
+    running = true;
+    writerThread = new Thread(new Runnable() {
+      public void run() {
+        runWriter();
+      }
+    }, "camunda-history-event-writer");
+    writerThread.setDaemon(true);
+    writerThread.start();
+  }
+
+  protected void runWriter() {
+    while (running) {
+      try {
+        HistoryEvent historyEvent = queue.poll(flushIntervalMillis, TimeUnit.MILLISECONDS);
+        if (historyEvent != null) {
+          synchronized (writeLock) {
+            List<HistoryEvent> historyEvents = new ArrayList<HistoryEvent>();
+            historyEvents.add(historyEvent);
+            queue.drainTo(historyEvents, batchSize - 1);
+            write(historyEvents);
+          }
+        }
+      }
+      catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        return;
+      }
+    }
+  }
+
+  /**
+   * Stops the writer thread and writes the remaining events.
+   */
+  public void stop() {
+    Thread thread;
+    synchronized (this) {
+      if (!running) {
+        return;
+      }
+      running = false;
+      thread = writerThread;
+      writerThread = null;
+    }
+
+    try {
+      thread.join();
+    }
+    catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+
+    flush();
+  }
+
+  public boolean isRunning() {
+    return running;
+  }
+
+  // getters / setters ////////////////////////////////////////////////////////
+
+  /**
+   * @return the number of events waiting to be written
+   */
+  public int getSize() {
+    return queue.size();
+  }
+
+  public int getCapacity() {
+    return capacity;
+  }
+
+  public int getBatchSize() {
+    return batchSize;
+  }
+
+  public long getFlushIntervalMillis() {
+    return flushIntervalMillis;
+  }
+
+  public HistoryEventBufferDurability getDurability() {
+    return durability;
+  }
+
+  public CommandExecutor getCommandExecutor() {
+    return commandExecutor;
+  }
+
+  public void setCommandExecutor(CommandExecutor commandExecutor) {
+    this.commandExecutor = commandExecutor;
+  }
+
+  public MetricsRegistry getMetricsRegistry() {
+    return metricsRegistry;
+  }
+
+  public void setMetricsRegistry(MetricsRegistry metricsRegistry) {
+    this.metricsRegistry = metricsRegistry;
+  }
+
+}
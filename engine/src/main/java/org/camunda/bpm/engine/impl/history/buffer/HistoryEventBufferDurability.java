@@ -0,0 +1,45 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.history.buffer;
+
+/**
+ * <p>Determines what happens to history events of a committed transaction
+ * if the {@link HistoryEventBuffer} is full.</p>
+ *
+ * <p>Independent of the durability, events are lost if the process engine is
+ * terminated abnormally, if an event cannot be written for a reason other than
+ * a transient database failure (e.g. a value exceeds a column), or if the database
+ * is still unavailable when the buffer is stopped.</p>
+ */
+public enum HistoryEventBufferDurability {
+
+  /**
+   * The committing thread waits until the writer has made room in the buffer.
+   * While the database is unavailable, the writer retries and the buffer fills up, so
+   * committing threads wait until the database is available again.
+   */
+  BLOCK,
+
+  /**
+   * The committing thread writes the buffered events and its own events to the
+   * database in a new transaction. While the database is unavailable, the committing
+   * thread retries until the events are written.
+   */
+  WRITE_THROUGH,
+
+  /**
+   * The events are dropped. The committing thread never waits for the database.
+   */
+  DISCARD
+
+}
@@ -0,0 +1,63 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.history.buffer;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.camunda.bpm.engine.impl.cfg.TransactionListener;
+import org.camunda.bpm.engine.impl.cfg.TransactionState;
+import org.camunda.bpm.engine.impl.context.Context;
+import org.camunda.bpm.engine.impl.history.event.HistoryEvent;
+import org.camunda.bpm.engine.impl.interceptor.CommandContext;
+import org.camunda.bpm.engine.impl.interceptor.Session;
+
+/**
+ * Collects the history events of a command. The events are handed over to the
+ * {@link HistoryEventBuffer} once the transaction is committed, so that the events
+ * of rolled back transactions are never written.
+ */
+public class HistoryEventBufferSession implements Session {
+
+  protected final HistoryEventBuffer historyEventBuffer;
+  protected List<HistoryEvent> historyEvents;
+
+  public HistoryEventBufferSession(HistoryEventBuffer historyEventBuffer) {
+    this.historyEventBuffer = historyEventBuffer;
+  }
+
+  public void add(HistoryEvent historyEvent) {
+    if (historyEvents == null) {
+      historyEvents = new ArrayList<HistoryEvent>();
+
+      Context.getCommandContext()
+        .getTransactionContext()
+        .addTransactionListener(TransactionState.COMMITTED, new TransactionListener() {
+          public void execute(CommandContext commandContext) {
+            historyEventBuffer.add(historyEvents);
+          }
+        });
+    }
+
+    historyEvents.add(historyEvent);
+  }
+
+  public void flush() {
+    // events are handed over after commit
+  }
+
+  public void close() {
+    // nothing to do
+  }
+
+}
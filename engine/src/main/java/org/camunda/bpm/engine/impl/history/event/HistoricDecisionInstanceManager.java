@@ -142,9 +142,14 @@ public class HistoricDecisionInstanceManager extends AbstractHistoricManager {
   }
 
   @SuppressWarnings("unchecked")
-  public List<String> findHistoricDecisionInstanceIdsForCleanup(Integer batchSize) {
+  public List<String> findHistoricDecisionInstanceIdsForCleanup(Integer batchSize, int minuteFrom, int minuteTo) {
+    Map<String, Object> queryParameters = new HashMap<String, Object>();
+    queryParameters.put("currentTimestamp", ClockUtil.getCurrentTime());
+    queryParameters.put("minuteFrom", minuteFrom);
+    queryParameters.put("minuteTo", minuteTo);
+
     ListQueryParameterObject parameterObject = new ListQueryParameterObject();
-    parameterObject.setParameter(ClockUtil.getCurrentTime());
+    parameterObject.setParameter(queryParameters);
     parameterObject.getOrderingProperties().add(new QueryOrderingProperty(new QueryPropertyImpl("EVAL_TIME_"), Direction.ASCENDING));
     parameterObject.setFirstResult(0);
     parameterObject.setMaxResults(batchSize);
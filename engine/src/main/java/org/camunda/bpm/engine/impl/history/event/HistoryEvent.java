@@ -13,6 +13,7 @@
 package org.camunda.bpm.engine.impl.history.event;
 
 import java.io.Serializable;
+import java.util.Date;
 
 import org.camunda.bpm.engine.impl.db.DbEntity;
 import org.camunda.bpm.engine.impl.db.entitymanager.DbEntityManager;
@@ -126,6 +127,9 @@ public class HistoryEvent implements Serializable, DbEntity {
 
   protected long sequenceCounter;
 
+  /** the time after which the history of the process instance can be removed */
+  protected Date removalTime;
+
   // getters / setters ///////////////////////////////////
 
   public String getProcessInstanceId() {
@@ -240,6 +244,14 @@ public class HistoryEvent implements Serializable, DbEntity {
     this.sequenceCounter = sequenceCounter;
   }
 
+  public Date getRemovalTime() {
+    return removalTime;
+  }
+
+  public void setRemovalTime(Date removalTime) {
+    this.removalTime = removalTime;
+  }
+
   // persistent object implementation ///////////////
 
   public Object getPersistentState() {
@@ -0,0 +1,46 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.history.handler;
+
+import java.util.List;
+
+import org.camunda.bpm.engine.impl.context.Context;
+import org.camunda.bpm.engine.impl.history.buffer.HistoryEventBuffer;
+import org.camunda.bpm.engine.impl.history.buffer.HistoryEventBufferSession;
+import org.camunda.bpm.engine.impl.history.event.HistoryEvent;
+
+/**
+ * <p>History event handler which does not write the events in the transaction
+ * producing them. Instead, the events are added to the {@link HistoryEventBuffer}
+ * after the transaction was committed and are written by a background thread.</p>
+ *
+ * @see org.camunda.bpm.engine.impl.cfg.ProcessEngineConfigurationImpl#setHistoryEventBufferEnabled(boolean)
+ */
+public class BufferedHistoryEventHandler implements HistoryEventHandler {
+
+  public void handleEvent(HistoryEvent historyEvent) {
+    getSession().add(historyEvent);
+  }
+
+  public void handleEvents(List<HistoryEvent> historyEvents) {
+    HistoryEventBufferSession session = getSession();
+    for (HistoryEvent historyEvent : historyEvents) {
+      session.add(historyEvent);
+    }
+  }
+
+  protected HistoryEventBufferSession getSession() {
+    return Context.getCommandContext().getSession(HistoryEventBufferSession.class);
+  }
+
+}
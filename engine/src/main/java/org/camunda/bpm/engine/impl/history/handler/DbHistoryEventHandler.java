@@ -12,12 +12,14 @@
  */
 package org.camunda.bpm.engine.impl.history.handler;
 
+import java.util.Date;
 import java.util.List;
 
 import org.camunda.bpm.engine.history.HistoricVariableInstance;
 import org.camunda.bpm.engine.impl.context.Context;
 import org.camunda.bpm.engine.impl.db.entitymanager.DbEntityManager;
 import org.camunda.bpm.engine.impl.history.event.HistoricDecisionEvaluationEvent;
+import org.camunda.bpm.engine.impl.history.event.HistoricProcessInstanceEventEntity;
 import org.camunda.bpm.engine.impl.history.event.HistoricScopeInstanceEvent;
 import org.camunda.bpm.engine.impl.history.event.HistoricVariableUpdateEventEntity;
 import org.camunda.bpm.engine.impl.history.event.HistoryEvent;
@@ -29,6 +31,14 @@ import org.camunda.bpm.engine.impl.persistence.entity.HistoricVariableInstanceEn
  * <p>History event handler that writes history events to the process engine
  * database using the DbEntityManager.</p>
  *
+ * <p>If a scope ends in a later transaction than it started, its start time is
+ * unknown to the end event. If this handler is the configured history event
+ * handler, the duration is calculated from the start time column by the update
+ * statement and the start time of the event stays <code>null</code>. Otherwise,
+ * e.g. if it is part of a {@link CompositeHistoryEventHandler}, the start time is
+ * selected and set on the event, so that the other handlers receive the start
+ * time and the duration of the ended scope.</p>
+ *
  * @author Daniel Meyer
  *
  */
@@ -44,6 +54,11 @@ public class DbHistoryEventHandler implements HistoryEventHandler {
       insertOrUpdate(historyEvent);
     }
 
+    if (historyEvent instanceof HistoricProcessInstanceEventEntity
+        && historyEvent.isEventOfType(HistoryEventTypes.PROCESS_INSTANCE_END)) {
+      addRemovalTimeToProcessInstance((HistoricProcessInstanceEventEntity) historyEvent);
+    }
+
   }
 
   public void handleEvents(List<HistoryEvent> historyEvents) {
@@ -61,7 +76,7 @@ public class DbHistoryEventHandler implements HistoryEventHandler {
       dbEntityManager.insert(historyEvent);
     } else {
       if(dbEntityManager.getCachedEntity(historyEvent.getClass(), historyEvent.getId()) == null) {
-        if (historyEvent instanceof HistoricScopeInstanceEvent) {
+        if (historyEvent instanceof HistoricScopeInstanceEvent && isStartTimeRequired()) {
           // if this is a scope, get start time from existing event in DB
           HistoricScopeInstanceEvent existingEvent = (HistoricScopeInstanceEvent) dbEntityManager.selectById(historyEvent.getClass(), historyEvent.getId());
           if(existingEvent != null) {
@@ -69,6 +84,7 @@ public class DbHistoryEventHandler implements HistoryEventHandler {
             historicScopeInstanceEvent.setStartTime(existingEvent.getStartTime());
           }
         }
+        // otherwise the duration is calculated from the start time column by the update statement
         if(historyEvent.getId() == null) {
 //          dbSqlSession.insert(historyEvent);
         } else {
@@ -129,6 +145,28 @@ public class DbHistoryEventHandler implements HistoryEventHandler {
     }
   }
 
+  /**
+   * Stamps the removal time of an ended process instance on its related history.
+   * The removal time is only set if the history cleanup is removal time based.
+   */
+  protected void addRemovalTimeToProcessInstance(HistoricProcessInstanceEventEntity historyEvent) {
+    Date removalTime = historyEvent.getRemovalTime();
+    if (removalTime != null) {
+      Context
+        .getCommandContext()
+        .getHistoricProcessInstanceManager()
+        .addRemovalTimeToHistoricProcessInstance(historyEvent.getProcessInstanceId(), removalTime);
+    }
+  }
+
+  /**
+   * @return true if the event may be passed to other history event handlers,
+   *   which expect the start time and the duration of an ended scope
+   */
+  protected boolean isStartTimeRequired() {
+    return Context.getProcessEngineConfiguration().getHistoryEventHandler() != this;
+  }
+
   protected boolean shouldWriteHistoricDetail(HistoricVariableUpdateEventEntity historyEvent) {
 
     return Context.getProcessEngineConfiguration().getHistoryLevel()
@@ -15,6 +15,7 @@ package org.camunda.bpm.engine.impl.history.producer;
 import static org.camunda.bpm.engine.impl.util.ExceptionUtil.createJobExceptionByteArray;
 
 import java.util.ArrayList;
+import java.util.Date;
 import java.util.List;
 
 import org.camunda.bpm.engine.batch.Batch;
@@ -33,6 +34,7 @@ import org.camunda.bpm.engine.impl.cmmn.entity.repository.CaseDefinitionEntity;
 import org.camunda.bpm.engine.impl.cmmn.entity.runtime.CaseExecutionEntity;
 import org.camunda.bpm.engine.impl.context.Context;
 import org.camunda.bpm.engine.impl.history.event.*;
+import org.camunda.bpm.engine.impl.jobexecutor.historycleanup.HistoryCleanupHelper;
 import org.camunda.bpm.engine.impl.migration.instance.MigratingActivityInstance;
 import org.camunda.bpm.engine.impl.oplog.UserOperationLogContext;
 import org.camunda.bpm.engine.impl.oplog.UserOperationLogContextEntry;
@@ -532,9 +534,24 @@ public class DefaultHistoryEventProducer implements HistoryEventProducer {
       evt.setDeleteReason(executionEntity.getDeleteReason());
     }
 
+    if (Context.getProcessEngineConfiguration().isHistoryCleanupRemovalTimeBased()) {
+      evt.setRemovalTime(calculateRemovalTime(evt.getEndTime(), executionEntity.getProcessDefinition()));
+    }
+
     return evt;
   }
 
+  /**
+   * @return the end time plus the history time to live of the process definition
+   *   or <code>null</code> if the process definition has no history time to live
+   */
+  protected Date calculateRemovalTime(Date endTime, ProcessDefinitionEntity processDefinition) {
+    if (processDefinition == null || processDefinition.getHistoryTimeToLive() == null) {
+      return null;
+    }
+    return HistoryCleanupHelper.addDays(endTime, processDefinition.getHistoryTimeToLive());
+  }
+
   protected void determineEndState(ExecutionEntity executionEntity, HistoricProcessInstanceEventEntity evt) {
     //determine state
     if (executionEntity.getActivity() != null) {
@@ -808,6 +825,7 @@ public class DefaultHistoryEventProducer implements HistoryEventProducer {
           .findTaskById(identityLink.getTaskId());
 
       evt.setProcessDefinitionId(task.getProcessDefinitionId());
+      evt.setProcessInstanceId(task.getProcessInstanceId());
 
       if (task.getProcessDefinition() != null) {
         evt.setProcessDefinitionKey(task.getProcessDefinition().getKey());
@@ -69,6 +69,9 @@ public class CommandContext {
 
   protected String operationId;
 
+  /** start times of the activity instances started by this command, see {@link #getActivityInstanceStartNanos()} */
+  protected Map<String, Long> activityInstanceStartNanos;
+
   public CommandContext(ProcessEngineConfigurationImpl processEngineConfiguration) {
     this(processEngineConfiguration, processEngineConfiguration.getTransactionContextFactory());
   }
@@ -579,4 +582,15 @@ public class CommandContext {
   public void setOperationId(String operationId) {
     this.operationId = operationId;
   }
+
+  /**
+   * @return the values of {@link System#nanoTime()} at which the activity instances started within
+   *   this command context, keyed by activity instance id
+   */
+  public Map<String, Long> getActivityInstanceStartNanos() {
+    if (activityInstanceStartNanos == null) {
+      activityInstanceStartNanos = new HashMap<String, Long>();
+    }
+    return activityInstanceStartNanos;
+  }
 }
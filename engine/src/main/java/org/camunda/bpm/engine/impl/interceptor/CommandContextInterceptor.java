@@ -18,6 +18,8 @@ import org.camunda.bpm.engine.delegate.ProcessEngineServicesAware;
 import org.camunda.bpm.engine.impl.cfg.ProcessEngineConfigurationImpl;
 import org.camunda.bpm.engine.impl.cmd.CommandLogger;
 import org.camunda.bpm.engine.impl.context.Context;
+import org.camunda.bpm.engine.impl.metrics.MetricsRegistry;
+import org.camunda.bpm.engine.management.Metrics;
 
 /**
  * <p>Interceptor used for opening the {@link CommandContext} and {@link CommandInvocationContext}.</p>
@@ -83,6 +85,7 @@ public class CommandContextInterceptor extends CommandInterceptor {
     }
 
     boolean openNew = (context == null);
+    long startNanos = openNew ? System.nanoTime() : 0;
 
     CommandInvocationContext commandInvocationContext = new CommandInvocationContext(command);
     Context.setCommandInvocationContext(commandInvocationContext);
@@ -115,6 +118,9 @@ public class CommandContextInterceptor extends CommandInterceptor {
           commandInvocationContext.rethrow();
         }
       } finally {
+        if (openNew) {
+          recordCommandLatency(startNanos);
+        }
         Context.removeCommandInvocationContext();
         Context.removeCommandContext();
         Context.removeProcessEngineConfiguration();
@@ -124,6 +130,13 @@ public class CommandContextInterceptor extends CommandInterceptor {
     return null;
   }
 
+  protected void recordCommandLatency(long startNanos) {
+    MetricsRegistry metricsRegistry = processEngineConfiguration.getMetricsRegistry();
+    if (processEngineConfiguration.isMetricsEnabled() && metricsRegistry != null) {
+      metricsRegistry.recordDuration(Metrics.COMMAND_LATENCY, System.nanoTime() - startNanos);
+    }
+  }
+
   protected boolean isFromSameEngine(CommandContext existingCommandContext) {
     return processEngineConfiguration == existingCommandContext.getProcessEngineConfiguration();
   }
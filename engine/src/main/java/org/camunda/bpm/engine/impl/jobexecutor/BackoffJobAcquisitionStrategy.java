@@ -81,7 +81,7 @@ public class BackoffJobAcquisitionStrategy implements JobAcquisitionStrategy {
   protected Map<String, Integer> jobsToAcquire = new HashMap<String, Integer>();
 
   /*
-   * Backing off when the execution resources (queue) are saturated
+   * Backing off when the execution resources (queue or permits) are saturated
    * in order to not busy wait for free resources
    */
   protected boolean executionSaturated = false;
@@ -160,7 +160,7 @@ public class BackoffJobAcquisitionStrategy implements JobAcquisitionStrategy {
     reconfigureIdleLevel(context);
     reconfigureBackoffLevel(context);
     reconfigureNumberOfJobsToAcquire(context);
-    executionSaturated = allSubmittedJobsRejected(context);
+    executionSaturated = allSubmittedJobsRejected(context) || context.getAvailableExecutionCapacity() == 0;
   }
 
   /**
@@ -240,6 +240,10 @@ public class BackoffJobAcquisitionStrategy implements JobAcquisitionStrategy {
       if (rejectedJobBatchesForEngine != null) {
         numJobsToAcquire -= rejectedJobBatchesForEngine.size();
       }
+      if (context.getAvailableExecutionCapacity() >= 0) {
+        // do not acquire more jobs than the job executor can execute right away
+        numJobsToAcquire = Math.min(numJobsToAcquire, context.getAvailableExecutionCapacity());
+      }
       numJobsToAcquire = Math.max(0, numJobsToAcquire);
 
       jobsToAcquire.put(engineName, numJobsToAcquire);
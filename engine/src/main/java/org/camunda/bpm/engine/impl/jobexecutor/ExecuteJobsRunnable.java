@@ -14,10 +14,12 @@ package org.camunda.bpm.engine.impl.jobexecutor;
 
 import org.camunda.bpm.engine.impl.ProcessEngineImpl;
 import org.camunda.bpm.engine.impl.ProcessEngineLogger;
+import org.camunda.bpm.engine.impl.cmd.ExecuteJobsBatchCmd;
 import org.camunda.bpm.engine.impl.cmd.UnlockJobCmd;
 import org.camunda.bpm.engine.impl.context.Context;
 import org.camunda.bpm.engine.impl.interceptor.CommandExecutor;
 
+import java.util.ArrayList;
 import java.util.List;
 
 
@@ -44,6 +46,7 @@ public class ExecuteJobsRunnable implements Runnable {
 
     final List<String> currentProcessorJobQueue = jobExecutorContext.getCurrentProcessorJobQueue();
     CommandExecutor commandExecutor = processEngine.getProcessEngineConfiguration().getCommandExecutorTxRequired();
+    int batchSize = processEngine.getProcessEngineConfiguration().getJobExecutorBatchSize();
 
     currentProcessorJobQueue.addAll(jobIds);
 
@@ -51,10 +54,21 @@ public class ExecuteJobsRunnable implements Runnable {
     try {
       while (!currentProcessorJobQueue.isEmpty()) {
 
+        if (batchSize > 1 && currentProcessorJobQueue.size() > 1 && jobExecutor.isActive()) {
+          List<String> jobBatch = new ArrayList<String>();
+          while (jobBatch.size() < batchSize && !currentProcessorJobQueue.isEmpty()) {
+            jobBatch.add(currentProcessorJobQueue.remove(0));
+          }
+          executeJobBatch(jobBatch, commandExecutor);
+          continue;
+        }
+
         String nextJobId = currentProcessorJobQueue.remove(0);
         if(jobExecutor.isActive()) {
           try {
+             long startNanos = System.nanoTime();
              executeJob(nextJobId, commandExecutor);
+             jobExecutor.logJobExecutionTime(processEngine, System.nanoTime() - startNanos);
           }
           catch(Throwable t) {
             LOG.exceptionWhileExecutingJob(nextJobId, t);
@@ -88,6 +102,43 @@ public class ExecuteJobsRunnable implements Runnable {
     ExecuteJobHelper.executeJob(nextJobId, commandExecutor);
   }
 
+  /**
+   * Executes the given jobs in one transaction. Jobs which cannot be batched are
+   * executed one by one afterwards. If the batch fails, all of its jobs are
+   * executed one by one, so that only the failing job is retried.
+   */
+  protected void executeJobBatch(List<String> jobBatch, CommandExecutor commandExecutor) {
+    List<String> remainingJobIds;
+    try {
+      long startNanos = System.nanoTime();
+      remainingJobIds = commandExecutor.execute(new ExecuteJobsBatchCmd(jobBatch));
+
+      // the jobs of the batch share one transaction, so each of them is accounted for with an equal share
+      int batchedJobs = jobBatch.size() - remainingJobIds.size();
+      if (batchedJobs > 0) {
+        long durationPerJob = (System.nanoTime() - startNanos) / batchedJobs;
+        for (int i = 0; i < batchedJobs; i++) {
+          jobExecutor.logJobExecutionTime(processEngine, durationPerJob);
+        }
+      }
+    }
+    catch (Throwable t) {
+      LOG.exceptionWhileExecutingJobBatch(jobBatch, t);
+      remainingJobIds = jobBatch;
+    }
+
+    for (String jobId : remainingJobIds) {
+      try {
+        long startNanos = System.nanoTime();
+        executeJob(jobId, commandExecutor);
+        jobExecutor.logJobExecutionTime(processEngine, System.nanoTime() - startNanos);
+      }
+      catch (Throwable t) {
+        LOG.exceptionWhileExecutingJob(jobId, t);
+      }
+    }
+  }
+
   protected void unlockJob(String nextJobId, CommandExecutor commandExecutor) {
     commandExecutor.execute(new UnlockJobCmd(nextJobId));
   }
@@ -30,6 +30,7 @@ public class JobAcquisitionContext {
   protected Exception acquisitionException;
   protected long acquisitionTime;
   protected boolean isJobAdded;
+  protected int availableExecutionCapacity = -1;
 
   public JobAcquisitionContext() {
     this.rejectedJobBatchesByEngine = new HashMap<String, List<List<String>>>();
@@ -142,4 +143,17 @@ public class JobAcquisitionContext {
   public boolean isJobAdded() {
     return isJobAdded;
   }
+
+  public void setAvailableExecutionCapacity(int availableExecutionCapacity) {
+    this.availableExecutionCapacity = availableExecutionCapacity;
+  }
+
+  /**
+   * @return the number of job batches the job executor can execute right away
+   *   at the end of the acquisition cycle or -1 if the job executor does not
+   *   report its capacity
+   */
+  public int getAvailableExecutionCapacity() {
+    return availableExecutionCapacity;
+  }
 }
@@ -0,0 +1,154 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.jobexecutor;
+
+import java.util.Collections;
+import java.util.Set;
+
+import org.camunda.bpm.engine.ProcessEngineException;
+import org.camunda.bpm.engine.impl.ProcessEngineLogger;
+import org.camunda.bpm.engine.impl.cmd.ClaimJobAcquisitionPartitionsCmd;
+import org.camunda.bpm.engine.impl.cmd.ReleaseJobAcquisitionPartitionsCmd;
+import org.camunda.bpm.engine.impl.interceptor.CommandExecutor;
+import org.camunda.bpm.engine.impl.persistence.entity.JobEntity;
+import org.camunda.bpm.engine.impl.util.ClockUtil;
+
+/**
+ * <p>Partitions the jobs of a process engine between the job executors of a cluster,
+ * such that every job executor acquires only jobs of the partitions it owns and job
+ * executors no longer compete for the same jobs.</p>
+ *
+ * <p>Jobs are assigned to one of {@link #getPartitionCount()} partitions by the hash
+ * of their process instance id (or their id if they do not belong to a process instance),
+ * so that all exclusive jobs of a process instance end up in the same partition.
+ * The partition is stored with the job when it is inserted, so that the jobs
+ * of the owned partitions are selected by the database and a backlog of other
+ * partitions cannot hide them. Jobs without a stored partition or with a partition
+ * beyond the current partition count (e.g. created before partitioning was enabled
+ * or the count was changed) are acquired by the owner of the first partition.</p>
+ *
+ * <p>Partitions are claimed through leases which are stored as properties in the
+ * <code>ACT_GE_PROPERTY</code> table. Every job executor registers itself with a
+ * heartbeat property and claims its fair share of the partitions. If job executors
+ * join or leave the cluster, the fair share changes and partitions are released or
+ * claimed on the next lease renewal.</p>
+ */
+public class JobAcquisitionPartitions {
+
+  protected static final JobExecutorLogger LOG = ProcessEngineLogger.JOB_EXECUTOR_LOGGER;
+
+  public static final String PROPERTY_PREFIX = "job.acquisition.";
+  public static final String NODE_PROPERTY_PREFIX = PROPERTY_PREFIX + "node.";
+  public static final String PARTITION_PROPERTY_PREFIX = PROPERTY_PREFIX + "partition.";
+
+  /** the maximum length of a lock owner which is used in a property name as is */
+  protected static final int MAX_OWNER_KEY_LENGTH = 40;
+
+  protected int partitionCount;
+  protected long leaseTimeInMillis;
+
+  protected volatile Set<Integer> ownedPartitions = Collections.emptySet();
+  protected volatile long leaseExpirationTime = 0;
+  protected volatile long nextRenewalTime = 0;
+
+  public JobAcquisitionPartitions(int partitionCount, long leaseTimeInMillis) {
+    this.partitionCount = partitionCount;
+    this.leaseTimeInMillis = leaseTimeInMillis;
+  }
+
+  /**
+   * Claims and renews the leases of the partitions if a third of the lease time
+   * passed since the last renewal. If the leases cannot be renewed, the owned
+   * partitions are kept until their leases expire.
+   */
+  public void renewLeasesIfDue(CommandExecutor commandExecutor, String lockOwner) {
+    long now = ClockUtil.getCurrentTime().getTime();
+
+    if (now >= nextRenewalTime) {
+      try {
+        Set<Integer> partitions = commandExecutor.execute(new ClaimJobAcquisitionPartitionsCmd(this, lockOwner));
+
+        ownedPartitions = partitions;
+        leaseExpirationTime = now + leaseTimeInMillis;
+        nextRenewalTime = now + leaseTimeInMillis / 3;
+
+        LOG.claimedJobAcquisitionPartitions(lockOwner, partitions);
+      }
+      catch (ProcessEngineException e) {
+        LOG.exceptionWhileClaimingJobAcquisitionPartitions(lockOwner, e);
+      }
+    }
+
+    if (now >= leaseExpirationTime) {
+      ownedPartitions = Collections.emptySet();
+    }
+  }
+
+  /**
+   * Gives up all leases of the given lock owner, so that other job executors
+   * can take over its partitions right away.
+   */
+  public void releaseLeases(CommandExecutor commandExecutor, String lockOwner) {
+    ownedPartitions = Collections.emptySet();
+    leaseExpirationTime = 0;
+    nextRenewalTime = 0;
+
+    try {
+      commandExecutor.execute(new ReleaseJobAcquisitionPartitionsCmd(lockOwner));
+    }
+    catch (ProcessEngineException e) {
+      LOG.exceptionWhileClaimingJobAcquisitionPartitions(lockOwner, e);
+    }
+  }
+
+  public boolean isOwned(JobEntity job) {
+    return ownedPartitions.contains(getPartition(job));
+  }
+
+  public int getPartition(JobEntity job) {
+    String key = job.getProcessInstanceId();
+    if (key == null) {
+      key = job.getId();
+    }
+    return (key.hashCode() & Integer.MAX_VALUE) % partitionCount;
+  }
+
+  public boolean hasOwnedPartitions() {
+    return !ownedPartitions.isEmpty();
+  }
+
+  public Set<Integer> getOwnedPartitions() {
+    return ownedPartitions;
+  }
+
+  public int getPartitionCount() {
+    return partitionCount;
+  }
+
+  public long getLeaseTimeInMillis() {
+    return leaseTimeInMillis;
+  }
+
+  /**
+   * @return the key by which the given lock owner is identified in property names and values
+   */
+  public static String getOwnerKey(String lockOwner) {
+    if (lockOwner.length() <= MAX_OWNER_KEY_LENGTH) {
+      return lockOwner;
+    }
+    else {
+      return Integer.toHexString(lockOwner.hashCode());
+    }
+  }
+
+}
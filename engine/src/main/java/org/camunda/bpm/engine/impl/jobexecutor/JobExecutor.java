@@ -21,6 +21,7 @@ import org.camunda.bpm.engine.impl.ProcessEngineImpl;
 import org.camunda.bpm.engine.impl.ProcessEngineLogger;
 import org.camunda.bpm.engine.impl.interceptor.Command;
 import org.camunda.bpm.engine.impl.interceptor.CommandExecutor;
+import org.camunda.bpm.engine.impl.metrics.MetricsRegistry;
 import org.camunda.bpm.engine.management.Metrics;
 import org.camunda.bpm.engine.runtime.Job;
 
@@ -120,6 +121,11 @@ public abstract class JobExecutor {
   public synchronized void unregisterProcessEngine(ProcessEngineImpl processEngine) {
     processEngines.remove(processEngine);
 
+    JobAcquisitionPartitions partitions = processEngine.getProcessEngineConfiguration().getJobAcquisitionPartitions();
+    if (partitions != null) {
+      partitions.releaseLeases(processEngine.getProcessEngineConfiguration().getCommandExecutorTxRequired(), lockOwner);
+    }
+
     // if we unregister the last process engine, auto-shutdown the jobexecutor
     if(processEngines.isEmpty() && isActive) {
       shutdown();
@@ -130,6 +136,15 @@ public abstract class JobExecutor {
   protected abstract void stopExecutingJobs();
   public abstract void executeJobs(List<String> jobIds, ProcessEngineImpl processEngine);
 
+  /**
+   * @return the number of job batches which can be executed right away or -1
+   *   if the job executor cannot tell. The acquisition strategy does not acquire
+   *   more jobs than this.
+   */
+  public int getAvailableExecutionCapacity() {
+    return -1;
+  }
+
   /**
    * Deprecated: use {@link #executeJobs(List, ProcessEngineImpl)} instead
    * @param jobIds
@@ -173,6 +188,22 @@ public abstract class JobExecutor {
     }
   }
 
+  public void logAcquisitionCycle(ProcessEngineImpl engine, long durationNanos, int numJobs) {
+    if (engine != null && engine.getProcessEngineConfiguration().isMetricsEnabled()) {
+      MetricsRegistry metricsRegistry = engine.getProcessEngineConfiguration().getMetricsRegistry();
+      metricsRegistry.recordDuration(Metrics.JOB_ACQUISITION_TIME, durationNanos);
+      metricsRegistry.recordValue(Metrics.JOB_ACQUISITION_SIZE, numJobs);
+    }
+  }
+
+  public void logJobExecutionTime(ProcessEngineImpl engine, long durationNanos) {
+    if (engine != null && engine.getProcessEngineConfiguration().isMetricsEnabled()) {
+      engine.getProcessEngineConfiguration()
+        .getMetricsRegistry()
+        .recordDuration(Metrics.JOB_EXECUTION_TIME, durationNanos);
+    }
+  }
+
   // getters and setters //////////////////////////////////////////////////////
 
   public List<ProcessEngineImpl> getProcessEngines() {
@@ -13,6 +13,7 @@
 package org.camunda.bpm.engine.impl.jobexecutor;
 
 import java.util.Collection;
+import java.util.List;
 
 import org.camunda.bpm.engine.ProcessEngineException;
 import org.camunda.bpm.engine.impl.ProcessEngineLogger;
@@ -174,4 +175,25 @@ public class JobExecutorLogger extends ProcessEngineLogger {
         "027", "Falling back to default retry strategy. Exception while executing job {}: {}", jobId, exceptionMessage);
   }
 
+  public void claimedJobAcquisitionPartitions(String lockOwner, Collection<Integer> partitions) {
+    logDebug(
+        "028", "Job acquisition partitions owned by '{}': {}", lockOwner, partitions);
+  }
+
+  public void exceptionWhileClaimingJobAcquisitionPartitions(String lockOwner, Exception e) {
+    logWarn(
+        "029", "Exception while claiming job acquisition partitions for '{}'. Owned partitions are kept until their leases expire: {}", lockOwner, e.getMessage(), e);
+  }
+
+  public void exceptionWhileExecutingJobBatch(List<String> jobIds, Throwable e) {
+    logWarn(
+        "030", "Exception while executing job batch {}. Falling back to executing the jobs one by one: {}", jobIds, e.getMessage(), e);
+  }
+
+
+  public void virtualThreadsNotAvailable(Exception e) {
+    logInfo(
+        "031", "Virtual threads are not available on this JVM, executing jobs on platform threads: {}", e.getMessage());
+  }
+
 }
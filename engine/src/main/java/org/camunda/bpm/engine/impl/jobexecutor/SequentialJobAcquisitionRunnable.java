@@ -67,6 +67,7 @@ public class SequentialJobAcquisitionRunnable extends AcquireJobsRunnable {
       }
 
       acquisitionContext.setJobAdded(isJobAdded);
+      acquisitionContext.setAvailableExecutionCapacity(jobExecutor.getAvailableExecutionCapacity());
       configureNextAcquisitionCycle(acquisitionContext, acquisitionStrategy);
       //The clear had to be done after the configuration, since a hint can be
       //appear in the suspend and the flag shouldn't be cleaned in this case.
@@ -133,13 +134,21 @@ public class SequentialJobAcquisitionRunnable extends AcquireJobsRunnable {
     CommandExecutor commandExecutor = currentProcessEngine.getProcessEngineConfiguration()
         .getCommandExecutorTxRequired();
 
+    JobAcquisitionPartitions partitions = currentProcessEngine.getProcessEngineConfiguration()
+        .getJobAcquisitionPartitions();
+    if (partitions != null) {
+      partitions.renewLeasesIfDue(commandExecutor, jobExecutor.getLockOwner());
+    }
+
     int numJobsToAcquire = acquisitionStrategy.getNumJobsToAcquire(currentProcessEngine.getName());
 
     AcquiredJobs acquiredJobs = null;
 
     if (numJobsToAcquire > 0) {
       jobExecutor.logAcquisitionAttempt(currentProcessEngine);
+      long startNanos = System.nanoTime();
       acquiredJobs = commandExecutor.execute(jobExecutor.getAcquireJobsCmd(numJobsToAcquire));
+      jobExecutor.logAcquisitionCycle(currentProcessEngine, System.nanoTime() - startNanos, acquiredJobs.size());
     }
     else {
       acquiredJobs = new AcquiredJobs(numJobsToAcquire);
@@ -0,0 +1,183 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.jobexecutor;
+
+import java.util.List;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.camunda.bpm.engine.impl.ProcessEngineImpl;
+import org.camunda.bpm.engine.impl.ProcessEngineLogger;
+
+/**
+ * <p>{@link JobExecutor} which starts a new thread for every batch of jobs instead
+ * of using a thread pool. On JVMs supporting virtual threads, the jobs are executed
+ * on virtual threads, so that blocking I/O in jobs does not tie up platform threads.
+ * On older JVMs, platform threads are used.</p>
+ *
+ * <p>The number of concurrently executed job batches is bounded by a semaphore. By default,
+ * the bound is derived from the maximum number of active JDBC connections of the registered
+ * process engines, keeping one connection for job acquisition. If no permit is available,
+ * the jobs are rejected and the acquisition strategy backs off until permits are released.</p>
+ */
+public class VirtualThreadJobExecutor extends JobExecutor {
+
+  private final static JobExecutorLogger LOG = ProcessEngineLogger.JOB_EXECUTOR_LOGGER;
+
+  public static final int DEFAULT_MAX_CONCURRENT_JOBS = 10;
+
+  protected String threadNamePrefix = "camunda-job-executor-";
+
+  /**
+   * The maximum number of concurrently executed job batches. If not set,
+   * the bound is derived from the datasource pool size.
+   */
+  protected int maxConcurrentJobs = 0;
+
+  protected Semaphore permits;
+  protected int numPermits;
+  protected ThreadFactory threadFactory;
+
+  protected void startExecutingJobs() {
+    numPermits = maxConcurrentJobs > 0 ? maxConcurrentJobs : getDatasourceBoundConcurrency();
+    permits = new Semaphore(numPermits);
+
+    if (threadFactory == null) {
+      threadFactory = createThreadFactory();
+    }
+
+    startJobAcquisitionThread();
+  }
+
+  protected void stopExecutingJobs() {
+    stopJobAcquisitionThread();
+
+    // waits for 1 minute for all currently executing jobs to release their permits
+    try {
+      if (permits.tryAcquire(numPermits, 60L, TimeUnit.SECONDS)) {
+        permits.release(numPermits);
+      }
+      else {
+        LOG.timeoutDuringShutdown();
+      }
+    }
+    catch (InterruptedException e) {
+      LOG.interruptedWhileShuttingDownjobExecutor(e);
+    }
+  }
+
+  public void executeJobs(List<String> jobIds, ProcessEngineImpl processEngine) {
+    if (!permits.tryAcquire()) {
+      logRejectedExecution(processEngine, jobIds.size());
+      rejectedJobsHandler.jobsRejected(jobIds, processEngine, this);
+      return;
+    }
+
+    final Runnable executeJobsRunnable = getExecuteJobsRunnable(jobIds, processEngine);
+    try {
+      threadFactory.newThread(new Runnable() {
+        public void run() {
+          try {
+            executeJobsRunnable.run();
+          }
+          finally {
+            permits.release();
+          }
+        }
+      }).start();
+    }
+    catch (RuntimeException e) {
+      permits.release();
+      throw e;
+    }
+  }
+
+  public int getAvailableExecutionCapacity() {
+    return permits != null ? permits.availablePermits() : -1;
+  }
+
+  protected int getDatasourceBoundConcurrency() {
+    int maxConnections = Integer.MAX_VALUE;
+    for (ProcessEngineImpl processEngine : processEngines) {
+      int maxActiveConnections = processEngine.getProcessEngineConfiguration().getJdbcMaxActiveConnections();
+      if (maxActiveConnections > 0) {
+        maxConnections = Math.min(maxConnections, maxActiveConnections);
+      }
+    }
+
+    if (maxConnections == Integer.MAX_VALUE) {
+      return DEFAULT_MAX_CONCURRENT_JOBS;
+    }
+    else {
+      // keep one connection for job acquisition
+      return Math.max(1, maxConnections - 1);
+    }
+  }
+
+  /**
+   * Creates a factory for virtual threads through reflection, so that the engine
+   * can still be compiled for and run on JVMs without virtual threads.
+   */
+  protected ThreadFactory createThreadFactory() {
+    try {
+      Class<?> builderClass = Class.forName("java.lang.Thread$Builder");
+      Object builder = Thread.class.getMethod("ofVirtual").invoke(null);
+      builder = builderClass.getMethod("name", String.class, long.class).invoke(builder, threadNamePrefix, 0L);
+      return (ThreadFactory) builderClass.getMethod("factory").invoke(builder);
+    }
+    catch (Exception e) {
+      LOG.virtualThreadsNotAvailable(e);
+      return createPlatformThreadFactory();
+    }
+  }
+
+  protected ThreadFactory createPlatformThreadFactory() {
+    final AtomicInteger threadNumber = new AtomicInteger();
+    return new ThreadFactory() {
+      public Thread newThread(Runnable runnable) {
+        Thread thread = new Thread(runnable, threadNamePrefix + threadNumber.getAndIncrement());
+        thread.setDaemon(true);
+        return thread;
+      }
+    };
+  }
+
+  // getters and setters //////////////////////////////////////////////////////
+
+  public int getMaxConcurrentJobs() {
+    return maxConcurrentJobs;
+  }
+
+  public void setMaxConcurrentJobs(int maxConcurrentJobs) {
+    this.maxConcurrentJobs = maxConcurrentJobs;
+  }
+
+  public String getThreadNamePrefix() {
+    return threadNamePrefix;
+  }
+
+  public void setThreadNamePrefix(String threadNamePrefix) {
+    this.threadNamePrefix = threadNamePrefix;
+  }
+
+  public ThreadFactory getThreadFactory() {
+    return threadFactory;
+  }
+
+  public void setThreadFactory(ThreadFactory threadFactory) {
+    this.threadFactory = threadFactory;
+  }
+
+}
@@ -1,6 +1,7 @@
 package org.camunda.bpm.engine.impl.jobexecutor.historycleanup;
 
 import java.util.Collections;
+import java.util.Date;
 import java.util.List;
 import org.camunda.bpm.engine.impl.cfg.ProcessEngineConfigurationImpl;
 import org.camunda.bpm.engine.impl.context.Context;
@@ -18,11 +19,36 @@ public class HistoryCleanupBatch {
    */
   public final static int MAX_BATCH_SIZE = 500;
 
+  private List<Date> historicProcessInstanceRemovalTimes = Collections.emptyList();
   private List<String> historicProcessInstanceIds = Collections.emptyList();
   private List<String> historicDecisionInstanceIds = Collections.emptyList();
   private List<String> historicCaseInstanceIds = Collections.emptyList();
   private List<String> historicBatchIds = Collections.emptyList();
 
+  private int minuteFrom;
+  private int minuteTo;
+
+  /**
+   * @param minuteFrom first minute of an hour (inclusive) of the removal times deleted by the batch
+   * @param minuteTo last minute of an hour (inclusive) of the removal times deleted by the batch
+   */
+  public HistoryCleanupBatch(int minuteFrom, int minuteTo) {
+    this.minuteFrom = minuteFrom;
+    this.minuteTo = minuteTo;
+  }
+
+  public List<Date> getHistoricProcessInstanceRemovalTimes() {
+    return historicProcessInstanceRemovalTimes;
+  }
+
+  /**
+   * @param historicProcessInstanceRemovalTimes the removal times of the historic process instances
+   *   to remove in ascending order
+   */
+  public void setHistoricProcessInstanceRemovalTimes(List<Date> historicProcessInstanceRemovalTimes) {
+    this.historicProcessInstanceRemovalTimes = historicProcessInstanceRemovalTimes;
+  }
+
   public List<String> getHistoricProcessInstanceIds() {
     return historicProcessInstanceIds;
   }
@@ -59,11 +85,17 @@ public class HistoryCleanupBatch {
    * Size of the batch.
    */
   public int size() {
-    return historicProcessInstanceIds.size() + historicDecisionInstanceIds.size() + historicCaseInstanceIds.size() + historicBatchIds.size();
+    return historicProcessInstanceRemovalTimes.size() + historicProcessInstanceIds.size() + historicDecisionInstanceIds.size() + historicCaseInstanceIds.size() + historicBatchIds.size();
   }
 
   public void performCleanup() {
     final CommandContext commandContext = Context.getCommandContext();
+    if (historicProcessInstanceRemovalTimes.size() > 0) {
+      // deletes by range, i.e. also instances beyond the batch size which share the latest removal time
+      Date removalTime = historicProcessInstanceRemovalTimes.get(historicProcessInstanceRemovalTimes.size() - 1);
+      commandContext.getHistoricProcessInstanceManager().deleteHistoricProcessInstancesByRemovalTime(removalTime, minuteFrom, minuteTo);
+      recordValue(Metrics.HISTORY_CLEANUP_REMOVED_PROCESS_INSTANCES, historicProcessInstanceRemovalTimes.size());
+    }
     if (historicProcessInstanceIds.size() > 0) {
       commandContext.getHistoricProcessInstanceManager().deleteHistoricProcessInstanceByIds(historicProcessInstanceIds);
       recordValue(Metrics.HISTORY_CLEANUP_REMOVED_PROCESS_INSTANCES, historicProcessInstanceIds.size());
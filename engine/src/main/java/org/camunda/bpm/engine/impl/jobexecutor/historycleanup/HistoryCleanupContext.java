@@ -6,9 +6,17 @@ package org.camunda.bpm.engine.impl.jobexecutor.historycleanup;
 public class HistoryCleanupContext {
 
   private boolean immediatelyDue;
+  private int minuteFrom;
+  private int minuteTo;
 
   public HistoryCleanupContext(boolean immediatelyDue) {
+    this(immediatelyDue, 0, 59);
+  }
+
+  public HistoryCleanupContext(boolean immediatelyDue, int minuteFrom, int minuteTo) {
     this.immediatelyDue = immediatelyDue;
+    this.minuteFrom = minuteFrom;
+    this.minuteTo = minuteTo;
   }
 
   public boolean isImmediatelyDue() {
@@ -18,4 +26,20 @@ public class HistoryCleanupContext {
   public void setImmediatelyDue(boolean immediatelyDue) {
     this.immediatelyDue = immediatelyDue;
   }
+
+  public int getMinuteFrom() {
+    return minuteFrom;
+  }
+
+  public void setMinuteFrom(int minuteFrom) {
+    this.minuteFrom = minuteFrom;
+  }
+
+  public int getMinuteTo() {
+    return minuteTo;
+  }
+
+  public void setMinuteTo(int minuteTo) {
+    this.minuteTo = minuteTo;
+  }
 }
@@ -146,29 +146,44 @@ public abstract class HistoryCleanupHelper {
   }
 
   /**
-   * Creates next batch object for history cleanup. First searches for historic process instances ready for cleanup. If there is still some place left in batch (configured batch
+   * Creates next batch object for history cleanup. First searches for historic process instances ready for cleanup, both by removal time
+   * and (for instances without removal time) by end time. If there is still some place left in batch (configured batch
    * size was not reached), searches for historic decision instances and also adds them to the batch. Then if there is still some place left in batch, searches for historic case
    * instances and historic batches - and adds them to the batch.
    *
+   * Only data whose end or removal time falls into the minutes of an hour between <code>minuteFrom</code> and
+   * <code>minuteTo</code> is considered, so that several cleanup jobs with disjoint minute ranges can run in parallel.
+   *
+   * @param minuteFrom first minute of an hour (inclusive)
+   * @param minuteTo last minute of an hour (inclusive)
    * @param commandContext
    * @return
    */
-  public static HistoryCleanupBatch getNextBatch(CommandContext commandContext) {
+  public static HistoryCleanupBatch getNextBatch(int minuteFrom, int minuteTo, CommandContext commandContext) {
     final Integer batchSize = getHistoryCleanupBatchSize(commandContext);
-    HistoryCleanupBatch historyCleanupBatch = new HistoryCleanupBatch();
+    HistoryCleanupBatch historyCleanupBatch = new HistoryCleanupBatch(minuteFrom, minuteTo);
     ProcessEngineConfigurationImpl processEngineConfiguration = commandContext.getProcessEngineConfiguration();
 
-    //add process instance ids
-    final List<String> historicProcessInstanceIds = commandContext.getHistoricProcessInstanceManager()
-        .findHistoricProcessInstanceIdsForCleanup(batchSize);
-    if (historicProcessInstanceIds.size() > 0) {
-      historyCleanupBatch.setHistoricProcessInstanceIds(historicProcessInstanceIds);
+    //add removal times of process instances which got a removal time on end
+    final List<Date> historicProcessInstanceRemovalTimes = commandContext.getHistoricProcessInstanceManager()
+        .findHistoricProcessInstanceRemovalTimesForCleanup(batchSize, minuteFrom, minuteTo);
+    if (historicProcessInstanceRemovalTimes.size() > 0) {
+      historyCleanupBatch.setHistoricProcessInstanceRemovalTimes(historicProcessInstanceRemovalTimes);
+    }
+
+    //if batch is not full, add ids of process instances without removal time
+    if (historyCleanupBatch.size() < batchSize) {
+      final List<String> historicProcessInstanceIds = commandContext.getHistoricProcessInstanceManager()
+          .findHistoricProcessInstanceIdsForCleanup(batchSize - historyCleanupBatch.size(), minuteFrom, minuteTo);
+      if (historicProcessInstanceIds.size() > 0) {
+        historyCleanupBatch.setHistoricProcessInstanceIds(historicProcessInstanceIds);
+      }
     }
 
     //if batch is not full, add decision instance ids
     if (historyCleanupBatch.size() < batchSize && processEngineConfiguration.isDmnEnabled()) {
       final List<String> historicDecisionInstanceIds = commandContext.getHistoricDecisionInstanceManager()
-          .findHistoricDecisionInstanceIdsForCleanup(batchSize - historyCleanupBatch.size());
+          .findHistoricDecisionInstanceIdsForCleanup(batchSize - historyCleanupBatch.size(), minuteFrom, minuteTo);
       if (historicDecisionInstanceIds.size() > 0) {
         historyCleanupBatch.setHistoricDecisionInstanceIds(historicDecisionInstanceIds);
       }
@@ -177,7 +192,7 @@ public abstract class HistoryCleanupHelper {
     //if batch is not full, add case instance ids
     if (historyCleanupBatch.size() < batchSize && processEngineConfiguration.isCmmnEnabled()) {
       final List<String> historicCaseInstanceIds = commandContext.getHistoricCaseInstanceManager()
-          .findHistoricCaseInstanceIdsForCleanup(batchSize - historyCleanupBatch.size());
+          .findHistoricCaseInstanceIdsForCleanup(batchSize - historyCleanupBatch.size(), minuteFrom, minuteTo);
       if (historicCaseInstanceIds.size() > 0) {
         historyCleanupBatch.setHistoricCaseInstanceIds(historicCaseInstanceIds);
       }
@@ -188,7 +203,7 @@ public abstract class HistoryCleanupHelper {
     if (historyCleanupBatch.size() < batchSize && batchOperationsForHistoryCleanup != null && !batchOperationsForHistoryCleanup.isEmpty()) {
       List<String> historicBatchIds = commandContext
           .getHistoricBatchManager()
-          .findHistoricBatchIdsForCleanup(batchSize - historyCleanupBatch.size(), batchOperationsForHistoryCleanup);
+          .findHistoricBatchIdsForCleanup(batchSize - historyCleanupBatch.size(), batchOperationsForHistoryCleanup, minuteFrom, minuteTo);
       if (historicBatchIds.size() > 0) {
         historyCleanupBatch.setHistoricBatchIds(historicBatchIds);
       }
@@ -196,4 +211,18 @@ public abstract class HistoryCleanupHelper {
 
     return historyCleanupBatch;
   }
+
+  /**
+   * Splits the minutes of an hour into the given number of consecutive ranges of (almost) equal size.
+   * @return an array of <code>{minuteFrom, minuteTo}</code> pairs, both inclusive
+   */
+  public static int[][] listMinutePartitions(int numberOfPartitions) {
+    int[][] partitions = new int[numberOfPartitions][];
+    for (int i = 0; i < numberOfPartitions; i++) {
+      int minuteFrom = i * 60 / numberOfPartitions;
+      int minuteTo = (i + 1) * 60 / numberOfPartitions - 1;
+      partitions[i] = new int[] { minuteFrom, minuteTo };
+    }
+    return partitions;
+  }
 }
@@ -1,6 +1,7 @@
 package org.camunda.bpm.engine.impl.jobexecutor.historycleanup;
 
 import java.util.Date;
+import org.camunda.bpm.engine.impl.history.buffer.HistoryEventBuffer;
 import org.camunda.bpm.engine.impl.interceptor.CommandContext;
 import org.camunda.bpm.engine.impl.jobexecutor.JobHandler;
 import org.camunda.bpm.engine.impl.persistence.entity.ExecutionEntity;
@@ -24,16 +25,19 @@ public class HistoryCleanupJobHandler implements JobHandler<HistoryCleanupJobHan
 
   @Override
   public void execute(HistoryCleanupJobHandlerConfiguration configuration, ExecutionEntity execution, CommandContext commandContext, String tenantId) {
-    //find JobEntity
-    JobEntity jobEntity = commandContext.getJobManager().findJobByHandlerType(getType());
+    //several cleanup jobs may exist, so use the one which is executed
+    JobEntity jobEntity = commandContext.getCurrentJob();
 
     boolean rescheduled = false;
 
     if (configuration.isImmediatelyDue()
         || (HistoryCleanupHelper.isBatchWindowConfigured(commandContext)
             && HistoryCleanupHelper.isWithinBatchWindow(ClockUtil.getCurrentTime(), commandContext)) ) {
+      //write buffered history first, it may belong to the data to delete
+      HistoryEventBuffer.flushBuffer(commandContext);
+
       //find data to delete
-      final HistoryCleanupBatch nextBatch = HistoryCleanupHelper.getNextBatch(commandContext);
+      final HistoryCleanupBatch nextBatch = HistoryCleanupHelper.getNextBatch(configuration.getMinuteFrom(), configuration.getMinuteTo(), commandContext);
       if (nextBatch.size() >= getBatchSizeThreshold(commandContext)) {
 
         //delete bunch of data
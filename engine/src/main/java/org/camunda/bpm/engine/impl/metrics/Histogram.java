@@ -0,0 +1,98 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.metrics;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * <p>Records the distribution of non-negative values in buckets with exponentially
+ * growing bounds: bucket <code>0</code> counts the value <code>0</code>, bucket <code>i</code>
+ * counts values of at least <code>2^(i-1)</code> and less than <code>2^i</code>. The last
+ * bucket counts all larger values.</p>
+ *
+ * <p>Like the {@link StripedCounter}, every thread records into its own stripe of cells,
+ * so recording does not contend. A {@link #snapshot()} sums up the stripes.</p>
+ */
+public class Histogram {
+
+  public static final int BUCKETS = 40;
+
+  protected static final int COUNT = 0;
+  protected static final int SUM = 1;
+  protected static final int MAX = 2;
+  protected static final int FIRST_BUCKET = 3;
+
+  /**
+   * Cells of one stripe, rounded up to a multiple of {@link StripedCounter#CELL_DISTANCE}.
+   */
+  protected static final int STRIPE_LENGTH = ((FIRST_BUCKET + BUCKETS) / StripedCounter.CELL_DISTANCE + 1) * StripedCounter.CELL_DISTANCE;
+
+  protected final AtomicLongArray cells = new AtomicLongArray(StripedCounter.STRIPES * STRIPE_LENGTH);
+
+  protected String name;
+
+  public Histogram(String name) {
+    this.name = name;
+  }
+
+  public void record(long value) {
+    if (value < 0) {
+      value = 0;
+    }
+
+    int offset = StripedCounter.currentStripe() * STRIPE_LENGTH;
+    cells.incrementAndGet(offset + COUNT);
+    cells.addAndGet(offset + SUM, value);
+    cells.incrementAndGet(offset + FIRST_BUCKET + getBucket(value));
+
+    long max = cells.get(offset + MAX);
+    while (value > max && !cells.compareAndSet(offset + MAX, max, value)) {
+      max = cells.get(offset + MAX);
+    }
+  }
+
+  protected int getBucket(long value) {
+    int bucket = 64 - Long.numberOfLeadingZeros(value);
+    return Math.min(bucket, BUCKETS - 1);
+  }
+
+  public HistogramSnapshot snapshot() {
+    long count = 0;
+    long sum = 0;
+    long max = 0;
+    long[] buckets = new long[BUCKETS];
+
+    for (int stripe = 0; stripe < StripedCounter.STRIPES; stripe++) {
+      int offset = stripe * STRIPE_LENGTH;
+      count += cells.get(offset + COUNT);
+      sum += cells.get(offset + SUM);
+      max = Math.max(max, cells.get(offset + MAX));
+      for (int i = 0; i < BUCKETS; i++) {
+        buckets[i] += cells.get(offset + FIRST_BUCKET + i);
+      }
+    }
+
+    return new HistogramSnapshot(name, count, sum, max, buckets);
+  }
+
+  public void reset() {
+    for (int i = 0; i < cells.length(); i++) {
+      cells.set(i, 0);
+    }
+  }
+
+  public String getName() {
+    return name;
+  }
+
+}
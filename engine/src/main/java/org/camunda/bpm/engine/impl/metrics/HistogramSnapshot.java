@@ -0,0 +1,91 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.metrics;
+
+/**
+ * Immutable state of a {@link Histogram} at the time the snapshot was taken.
+ */
+public class HistogramSnapshot {
+
+  protected final String name;
+  protected final long count;
+  protected final long sum;
+  protected final long max;
+  protected final long[] buckets;
+
+  public HistogramSnapshot(String name, long count, long sum, long max, long[] buckets) {
+    this.name = name;
+    this.count = count;
+    this.sum = sum;
+    this.max = max;
+    this.buckets = buckets;
+  }
+
+  public String getName() {
+    return name;
+  }
+
+  public long getCount() {
+    return count;
+  }
+
+  public long getSum() {
+    return sum;
+  }
+
+  public long getMax() {
+    return max;
+  }
+
+  public double getMean() {
+    return count > 0 ? (double) sum / count : 0;
+  }
+
+  /**
+   * @return a copy of the bucket counts, see {@link Histogram} for the bucket bounds
+   */
+  public long[] getBuckets() {
+    return buckets.clone();
+  }
+
+  /**
+   * @return the upper bound of the bucket containing the given percentile (between 0 and 100)
+   *   of the recorded values, but at most the largest recorded value; <code>0</code> if nothing was recorded
+   */
+  public long getPercentile(double percentile) {
+    if (count == 0) {
+      return 0;
+    }
+
+    long threshold = Math.max(1, (long) Math.ceil(count * percentile / 100));
+    long seen = 0;
+    for (int i = 0; i < buckets.length; i++) {
+      seen += buckets[i];
+      if (seen >= threshold) {
+        return Math.min(1L << i, max);
+      }
+    }
+    return max;
+  }
+
+  public String toString() {
+    return name
+        + "[count=" + count
+        + ", mean=" + (long) getMean()
+        + ", p50=" + getPercentile(50)
+        + ", p99=" + getPercentile(99)
+        + ", max=" + max
+        + "]";
+  }
+
+}
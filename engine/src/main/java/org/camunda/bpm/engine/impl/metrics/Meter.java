@@ -12,17 +12,16 @@
  */
 package org.camunda.bpm.engine.impl.metrics;
 
-import java.util.concurrent.atomic.AtomicLong;
-
 /**
- * A Meter implementation based on AtomicLong
+ * A Meter implementation based on a {@link StripedCounter}, so that
+ * threads marking the same meter concurrently do not contend.
  *
  * @author Daniel Meyer
  *
  */
 public class Meter {
 
-  protected AtomicLong counter = new AtomicLong(0);
+  protected StripedCounter counter = new StripedCounter();
 
   protected String name;
 
@@ -31,11 +30,11 @@ public class Meter {
   }
 
   public void mark() {
-    counter.incrementAndGet();
+    counter.increment();
   }
 
   public void markTimes(long times) {
-    counter.addAndGet(times);
+    counter.add(times);
   }
 
   public String getName() {
@@ -47,11 +46,11 @@ public class Meter {
   }
 
   public long getAndClear() {
-    return counter.getAndSet(0);
+    return counter.sumThenReset();
   }
 
   public long get() {
-    return counter.get();
+    return counter.sum();
   }
 
 }
@@ -0,0 +1,66 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.metrics;
+
+import java.io.Serializable;
+
+/**
+ * A period of the meter log which is read in one granularity by a {@link MetricsQueryImpl}.
+ * Reported entries have the granularity <code>0</code>, rolled up entries the length of their
+ * bucket in seconds.
+ */
+public class MetricsGranularitySegment implements Serializable {
+
+  private static final long serialVersionUID = 1L;
+
+  protected int granularity;
+  protected Long fromMilliseconds;
+  protected Long toMilliseconds;
+
+  /**
+   * @param fromMilliseconds inclusive start of the period, <code>null</code> if unbounded
+   * @param toMilliseconds exclusive end of the period, <code>null</code> if unbounded
+   */
+  public MetricsGranularitySegment(int granularity, Long fromMilliseconds, Long toMilliseconds) {
+    this.granularity = granularity;
+    this.fromMilliseconds = fromMilliseconds;
+    this.toMilliseconds = toMilliseconds;
+  }
+
+  public boolean isRolledUp() {
+    return granularity > 0;
+  }
+
+  public boolean contains(long milliseconds) {
+    return (fromMilliseconds == null || milliseconds >= fromMilliseconds)
+        && (toMilliseconds == null || milliseconds < toMilliseconds);
+  }
+
+  public boolean overlaps(Long startMilliseconds, Long endMilliseconds) {
+    return (toMilliseconds == null || startMilliseconds == null || startMilliseconds < toMilliseconds)
+        && (fromMilliseconds == null || endMilliseconds == null || endMilliseconds > fromMilliseconds);
+  }
+
+  public int getGranularity() {
+    return granularity;
+  }
+
+  public Long getFromMilliseconds() {
+    return fromMilliseconds;
+  }
+
+  public Long getToMilliseconds() {
+    return toMilliseconds;
+  }
+
+}
@@ -33,4 +33,19 @@ public class MetricsLogger extends ProcessEngineLogger {
         "002", "Could not collect and log metrics", e);
   }
 
+  public void couldNotRegisterMBean(String objectName, Exception e) {
+    logWarn(
+        "003", "Could not register MBean '{}': {}", objectName, e.getMessage(), e);
+  }
+
+  public void couldNotUnregisterMBean(String objectName, Exception e) {
+    logWarn(
+        "004", "Could not unregister MBean '{}': {}", objectName, e.getMessage(), e);
+  }
+
+  public void couldNotRollupMetrics(Exception e) {
+    logWarn(
+        "005", "Could not roll up and clean up the meter log", e);
+  }
+
 }
@@ -15,6 +15,7 @@ package org.camunda.bpm.engine.impl.metrics;
 import java.io.Serializable;
 import java.util.Date;
 import java.util.List;
+
 import org.camunda.bpm.engine.ProcessEngineException;
 import org.camunda.bpm.engine.impl.db.ListQueryParameterObject;
 import org.camunda.bpm.engine.impl.interceptor.Command;
@@ -41,6 +42,7 @@ public class MetricsQueryImpl extends ListQueryParameterObject implements Serial
   protected Long startDateMilliseconds;
   protected Long endDateMilliseconds;
   protected Long interval;
+  protected List<MetricsGranularitySegment> granularitySegments;
 
   protected transient CommandExecutor commandExecutor;
 
@@ -85,6 +87,9 @@ public class MetricsQueryImpl extends ListQueryParameterObject implements Serial
     callback = new Command() {
       @Override
       public Object execute(CommandContext commandContext) {
+        granularitySegments = findGranularitySegments(commandContext);
+        alignStartDateToGranularity();
+
         return commandContext.getMeterLogManager()
           .executeSelectInterval(MetricsQueryImpl.this);
       }
@@ -103,6 +108,9 @@ public class MetricsQueryImpl extends ListQueryParameterObject implements Serial
     callback = new Command() {
       @Override
       public Object execute(CommandContext commandContext) {
+        granularitySegments = findGranularitySegments(commandContext);
+        alignStartDateToGranularity();
+
         return commandContext.getMeterLogManager()
           .executeSelectSum(MetricsQueryImpl.this);
       }
@@ -111,6 +119,39 @@ public class MetricsQueryImpl extends ListQueryParameterObject implements Serial
     return (Long) commandExecutor.execute(this);
   }
 
+  /**
+   * @return the periods in which the meter log is read in one granularity or
+   *   <code>null</code> if the meter log is not rolled up, so that all entries are read
+   */
+  protected List<MetricsGranularitySegment> findGranularitySegments(CommandContext commandContext) {
+    if (commandContext.getProcessEngineConfiguration().isMetricsRollupEnabled()) {
+      return commandContext.getMeterLogManager().findGranularitySegments();
+    }
+    else {
+      return null;
+    }
+  }
+
+  /**
+   * A rolled up entry is attributed to the start of its bucket. If the start date lies
+   * within a bucket, it is moved to the start of the bucket, so that the bucket is counted
+   * like a bucket containing the end date.
+   */
+  protected void alignStartDateToGranularity() {
+    if (startDateMilliseconds == null || granularitySegments == null) {
+      return;
+    }
+    for (MetricsGranularitySegment segment : granularitySegments) {
+      if (segment.isRolledUp() && segment.contains(startDateMilliseconds)) {
+        long granularityMilliseconds = segment.getGranularity() * 1000L;
+        long bucketStart = startDateMilliseconds - startDateMilliseconds % granularityMilliseconds;
+        if (bucketStart != startDateMilliseconds) {
+          startDate(new Date(bucketStart));
+        }
+      }
+    }
+  }
+
   @Override
   public Object execute(CommandContext commandContext) {
     if (callback != null) {
@@ -163,6 +204,10 @@ public class MetricsQueryImpl extends ListQueryParameterObject implements Serial
     return reporter;
   }
 
+  public List<MetricsGranularitySegment> getGranularitySegments() {
+    return granularitySegments;
+  }
+
   public Long getInterval() {
     if (interval == null) {
       return DEFAULT_SELECT_INTERVAL;
@@ -15,6 +15,8 @@ package org.camunda.bpm.engine.impl.metrics;
 import java.util.HashMap;
 import java.util.Map;
 
+import org.camunda.bpm.engine.impl.metrics.sql.SqlStatementMetrics;
+
 /**
  * @author Daniel Meyer
  *
@@ -23,6 +25,15 @@ public class MetricsRegistry {
 
   protected Map<String, Meter> meters = new HashMap<String, Meter>();
 
+  /** latency distributions, not reported to the database */
+  protected Map<String, Timer> timers = new HashMap<String, Timer>();
+
+  /** value distributions, not reported to the database */
+  protected Map<String, Histogram> histograms = new HashMap<String, Histogram>();
+
+  /** per statement statistics, not reported to the database; null if disabled */
+  protected SqlStatementMetrics sqlStatementMetrics;
+
   public Meter getMeterByName(String name) {
     return meters.get(name);
   }
@@ -49,4 +60,73 @@ public class MetricsRegistry {
     return meter;
   }
 
+  public Timer getTimerByName(String name) {
+    return timers.get(name);
+  }
+
+  public Map<String, Timer> getTimers() {
+    return timers;
+  }
+
+  /**
+   * @param durationNanos the duration, e.g. the difference of two values of {@link System#nanoTime()}
+   */
+  public void recordDuration(String name, long durationNanos) {
+    Timer timer = timers.get(name);
+
+    if (timer != null) {
+      timer.recordNanos(durationNanos);
+    }
+  }
+
+  public Timer createTimer(String name) {
+    Timer timer = new Timer(name);
+    timers.put(name, timer);
+    return timer;
+  }
+
+  public Histogram getHistogramByName(String name) {
+    return histograms.get(name);
+  }
+
+  public Map<String, Histogram> getHistograms() {
+    return histograms;
+  }
+
+  public void recordValue(String name, long value) {
+    Histogram histogram = histograms.get(name);
+
+    if (histogram != null) {
+      histogram.record(value);
+    }
+  }
+
+  public Histogram createHistogram(String name) {
+    Histogram histogram = new Histogram(name);
+    histograms.put(name, histogram);
+    return histogram;
+  }
+
+  /**
+   * @return a snapshot of every timer and histogram, keyed by name
+   */
+  public Map<String, HistogramSnapshot> getHistogramSnapshots() {
+    Map<String, HistogramSnapshot> snapshots = new HashMap<String, HistogramSnapshot>();
+    for (Timer timer : timers.values()) {
+      snapshots.put(timer.getName(), timer.snapshot());
+    }
+    for (Histogram histogram : histograms.values()) {
+      snapshots.put(histogram.getName(), histogram.snapshot());
+    }
+    return snapshots;
+  }
+
+  public SqlStatementMetrics getSqlStatementMetrics() {
+    return sqlStatementMetrics;
+  }
+
+  public void setSqlStatementMetrics(SqlStatementMetrics sqlStatementMetrics) {
+    this.sqlStatementMetrics = sqlStatementMetrics;
+  }
+
 }
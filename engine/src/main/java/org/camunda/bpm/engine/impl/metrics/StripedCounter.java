@@ -0,0 +1,86 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.metrics;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * <p>A counter which spreads concurrent updates over several cells, so that threads
+ * incrementing the counter at the same time do not contend for the same cache line.
+ * Reading the counter sums up all cells.</p>
+ *
+ * <p>The cell of a thread is chosen by hashing its id, the cells are placed
+ * {@link #CELL_DISTANCE} longs apart.</p>
+ */
+public class StripedCounter {
+
+  /**
+   * Distance between two cells in longs, i.e. 128 bytes, which keeps
+   * neighboring cells on different cache lines.
+   */
+  public static final int CELL_DISTANCE = 16;
+
+  public static final int STRIPE_BITS = stripeBits(Runtime.getRuntime().availableProcessors());
+  public static final int STRIPES = 1 << STRIPE_BITS;
+
+  protected final AtomicLongArray cells = new AtomicLongArray(STRIPES * CELL_DISTANCE);
+
+  public void increment() {
+    add(1);
+  }
+
+  public void add(long value) {
+    cells.addAndGet(currentStripe() * CELL_DISTANCE, value);
+  }
+
+  public long sum() {
+    long sum = 0;
+    for (int i = 0; i < STRIPES; i++) {
+      sum += cells.get(i * CELL_DISTANCE);
+    }
+    return sum;
+  }
+
+  /**
+   * Returns the sum and resets the counter. Updates which happen concurrently are
+   * either contained in the returned sum or remain in the counter, none is lost.
+   */
+  public long sumThenReset() {
+    long sum = 0;
+    for (int i = 0; i < STRIPES; i++) {
+      sum += cells.getAndSet(i * CELL_DISTANCE, 0);
+    }
+    return sum;
+  }
+
+  /**
+   * @return the stripe of the current thread, between 0 and {@link #STRIPES} - 1
+   */
+  public static int currentStripe() {
+    // fibonacci hashing spreads the sequential thread ids evenly over the stripes
+    int hash = (int) Thread.currentThread().getId() * 0x9E3779B9;
+    return STRIPE_BITS == 0 ? 0 : hash >>> (32 - STRIPE_BITS);
+  }
+
+  /**
+   * Uses twice as many stripes as processors, rounded up to a power of two and at most 64.
+   */
+  protected static int stripeBits(int processors) {
+    int bits = 0;
+    while ((1 << bits) < 2 * processors && bits < 6) {
+      bits++;
+    }
+    return bits;
+  }
+
+}
@@ -0,0 +1,38 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.metrics;
+
+/**
+ * A {@link Histogram} of durations. Durations are recorded in nanoseconds and
+ * kept in microseconds, i.e. the values of the snapshots are microseconds.
+ */
+public class Timer extends Histogram {
+
+  public Timer(String name) {
+    super(name);
+  }
+
+  public void recordNanos(long durationNanos) {
+    record(durationNanos / 1000);
+  }
+
+  /**
+   * Records the time which passed since the given start time.
+   *
+   * @param startNanos a value of {@link System#nanoTime()}
+   */
+  public void recordSince(long startNanos) {
+    recordNanos(System.nanoTime() - startNanos);
+  }
+
+}
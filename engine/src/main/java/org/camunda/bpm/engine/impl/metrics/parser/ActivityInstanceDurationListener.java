@@ -0,0 +1,60 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.metrics.parser;
+
+import java.util.Map;
+
+import org.camunda.bpm.engine.delegate.DelegateExecution;
+import org.camunda.bpm.engine.delegate.ExecutionListener;
+import org.camunda.bpm.engine.impl.context.Context;
+import org.camunda.bpm.engine.impl.interceptor.CommandContext;
+import org.camunda.bpm.engine.management.Metrics;
+
+/**
+ * <p>Records the {@link Metrics#ACTIVITY_INSTANCE_DURATION} of activity instances.</p>
+ *
+ * <p>The start time is kept in the {@link CommandContext}, so only activity instances which
+ * start and end within the same command are measured. Activity instances waiting for an external
+ * trigger, a timer or an asynchronous continuation are not measured.</p>
+ */
+public class ActivityInstanceDurationListener implements ExecutionListener {
+
+  protected boolean start;
+
+  public ActivityInstanceDurationListener(boolean start) {
+    this.start = start;
+  }
+
+  public void notify(DelegateExecution execution) throws Exception {
+    CommandContext commandContext = Context.getCommandContext();
+    String activityInstanceId = execution.getActivityInstanceId();
+    if (commandContext == null || activityInstanceId == null
+        || !commandContext.getProcessEngineConfiguration().isMetricsEnabled()) {
+      return;
+    }
+
+    Map<String, Long> activityInstanceStartNanos = commandContext.getActivityInstanceStartNanos();
+    if (start) {
+      activityInstanceStartNanos.put(activityInstanceId, System.nanoTime());
+    }
+    else {
+      Long startNanos = activityInstanceStartNanos.remove(activityInstanceId);
+      if (startNanos != null) {
+        commandContext.getProcessEngineConfiguration()
+          .getMetricsRegistry()
+          .recordDuration(Metrics.ACTIVITY_INSTANCE_DURATION, System.nanoTime() - startNanos);
+      }
+    }
+  }
+
+}
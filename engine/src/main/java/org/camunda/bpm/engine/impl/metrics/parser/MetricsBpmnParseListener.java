@@ -28,9 +28,14 @@ public class MetricsBpmnParseListener extends AbstractBpmnParseListener {
   public static MetricsExecutionListener ACTIVITY_INSTANCE_START_COUNTER = new MetricsExecutionListener(Metrics.ACTIVTY_INSTANCE_START);
   public static MetricsExecutionListener ACTIVITY_INSTANCE_END_COUNTER = new MetricsExecutionListener(Metrics.ACTIVTY_INSTANCE_END);
 
+  public static ActivityInstanceDurationListener ACTIVITY_INSTANCE_START_TIMER = new ActivityInstanceDurationListener(true);
+  public static ActivityInstanceDurationListener ACTIVITY_INSTANCE_END_TIMER = new ActivityInstanceDurationListener(false);
+
   protected void addListeners(ActivityImpl activity) {
     activity.addBuiltInListener(ExecutionListener.EVENTNAME_START, ACTIVITY_INSTANCE_START_COUNTER);
     activity.addBuiltInListener(ExecutionListener.EVENTNAME_END, ACTIVITY_INSTANCE_END_COUNTER);
+    activity.addBuiltInListener(ExecutionListener.EVENTNAME_START, ACTIVITY_INSTANCE_START_TIMER);
+    activity.addBuiltInListener(ExecutionListener.EVENTNAME_END, ACTIVITY_INSTANCE_END_TIMER);
   }
 
   public void parseStartEvent(Element startEventElement, ScopeImpl scope, ActivityImpl activity) {
@@ -35,7 +35,12 @@ public class DbMetricsReporter {
   // log every 15 minutes...
   protected long reportingIntervalInSeconds = 60 * 15;
 
+  // roll up every hour...
+  protected long rollupIntervalInSeconds = 60 * 60;
+
   protected MetricsCollectionTask metricsCollectionTask;
+  /** null if the meter log is not rolled up */
+  protected MetricsRollupTask metricsRollupTask;
   private Timer timer;
 
   public DbMetricsReporter(MetricsRegistry metricsRegistry, CommandExecutor commandExecutor) {
@@ -55,6 +60,13 @@ public class DbMetricsReporter {
     timer.scheduleAtFixedRate(metricsCollectionTask,
         reportingIntervalInMillis,
         reportingIntervalInMillis);
+
+    if (metricsRollupTask != null) {
+      long rollupIntervalInMillis = rollupIntervalInSeconds * 1000;
+      timer.scheduleAtFixedRate(metricsRollupTask,
+          rollupIntervalInMillis,
+          rollupIntervalInMillis);
+    }
   }
 
   public void stop() {
@@ -107,6 +119,22 @@ public class DbMetricsReporter {
     this.metricsCollectionTask = metricsCollectionTask;
   }
 
+  public MetricsRollupTask getMetricsRollupTask() {
+    return metricsRollupTask;
+  }
+
+  public void setMetricsRollupTask(MetricsRollupTask metricsRollupTask) {
+    this.metricsRollupTask = metricsRollupTask;
+  }
+
+  public long getRollupIntervalInSeconds() {
+    return rollupIntervalInSeconds;
+  }
+
+  public void setRollupIntervalInSeconds(long rollupIntervalInSeconds) {
+    this.rollupIntervalInSeconds = rollupIntervalInSeconds;
+  }
+
   public void setReporterId(String reporterId) {
     this.reporterId = reporterId;
     if (metricsCollectionTask != null) {
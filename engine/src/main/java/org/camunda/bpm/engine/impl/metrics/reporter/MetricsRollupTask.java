@@ -0,0 +1,130 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.metrics.reporter;
+
+import java.util.TimerTask;
+
+import org.camunda.bpm.engine.impl.ProcessEngineLogger;
+import org.camunda.bpm.engine.impl.interceptor.Command;
+import org.camunda.bpm.engine.impl.interceptor.CommandContext;
+import org.camunda.bpm.engine.impl.interceptor.CommandExecutor;
+import org.camunda.bpm.engine.impl.metrics.MetricsLogger;
+import org.camunda.bpm.engine.impl.persistence.entity.MeterLogManager;
+import org.camunda.bpm.engine.impl.util.ClockUtil;
+
+/**
+ * <p>Rolls the meter log up into coarser granularities: reported entries are aggregated into
+ * quarter hours, quarter hours into hours and hours into days as soon as a bucket is complete.
+ * The entries of each granularity are kept next to their rollups until they exceed their
+ * retention, daily entries only if a day retention is set. Metrics queries read every period
+ * in the finest granularity which is still kept for it, see
+ * {@link MeterLogManager#findGranularitySegments()}.</p>
+ *
+ * <p>A bucket is considered complete {@link #QUARTER_HOUR} after its end, so that values
+ * which are reported a little later are still contained in the rollup.</p>
+ *
+ * <p>Each step aggregates at most {@link #MAX_BUCKETS_PER_TRANSACTION} buckets in one transaction
+ * and holds the <code>metrics.rollup.lock</code> property, so that the rollups of several
+ * process engines sharing a database do not interfere.</p>
+ */
+public class MetricsRollupTask extends TimerTask {
+
+  private final static MetricsLogger LOG = ProcessEngineLogger.METRICS_LOGGER;
+
+  public static final int QUARTER_HOUR = 15 * 60;
+  public static final int HOUR = 60 * 60;
+  public static final int DAY = 24 * 60 * 60;
+
+  public static final int MAX_BUCKETS_PER_TRANSACTION = 96;
+
+  protected CommandExecutor commandExecutor;
+
+  protected int rawRetentionDays;
+  protected int quarterHourRetentionDays;
+  protected int hourRetentionDays;
+  protected int dayRetentionDays;
+
+  /**
+   * @param rawRetentionDays number of days reported entries are kept
+   * @param quarterHourRetentionDays number of days quarter hours are kept
+   * @param hourRetentionDays number of days hours are kept
+   * @param dayRetentionDays number of days days are kept, <code>0</code> to keep them forever
+   */
+  public MetricsRollupTask(CommandExecutor commandExecutor, int rawRetentionDays, int quarterHourRetentionDays,
+      int hourRetentionDays, int dayRetentionDays) {
+    this.commandExecutor = commandExecutor;
+    this.rawRetentionDays = rawRetentionDays;
+    this.quarterHourRetentionDays = quarterHourRetentionDays;
+    this.hourRetentionDays = hourRetentionDays;
+    this.dayRetentionDays = dayRetentionDays;
+  }
+
+  public void run() {
+    try {
+      rollupAndCleanup();
+    }
+    catch (Exception e) {
+      try {
+        LOG.couldNotRollupMetrics(e);
+      }
+      catch (Exception ex) {
+        // ignore if log can't be written
+      }
+    }
+  }
+
+  public void rollupAndCleanup() {
+    long now = ClockUtil.getCurrentTime().getTime();
+
+    long completeMilliseconds = now - QUARTER_HOUR * 1000L;
+
+    rollup(QUARTER_HOUR, completeMilliseconds);
+    rollup(HOUR, completeMilliseconds);
+    rollup(DAY, completeMilliseconds);
+
+    deleteRolledUp(0, now - toMillis(rawRetentionDays));
+    deleteRolledUp(QUARTER_HOUR, now - toMillis(quarterHourRetentionDays));
+    deleteRolledUp(HOUR, now - toMillis(hourRetentionDays));
+    if (dayRetentionDays > 0) {
+      deleteRolledUp(DAY, now - toMillis(dayRetentionDays));
+    }
+  }
+
+  protected void rollup(final int granularity, final long endMilliseconds) {
+    boolean hasMoreBuckets;
+    do {
+      hasMoreBuckets = commandExecutor.execute(new Command<Boolean>() {
+        public Boolean execute(CommandContext commandContext) {
+          commandContext.getPropertyManager().acquireExclusiveLockForMetricsRollup();
+          return commandContext.getMeterLogManager().rollup(granularity, endMilliseconds, MAX_BUCKETS_PER_TRANSACTION);
+        }
+      });
+    }
+    while (hasMoreBuckets);
+  }
+
+  protected void deleteRolledUp(final int granularity, final long milliseconds) {
+    commandExecutor.execute(new Command<Void>() {
+      public Void execute(CommandContext commandContext) {
+        commandContext.getPropertyManager().acquireExclusiveLockForMetricsRollup();
+        commandContext.getMeterLogManager().deleteRolledUp(granularity, milliseconds);
+        return null;
+      }
+    });
+  }
+
+  protected long toMillis(int days) {
+    return days * DAY * 1000L;
+  }
+
+}
@@ -0,0 +1,173 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.metrics.sql;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+import org.camunda.bpm.engine.impl.ProcessEngineLogger;
+import org.camunda.bpm.engine.impl.metrics.MetricsLogger;
+
+/**
+ * <p>Collects latency, row count and batch size statistics per mapped statement
+ * executed by the {@link org.camunda.bpm.engine.impl.db.sql.DbSqlSession}.</p>
+ *
+ * <p>The statistics are kept in memory only and are not written to the meter log,
+ * since the number of statements is large. They can be accessed through the
+ * {@link org.camunda.bpm.engine.impl.metrics.MetricsRegistry} or through JMX.</p>
+ */
+public class SqlStatementMetrics implements SqlStatementMetricsMBean {
+
+  protected static final MetricsLogger LOG = ProcessEngineLogger.METRICS_LOGGER;
+
+  public static final String OBJECT_NAME_PREFIX = "org.camunda.bpm.engine:type=SqlStatementMetrics,engine=";
+
+  protected ConcurrentMap<String, SqlStatementStatistics> statistics = new ConcurrentHashMap<String, SqlStatementStatistics>();
+
+  protected ObjectName objectName;
+
+  public void recordExecution(String statementId, long durationNanos, long rows) {
+    getOrCreateStatistics(statementId).record(durationNanos, rows, 0);
+  }
+
+  public void recordBatch(String statementId, long durationNanos, long rows, int batchSize) {
+    getOrCreateStatistics(statementId).record(durationNanos, rows, batchSize);
+  }
+
+  protected SqlStatementStatistics getOrCreateStatistics(String statementId) {
+    SqlStatementStatistics statementStatistics = statistics.get(statementId);
+    if (statementStatistics == null) {
+      statementStatistics = new SqlStatementStatistics(statementId);
+      SqlStatementStatistics existingStatistics = statistics.putIfAbsent(statementId, statementStatistics);
+      if (existingStatistics != null) {
+        statementStatistics = existingStatistics;
+      }
+    }
+    return statementStatistics;
+  }
+
+  /**
+   * @return the statistics of the statement or <code>null</code> if the statement
+   *   was not executed since the last reset
+   */
+  public SqlStatementStatistics getStatistics(String statementId) {
+    return statistics.get(statementId);
+  }
+
+  public Map<String, SqlStatementStatistics> getStatistics() {
+    return Collections.unmodifiableMap(statistics);
+  }
+
+  public void reset() {
+    statistics.clear();
+  }
+
+  // JMX //////////////////////////////////////////////////////////////////////
+
+  /**
+   * Registers the statistics with the platform MBean server. Failures are logged
+   * and do not prevent the process engine from starting.
+   */
+  public void registerMBean(String processEngineName) {
+    String name = OBJECT_NAME_PREFIX + ObjectName.quote(processEngineName);
+    try {
+      MBeanServer mBeanServer = ManagementFactory.getPlatformMBeanServer();
+      objectName = new ObjectName(name);
+      mBeanServer.registerMBean(this, objectName);
+    }
+    catch (Exception e) {
+      objectName = null;
+      LOG.couldNotRegisterMBean(name, e);
+    }
+  }
+
+  public void unregisterMBean() {
+    if (objectName != null) {
+      try {
+        ManagementFactory.getPlatformMBeanServer().unregisterMBean(objectName);
+      }
+      catch (Exception e) {
+        LOG.couldNotUnregisterMBean(objectName.toString(), e);
+      }
+      objectName = null;
+    }
+  }
+
+  // MBean ////////////////////////////////////////////////////////////////////
+
+  public String[] getStatementIds() {
+    return statistics.keySet().toArray(new String[0]);
+  }
+
+  public String[] getStatementSummaries() {
+    List<SqlStatementStatistics> sortedStatistics = new ArrayList<SqlStatementStatistics>(statistics.values());
+    Collections.sort(sortedStatistics, new Comparator<SqlStatementStatistics>() {
+      public int compare(SqlStatementStatistics o1, SqlStatementStatistics o2) {
+        long totalNanos1 = o1.getTotalNanos();
+        long totalNanos2 = o2.getTotalNanos();
+        return totalNanos1 < totalNanos2 ? 1 : (totalNanos1 == totalNanos2 ? 0 : -1);
+      }
+    });
+
+    String[] summaries = new String[sortedStatistics.size()];
+    for (int i = 0; i < summaries.length; i++) {
+      summaries[i] = sortedStatistics.get(i).toString();
+    }
+    return summaries;
+  }
+
+  public long getExecutionCount(String statementId) {
+    SqlStatementStatistics statementStatistics = statistics.get(statementId);
+    return statementStatistics != null ? statementStatistics.getExecutions() : 0;
+  }
+
+  public long getRowCount(String statementId) {
+    SqlStatementStatistics statementStatistics = statistics.get(statementId);
+    return statementStatistics != null ? statementStatistics.getRows() : 0;
+  }
+
+  public double getAverageLatencyMillis(String statementId) {
+    SqlStatementStatistics statementStatistics = statistics.get(statementId);
+    return statementStatistics != null ? statementStatistics.getAverageNanos() / 1000000d : 0;
+  }
+
+  public double getMaxLatencyMillis(String statementId) {
+    SqlStatementStatistics statementStatistics = statistics.get(statementId);
+    return statementStatistics != null ? statementStatistics.getMaxNanos() / 1000000d : 0;
+  }
+
+  public double getLatencyPercentileMillis(String statementId, double percentile) {
+    SqlStatementStatistics statementStatistics = statistics.get(statementId);
+    return statementStatistics != null ? statementStatistics.getLatencyPercentileMicros(percentile) / 1000d : 0;
+  }
+
+  public long[] getLatencyHistogram(String statementId) {
+    SqlStatementStatistics statementStatistics = statistics.get(statementId);
+    return statementStatistics != null ? statementStatistics.getLatencyHistogram() : new long[SqlStatementStatistics.LATENCY_BUCKETS];
+  }
+
+  public double getAverageBatchSize(String statementId) {
+    SqlStatementStatistics statementStatistics = statistics.get(statementId);
+    return statementStatistics != null ? statementStatistics.getAverageBatchSize() : 0;
+  }
+
+}
@@ -0,0 +1,49 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.metrics.sql;
+
+/**
+ * JMX management interface of the {@link SqlStatementMetrics}.
+ */
+public interface SqlStatementMetricsMBean {
+
+  /**
+   * @return the ids of all statements executed since the last reset
+   */
+  String[] getStatementIds();
+
+  /**
+   * @return a one line summary per statement, ordered by the total time spent executing the statement
+   */
+  String[] getStatementSummaries();
+
+  long getExecutionCount(String statementId);
+
+  long getRowCount(String statementId);
+
+  double getAverageLatencyMillis(String statementId);
+
+  double getMaxLatencyMillis(String statementId);
+
+  /**
+   * @param percentile a value between 0 and 100
+   */
+  double getLatencyPercentileMillis(String statementId, double percentile);
+
+  long[] getLatencyHistogram(String statementId);
+
+  double getAverageBatchSize(String statementId);
+
+  void reset();
+
+}
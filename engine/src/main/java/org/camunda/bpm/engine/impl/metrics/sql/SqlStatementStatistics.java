@@ -0,0 +1,166 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.metrics.sql;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * <p>Execution statistics of a single mapped statement.</p>
+ *
+ * <p>Latencies are recorded in a histogram with exponentially growing buckets:
+ * bucket <code>0</code> counts executions which took less than one microsecond,
+ * bucket <code>i</code> counts executions which took at least <code>2^(i-1)</code>
+ * and less than <code>2^i</code> microseconds. The last bucket counts all slower
+ * executions.</p>
+ */
+public class SqlStatementStatistics {
+
+  public static final int LATENCY_BUCKETS = 24;
+
+  protected final String statementId;
+
+  protected final AtomicLong executions = new AtomicLong();
+  protected final AtomicLong rows = new AtomicLong();
+  protected final AtomicLong totalNanos = new AtomicLong();
+  protected final AtomicLong maxNanos = new AtomicLong();
+
+  protected final AtomicLong batches = new AtomicLong();
+  protected final AtomicLong batchedStatements = new AtomicLong();
+
+  protected final AtomicLongArray latencyHistogram = new AtomicLongArray(LATENCY_BUCKETS);
+
+  public SqlStatementStatistics(String statementId) {
+    this.statementId = statementId;
+  }
+
+  /**
+   * Records a single round trip to the database.
+   *
+   * @param durationNanos the duration of the execution
+   * @param rows the number of rows returned or affected
+   * @param batchSize the number of statements executed as one JDBC batch
+   *   or <code>0</code> if the statement was not batched
+   */
+  public void record(long durationNanos, long rows, int batchSize) {
+    executions.incrementAndGet();
+    this.rows.addAndGet(rows);
+    totalNanos.addAndGet(durationNanos);
+
+    long max = maxNanos.get();
+    while (durationNanos > max && !maxNanos.compareAndSet(max, durationNanos)) {
+      max = maxNanos.get();
+    }
+
+    if (batchSize > 0) {
+      batches.incrementAndGet();
+      batchedStatements.addAndGet(batchSize);
+    }
+
+    latencyHistogram.incrementAndGet(getBucket(durationNanos));
+  }
+
+  protected int getBucket(long durationNanos) {
+    long micros = durationNanos / 1000;
+    int bucket = 64 - Long.numberOfLeadingZeros(micros);
+    return Math.min(bucket, LATENCY_BUCKETS - 1);
+  }
+
+  public String getStatementId() {
+    return statementId;
+  }
+
+  public long getExecutions() {
+    return executions.get();
+  }
+
+  public long getRows() {
+    return rows.get();
+  }
+
+  public long getTotalNanos() {
+    return totalNanos.get();
+  }
+
+  public long getMaxNanos() {
+    return maxNanos.get();
+  }
+
+  public long getAverageNanos() {
+    long count = executions.get();
+    return count > 0 ? totalNanos.get() / count : 0;
+  }
+
+  public long getBatches() {
+    return batches.get();
+  }
+
+  public long getBatchedStatements() {
+    return batchedStatements.get();
+  }
+
+  public double getAverageBatchSize() {
+    long count = batches.get();
+    return count > 0 ? (double) batchedStatements.get() / count : 0;
+  }
+
+  /**
+   * @return a copy of the latency histogram, see the class comment for the bucket bounds
+   */
+  public long[] getLatencyHistogram() {
+    long[] histogram = new long[LATENCY_BUCKETS];
+    for (int i = 0; i < LATENCY_BUCKETS; i++) {
+      histogram[i] = latencyHistogram.get(i);
+    }
+    return histogram;
+  }
+
+  /**
+   * @return the upper bound in microseconds of the histogram bucket containing the given
+   *   percentile (between 0 and 100) of the executions, or <code>0</code> if no execution was recorded
+   */
+  public long getLatencyPercentileMicros(double percentile) {
+    long[] histogram = getLatencyHistogram();
+
+    long count = 0;
+    for (long bucketCount : histogram) {
+      count += bucketCount;
+    }
+    if (count == 0) {
+      return 0;
+    }
+
+    long threshold = (long) Math.ceil(count * percentile / 100);
+    long seen = 0;
+    for (int i = 0; i < LATENCY_BUCKETS; i++) {
+      seen += histogram[i];
+      if (seen >= threshold && histogram[i] > 0) {
+        return 1L << i;
+      }
+    }
+    return 1L << (LATENCY_BUCKETS - 1);
+  }
+
+  public String toString() {
+    return statementId
+        + "[executions=" + getExecutions()
+        + ", rows=" + getRows()
+        + ", totalMillis=" + getTotalNanos() / 1000000
+        + ", avgMicros=" + getAverageNanos() / 1000
+        + ", p99Micros=" + getLatencyPercentileMicros(99)
+        + ", maxMicros=" + getMaxNanos() / 1000
+        + ", avgBatchSize=" + getAverageBatchSize()
+        + "]";
+  }
+
+}
@@ -0,0 +1,163 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.persistence.deploy;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.camunda.bpm.engine.ProcessEngineException;
+import org.camunda.bpm.engine.impl.cfg.ProcessEngineConfigurationImpl;
+import org.camunda.bpm.engine.impl.context.Context;
+
+/**
+ * <p>Executes independent tasks of a deployment, like parsing the resources
+ * of a deployment or warming up the deployment cache, on a pool of
+ * {@link #getParallelism()} threads.</p>
+ *
+ * <p>The process engine configuration of the calling thread is made available
+ * to the tasks through {@link Context#getProcessEngineConfiguration()}. The
+ * command context is not, since it must not be accessed concurrently.</p>
+ */
+public class DeploymentParseExecutor {
+
+  protected static final ThreadLocal<Boolean> IS_WORKER_THREAD = new ThreadLocal<Boolean>();
+
+  protected final int parallelism;
+  protected ExecutorService executorService;
+
+  public DeploymentParseExecutor(int parallelism) {
+    this.parallelism = parallelism;
+  }
+
+  /**
+   * Executes the tasks and waits for their completion. The tasks are executed in
+   * the calling thread if there is only a single task or if this method is called
+   * by a task itself.
+   *
+   * @return the results of the tasks in the order of the tasks
+   * @throws RuntimeException the exception of the first failing task
+   */
+  public <T> List<T> invokeAll(List<Callable<T>> tasks) {
+    List<T> results = new ArrayList<T>(tasks.size());
+
+    if (tasks.size() < 2 || parallelism < 2 || Boolean.TRUE.equals(IS_WORKER_THREAD.get())) {
+      for (Callable<T> task : tasks) {
+        results.add(call(task));
+      }
+      return results;
+    }
+
+    final ProcessEngineConfigurationImpl processEngineConfiguration = Context.getProcessEngineConfiguration();
+
+    List<Future<T>> futures = new ArrayList<Future<T>>(tasks.size());
+    for (final Callable<T> task : tasks) {
+      futures.add(getExecutorService().submit(new Callable<T>() {
+        public T call() throws Exception {
+          return callAsWorker(task, processEngineConfiguration);
+        }
+      }));
+    }
+
+    try {
+      for (Future<T> future : futures) {
+        results.add(future.get());
+      }
+    }
+    catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new ProcessEngineException("Interrupted while waiting for deployment tasks", e);
+    }
+    catch (ExecutionException e) {
+      Throwable cause = e.getCause();
+      if (cause instanceof RuntimeException) {
+        throw (RuntimeException) cause;
+      }
+      else if (cause instanceof Error) {
+        throw (Error) cause;
+      }
+      throw new ProcessEngineException("Exception while executing deployment task", cause);
+    }
+    finally {
+      for (Future<T> future : futures) {
+        future.cancel(false);
+      }
+    }
+
+    return results;
+  }
+
+  protected <T> T callAsWorker(Callable<T> task, ProcessEngineConfigurationImpl processEngineConfiguration) throws Exception {
+    IS_WORKER_THREAD.set(Boolean.TRUE);
+    if (processEngineConfiguration != null) {
+      Context.setProcessEngineConfiguration(processEngineConfiguration);
+    }
+    try {
+      return task.call();
+    }
+    finally {
+      if (processEngineConfiguration != null) {
+        Context.removeProcessEngineConfiguration();
+      }
+      IS_WORKER_THREAD.remove();
+    }
+  }
+
+  protected <T> T call(Callable<T> task) {
+    try {
+      return task.call();
+    }
+    catch (RuntimeException e) {
+      throw e;
+    }
+    catch (Exception e) {
+      throw new ProcessEngineException("Exception while executing deployment task", e);
+    }
+  }
+
+  protected synchronized ExecutorService getExecutorService() {
+    if (executorService == null) {
+      executorService = Executors.newFixedThreadPool(parallelism, new ThreadFactory() {
+        protected final AtomicInteger threadNumber = new AtomicInteger();
+
+        public Thread newThread(Runnable runnable) {
+          Thread thread = new Thread(runnable, "camunda-deployment-parser-" + threadNumber.incrementAndGet());
+          thread.setDaemon(true);
+          return thread;
+        }
+      });
+    }
+    return executorService;
+  }
+
+  public int getParallelism() {
+    return parallelism;
+  }
+
+  /**
+   * Stops the threads of the pool.
+   */
+  public synchronized void close() {
+    if (executorService != null) {
+      executorService.shutdownNow();
+      executorService = null;
+    }
+  }
+
+}
@@ -0,0 +1,112 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.persistence.deploy.cache;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+
+import org.camunda.bpm.engine.impl.ProcessEngineLogger;
+import org.camunda.bpm.engine.impl.cfg.ProcessEngineConfigurationImpl;
+import org.camunda.bpm.engine.impl.cmd.CommandLogger;
+import org.camunda.bpm.engine.impl.interceptor.Command;
+import org.camunda.bpm.engine.impl.interceptor.CommandContext;
+import org.camunda.bpm.engine.impl.persistence.deploy.DeploymentParseExecutor;
+import org.camunda.bpm.engine.repository.ProcessDefinition;
+
+/**
+ * Populates the {@link ProcessDefinitionCache} and the {@link BpmnModelInstanceCache}
+ * with the latest versions of the process definitions when the process engine starts,
+ * such that the first requests after a restart do not have to parse the definitions.
+ * The deployments are parsed in parallel if a {@link DeploymentParseExecutor} is configured.
+ */
+public class DeploymentCacheWarmUp {
+
+  protected static final CommandLogger LOG = ProcessEngineLogger.CMD_LOGGER;
+
+  protected ProcessEngineConfigurationImpl processEngineConfiguration;
+
+  public DeploymentCacheWarmUp(ProcessEngineConfigurationImpl processEngineConfiguration) {
+    this.processEngineConfiguration = processEngineConfiguration;
+  }
+
+  /**
+   * Failures are logged and do not prevent the process engine from starting.
+   */
+  public void warmUp() {
+    try {
+      warmUpLatestProcessDefinitions();
+    }
+    catch (RuntimeException e) {
+      LOG.couldNotWarmUpDeploymentCache(e);
+    }
+  }
+
+  protected void warmUpLatestProcessDefinitions() {
+    // do not load more definitions than the cache can hold
+    List<ProcessDefinition> processDefinitions = processEngineConfiguration.getRepositoryService()
+        .createProcessDefinitionQuery()
+        .latestVersion()
+        .listPage(0, processEngineConfiguration.getCacheCapacity());
+
+    LOG.debugWarmingUpDeploymentCache(processDefinitions.size());
+
+    // the definitions of a deployment are parsed together, so group them by deployment
+    Map<String, List<String>> processDefinitionIdsByDeployment = new LinkedHashMap<String, List<String>>();
+    for (ProcessDefinition processDefinition : processDefinitions) {
+      List<String> processDefinitionIds = processDefinitionIdsByDeployment.get(processDefinition.getDeploymentId());
+      if (processDefinitionIds == null) {
+        processDefinitionIds = new ArrayList<String>();
+        processDefinitionIdsByDeployment.put(processDefinition.getDeploymentId(), processDefinitionIds);
+      }
+      processDefinitionIds.add(processDefinition.getId());
+    }
+
+    List<Callable<Void>> tasks = new ArrayList<Callable<Void>>();
+    for (final List<String> processDefinitionIds : processDefinitionIdsByDeployment.values()) {
+      tasks.add(new Callable<Void>() {
+        public Void call() throws Exception {
+          warmUp(processDefinitionIds);
+          return null;
+        }
+      });
+    }
+
+    getParseExecutor().invokeAll(tasks);
+  }
+
+  protected void warmUp(final List<String> processDefinitionIds) {
+    processEngineConfiguration.getCommandExecutorTxRequired().execute(new Command<Void>() {
+      public Void execute(CommandContext commandContext) {
+        DeploymentCache deploymentCache = processEngineConfiguration.getDeploymentCache();
+        for (String processDefinitionId : processDefinitionIds) {
+          deploymentCache.findDeployedProcessDefinitionById(processDefinitionId);
+          deploymentCache.findBpmnModelInstanceForProcessDefinition(processDefinitionId);
+        }
+        return null;
+      }
+    });
+  }
+
+  protected DeploymentParseExecutor getParseExecutor() {
+    DeploymentParseExecutor parseExecutor = processEngineConfiguration.getDeploymentParseExecutor();
+    if (parseExecutor == null) {
+      // executes the tasks in the calling thread
+      parseExecutor = new DeploymentParseExecutor(1);
+    }
+    return parseExecutor;
+  }
+
+}
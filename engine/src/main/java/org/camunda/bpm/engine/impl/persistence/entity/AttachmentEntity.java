@@ -14,6 +14,7 @@
 package org.camunda.bpm.engine.impl.persistence.entity;
 
 import java.io.Serializable;
+import java.util.Date;
 import java.util.HashMap;
 import java.util.Map;
 
@@ -40,6 +41,7 @@ public class AttachmentEntity implements Attachment, DbEntity, HasDbRevision, Se
   protected String contentId;
   protected ByteArrayEntity content;
   protected String tenantId;
+  protected Date removalTime;
 
   public Object getPersistentState() {
     Map<String, Object> persistentState = new HashMap<String, Object>();
@@ -157,6 +159,14 @@ public class AttachmentEntity implements Attachment, DbEntity, HasDbRevision, Se
     this.tenantId = tenantId;
   }
 
+  public Date getRemovalTime() {
+    return removalTime;
+  }
+
+  public void setRemovalTime(Date removalTime) {
+    this.removalTime = removalTime;
+  }
+
   @Override
   public String toString() {
     return this.getClass().getSimpleName()
@@ -13,6 +13,7 @@
 
 package org.camunda.bpm.engine.impl.persistence.entity;
 
+import java.util.Date;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -63,6 +64,22 @@ public class AttachmentManager extends AbstractHistoricManager {
     deleteAttachments(parameters);
   }
 
+  public void addRemovalTimeToAttachmentsByProcessInstanceId(String processInstanceId, Date removalTime) {
+    Map<String, Object> parameters = new HashMap<String, Object>();
+    parameters.put("processInstanceId", processInstanceId);
+    parameters.put("removalTime", removalTime);
+    getDbEntityManager().update(AttachmentEntity.class, "updateAttachmentsRemovalTimeByProcessInstanceId", parameters);
+  }
+
+  public void deleteAttachmentsByRemovalTime(Date removalTime, int minuteFrom, int minuteTo) {
+    Map<String, Object> parameters = new HashMap<String, Object>();
+    parameters.put("removalTime", removalTime);
+    parameters.put("minuteFrom", minuteFrom);
+    parameters.put("minuteTo", minuteTo);
+    getDbEntityManager().deletePreserveOrder(ByteArrayEntity.class, "deleteAttachmentByteArraysByRemovalTime", parameters);
+    getDbEntityManager().deletePreserveOrder(AttachmentEntity.class, "deleteAttachmentsByRemovalTime", parameters);
+  }
+
   public void deleteAttachmentsByTaskCaseInstanceIds(List<String> caseInstanceIds) {
     Map<String, Object> parameters = new HashMap<String, Object>();
     parameters.put("caseInstanceIds", caseInstanceIds);
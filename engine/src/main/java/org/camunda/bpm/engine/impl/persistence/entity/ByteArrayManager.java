@@ -13,8 +13,18 @@
 
 package org.camunda.bpm.engine.impl.persistence.entity;
 
+import org.camunda.bpm.engine.impl.ProcessEngineLogger;
+import org.camunda.bpm.engine.impl.db.EnginePersistenceLogger;
+import org.camunda.bpm.engine.impl.db.sql.DbSqlSessionFactory;
+import org.camunda.bpm.engine.impl.db.sql.ResultSetInputStream;
 import org.camunda.bpm.engine.impl.persistence.AbstractManager;
 
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
 import java.util.List;
 
 /**
@@ -22,6 +32,8 @@ import java.util.List;
  */
 public class ByteArrayManager extends AbstractManager {
 
+  protected static final EnginePersistenceLogger LOG = ProcessEngineLogger.PERSISTENCE_LOGGER;
+
   /**
    * Deletes the {@link ByteArrayEntity} with the given id from the database.
    * Important: this operation will NOT do any optimistic locking, to avoid loading the
@@ -36,4 +48,79 @@ public class ByteArrayManager extends AbstractManager {
     getDbEntityManager().delete(ByteArrayEntity.class, "deleteByteArraysByIds", byteArrayEntityIds);
   }
 
+  /**
+   * <p>Opens a stream on the bytes of the {@link ByteArrayEntity} with the given id
+   * without creating the entity. Byte arrays which are cached in the current command
+   * are read from the cache, since their changes are not flushed yet. The stream must
+   * be consumed and closed within the current command.</p>
+   *
+   * <p>Whether the bytes are actually read incrementally depends on the JDBC driver:</p>
+   * <ul>
+   *   <li>Oracle, DB2, SQL Server and H2 return a stream on the BLOB.</li>
+   *   <li>MySQL and MariaDB buffer the complete result set by default. The statement
+   *   is therefore executed as a streaming result set, which blocks any other statement
+   *   on the connection until the stream is closed.</li>
+   *   <li>PostgreSQL stores the bytes as <code>bytea</code>, which the driver always
+   *   reads into memory completely. The stream only avoids the additional copies of
+   *   the entity.</li>
+   * </ul>
+   *
+   * @return the stream or <code>null</code> if the byte array does not exist
+   */
+  public InputStream openByteArrayStream(String byteArrayId) {
+    ByteArrayEntity cachedByteArray = getDbEntityManager().getCachedEntity(ByteArrayEntity.class, byteArrayId);
+    if (cachedByteArray != null) {
+      byte[] bytes = cachedByteArray.getBytes();
+      return bytes != null ? new ByteArrayInputStream(bytes) : null;
+    }
+
+    String sql = "select BYTES_ from " + getDbSqlSession().prependDatabaseTablePrefix("ACT_GE_BYTEARRAY") + " where ID_ = ?";
+    PreparedStatement statement = null;
+    ResultSet resultSet = null;
+    try {
+      Connection connection = getDbSqlSession().getSqlSession().getConnection();
+      statement = connection.prepareStatement(sql, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+      if (isStreamingResultSetRequired()) {
+        statement.setFetchSize(Integer.MIN_VALUE);
+      }
+      statement.setString(1, byteArrayId);
+      resultSet = statement.executeQuery();
+
+      InputStream binaryStream = resultSet.next() ? resultSet.getBinaryStream(1) : null;
+      if (binaryStream == null) {
+        resultSet.close();
+        statement.close();
+        return null;
+      }
+      return new ResultSetInputStream(binaryStream, resultSet, statement);
+    }
+    catch (SQLException e) {
+      closeSilently(resultSet, statement);
+      throw LOG.couldNotOpenByteArrayStream(byteArrayId, e);
+    }
+  }
+
+  /**
+   * @return true if the driver only streams a result set row by row if the fetch size
+   *   is {@link Integer#MIN_VALUE}
+   */
+  protected boolean isStreamingResultSetRequired() {
+    String databaseType = getDbSqlSession().getDbSqlSessionFactory().getDatabaseType();
+    return DbSqlSessionFactory.MYSQL.equals(databaseType) || DbSqlSessionFactory.MARIADB.equals(databaseType);
+  }
+
+  protected void closeSilently(ResultSet resultSet, PreparedStatement statement) {
+    try {
+      if (resultSet != null) {
+        resultSet.close();
+      }
+      if (statement != null) {
+        statement.close();
+      }
+    }
+    catch (SQLException ignore) {
+      // the original exception is more relevant
+    }
+  }
+
 }
@@ -47,6 +47,7 @@ public class CommentEntity implements Comment, Event, DbEntity, Serializable {
   protected String message;
   protected String fullMessage;
   protected String tenantId;
+  protected Date removalTime;
   
   public Object getPersistentState() {
     return CommentEntity.class;
@@ -178,6 +179,14 @@ public class CommentEntity implements Comment, Event, DbEntity, Serializable {
     this.tenantId = tenantId;
   }
 
+  public Date getRemovalTime() {
+    return removalTime;
+  }
+
+  public void setRemovalTime(Date removalTime) {
+    this.removalTime = removalTime;
+  }
+
   @Override
   public String toString() {
     return this.getClass().getSimpleName()
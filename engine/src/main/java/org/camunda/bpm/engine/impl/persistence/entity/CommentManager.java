@@ -13,6 +13,7 @@
 
 package org.camunda.bpm.engine.impl.persistence.entity;
 
+import java.util.Date;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -76,6 +77,21 @@ public class CommentManager extends AbstractHistoricManager {
     deleteComments(parameters);
   }
 
+  public void addRemovalTimeToCommentsByProcessInstanceId(String processInstanceId, Date removalTime) {
+    Map<String, Object> parameters = new HashMap<String, Object>();
+    parameters.put("processInstanceId", processInstanceId);
+    parameters.put("removalTime", removalTime);
+    getDbEntityManager().update(CommentEntity.class, "updateCommentsRemovalTimeByProcessInstanceId", parameters);
+  }
+
+  public void deleteCommentsByRemovalTime(Date removalTime, int minuteFrom, int minuteTo) {
+    Map<String, Object> parameters = new HashMap<String, Object>();
+    parameters.put("removalTime", removalTime);
+    parameters.put("minuteFrom", minuteFrom);
+    parameters.put("minuteTo", minuteTo);
+    getDbEntityManager().deletePreserveOrder(CommentEntity.class, "deleteCommentsByRemovalTime", parameters);
+  }
+
   public void deleteCommentsByTaskCaseInstanceIds(List<String> caseInstanceIds) {
     Map<String, Object> parameters = new HashMap<String, Object>();
     parameters.put("taskCaseInstanceIds", caseInstanceIds);
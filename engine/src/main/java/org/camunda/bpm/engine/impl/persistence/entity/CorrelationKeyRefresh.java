@@ -0,0 +1,82 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.persistence.entity;
+
+import java.util.List;
+
+import org.camunda.bpm.engine.impl.bpmn.parser.EventSubscriptionDeclaration;
+import org.camunda.bpm.engine.impl.db.entitymanager.DbEntityManager;
+import org.camunda.bpm.engine.impl.event.EventType;
+import org.camunda.bpm.engine.impl.interceptor.CommandContext;
+import org.camunda.bpm.engine.impl.interceptor.CommandContextListener;
+
+/**
+ * Recomputes the correlation keys of the message event subscriptions of a process instance
+ * from the current variable values when the command context is closed. Registered once per
+ * process instance and command by the {@link CorrelationKeyRefreshListener}.
+ */
+public class CorrelationKeyRefresh implements CommandContextListener {
+
+  protected String processInstanceId;
+
+  public CorrelationKeyRefresh(String processInstanceId) {
+    this.processInstanceId = processInstanceId;
+  }
+
+  public void onCommandContextClose(CommandContext commandContext) {
+    DbEntityManager dbEntityManager = commandContext.getDbEntityManager();
+
+    // the subscriptions of a new process instance are all contained in the cache
+    ExecutionEntity processInstance = dbEntityManager.getCachedEntity(ExecutionEntity.class, processInstanceId);
+    if (processInstance == null || !dbEntityManager.getDbEntityCache().isTransient(processInstance)) {
+      commandContext.getEventSubscriptionManager().findEventSubscriptionsByProcessInstanceId(processInstanceId);
+    }
+
+    List<EventSubscriptionEntity> eventSubscriptions = dbEntityManager.getCachedEntitiesByType(EventSubscriptionEntity.class);
+    for (EventSubscriptionEntity eventSubscription : eventSubscriptions) {
+      if (processInstanceId.equals(eventSubscription.getProcessInstanceId())
+          && eventSubscription.isSubscriptionForEventType(EventType.MESSAGE)
+          && !dbEntityManager.isDeleted(eventSubscription)) {
+        refreshCorrelationKey(eventSubscription);
+      }
+    }
+  }
+
+  protected void refreshCorrelationKey(EventSubscriptionEntity eventSubscription) {
+    EventSubscriptionDeclaration declaration = EventSubscriptionDeclaration.getDeclarationForSubscription(eventSubscription);
+    if (declaration != null && declaration.getCorrelationKeys() != null) {
+      eventSubscription.setCorrelationKey(declaration.resolveCorrelationKey(eventSubscription.getExecution()));
+    }
+  }
+
+  public void onCommandFailed(CommandContext commandContext, Throwable t) {
+    // nothing to do, the changes are rolled back
+  }
+
+  @Override
+  public int hashCode() {
+    return processInstanceId.hashCode();
+  }
+
+  @Override
+  public boolean equals(Object obj) {
+    if (this == obj) {
+      return true;
+    }
+    if (obj == null || getClass() != obj.getClass()) {
+      return false;
+    }
+    return processInstanceId.equals(((CorrelationKeyRefresh) obj).processInstanceId);
+  }
+
+}
@@ -0,0 +1,58 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.persistence.entity;
+
+import org.camunda.bpm.engine.impl.cfg.ProcessEngineConfigurationImpl;
+import org.camunda.bpm.engine.impl.context.Context;
+import org.camunda.bpm.engine.impl.core.variable.scope.AbstractVariableScope;
+import org.camunda.bpm.engine.impl.core.variable.scope.VariableInstanceLifecycleListener;
+
+/**
+ * Keeps the correlation keys of the message event subscriptions of a process instance
+ * up to date when a declared correlation variable is created, updated or deleted,
+ * so that executions can be looked up by the correlation key of their subscriptions.
+ * The keys are refreshed once before the command context is flushed, see
+ * {@link CorrelationKeyRefresh}.
+ */
+public class CorrelationKeyRefreshListener implements VariableInstanceLifecycleListener<VariableInstanceEntity> {
+
+  protected ExecutionEntity execution;
+
+  public CorrelationKeyRefreshListener(ExecutionEntity execution) {
+    this.execution = execution;
+  }
+
+  @Override
+  public void onCreate(VariableInstanceEntity variableInstance, AbstractVariableScope sourceScope) {
+    onCorrelationVariableChange(variableInstance.getName());
+  }
+
+  @Override
+  public void onDelete(VariableInstanceEntity variableInstance, AbstractVariableScope sourceScope) {
+    onCorrelationVariableChange(variableInstance.getName());
+  }
+
+  @Override
+  public void onUpdate(VariableInstanceEntity variableInstance, AbstractVariableScope sourceScope) {
+    onCorrelationVariableChange(variableInstance.getName());
+  }
+
+  protected void onCorrelationVariableChange(String variableName) {
+    ProcessEngineConfigurationImpl processEngineConfiguration = Context.getProcessEngineConfiguration();
+    if (processEngineConfiguration != null
+        && processEngineConfiguration.getCorrelationKeyDeclarations().isCorrelationVariable(variableName)) {
+      Context.getCommandContext().registerCommandContextListener(new CorrelationKeyRefresh(execution.getProcessInstanceId()));
+    }
+  }
+
+}
@@ -44,6 +44,8 @@ public class DeploymentEntity implements Serializable, DeploymentWithDefinitions
   protected boolean isNew;
   protected String source;
   protected String tenantId;
+  /** the hash of the resources, see {@link org.camunda.bpm.engine.impl.util.ResourceHashUtil#hashDeployment(java.util.Collection)} */
+  protected String hash;
 
   /**
    * Will only be used during actual deployment to pass deployed artifacts (eg process definitions).
@@ -194,6 +196,14 @@ public class DeploymentEntity implements Serializable, DeploymentWithDefinitions
     this.tenantId = tenantId;
   }
 
+  public String getHash() {
+    return hash;
+  }
+
+  public void setHash(String hash) {
+    this.hash = hash;
+  }
+
   @Override
   public List<ProcessDefinition> getDeployedProcessDefinitions() {
     return deployedArtifacts == null ? null : deployedArtifacts.get(ProcessDefinitionEntity.class);
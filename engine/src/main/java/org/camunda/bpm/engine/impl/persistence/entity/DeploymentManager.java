@@ -13,11 +13,15 @@
 
 package org.camunda.bpm.engine.impl.persistence.entity;
 
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 import org.camunda.bpm.engine.authorization.Resources;
 import org.camunda.bpm.engine.impl.DeploymentQueryImpl;
 import org.camunda.bpm.engine.impl.Page;
+import org.camunda.bpm.engine.impl.bpmn.deployer.BpmnDeployer;
 import org.camunda.bpm.engine.impl.cfg.ProcessEngineConfigurationImpl;
 import org.camunda.bpm.engine.impl.cfg.auth.ResourceAuthorizationProvider;
 import org.camunda.bpm.engine.impl.context.Context;
@@ -25,6 +29,7 @@ import org.camunda.bpm.engine.impl.dmn.entity.repository.DecisionDefinitionManag
 import org.camunda.bpm.engine.impl.dmn.entity.repository.DecisionRequirementsDefinitionManager;
 import org.camunda.bpm.engine.impl.persistence.AbstractManager;
 import org.camunda.bpm.engine.impl.persistence.deploy.cache.DeploymentCache;
+import org.camunda.bpm.engine.impl.util.ResourceHashUtil;
 import org.camunda.bpm.engine.repository.CaseDefinition;
 import org.camunda.bpm.engine.repository.DecisionDefinition;
 import org.camunda.bpm.engine.repository.DecisionRequirementsDefinition;
@@ -40,6 +45,7 @@ import org.camunda.bpm.engine.repository.ProcessDefinition;
 public class DeploymentManager extends AbstractManager {
 
   public void insertDeployment(DeploymentEntity deployment) {
+    deployment.setHash(ResourceHashUtil.hashDeployment(deployment.getResources().values()));
     getDbEntityManager().insert(deployment);
     createDefaultAuthorizations(deployment);
 
@@ -107,6 +113,10 @@ public class DeploymentManager extends AbstractManager {
     deleteDecisionDeployment(deploymentId, cascade);
     deleteDecisionRequirementDeployment(deploymentId);
 
+    if (Context.getProcessEngineConfiguration().isBpmnParseSnapshotsEnabled()) {
+      deleteParseSnapshots(deploymentId);
+    }
+
     getResourceManager().deleteResourcesByDeploymentId(deploymentId);
 
     deleteAuthorizations(Resources.DEPLOYMENT, deploymentId);
@@ -197,6 +207,20 @@ public class DeploymentManager extends AbstractManager {
     }
   }
 
+  /**
+   * @return the hashes of the latest deployments with the given name and source, usually
+   *   a single one; the hash is <code>null</code> for deployments created before hashes were stored
+   */
+  @SuppressWarnings("unchecked")
+  public List<String> findLatestDeploymentHashesByName(String deploymentName, String source, String tenantId) {
+    Map<String, Object> params = new HashMap<String, Object>();
+    params.put("deploymentName", deploymentName);
+    params.put("source", source);
+    params.put("tenantId", tenantId);
+
+    return getDbEntityManager().selectList("selectLatestDeploymentHashesByName", params);
+  }
+
   public DeploymentEntity findLatestDeploymentByName(String deploymentName) {
     List<?> list = getDbEntityManager().selectList("selectDeploymentsByName", deploymentName, 0, 1);
     if (list!=null && !list.isEmpty()) {
@@ -205,6 +229,34 @@ public class DeploymentManager extends AbstractManager {
     return null;
   }
 
+  /**
+   * Deletes the parse snapshots of the BPMN resources of the deployment. If another
+   * deployment contains the same resource, its snapshot is created again on demand.
+   */
+  protected void deleteParseSnapshots(String deploymentId) {
+    List<String> snapshotIds = new ArrayList<String>();
+
+    for (ResourceHashResultEntity resource : getResourceManager().findResourceHashesByDeploymentId(deploymentId)) {
+      if (resource.getHash() != null && isBpmnResource(resource.getName())) {
+        snapshotIds.add(BpmnDeployer.getParseSnapshotId(resource.getHash(), true));
+        snapshotIds.add(BpmnDeployer.getParseSnapshotId(resource.getHash(), false));
+      }
+    }
+
+    if (!snapshotIds.isEmpty()) {
+      getByteArrayManager().deleteByteArrayByIds(snapshotIds);
+    }
+  }
+
+  protected boolean isBpmnResource(String resourceName) {
+    for (String suffix : BpmnDeployer.BPMN_RESOURCE_SUFFIXES) {
+      if (resourceName.endsWith(suffix)) {
+        return true;
+      }
+    }
+    return false;
+  }
+
   public DeploymentEntity findDeploymentById(String deploymentId) {
     return getDbEntityManager().selectById(DeploymentEntity.class, deploymentId);
   }
@@ -21,8 +21,11 @@ import java.util.Map;
 import java.util.Set;
 
 import org.camunda.bpm.engine.impl.EventSubscriptionQueryImpl;
+import org.camunda.bpm.engine.impl.Direction;
 import org.camunda.bpm.engine.impl.Page;
 import org.camunda.bpm.engine.impl.ProcessEngineLogger;
+import org.camunda.bpm.engine.impl.QueryOrderingProperty;
+import org.camunda.bpm.engine.impl.QueryPropertyImpl;
 import org.camunda.bpm.engine.impl.db.EnginePersistenceLogger;
 import org.camunda.bpm.engine.impl.db.ListQueryParameterObject;
 import org.camunda.bpm.engine.impl.event.EventType;
@@ -122,6 +125,30 @@ public class EventSubscriptionManager extends AbstractManager {
     return new ArrayList<EventSubscriptionEntity>(eventSubscriptions);
   }
 
+  /**
+   * Find the ids of the signal event subscriptions with the given event name, ordered by id.
+   * Returns at most <code>maxResults</code> ids which are greater than <code>lastId</code>,
+   * so that all subscriptions can be paged through without an offset.
+   *
+   * @param tenantId restricts the subscriptions to the given tenant if <code>isTenantIdSet</code> is <code>true</code>
+   * @param lastId the last id of the previous page or <code>null</code> for the first page
+   */
+  @SuppressWarnings("unchecked")
+  public List<String> findSignalEventSubscriptionIdsByEventName(String eventName, String tenantId, boolean isTenantIdSet, String lastId, int maxResults) {
+    Map<String, Object> parameter = new HashMap<String, Object>();
+    parameter.put("eventName", eventName);
+    parameter.put("tenantId", tenantId);
+    parameter.put("isTenantIdSet", isTenantIdSet);
+    parameter.put("lastId", lastId);
+
+    ListQueryParameterObject parameterObject = configureParameterizedQuery(parameter);
+    parameterObject.getOrderingProperties().add(new QueryOrderingProperty(new QueryPropertyImpl("ID_"), Direction.ASCENDING));
+    parameterObject.setFirstResult(0);
+    parameterObject.setMaxResults(maxResults);
+
+    return (List<String>) getDbEntityManager().selectList("selectSignalEventSubscriptionIdsByEventName", parameterObject);
+  }
+
   /**
    * Find all signal event subscriptions with the given event name which belongs to the given tenant or no tenant.
    */
@@ -258,6 +285,15 @@ public class EventSubscriptionManager extends AbstractManager {
     return getDbEntityManager().selectList("selectEventSubscriptionsByProcessInstanceId", processInstanceId);
   }
 
+  /**
+   * @return true if an execution waits for the message with a subscription which has no
+   *   correlation key, see {@link EventSubscriptionEntity#getCorrelationKey()}
+   */
+  public boolean hasMessageEventSubscriptionsWithoutCorrelationKey(String messageName) {
+    Long count = (Long) getDbEntityManager().selectOne("selectMessageEventSubscriptionCountWithoutCorrelationKey", messageName);
+    return count != null && count > 0;
+  }
+
   /**
    * @return the message start event subscriptions with the given message name (from any tenant)
    *
@@ -1229,6 +1229,14 @@ public class ExecutionEntity extends PvmExecutionImpl implements Execution, Proc
     return Context.getCommandContext().getVariableInstanceManager().findVariableInstancesByExecutionId(id);
   }
 
+  @Override
+  public Collection<VariableInstanceEntity> provideVariables(Collection<String> variableNames) {
+    if (!Context.getProcessEngineConfiguration().isPartialVariableLoadingEnabled()) {
+      return null;
+    }
+    return Context.getCommandContext().getVariableInstanceManager().findVariableInstancesByExecutionIdAndVariableNames(id, variableNames);
+  }
+
   protected boolean isAutoFireHistoryEvents() {
     // as long as the process instance is starting (i.e. before activity instance
     // of the selected initial (start event) is created), the variable scope should
@@ -1682,6 +1690,7 @@ public class ExecutionEntity extends PvmExecutionImpl implements Execution, Proc
     }
 
     listeners.add((VariableInstanceLifecycleListener) new VariableListenerInvocationListener(this));
+    listeners.add((VariableInstanceLifecycleListener) new CorrelationKeyRefreshListener(this));
 
     listeners.addAll((List) registeredVariableListeners);
 
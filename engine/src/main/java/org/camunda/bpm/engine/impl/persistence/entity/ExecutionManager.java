@@ -28,6 +28,7 @@ import org.camunda.bpm.engine.impl.cfg.auth.ResourceAuthorizationProvider;
 import org.camunda.bpm.engine.impl.db.EnginePersistenceLogger;
 import org.camunda.bpm.engine.impl.db.ListQueryParameterObject;
 import org.camunda.bpm.engine.impl.persistence.AbstractManager;
+import org.camunda.bpm.engine.impl.runtime.CorrelationSet;
 import org.camunda.bpm.engine.runtime.Execution;
 import org.camunda.bpm.engine.runtime.ProcessInstance;
 
@@ -141,6 +142,34 @@ public class ExecutionManager extends AbstractManager {
     return getDbEntityManager().selectList("selectProcessInstanceIdsByQueryCriteria", processInstanceQuery);
   }
 
+  /**
+   * Finds the active executions which are subscribed to the given message and belong
+   * to process instances with one of the given business keys.
+   */
+  @SuppressWarnings("unchecked")
+  public List<ExecutionEntity> findExecutionsByMessageSubscriptionAndBusinessKeys(String messageName, List<String> businessKeys) {
+    Map<String, Object> parameters = new HashMap<String, Object>();
+    parameters.put("messageName", messageName);
+    parameters.put("businessKeys", businessKeys);
+    return getDbEntityManager().selectList("selectExecutionsByMessageSubscriptionAndBusinessKeys", configureParameterizedQuery(parameters));
+  }
+
+  /**
+   * Returns the active executions waiting for the message whose subscription has the
+   * given correlation key, see {@link EventSubscriptionEntity#getCorrelationKey()}.
+   */
+  @SuppressWarnings("unchecked")
+  public List<ExecutionEntity> findExecutionsByMessageCorrelationKey(String messageName, String correlationKey, CorrelationSet correlationSet) {
+    Map<String, Object> parameters = new HashMap<String, Object>();
+    parameters.put("messageName", messageName);
+    parameters.put("correlationKey", correlationKey);
+    parameters.put("businessKey", correlationSet.getBusinessKey());
+    parameters.put("processInstanceId", correlationSet.getProcessInstanceId());
+    parameters.put("isTenantIdSet", correlationSet.isTenantIdSet());
+    parameters.put("tenantId", correlationSet.getTenantId());
+    return getDbEntityManager().selectList("selectExecutionsByMessageCorrelationKey", configureParameterizedQuery(parameters));
+  }
+
   @SuppressWarnings("unchecked")
   public List<ExecutionEntity> findEventScopeExecutionsByActivityId(String activityRef, String parentExecutionId) {
     Map<String, String> parameters = new HashMap<String, String>();
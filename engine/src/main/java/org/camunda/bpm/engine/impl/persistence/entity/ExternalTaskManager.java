@@ -23,8 +23,12 @@ import org.camunda.bpm.engine.impl.Direction;
 import org.camunda.bpm.engine.impl.ExternalTaskQueryImpl;
 import org.camunda.bpm.engine.impl.ExternalTaskQueryProperty;
 import org.camunda.bpm.engine.impl.QueryOrderingProperty;
+import org.camunda.bpm.engine.impl.cfg.TransactionState;
+import org.camunda.bpm.engine.impl.context.Context;
 import org.camunda.bpm.engine.impl.db.ListQueryParameterObject;
 import org.camunda.bpm.engine.impl.db.entitymanager.DbEntityManager;
+import org.camunda.bpm.engine.impl.externaltask.ExternalTaskAddedNotification;
+import org.camunda.bpm.engine.impl.externaltask.ExternalTaskNotifier;
 import org.camunda.bpm.engine.impl.persistence.AbstractManager;
 import org.camunda.bpm.engine.impl.util.ClockUtil;
 
@@ -42,6 +46,16 @@ public class ExternalTaskManager extends AbstractManager {
 
   public void insert(ExternalTaskEntity externalTask) {
     getDbEntityManager().insert(externalTask);
+    fireExternalTaskAvailableEvent(externalTask);
+  }
+
+  protected void fireExternalTaskAvailableEvent(ExternalTaskEntity externalTask) {
+    ExternalTaskNotifier externalTaskNotifier = Context.getProcessEngineConfiguration().getExternalTaskNotifier();
+    if (externalTaskNotifier != null) {
+      Context.getCommandContext()
+        .getTransactionContext()
+        .addTransactionListener(TransactionState.COMMITTED, new ExternalTaskAddedNotification(externalTaskNotifier, externalTask.getTopicName()));
+    }
   }
 
   public void delete(ExternalTaskEntity externalTask) {
@@ -56,10 +56,12 @@ public class HistoricBatchManager extends AbstractManager {
   }
 
   @SuppressWarnings("unchecked")
-  public List<String> findHistoricBatchIdsForCleanup(Integer batchSize, Map<String, Integer> batchOperationsForHistoryCleanup) {
+  public List<String> findHistoricBatchIdsForCleanup(Integer batchSize, Map<String, Integer> batchOperationsForHistoryCleanup, int minuteFrom, int minuteTo) {
     Map<String, Object> queryParameters = new HashMap<String, Object>();
     queryParameters.put("currentTimestamp", ClockUtil.getCurrentTime());
     queryParameters.put("map", batchOperationsForHistoryCleanup);
+    queryParameters.put("minuteFrom", minuteFrom);
+    queryParameters.put("minuteTo", minuteTo);
 
     ListQueryParameterObject parameterObject = new ListQueryParameterObject();
     parameterObject.setParameter(queryParameters);
@@ -14,6 +14,7 @@
 package org.camunda.bpm.engine.impl.persistence.entity;
 
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
@@ -107,9 +108,14 @@ public class HistoricCaseInstanceManager extends AbstractHistoricManager {
   }
 
   @SuppressWarnings("unchecked")
-  public List<String> findHistoricCaseInstanceIdsForCleanup(int batchSize) {
+  public List<String> findHistoricCaseInstanceIdsForCleanup(int batchSize, int minuteFrom, int minuteTo) {
+    Map<String, Object> queryParameters = new HashMap<String, Object>();
+    queryParameters.put("currentTimestamp", ClockUtil.getCurrentTime());
+    queryParameters.put("minuteFrom", minuteFrom);
+    queryParameters.put("minuteTo", minuteTo);
+
     ListQueryParameterObject parameterObject = new ListQueryParameterObject();
-    parameterObject.setParameter(ClockUtil.getCurrentTime());
+    parameterObject.setParameter(queryParameters);
     parameterObject.getOrderingProperties().add(new QueryOrderingProperty(new QueryPropertyImpl("CLOSE_TIME_"), Direction.ASCENDING));
     parameterObject.setFirstResult(0);
     parameterObject.setMaxResults(batchSize);
@@ -13,6 +13,7 @@
 
 package org.camunda.bpm.engine.impl.persistence.entity;
 
+import java.util.Date;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -40,6 +41,22 @@ public class HistoricDetailManager extends AbstractHistoricManager {
     deleteHistoricDetails(parameters);
   }
 
+  public void addRemovalTimeToDetailsByProcessInstanceId(String processInstanceId, Date removalTime) {
+    Map<String, Object> parameters = new HashMap<String, Object>();
+    parameters.put("processInstanceId", processInstanceId);
+    parameters.put("removalTime", removalTime);
+    getDbEntityManager().update(HistoricDetailEventEntity.class, "updateHistoricDetailsRemovalTimeByProcessInstanceId", parameters);
+  }
+
+  public void deleteHistoricDetailsByRemovalTime(Date removalTime, int minuteFrom, int minuteTo) {
+    Map<String, Object> parameters = new HashMap<String, Object>();
+    parameters.put("removalTime", removalTime);
+    parameters.put("minuteFrom", minuteFrom);
+    parameters.put("minuteTo", minuteTo);
+    getDbEntityManager().deletePreserveOrder(ByteArrayEntity.class, "deleteHistoricDetailByteArraysByRemovalTime", parameters);
+    getDbEntityManager().deletePreserveOrder(HistoricDetailEventEntity.class, "deleteHistoricDetailsByRemovalTime", parameters);
+  }
+
   public void deleteHistoricDetailsByCaseInstanceIds(List<String> historicCaseInstanceIds) {
     Map<String, Object> parameters = new HashMap<String, Object>();
     parameters.put("caseInstanceIds", historicCaseInstanceIds);
@@ -24,6 +24,7 @@ import org.camunda.bpm.engine.impl.history.producer.HistoryEventProducer;
 import org.camunda.bpm.engine.impl.persistence.AbstractManager;
 import org.camunda.bpm.engine.impl.util.EnsureUtil;
 
+import java.util.Date;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -55,6 +56,22 @@ public class HistoricExternalTaskLogManager extends AbstractManager {
     getDbEntityManager().deletePreserveOrder(HistoricExternalTaskLogEntity.class, "deleteHistoricExternalTaskLogByProcessInstanceIds", processInstanceIds);
   }
 
+  public void addRemovalTimeToExternalTaskLogByProcessInstanceId(String processInstanceId, Date removalTime) {
+    Map<String, Object> parameters = new HashMap<String, Object>();
+    parameters.put("processInstanceId", processInstanceId);
+    parameters.put("removalTime", removalTime);
+    getDbEntityManager().update(HistoricExternalTaskLogEntity.class, "updateHistoricExternalTaskLogsRemovalTimeByProcessInstanceId", parameters);
+  }
+
+  public void deleteHistoricExternalTaskLogsByRemovalTime(Date removalTime, int minuteFrom, int minuteTo) {
+    Map<String, Object> parameters = new HashMap<String, Object>();
+    parameters.put("removalTime", removalTime);
+    parameters.put("minuteFrom", minuteFrom);
+    parameters.put("minuteTo", minuteTo);
+    getDbEntityManager().deletePreserveOrder(ByteArrayEntity.class, "deleteErrorDetailsByteArraysByRemovalTime", parameters);
+    getDbEntityManager().deletePreserveOrder(HistoricExternalTaskLogEntity.class, "deleteHistoricExternalTaskLogsByRemovalTime", parameters);
+  }
+
   // byte array delete ////////////////////////////////////////////////////////
 
   protected void deleteExceptionByteArrayByParameterMap(String key, Object value) {
@@ -12,6 +12,7 @@
  */
 package org.camunda.bpm.engine.impl.persistence.entity;
 
+import java.util.Date;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -80,6 +81,22 @@ public class HistoricJobLogManager extends AbstractHistoricManager {
     getDbEntityManager().deletePreserveOrder(HistoricJobLogEventEntity.class, "deleteHistoricJobLogByProcessInstanceIds", processInstanceIds);
   }
 
+  public void addRemovalTimeToJobLogByProcessInstanceId(String processInstanceId, Date removalTime) {
+    Map<String, Object> parameters = new HashMap<String, Object>();
+    parameters.put("processInstanceId", processInstanceId);
+    parameters.put("removalTime", removalTime);
+    getDbEntityManager().update(HistoricJobLogEventEntity.class, "updateHistoricJobLogsRemovalTimeByProcessInstanceId", parameters);
+  }
+
+  public void deleteHistoricJobLogsByRemovalTime(Date removalTime, int minuteFrom, int minuteTo) {
+    Map<String, Object> parameters = new HashMap<String, Object>();
+    parameters.put("removalTime", removalTime);
+    parameters.put("minuteFrom", minuteFrom);
+    parameters.put("minuteTo", minuteTo);
+    getDbEntityManager().deletePreserveOrder(ByteArrayEntity.class, "deleteExceptionByteArraysByRemovalTime", parameters);
+    getDbEntityManager().deletePreserveOrder(HistoricJobLogEventEntity.class, "deleteHistoricJobLogsByRemovalTime", parameters);
+  }
+
   public void deleteHistoricJobLogsByProcessDefinitionId(String processDefinitionId) {
     if (isHistoryEnabled()) {
       deleteExceptionByteArrayByParameterMap("processDefinitionId", processDefinitionId);
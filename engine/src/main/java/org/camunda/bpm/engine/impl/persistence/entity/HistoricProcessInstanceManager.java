@@ -14,6 +14,8 @@
 package org.camunda.bpm.engine.impl.persistence.entity;
 
 import java.util.Collections;
+import java.util.Date;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
@@ -27,8 +29,12 @@ import org.camunda.bpm.engine.impl.Page;
 import org.camunda.bpm.engine.impl.QueryOrderingProperty;
 import org.camunda.bpm.engine.impl.QueryPropertyImpl;
 import org.camunda.bpm.engine.impl.context.Context;
+import org.camunda.bpm.engine.impl.db.DbEntity;
 import org.camunda.bpm.engine.impl.db.ListQueryParameterObject;
+import org.camunda.bpm.engine.impl.db.entitymanager.cache.CachedDbEntity;
+import org.camunda.bpm.engine.impl.db.entitymanager.cache.DbEntityState;
 import org.camunda.bpm.engine.impl.history.event.HistoricProcessInstanceEventEntity;
+import org.camunda.bpm.engine.impl.history.event.HistoryEvent;
 import org.camunda.bpm.engine.impl.interceptor.CommandContext;
 import org.camunda.bpm.engine.impl.persistence.AbstractHistoricManager;
 import org.camunda.bpm.engine.impl.util.ClockUtil;
@@ -80,6 +86,121 @@ public class HistoricProcessInstanceManager extends AbstractHistoricManager {
     commandContext.getDbEntityManager().deletePreserveOrder(HistoricProcessInstanceEntity.class, "deleteHistoricProcessInstances", processInstanceIds);
   }
 
+  /**
+   * Stamps the removal time on the history related to the given process instance.
+   * The historic process instance itself gets the removal time when it is updated on end.
+   * History which is not flushed yet is inserted with the removal time, so that the
+   * updates only touch the history which was written before the process instance ended.
+   */
+  public void addRemovalTimeToHistoricProcessInstance(String processInstanceId, Date removalTime) {
+    CommandContext commandContext = Context.getCommandContext();
+
+    addRemovalTimeToTransientHistory(processInstanceId, removalTime);
+
+    commandContext.getHistoricActivityInstanceManager().addRemovalTimeToActivityInstancesByProcessInstanceId(processInstanceId, removalTime);
+    commandContext.getHistoricTaskInstanceManager().addRemovalTimeToTaskInstancesByProcessInstanceId(processInstanceId, removalTime);
+    commandContext.getHistoricVariableInstanceManager().addRemovalTimeToVariableInstancesByProcessInstanceId(processInstanceId, removalTime);
+    commandContext.getHistoricDetailManager().addRemovalTimeToDetailsByProcessInstanceId(processInstanceId, removalTime);
+    commandContext.getHistoricIdentityLinkManager().addRemovalTimeToIdentityLinkLogByTaskProcessInstanceId(processInstanceId, removalTime);
+    commandContext.getCommentManager().addRemovalTimeToCommentsByProcessInstanceId(processInstanceId, removalTime);
+    commandContext.getAttachmentManager().addRemovalTimeToAttachmentsByProcessInstanceId(processInstanceId, removalTime);
+    commandContext.getHistoricIncidentManager().addRemovalTimeToIncidentsByProcessInstanceId(processInstanceId, removalTime);
+    commandContext.getHistoricJobLogManager().addRemovalTimeToJobLogByProcessInstanceId(processInstanceId, removalTime);
+    commandContext.getHistoricExternalTaskLogManager().addRemovalTimeToExternalTaskLogByProcessInstanceId(processInstanceId, removalTime);
+  }
+
+  protected void addRemovalTimeToTransientHistory(String processInstanceId, Date removalTime) {
+    for (CachedDbEntity cachedEntity : getDbEntityManager().getDbEntityCache().getCachedEntities()) {
+      if (cachedEntity.getEntityState() != DbEntityState.TRANSIENT) {
+        continue;
+      }
+
+      DbEntity entity = cachedEntity.getEntity();
+      if (entity instanceof HistoryEvent) {
+        HistoryEvent historyEvent = (HistoryEvent) entity;
+        if (processInstanceId.equals(historyEvent.getProcessInstanceId())) {
+          historyEvent.setRemovalTime(removalTime);
+        }
+      }
+      else if (entity instanceof HistoricVariableInstanceEntity) {
+        HistoricVariableInstanceEntity variableInstance = (HistoricVariableInstanceEntity) entity;
+        if (processInstanceId.equals(variableInstance.getProcessInstanceId())) {
+          variableInstance.setRemovalTime(removalTime);
+        }
+      }
+      else if (entity instanceof CommentEntity) {
+        CommentEntity comment = (CommentEntity) entity;
+        if (processInstanceId.equals(comment.getProcessInstanceId())) {
+          comment.setRemovalTime(removalTime);
+        }
+      }
+      else if (entity instanceof AttachmentEntity) {
+        AttachmentEntity attachment = (AttachmentEntity) entity;
+        if (processInstanceId.equals(attachment.getProcessInstanceId())) {
+          attachment.setRemovalTime(removalTime);
+        }
+      }
+    }
+  }
+
+  /**
+   * @return the removal time of the ended process instance which the given process instance
+   *   or task belongs to, or <code>null</code> if it has none or the history cleanup is not
+   *   removal time based
+   */
+  public Date findRemovalTime(String processInstanceId, String taskId) {
+    if (!Context.getProcessEngineConfiguration().isHistoryCleanupRemovalTimeBased()) {
+      return null;
+    }
+
+    if (processInstanceId == null && taskId != null) {
+      if (Context.getCommandContext().getTaskManager().findTaskById(taskId) != null) {
+        // the task is not completed, so its process instance has not ended
+        return null;
+      }
+
+      HistoricTaskInstanceEntity historicTaskInstance = getDbEntityManager().selectById(HistoricTaskInstanceEntity.class, taskId);
+      if (historicTaskInstance != null) {
+        processInstanceId = historicTaskInstance.getProcessInstanceId();
+      }
+    }
+
+    if (processInstanceId != null) {
+      HistoricProcessInstanceEntity historicProcessInstance = findHistoricProcessInstance(processInstanceId);
+      if (historicProcessInstance != null) {
+        return historicProcessInstance.getRemovalTime();
+      }
+    }
+
+    return null;
+  }
+
+  /**
+   * Deletes the history of all process instances whose removal time is not after the given time.
+   * Every table is deleted by a range of its indexed removal time column, restricted to the removal
+   * times within the minutes of an hour between <code>minuteFrom</code> and <code>minuteTo</code>.
+   */
+  public void deleteHistoricProcessInstancesByRemovalTime(Date removalTime, int minuteFrom, int minuteTo) {
+    CommandContext commandContext = Context.getCommandContext();
+
+    commandContext.getHistoricDetailManager().deleteHistoricDetailsByRemovalTime(removalTime, minuteFrom, minuteTo);
+    commandContext.getHistoricVariableInstanceManager().deleteHistoricVariableInstancesByRemovalTime(removalTime, minuteFrom, minuteTo);
+    commandContext.getCommentManager().deleteCommentsByRemovalTime(removalTime, minuteFrom, minuteTo);
+    commandContext.getAttachmentManager().deleteAttachmentsByRemovalTime(removalTime, minuteFrom, minuteTo);
+    commandContext.getHistoricIdentityLinkManager().deleteHistoricIdentityLinksLogByRemovalTime(removalTime, minuteFrom, minuteTo);
+    commandContext.getHistoricTaskInstanceManager().deleteHistoricTaskInstancesByRemovalTime(removalTime, minuteFrom, minuteTo);
+    commandContext.getHistoricActivityInstanceManager().deleteHistoricActivityInstancesByRemovalTime(removalTime, minuteFrom, minuteTo);
+    commandContext.getHistoricIncidentManager().deleteHistoricIncidentsByRemovalTime(removalTime, minuteFrom, minuteTo);
+    commandContext.getHistoricJobLogManager().deleteHistoricJobLogsByRemovalTime(removalTime, minuteFrom, minuteTo);
+    commandContext.getHistoricExternalTaskLogManager().deleteHistoricExternalTaskLogsByRemovalTime(removalTime, minuteFrom, minuteTo);
+
+    Map<String, Object> parameters = new HashMap<String, Object>();
+    parameters.put("removalTime", removalTime);
+    parameters.put("minuteFrom", minuteFrom);
+    parameters.put("minuteTo", minuteTo);
+    commandContext.getDbEntityManager().deletePreserveOrder(HistoricProcessInstanceEntity.class, "deleteHistoricProcessInstancesByRemovalTime", parameters);
+  }
+
   public long findHistoricProcessInstanceCountByQueryCriteria(HistoricProcessInstanceQueryImpl historicProcessInstanceQuery) {
     if (isHistoryEnabled()) {
       configureQuery(historicProcessInstanceQuery);
@@ -112,15 +233,39 @@ public class HistoricProcessInstanceManager extends AbstractHistoricManager {
   }
 
   @SuppressWarnings("unchecked")
-  public List<String> findHistoricProcessInstanceIdsForCleanup(Integer batchSize) {
+  public List<String> findHistoricProcessInstanceIdsForCleanup(Integer batchSize, int minuteFrom, int minuteTo) {
+    Map<String, Object> queryParameters = new HashMap<String, Object>();
+    queryParameters.put("currentTimestamp", ClockUtil.getCurrentTime());
+    queryParameters.put("minuteFrom", minuteFrom);
+    queryParameters.put("minuteTo", minuteTo);
+
     ListQueryParameterObject parameterObject = new ListQueryParameterObject();
-    parameterObject.setParameter(ClockUtil.getCurrentTime());
+    parameterObject.setParameter(queryParameters);
     parameterObject.getOrderingProperties().add(new QueryOrderingProperty(new QueryPropertyImpl("END_TIME_"), Direction.ASCENDING));
     parameterObject.setFirstResult(0);
     parameterObject.setMaxResults(batchSize);
     return (List<String>) getDbEntityManager().selectList("selectHistoricProcessInstanceIdsForCleanup", parameterObject);
   }
 
+  /**
+   * @return the removal times within the minutes of an hour between <code>minuteFrom</code> and <code>minuteTo</code>
+   *   of the historic process instances which can be removed, in ascending order and limited to the given batch size
+   */
+  @SuppressWarnings("unchecked")
+  public List<Date> findHistoricProcessInstanceRemovalTimesForCleanup(Integer batchSize, int minuteFrom, int minuteTo) {
+    Map<String, Object> queryParameters = new HashMap<String, Object>();
+    queryParameters.put("currentTimestamp", ClockUtil.getCurrentTime());
+    queryParameters.put("minuteFrom", minuteFrom);
+    queryParameters.put("minuteTo", minuteTo);
+
+    ListQueryParameterObject parameterObject = new ListQueryParameterObject();
+    parameterObject.setParameter(queryParameters);
+    parameterObject.getOrderingProperties().add(new QueryOrderingProperty(new QueryPropertyImpl("REMOVAL_TIME_"), Direction.ASCENDING));
+    parameterObject.setFirstResult(0);
+    parameterObject.setMaxResults(batchSize);
+    return (List<Date>) getDbEntityManager().selectList("selectHistoricProcessInstanceRemovalTimesForCleanup", parameterObject);
+  }
+
   public Long findHistoricProcessInstanceIdsForCleanupCount() {
     ListQueryParameterObject parameterObject = new ListQueryParameterObject();
     parameterObject.setParameter(ClockUtil.getCurrentTime());
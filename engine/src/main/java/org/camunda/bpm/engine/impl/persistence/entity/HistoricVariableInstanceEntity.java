@@ -15,6 +15,7 @@ package org.camunda.bpm.engine.impl.persistence.entity;
 
 import java.io.Serializable;
 import java.util.ArrayList;
+import java.util.Date;
 import java.util.List;
 
 import org.camunda.bpm.engine.history.HistoricVariableInstance;
@@ -49,6 +50,7 @@ public class HistoricVariableInstanceEntity implements ValueFields, HistoricVari
   protected String executionId;
   protected String activityInstanceId;
   protected String tenantId;
+  protected Date removalTime;
 
   protected String caseDefinitionKey;
   protected String caseDefinitionId;
@@ -353,6 +355,14 @@ public class HistoricVariableInstanceEntity implements ValueFields, HistoricVari
     this.tenantId = tenantId;
   }
 
+  public Date getRemovalTime() {
+    return removalTime;
+  }
+
+  public void setRemovalTime(Date removalTime) {
+    this.removalTime = removalTime;
+  }
+
   public String getState() {
     return state;
   }
@@ -102,6 +102,9 @@ public abstract class JobEntity implements Serializable, Job, DbEntity, HasDbRev
 
   protected String tenantId;
 
+  /** the partition the job is acquired from, if partitioned job acquisition is enabled */
+  protected Integer acquisitionPartition;
+
   // runtime state /////////////////////////////
   protected String activityId;
   protected JobDefinition jobDefinition;
@@ -602,6 +605,14 @@ public abstract class JobEntity implements Serializable, Job, DbEntity, HasDbRev
     this.tenantId = tenantId;
   }
 
+  public Integer getAcquisitionPartition() {
+    return acquisitionPartition;
+  }
+
+  public void setAcquisitionPartition(Integer acquisitionPartition) {
+    this.acquisitionPartition = acquisitionPartition;
+  }
+
   protected void ensureActivityIdInitialized() {
     if (activityId == null) {
       JobDefinition jobDefinition = getJobDefinition();
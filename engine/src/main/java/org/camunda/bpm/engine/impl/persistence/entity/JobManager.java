@@ -52,6 +52,13 @@ public class JobManager extends AbstractManager {
 
   public void insertJob(JobEntity job) {
     getDbEntityManager().insert(job);
+
+    JobAcquisitionPartitions partitions = Context.getProcessEngineConfiguration().getJobAcquisitionPartitions();
+    if (partitions != null) {
+      // the id is generated on insert, so the partition of jobs without process instance is known only now
+      job.setAcquisitionPartition(partitions.getPartition(job));
+    }
+
     getHistoricJobLogManager().fireJobCreatedEvent(job);
   }
 
@@ -184,6 +191,15 @@ public class JobManager extends AbstractManager {
       orderingProperties.add(JOB_DUEDATE_ORDERING_PROPERTY);
     }
 
+    JobAcquisitionPartitions partitions = Context.getProcessEngineConfiguration().getJobAcquisitionPartitions();
+    if (partitions != null) {
+      Set<Integer> ownedPartitions = partitions.getOwnedPartitions();
+      params.put("ownedPartitions", new ArrayList<Integer>(ownedPartitions));
+      params.put("partitionCount", partitions.getPartitionCount());
+      // jobs created before partitioning was enabled or with a different partition count
+      params.put("acquireUnpartitionedJobs", ownedPartitions.contains(0));
+    }
+
     params.put("orderingProperties", orderingProperties);
     // don't apply default sorting
     params.put("applyOrdering", !orderingProperties.isEmpty());
@@ -211,6 +227,11 @@ public class JobManager extends AbstractManager {
     return (JobEntity)getDbEntityManager().selectOne("selectJobsByHandlerType", handlerType);
   }
 
+  @SuppressWarnings("unchecked")
+  public List<JobEntity> findJobsByHandlerType(String handlerType) {
+    return getDbEntityManager().selectList("selectJobsByHandlerType", handlerType);
+  }
+
   @SuppressWarnings("unchecked")
   public List<TimerEntity> findUnlockedTimersByDuedate(Date duedate, Page page) {
     final String query = "selectUnlockedTimersByDuedate";
@@ -36,6 +36,12 @@ public class MeterLogEntity implements DbEntity, Serializable {
 
   protected long value;
 
+  /**
+   * Length in seconds of the time bucket this entry aggregates or
+   * <code>0</code> if it was reported as is.
+   */
+  protected int granularity;
+
   public MeterLogEntity(String name, long value, Date timestamp) {
     this(name, null, value, timestamp);
   }
@@ -99,6 +105,14 @@ public class MeterLogEntity implements DbEntity, Serializable {
     this.reporter = reporter;
   }
 
+  public int getGranularity() {
+    return granularity;
+  }
+
+  public void setGranularity(int granularity) {
+    this.granularity = granularity;
+  }
+
   public Object getPersistentState() {
     // immutable
     return MeterLogEntity.class;
@@ -20,7 +20,9 @@ import java.util.Map;
 import java.util.Set;
 
 import org.camunda.bpm.engine.impl.context.Context;
+import org.camunda.bpm.engine.impl.db.ListQueryParameterObject;
 import org.camunda.bpm.engine.impl.metrics.Meter;
+import org.camunda.bpm.engine.impl.metrics.MetricsGranularitySegment;
 import org.camunda.bpm.engine.impl.metrics.MetricsQueryImpl;
 import org.camunda.bpm.engine.impl.persistence.AbstractManager;
 import org.camunda.bpm.engine.impl.util.ClockUtil;
@@ -36,6 +38,17 @@ public class MeterLogManager extends AbstractManager {
   public static final String SELECT_METER_SUM = "selectMeterLogSum";
   public static final String DELETE_ALL_METER = "deleteAllMeterLogEntries";
   public static final String DELETE_ALL_METER_BY_TIMESTAMP_AND_REPORTER = "deleteMeterLogEntriesByTimestampAndReporter";
+  public static final String SELECT_METER_OLDEST_BY_GRANULARITY = "selectMeterLogOldestByGranularity";
+  public static final String SELECT_METER_ROLLUP = "selectMeterLogRollup";
+  public static final String DELETE_METER_BY_GRANULARITY_AND_TIMESTAMP = "deleteMeterLogEntriesByGranularityAndTimestamp";
+
+  /** granularities of the meter log in seconds, from reported entries to daily rollups */
+  public static final int[] GRANULARITIES = { 0, 15 * 60, 60 * 60, 24 * 60 * 60 };
+
+  /** property holding the end of the period which is rolled up into a granularity */
+  public static final String ROLLUP_END_PROPERTY_PREFIX = "metrics.rollup.end.";
+  /** property holding the start of the period for which entries of a granularity are kept */
+  public static final String ROLLUP_START_PROPERTY_PREFIX = "metrics.rollup.start.";
 
   public void insert(MeterLogEntity meterLogEntity) {
     getDbEntityManager()
@@ -108,6 +121,10 @@ public class MeterLogManager extends AbstractManager {
 
   public void deleteAll() {
     getDbEntityManager().delete(MeterLogEntity.class, DELETE_ALL_METER, null);
+
+    // the rollup starts over with the entries reported from now on
+    deleteRollupProperties(ROLLUP_END_PROPERTY_PREFIX);
+    deleteRollupProperties(ROLLUP_START_PROPERTY_PREFIX);
   }
 
   public void deleteByTimestampAndReporter(Date timestamp, String reporter) {
@@ -119,4 +136,162 @@ public class MeterLogManager extends AbstractManager {
     getDbEntityManager().delete(MeterLogEntity.class, DELETE_ALL_METER_BY_TIMESTAMP_AND_REPORTER, parameters);
   }
 
+  /**
+   * Aggregates the entries of the next finer granularity into entries of the given granularity.
+   * The aggregated entries are kept, they are removed by {@link #deleteRolledUp(int, long)} once
+   * they exceed their retention. Only complete buckets which end before <code>endMilliseconds</code>
+   * and after the period rolled up by a previous call are aggregated, at most <code>maxBuckets</code>
+   * of them starting with the oldest entry.
+   *
+   * @param granularity the length of a bucket in seconds
+   * @return true if there are further buckets to aggregate
+   */
+  @SuppressWarnings("unchecked")
+  public boolean rollup(int granularity, long endMilliseconds, int maxBuckets) {
+    int sourceGranularity = getFinerGranularity(granularity);
+    long granularityMilliseconds = granularity * 1000L;
+
+    // a coarser granularity is computed from the period already rolled up into the finer one
+    long end = endMilliseconds;
+    if (sourceGranularity > 0) {
+      Long sourceEnd = findRollupProperty(ROLLUP_END_PROPERTY_PREFIX, sourceGranularity);
+      if (sourceEnd == null) {
+        return false;
+      }
+      end = Math.min(end, sourceEnd);
+    }
+    end = align(end, granularityMilliseconds);
+
+    Long rolledUpEnd = findRollupProperty(ROLLUP_END_PROPERTY_PREFIX, granularity);
+    if (rolledUpEnd != null && rolledUpEnd >= end) {
+      return false;
+    }
+
+    Map<String, Object> parameters = new HashMap<String, Object>();
+    parameters.put("granularity", sourceGranularity);
+    parameters.put("windowStart", rolledUpEnd);
+    parameters.put("windowEnd", end);
+
+    Long oldest = (Long) getDbEntityManager().selectOne(SELECT_METER_OLDEST_BY_GRANULARITY,
+        new ListQueryParameterObject(parameters, 0, 1));
+    if (oldest == null) {
+      if (rolledUpEnd != null) {
+        updateRollupProperty(ROLLUP_END_PROPERTY_PREFIX, granularity, end);
+      }
+      return false;
+    }
+
+    long windowStart = align(oldest, granularityMilliseconds);
+    long windowEnd = Math.min(end, windowStart + maxBuckets * granularityMilliseconds);
+    parameters.put("rollupGranularity", granularity);
+    parameters.put("windowStart", windowStart);
+    parameters.put("windowEnd", windowEnd);
+
+    List<MetricIntervalEntity> rollups = getDbEntityManager().selectList(SELECT_METER_ROLLUP, parameters);
+    for (MetricIntervalEntity rollup : rollups) {
+      MeterLogEntity meterLogEntity = new MeterLogEntity(rollup.getName(), rollup.getReporter(), rollup.getValue(), rollup.getTimestamp());
+      meterLogEntity.setGranularity(granularity);
+      insert(meterLogEntity);
+    }
+
+    updateRollupProperty(ROLLUP_END_PROPERTY_PREFIX, granularity, windowEnd);
+
+    return windowEnd < end;
+  }
+
+  /**
+   * Deletes the entries of a granularity which are older than the given time. Entries which
+   * are not yet rolled up into the next coarser granularity are kept.
+   */
+  public void deleteRolledUp(int granularity, long milliseconds) {
+    long end = milliseconds;
+
+    int coarserGranularity = getCoarserGranularity(granularity);
+    if (coarserGranularity > 0) {
+      Long rolledUpEnd = findRollupProperty(ROLLUP_END_PROPERTY_PREFIX, coarserGranularity);
+      if (rolledUpEnd == null) {
+        return;
+      }
+      // queries switch granularities at bucket boundaries of the coarser one
+      end = Math.min(align(end, coarserGranularity * 1000L), rolledUpEnd);
+    }
+
+    Long start = findRollupProperty(ROLLUP_START_PROPERTY_PREFIX, granularity);
+    if (start != null && start >= end) {
+      return;
+    }
+
+    Map<String, Object> parameters = new HashMap<String, Object>();
+    parameters.put("granularity", granularity);
+    parameters.put("milliseconds", end);
+    getDbEntityManager().delete(MeterLogEntity.class, DELETE_METER_BY_GRANULARITY_AND_TIMESTAMP, parameters);
+
+    updateRollupProperty(ROLLUP_START_PROPERTY_PREFIX, granularity, end);
+  }
+
+  /**
+   * Returns the periods in which metrics queries read each granularity: every period is read
+   * in the finest granularity which is still kept for it.
+   */
+  public List<MetricsGranularitySegment> findGranularitySegments() {
+    List<MetricsGranularitySegment> segments = new ArrayList<MetricsGranularitySegment>();
+
+    Long end = null;
+    for (int granularity : GRANULARITIES) {
+      Long start = findRollupProperty(ROLLUP_START_PROPERTY_PREFIX, granularity);
+      if (end == null || start == null || start < end) {
+        segments.add(new MetricsGranularitySegment(granularity, start, end));
+      }
+      if (start == null) {
+        break;
+      }
+      end = end != null ? Math.min(end, start) : start;
+    }
+
+    return segments;
+  }
+
+  protected Long findRollupProperty(String prefix, int granularity) {
+    PropertyEntity property = getPropertyManager().findPropertyById(prefix + granularity);
+    return property != null ? Long.valueOf(property.getValue()) : null;
+  }
+
+  protected void updateRollupProperty(String prefix, int granularity, long milliseconds) {
+    PropertyEntity property = getPropertyManager().findPropertyById(prefix + granularity);
+    if (property == null) {
+      getDbEntityManager().insert(new PropertyEntity(prefix + granularity, Long.toString(milliseconds)));
+    }
+    else {
+      property.setValue(Long.toString(milliseconds));
+    }
+  }
+
+  protected void deleteRollupProperties(String prefix) {
+    for (PropertyEntity property : getPropertyManager().findPropertiesByNamePrefix(prefix)) {
+      getDbEntityManager().delete(property);
+    }
+  }
+
+  protected int getFinerGranularity(int granularity) {
+    for (int i = 1; i < GRANULARITIES.length; i++) {
+      if (GRANULARITIES[i] == granularity) {
+        return GRANULARITIES[i - 1];
+      }
+    }
+    throw new IllegalArgumentException("Not a rollup granularity: " + granularity);
+  }
+
+  protected int getCoarserGranularity(int granularity) {
+    for (int i = 0; i < GRANULARITIES.length - 1; i++) {
+      if (GRANULARITIES[i] == granularity) {
+        return GRANULARITIES[i + 1];
+      }
+    }
+    return 0;
+  }
+
+  protected long align(long milliseconds, long granularityMilliseconds) {
+    return milliseconds - ((milliseconds % granularityMilliseconds) + granularityMilliseconds) % granularityMilliseconds;
+  }
+
 }
@@ -13,6 +13,8 @@
 
 package org.camunda.bpm.engine.impl.persistence.entity;
 
+import java.util.List;
+
 import org.camunda.bpm.engine.impl.persistence.AbstractManager;
 
 
@@ -26,6 +28,11 @@ public class PropertyManager extends AbstractManager {
     return getDbEntityManager().selectById(PropertyEntity.class, propertyId);
   }
 
+  @SuppressWarnings("unchecked")
+  public List<PropertyEntity> findPropertiesByNamePrefix(String namePrefix) {
+    return getDbEntityManager().selectList("selectPropertiesByNamePrefix", namePrefix + "%");
+  }
+
   public void acquireExclusiveLock() {
     // We lock a special deployment lock property
     getDbEntityManager().lock("lockDeploymentLockProperty");
@@ -38,6 +45,12 @@ public class PropertyManager extends AbstractManager {
 
   }
 
+  public void acquireExclusiveLockForMetricsRollup() {
+    // We lock a special metrics rollup lock property
+    getDbEntityManager().lock("lockMetricsRollupLockProperty");
+
+  }
+
   public void acquireExclusiveLockForStartup() {
     // We lock a special startup lock property
     getDbEntityManager().lock("lockStartupLockProperty");
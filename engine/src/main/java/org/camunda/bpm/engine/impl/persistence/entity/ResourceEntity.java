@@ -32,6 +32,8 @@ public class ResourceEntity implements Serializable, DbEntity, Resource {
   protected String deploymentId;
   protected boolean generated = false;
   protected String tenantId;
+  /** the hash of the bytes, see {@link org.camunda.bpm.engine.impl.util.ResourceHashUtil} */
+  protected String hash;
 
   public String getId() {
     return id;
@@ -89,6 +91,14 @@ public class ResourceEntity implements Serializable, DbEntity, Resource {
     this.tenantId = tenantId;
   }
 
+  public String getHash() {
+    return hash;
+  }
+
+  public void setHash(String hash) {
+    this.hash = hash;
+  }
+
   @Override
   public String toString() {
     return this.getClass().getSimpleName()
@@ -14,6 +14,7 @@
 package org.camunda.bpm.engine.impl.persistence.entity;
 
 import org.camunda.bpm.engine.impl.persistence.AbstractManager;
+import org.camunda.bpm.engine.impl.util.ResourceHashUtil;
 
 import java.util.HashMap;
 import java.util.List;
@@ -27,6 +28,7 @@ import java.util.Set;
 public class ResourceManager extends AbstractManager {
 
   public void insertResource(ResourceEntity resource) {
+    ResourceHashUtil.ensureHash(resource);
     getDbEntityManager().insert(resource);
   }
 
@@ -87,4 +89,31 @@ public class ResourceManager extends AbstractManager {
     return existingResourcesByName;
   }
 
+  /**
+   * Like {@link #findLatestResourcesByDeploymentName(String, Set, String, String)}, but selects
+   * the hashes of the resources instead of their bytes.
+   */
+  @SuppressWarnings("unchecked")
+  public Map<String, ResourceHashResultEntity> findLatestResourceHashesByDeploymentName(String deploymentName, Set<String> resourcesToFind, String source, String tenantId) {
+    Map<String, Object> params = new HashMap<String, Object>();
+    params.put("deploymentName", deploymentName);
+    params.put("resourcesToFind", resourcesToFind);
+    params.put("source", source);
+    params.put("tenantId", tenantId);
+
+    List<ResourceHashResultEntity> resources = getDbEntityManager().selectList("selectLatestResourceHashesByDeploymentName", params);
+
+    Map<String, ResourceHashResultEntity> existingResourcesByName = new HashMap<String, ResourceHashResultEntity>();
+    for (ResourceHashResultEntity existingResource : resources) {
+      existingResourcesByName.put(existingResource.getName(), existingResource);
+    }
+
+    return existingResourcesByName;
+  }
+
+  @SuppressWarnings("unchecked")
+  public List<ResourceHashResultEntity> findResourceHashesByDeploymentId(String deploymentId) {
+    return getDbEntityManager().selectList("selectResourceHashesByDeploymentId", deploymentId);
+  }
+
 }
@@ -507,6 +507,17 @@ public class TaskEntity extends AbstractVariableScope implements Task, DelegateT
         .findVariableInstancesByTaskId(id);
   }
 
+  @Override
+  public Collection<VariableInstanceEntity> provideVariables(Collection<String> variableNames) {
+    if (!Context.getProcessEngineConfiguration().isPartialVariableLoadingEnabled()) {
+      return null;
+    }
+    return Context
+        .getCommandContext()
+        .getVariableInstanceManager()
+        .findVariableInstancesByTaskIdAndVariableNames(id, variableNames);
+  }
+
   @Override
   public AbstractVariableScope getParentVariableScope() {
     if (getExecution()!=null) {
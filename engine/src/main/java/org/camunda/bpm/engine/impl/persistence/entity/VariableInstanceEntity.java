@@ -12,6 +12,7 @@
  */
 package org.camunda.bpm.engine.impl.persistence.entity;
 
+import java.io.InputStream;
 import java.io.Serializable;
 import java.util.HashMap;
 import java.util.Map;
@@ -239,6 +240,10 @@ public class VariableInstanceEntity implements VariableInstance, CoreVariableIns
     return byteArrayField.getByteArrayValue();
   }
 
+  public InputStream openByteArrayValueStream() {
+    return byteArrayField.openByteArrayStream();
+  }
+
   public void setByteArrayValue(byte[] bytes) {
     // avoid setting a byte array value for a transient variable because this
     // would create and insert an entity in the data base
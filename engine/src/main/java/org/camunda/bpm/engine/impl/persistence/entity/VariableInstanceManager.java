@@ -13,7 +13,10 @@
 
 package org.camunda.bpm.engine.impl.persistence.entity;
 
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 import org.camunda.bpm.engine.impl.Page;
 import org.camunda.bpm.engine.impl.VariableInstanceQueryImpl;
@@ -46,6 +49,27 @@ public class VariableInstanceManager extends AbstractManager {
     return getDbEntityManager().selectList("selectVariablesByCaseExecutionId", caseExecutionId);
   }
 
+  public List<VariableInstanceEntity> findVariableInstancesByTaskIdAndVariableNames(String taskId, Collection<String> variableNames) {
+    return findVariableInstancesByScopeIdAndVariableNames("selectVariablesByTaskIdAndVariableNames", "taskId", taskId, variableNames);
+  }
+
+  public List<VariableInstanceEntity> findVariableInstancesByExecutionIdAndVariableNames(String executionId, Collection<String> variableNames) {
+    return findVariableInstancesByScopeIdAndVariableNames("selectVariablesByExecutionIdAndVariableNames", "executionId", executionId, variableNames);
+  }
+
+  public List<VariableInstanceEntity> findVariableInstancesByCaseExecutionIdAndVariableNames(String caseExecutionId, Collection<String> variableNames) {
+    return findVariableInstancesByScopeIdAndVariableNames("selectVariablesByCaseExecutionIdAndVariableNames", "caseExecutionId", caseExecutionId, variableNames);
+  }
+
+  @SuppressWarnings("unchecked")
+  protected List<VariableInstanceEntity> findVariableInstancesByScopeIdAndVariableNames(String statement, String scopeIdParameter,
+      String scopeId, Collection<String> variableNames) {
+    Map<String, Object> parameters = new HashMap<String, Object>();
+    parameters.put(scopeIdParameter, scopeId);
+    parameters.put("variableNames", variableNames);
+    return getDbEntityManager().selectList(statement, parameters);
+  }
+
   public void deleteVariableInstanceByTask(TaskEntity task) {
     List<VariableInstanceEntity> variableInstances = task.variableStore.getVariables();
     for (VariableInstanceEntity variableInstance: variableInstances) {
@@ -13,6 +13,9 @@
 
 package org.camunda.bpm.engine.impl.persistence.entity.util;
 
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+
 import org.camunda.bpm.engine.impl.context.Context;
 import org.camunda.bpm.engine.impl.persistence.entity.ByteArrayEntity;
 import org.camunda.bpm.engine.impl.persistence.entity.Nameable;
@@ -55,6 +58,26 @@ public class ByteArrayField {
     }
   }
 
+  /**
+   * Opens a stream on the byte array value without loading the {@link ByteArrayEntity}.
+   * The stream must be consumed and closed within the current command.
+   */
+  public InputStream openByteArrayStream() {
+    if (byteArrayValue != null) {
+      byte[] bytes = byteArrayValue.getBytes();
+      return bytes != null ? new ByteArrayInputStream(bytes) : null;
+    }
+    else if (byteArrayId != null && Context.getCommandContext() != null) {
+      return Context
+          .getCommandContext()
+          .getByteArrayManager()
+          .openByteArrayStream(byteArrayId);
+    }
+    else {
+      return null;
+    }
+  }
+
   protected ByteArrayEntity getByteArrayEntity() {
 
     if (byteArrayValue == null) {
@@ -0,0 +1,53 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.runtime;
+
+import org.camunda.bpm.engine.ProcessEngineException;
+import org.camunda.bpm.engine.runtime.BulkMessageCorrelationResult;
+import org.camunda.bpm.engine.runtime.MessageCorrelationResult;
+
+public class BulkMessageCorrelationResultImpl implements BulkMessageCorrelationResult {
+
+  protected String messageName;
+  protected MessageCorrelationResult correlationResult;
+  protected ProcessEngineException exception;
+
+  public BulkMessageCorrelationResultImpl(String messageName) {
+    this.messageName = messageName;
+  }
+
+  public String getMessageName() {
+    return messageName;
+  }
+
+  public boolean isSuccessful() {
+    return correlationResult != null;
+  }
+
+  public MessageCorrelationResult getCorrelationResult() {
+    return correlationResult;
+  }
+
+  public void setCorrelationResult(MessageCorrelationResult correlationResult) {
+    this.correlationResult = correlationResult;
+  }
+
+  public ProcessEngineException getException() {
+    return exception;
+  }
+
+  public void setException(ProcessEngineException exception) {
+    this.exception = exception;
+  }
+
+}
@@ -0,0 +1,61 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.runtime;
+
+import java.util.Collections;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.camunda.bpm.engine.impl.bpmn.parser.EventSubscriptionDeclaration;
+
+/**
+ * Remembers the messages for which correlation keys are declared in the process
+ * definitions parsed by the process engine. Correlations of other messages do not
+ * look up executions by correlation key, since none of their subscriptions has one.
+ * Changes of the declared correlation variables refresh the correlation keys of the
+ * subscriptions of the process instance, see {@link #isCorrelationVariable(String)}.
+ *
+ * <p>Declarations are added when process definitions are parsed and are never removed,
+ * so a message of a deleted process definition only costs an additional query.</p>
+ */
+public class CorrelationKeyDeclarations {
+
+  protected Set<String> messageNames = Collections.newSetFromMap(new ConcurrentHashMap<String, Boolean>());
+  protected Set<String> variableNames = Collections.newSetFromMap(new ConcurrentHashMap<String, Boolean>());
+  protected volatile boolean messageNameExpressionDeclared = false;
+
+  public void addDeclaration(EventSubscriptionDeclaration declaration) {
+    if (declaration.getCorrelationKeys() == null || declaration.getCorrelationKeys().isEmpty()) {
+      return;
+    }
+
+    variableNames.addAll(declaration.getCorrelationKeys());
+
+    if (declaration.isEventNameLiteralText()) {
+      messageNames.add(declaration.getUnresolvedEventName());
+    }
+    else {
+      // the message name is only known when the subscription is created
+      messageNameExpressionDeclared = true;
+    }
+  }
+
+  public boolean isDeclared(String messageName) {
+    return messageNameExpressionDeclared || messageNames.contains(messageName);
+  }
+
+  public boolean isCorrelationVariable(String variableName) {
+    return variableNames.contains(variableName);
+  }
+
+}
@@ -14,13 +14,19 @@
 package org.camunda.bpm.engine.impl.runtime;
 
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 import org.camunda.bpm.engine.impl.ExecutionQueryImpl;
 import org.camunda.bpm.engine.impl.ProcessEngineLogger;
+import org.camunda.bpm.engine.impl.ProcessInstanceQueryImpl;
 import org.camunda.bpm.engine.impl.bpmn.parser.EventSubscriptionDeclaration;
+import org.camunda.bpm.engine.impl.cfg.ProcessEngineConfigurationImpl;
 import org.camunda.bpm.engine.impl.cmd.CommandLogger;
 import org.camunda.bpm.engine.impl.event.EventType;
 import org.camunda.bpm.engine.impl.interceptor.CommandContext;
@@ -28,7 +34,9 @@ import org.camunda.bpm.engine.impl.persistence.deploy.cache.DeploymentCache;
 import org.camunda.bpm.engine.impl.persistence.entity.EventSubscriptionEntity;
 import org.camunda.bpm.engine.impl.persistence.entity.EventSubscriptionManager;
 import org.camunda.bpm.engine.impl.persistence.entity.ExecutionEntity;
+import org.camunda.bpm.engine.impl.persistence.entity.ExecutionManager;
 import org.camunda.bpm.engine.impl.persistence.entity.ProcessDefinitionEntity;
+import org.camunda.bpm.engine.impl.util.CorrelationKeyUtil;
 import org.camunda.bpm.engine.runtime.Execution;
 
 /**
@@ -40,6 +48,9 @@ public class DefaultCorrelationHandler implements CorrelationHandler {
 
   private final static CommandLogger LOG = ProcessEngineLogger.CMD_LOGGER;
 
+  /** limits the number of business keys per query, some databases limit the size of in clauses */
+  public static final int MAX_BUSINESS_KEYS_PER_QUERY = 1000;
+
   public CorrelationHandlerResult correlateMessage(CommandContext commandContext, String messageName, CorrelationSet correlationSet) {
 
     // first try to correlate to execution
@@ -79,6 +90,37 @@ public class DefaultCorrelationHandler implements CorrelationHandler {
 
   protected List<CorrelationHandlerResult> correlateMessageToExecutions(CommandContext commandContext, String messageName, CorrelationSet correlationSet) {
 
+    // try to find the executions by the correlation key of their subscriptions first
+    ProcessEngineConfigurationImpl processEngineConfiguration = commandContext.getProcessEngineConfiguration();
+    boolean isFallbackEnabled = processEngineConfiguration.isMessageCorrelationKeyFallbackEnabled();
+    String subscriptionCorrelationKey = getCorrelationKey(correlationSet);
+
+    if (messageName != null && subscriptionCorrelationKey != null
+        && (!isFallbackEnabled || processEngineConfiguration.getCorrelationKeyDeclarations().isDeclared(messageName))) {
+      List<ExecutionEntity> executions = commandContext.getExecutionManager()
+          .findExecutionsByMessageCorrelationKey(messageName, subscriptionCorrelationKey, correlationSet);
+
+      // the key is refreshed whenever a correlation variable changes, but it is resolved
+      // hierarchically, so the variables are checked again as the variable query does
+      List<CorrelationHandlerResult> result = new ArrayList<CorrelationHandlerResult>(executions.size());
+      boolean isOutdatedKeyFound = false;
+      for (ExecutionEntity execution : executions) {
+        if (matchesCorrelationVariables(execution, correlationSet)) {
+          result.add(CorrelationHandlerResult.matchedExecution(execution));
+        }
+        else {
+          isOutdatedKeyFound = true;
+        }
+      }
+
+      // executions waiting with a subscription without key are only found by the variable query,
+      // as are executions whose key differs because a correlation variable is shadowed
+      if (!isFallbackEnabled
+          || (!isOutdatedKeyFound && !commandContext.getEventSubscriptionManager().hasMessageEventSubscriptionsWithoutCorrelationKey(messageName))) {
+        return result;
+      }
+    }
+
     ExecutionQueryImpl query = new ExecutionQueryImpl();
 
     Map<String, Object> correlationKeys = correlationSet.getCorrelationKeys();
@@ -135,6 +177,110 @@ public class DefaultCorrelationHandler implements CorrelationHandler {
     return result;
   }
 
+  /**
+   * Correlates a message to the waiting executions of the process instances with the given
+   * business keys. In contrast to {@link #correlateMessage(CommandContext, String, CorrelationSet)},
+   * the executions for all business keys are queried at once.
+   *
+   * @return the matching executions per business key; business keys without a matching
+   *   execution are not contained
+   */
+  public Map<String, List<CorrelationHandlerResult>> correlateMessageToExecutionsByBusinessKeys(CommandContext commandContext, String messageName, Collection<String> businessKeys) {
+    ExecutionManager executionManager = commandContext.getExecutionManager();
+    Map<String, List<CorrelationHandlerResult>> results = new HashMap<String, List<CorrelationHandlerResult>>();
+
+    List<String> businessKeyList = new ArrayList<String>(businessKeys);
+    for (int fromIndex = 0; fromIndex < businessKeyList.size(); fromIndex += MAX_BUSINESS_KEYS_PER_QUERY) {
+      List<String> businessKeysForQuery = businessKeyList.subList(fromIndex, Math.min(fromIndex + MAX_BUSINESS_KEYS_PER_QUERY, businessKeyList.size()));
+      List<ExecutionEntity> executions = executionManager.findExecutionsByMessageSubscriptionAndBusinessKeys(messageName, businessKeysForQuery);
+
+      // load the process instances holding the business keys with a single query
+      Set<String> processInstanceIds = new HashSet<String>();
+      for (ExecutionEntity execution : executions) {
+        if (!execution.isProcessInstanceExecution()) {
+          processInstanceIds.add(execution.getProcessInstanceId());
+        }
+      }
+      if (!processInstanceIds.isEmpty()) {
+        ProcessInstanceQueryImpl processInstanceQuery = new ProcessInstanceQueryImpl();
+        processInstanceQuery.processInstanceIds(processInstanceIds);
+        executionManager.findProcessInstancesByQueryCriteria(processInstanceQuery, null);
+      }
+
+      for (ExecutionEntity execution : executions) {
+        String businessKey = execution.getProcessInstance().getBusinessKey();
+
+        List<CorrelationHandlerResult> correlations = results.get(businessKey);
+        if (correlations == null) {
+          correlations = new ArrayList<CorrelationHandlerResult>();
+          results.put(businessKey, correlations);
+        }
+        correlations.add(CorrelationHandlerResult.matchedExecution(execution));
+      }
+    }
+
+    return results;
+  }
+
+  /**
+   * @return the correlation key of the process instance and local correlation variables,
+   *   or <code>null</code> if the variables cannot be expressed as a correlation key
+   */
+  protected String getCorrelationKey(CorrelationSet correlationSet) {
+    Map<String, Object> variables = new HashMap<String, Object>();
+
+    Map<String, Object> correlationKeys = correlationSet.getCorrelationKeys();
+    if (correlationKeys != null) {
+      variables.putAll(correlationKeys);
+    }
+
+    Map<String, Object> localCorrelationKeys = correlationSet.getLocalCorrelationKeys();
+    if (localCorrelationKeys != null) {
+      for (Map.Entry<String, Object> localCorrelationKey : localCorrelationKeys.entrySet()) {
+        String name = localCorrelationKey.getKey();
+        if (variables.containsKey(name) && !areEqual(variables.get(name), localCorrelationKey.getValue())) {
+          return null;
+        }
+        variables.put(name, localCorrelationKey.getValue());
+      }
+    }
+
+    return CorrelationKeyUtil.createCorrelationKey(variables);
+  }
+
+  /**
+   * @return true if the process instance variables and the local variables of the execution
+   *   have the correlated values, in the same way as they are matched by the variable query
+   */
+  protected boolean matchesCorrelationVariables(ExecutionEntity execution, CorrelationSet correlationSet) {
+    Map<String, Object> correlationKeys = correlationSet.getCorrelationKeys();
+    if (correlationKeys != null) {
+      ExecutionEntity processInstance = execution.getProcessInstance();
+      for (Map.Entry<String, Object> correlationKey : correlationKeys.entrySet()) {
+        String name = correlationKey.getKey();
+        if (!processInstance.hasVariableLocal(name) || !CorrelationKeyUtil.valuesMatch(processInstance.getVariableLocal(name), correlationKey.getValue())) {
+          return false;
+        }
+      }
+    }
+
+    Map<String, Object> localCorrelationKeys = correlationSet.getLocalCorrelationKeys();
+    if (localCorrelationKeys != null) {
+      for (Map.Entry<String, Object> correlationKey : localCorrelationKeys.entrySet()) {
+        String name = correlationKey.getKey();
+        if (!execution.hasVariableLocal(name) || !CorrelationKeyUtil.valuesMatch(execution.getVariableLocal(name), correlationKey.getValue())) {
+          return false;
+        }
+      }
+    }
+
+    return true;
+  }
+
+  protected boolean areEqual(Object value, Object otherValue) {
+    return value == null ? otherValue == null : value.equals(otherValue);
+  }
+
   @Override
   public List<CorrelationHandlerResult> correlateStartMessages(CommandContext commandContext, String messageName, CorrelationSet correlationSet) {
     if (messageName == null) {
@@ -146,8 +146,8 @@ public abstract class AbstractProcessEngineTestCase extends PvmTestCase {
   }
 
   private void deleteHistoryCleanupJob() {
-    final Job job = historyService.findHistoryCleanupJob();
-    if (job != null) {
+    final List<Job> jobs = historyService.findHistoryCleanupJobs();
+    for (final Job job : jobs) {
       processEngineConfiguration.getCommandExecutorTxRequired().execute(new Command<Void>() {
         public Void execute(CommandContext commandContext) {
             commandContext.getJobManager().deleteJob((JobEntity) job);
@@ -0,0 +1,114 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.util;
+
+import java.io.UnsupportedEncodingException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Date;
+import java.util.Map;
+import java.util.TreeMap;
+
+import org.camunda.bpm.engine.ProcessEngineException;
+import org.camunda.bpm.engine.impl.digest._apacheCommonsCodec.Base64;
+import org.camunda.bpm.engine.variable.value.TypedValue;
+
+/**
+ * Creates the values of the correlation key column of message event subscriptions.
+ *
+ * <p>A correlation key is a hash over the names and values of the correlation variables,
+ * independent of their order. Integral numbers are treated alike, such that a
+ * key created from an {@link Integer} matches a key created from a {@link Long}
+ * of the same value, as it is the case for variable value queries. Only values of
+ * primitive types can be part of a correlation key.</p>
+ */
+public final class CorrelationKeyUtil {
+
+  protected static final String HASH_ALGORITHM = "SHA-256";
+
+  /**
+   * @return the correlation key or <code>null</code> if no variables are given or if
+   *   a value is not of a primitive type
+   */
+  public static String createCorrelationKey(Map<String, Object> variables) {
+    if (variables == null || variables.isEmpty()) {
+      return null;
+    }
+
+    StringBuilder builder = new StringBuilder();
+    for (Map.Entry<String, Object> variable : new TreeMap<String, Object>(variables).entrySet()) {
+      String value = toKeyValue(variable.getValue());
+      if (value == null) {
+        return null;
+      }
+      appendLengthPrefixed(builder, variable.getKey());
+      appendLengthPrefixed(builder, value);
+    }
+
+    return hash(builder.toString());
+  }
+
+  /**
+   * @return true if both values are of a primitive type and contribute the same to a correlation key
+   */
+  public static boolean valuesMatch(Object value, Object otherValue) {
+    String keyValue = toKeyValue(value);
+    return keyValue != null && keyValue.equals(toKeyValue(otherValue));
+  }
+
+  protected static String toKeyValue(Object value) {
+    if (value instanceof TypedValue) {
+      value = ((TypedValue) value).getValue();
+    }
+
+    if (value == null) {
+      return "null";
+    }
+    else if (value instanceof String) {
+      return "string:" + value;
+    }
+    else if (value instanceof Integer || value instanceof Long || value instanceof Short) {
+      return "long:" + ((Number) value).longValue();
+    }
+    else if (value instanceof Double) {
+      return "double:" + value;
+    }
+    else if (value instanceof Boolean) {
+      return "boolean:" + value;
+    }
+    else if (value instanceof Date) {
+      return "date:" + ((Date) value).getTime();
+    }
+    else {
+      return null;
+    }
+  }
+
+  protected static void appendLengthPrefixed(StringBuilder builder, String value) {
+    builder.append(value.length()).append(':').append(value);
+  }
+
+  protected static String hash(String value) {
+    try {
+      MessageDigest digest = MessageDigest.getInstance(HASH_ALGORITHM);
+      return new String(Base64.encodeBase64(digest.digest(value.getBytes("UTF-8"))), "UTF-8");
+    }
+    catch (NoSuchAlgorithmException e) {
+      throw new ProcessEngineException("Cannot lookup " + HASH_ALGORITHM + " algorithm", e);
+    }
+    catch (UnsupportedEncodingException e) {
+      throw new ProcessEngineException("UnsupportedEncodingException while calculating correlation key", e);
+    }
+  }
+
+}
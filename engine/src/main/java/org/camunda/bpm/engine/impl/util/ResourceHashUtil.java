@@ -0,0 +1,113 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.util;
+
+import java.io.UnsupportedEncodingException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Collection;
+import java.util.Map;
+import java.util.TreeMap;
+
+import org.camunda.bpm.engine.ProcessEngineException;
+import org.camunda.bpm.engine.impl.digest._apacheCommonsCodec.Base64;
+import org.camunda.bpm.engine.impl.persistence.entity.ResourceEntity;
+
+/**
+ * Creates the content hashes of deployment resources and deployments, which
+ * allow the duplicate filtering of deployments to compare resources without
+ * loading their bytes.
+ */
+public final class ResourceHashUtil {
+
+  protected static final String HASH_ALGORITHM = "SHA-256";
+
+  /**
+   * @return the hash of the bytes or <code>null</code> if no bytes are given
+   */
+  public static String hash(byte[] bytes) {
+    if (bytes == null) {
+      return null;
+    }
+    return encode(createDigest().digest(bytes));
+  }
+
+  /**
+   * @return the hash of the UTF-8 encoded value
+   */
+  public static String hash(String value) {
+    MessageDigest digest = createDigest();
+    update(digest, value);
+    return encode(digest.digest());
+  }
+
+  /**
+   * Calculates the hash of the resource, if it is not set yet.
+   *
+   * @return the hash of the resource
+   */
+  public static String ensureHash(ResourceEntity resource) {
+    if (resource.getHash() == null) {
+      resource.setHash(hash(resource.getBytes()));
+    }
+    return resource.getHash();
+  }
+
+  /**
+   * @return a hash over the names and hashes of the resources, independent of their order;
+   *   generated resources are not taken into account
+   */
+  public static String hashDeployment(Collection<ResourceEntity> resources) {
+    Map<String, String> resourceHashes = new TreeMap<String, String>();
+    for (ResourceEntity resource : resources) {
+      if (!resource.isGenerated()) {
+        resourceHashes.put(resource.getName(), ensureHash(resource));
+      }
+    }
+
+    MessageDigest digest = createDigest();
+    for (Map.Entry<String, String> resourceHash : resourceHashes.entrySet()) {
+      update(digest, resourceHash.getKey());
+      update(digest, String.valueOf(resourceHash.getValue()));
+    }
+    return encode(digest.digest());
+  }
+
+  protected static void update(MessageDigest digest, String value) {
+    try {
+      digest.update((value.length() + ":" + value).getBytes("UTF-8"));
+    }
+    catch (UnsupportedEncodingException e) {
+      throw new ProcessEngineException("UnsupportedEncodingException while calculating deployment hash", e);
+    }
+  }
+
+  protected static MessageDigest createDigest() {
+    try {
+      return MessageDigest.getInstance(HASH_ALGORITHM);
+    }
+    catch (NoSuchAlgorithmException e) {
+      throw new ProcessEngineException("Cannot lookup " + HASH_ALGORITHM + " algorithm", e);
+    }
+  }
+
+  protected static String encode(byte[] hash) {
+    try {
+      return new String(Base64.encodeBase64(hash), "UTF-8");
+    }
+    catch (UnsupportedEncodingException e) {
+      throw new ProcessEngineException("UnsupportedEncodingException while encoding hash", e);
+    }
+  }
+
+}
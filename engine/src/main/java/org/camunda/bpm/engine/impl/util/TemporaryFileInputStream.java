@@ -0,0 +1,84 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.util;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileNotFoundException;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+
+import org.camunda.bpm.engine.impl.ProcessEngineLogger;
+
+/**
+ * Reads a temporary file and deletes it when the stream is closed. Used to hand
+ * out binary content which is larger than it should be kept in memory after the
+ * database connection was released.
+ */
+public class TemporaryFileInputStream extends FileInputStream {
+
+  private static final EngineUtilLogger LOG = ProcessEngineLogger.UTIL_LOGGER;
+
+  protected static final String FILE_PREFIX = "camunda-stream-";
+
+  protected File file;
+
+  public TemporaryFileInputStream(File file) throws FileNotFoundException {
+    super(file);
+    this.file = file;
+  }
+
+  public void close() throws IOException {
+    try {
+      super.close();
+    }
+    finally {
+      if (!file.delete()) {
+        file.deleteOnExit();
+      }
+    }
+  }
+
+  /**
+   * Copies the given stream into a temporary file. The given stream is not closed.
+   */
+  public static TemporaryFileInputStream copyOf(InputStream inputStream, String inputStreamName) {
+    File file = null;
+    OutputStream outputStream = null;
+    try {
+      file = File.createTempFile(FILE_PREFIX, null);
+      outputStream = new FileOutputStream(file);
+
+      byte[] buffer = new byte[16*1024];
+      int bytesRead = inputStream.read(buffer);
+      while (bytesRead != -1) {
+        outputStream.write(buffer, 0, bytesRead);
+        bytesRead = inputStream.read(buffer);
+      }
+      outputStream.close();
+      outputStream = null;
+
+      return new TemporaryFileInputStream(file);
+    }
+    catch (Exception e) {
+      IoUtil.closeSilently(outputStream);
+      if (file != null) {
+        file.delete();
+      }
+      throw LOG.exceptionWhileReadingStream(inputStreamName, e);
+    }
+  }
+
+}
@@ -66,6 +66,16 @@ public class Element {
     }
   }
 
+  /**
+   * Creates an element without attributes, used to restore an {@link ElementSnapshot}.
+   */
+  protected Element(String uri, String tagName, int line, int column) {
+    this.uri = uri;
+    this.tagName = tagName;
+    this.line = line;
+    this.column = column;
+  }
+
   public List<Element> elements(String tagName) {
     return elementsNS( (String) null, tagName);
   }
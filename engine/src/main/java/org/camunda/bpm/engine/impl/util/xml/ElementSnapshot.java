@@ -0,0 +1,153 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.impl.util.xml;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * <p>Compact binary representation of a parsed {@link Element} tree. Reading
+ * a snapshot is considerably cheaper than parsing and validating the XML
+ * document it was created from.</p>
+ *
+ * <p>Repeated strings like tag names, namespace URIs and attribute names are
+ * written only once and referenced by their index afterwards.</p>
+ */
+public final class ElementSnapshot {
+
+  /** must be incremented whenever the format changes */
+  public static final int FORMAT_VERSION = 1;
+
+  protected static final int MAGIC = 0x63455354;
+
+  protected static final int NULL_STRING = -1;
+  protected static final int NEW_STRING = -2;
+
+  public static byte[] write(Element rootElement) throws IOException {
+    ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    DataOutputStream out = new DataOutputStream(bytes);
+
+    out.writeInt(MAGIC);
+    out.writeInt(FORMAT_VERSION);
+    writeElement(out, rootElement, new HashMap<String, Integer>());
+    out.flush();
+
+    return bytes.toByteArray();
+  }
+
+  /**
+   * @throws IOException if the snapshot is corrupt or was written in another format
+   */
+  public static Element read(byte[] snapshot) throws IOException {
+    DataInputStream in = new DataInputStream(new ByteArrayInputStream(snapshot));
+
+    if (in.readInt() != MAGIC || in.readInt() != FORMAT_VERSION) {
+      throw new IOException("Unsupported element snapshot format");
+    }
+    return readElement(in, new ArrayList<String>());
+  }
+
+  protected static void writeElement(DataOutputStream out, Element element, Map<String, Integer> strings) throws IOException {
+    writeString(out, element.getUri(), strings);
+    writeString(out, element.getTagName(), strings);
+    out.writeInt(element.getLine());
+    out.writeInt(element.getColumn());
+
+    out.writeInt(element.attributeMap.size());
+    for (Attribute attribute : element.attributeMap.values()) {
+      writeString(out, attribute.getUri(), strings);
+      writeString(out, attribute.getName(), strings);
+      writeString(out, attribute.getValue(), strings);
+    }
+
+    writeString(out, element.getText(), strings);
+
+    out.writeInt(element.elements.size());
+    for (Element childElement : element.elements) {
+      writeElement(out, childElement, strings);
+    }
+  }
+
+  protected static Element readElement(DataInputStream in, List<String> strings) throws IOException {
+    String uri = readString(in, strings);
+    String tagName = readString(in, strings);
+    int line = in.readInt();
+    int column = in.readInt();
+
+    Element element = new Element(uri, tagName, line, column);
+
+    int attributes = in.readInt();
+    for (int i = 0; i < attributes; i++) {
+      String attributeUri = readString(in, strings);
+      String name = readString(in, strings);
+      String value = readString(in, strings);
+      element.attributeMap.put(element.composeMapKey(attributeUri, name), new Attribute(name, value, attributeUri));
+    }
+
+    element.appendText(readString(in, strings));
+
+    int childElements = in.readInt();
+    for (int i = 0; i < childElements; i++) {
+      element.add(readElement(in, strings));
+    }
+
+    return element;
+  }
+
+  protected static void writeString(DataOutputStream out, String value, Map<String, Integer> strings) throws IOException {
+    if (value == null) {
+      out.writeInt(NULL_STRING);
+      return;
+    }
+
+    Integer index = strings.get(value);
+    if (index != null) {
+      out.writeInt(index);
+    }
+    else {
+      byte[] bytes = value.getBytes("UTF-8");
+      out.writeInt(NEW_STRING);
+      out.writeInt(bytes.length);
+      out.write(bytes);
+      strings.put(value, strings.size());
+    }
+  }
+
+  protected static String readString(DataInputStream in, List<String> strings) throws IOException {
+    int index = in.readInt();
+    if (index == NULL_STRING) {
+      return null;
+    }
+    else if (index == NEW_STRING) {
+      byte[] bytes = new byte[in.readInt()];
+      in.readFully(bytes);
+      String value = new String(bytes, "UTF-8");
+      strings.add(value);
+      return value;
+    }
+    else if (index >= 0 && index < strings.size()) {
+      return strings.get(index);
+    }
+    else {
+      throw new IOException("Invalid string reference " + index + " in element snapshot");
+    }
+  }
+
+}
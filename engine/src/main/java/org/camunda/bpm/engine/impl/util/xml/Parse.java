@@ -113,7 +113,21 @@ public class Parse extends DefaultHandler {
     this.streamSource = streamSource;
   }
 
+  /**
+   * Uses an already parsed element tree, e.g. restored from an {@link ElementSnapshot},
+   * instead of parsing the stream source.
+   */
+  public Parse rootElement(Element rootElement) {
+    this.rootElement = rootElement;
+    return this;
+  }
+
   public Parse execute() {
+    if (rootElement != null) {
+      // already parsed
+      return this;
+    }
+
     try {
       InputStream inputStream = streamSource.getInputStream();
 
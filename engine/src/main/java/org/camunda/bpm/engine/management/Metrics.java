@@ -63,4 +63,64 @@ public class Metrics {
   public final static String HISTORY_CLEANUP_REMOVED_CASE_INSTANCES = "history-cleanup-removed-case-instances";
   public final static String HISTORY_CLEANUP_REMOVED_DECISION_INSTANCES = "history-cleanup-removed-decision-instances";
   public final static String HISTORY_CLEANUP_REMOVED_BATCH_OPERATIONS = "history-cleanup-removed-batch-operations";
+
+  /**
+   * Number of entities and query results served from the second level cache.
+   */
+  public final static String SECOND_LEVEL_CACHE_HIT = "second-level-cache-hit";
+
+  /**
+   * Number of lookups in the second level cache which had to be served from the database.
+   */
+  public final static String SECOND_LEVEL_CACHE_MISS = "second-level-cache-miss";
+
+  /**
+   * Number of history events added to the history event buffer.
+   */
+  public final static String HISTORY_EVENT_BUFFER_ENQUEUED = "history-event-buffer-enqueued";
+
+  /**
+   * Number of buffered history events written to the database.
+   */
+  public final static String HISTORY_EVENT_BUFFER_WRITTEN = "history-event-buffer-written";
+
+  /**
+   * Number of history events which found the history event buffer full.
+   */
+  public final static String HISTORY_EVENT_BUFFER_OVERFLOW = "history-event-buffer-overflow";
+
+  /**
+   * Number of history events which were dropped because the buffer was full or they could not be written.
+   */
+  public final static String HISTORY_EVENT_BUFFER_DISCARDED = "history-event-buffer-discarded";
+
+  /**
+   * Duration in microseconds of activity instances which start and end within the same command.
+   * Recorded as a timer, which is not reported to the database.
+   */
+  public final static String ACTIVITY_INSTANCE_DURATION = "activity-instance-duration";
+
+  /**
+   * Duration in microseconds of the execution of a job by the job executor.
+   * Recorded as a timer, which is not reported to the database.
+   */
+  public final static String JOB_EXECUTION_TIME = "job-execution-time";
+
+  /**
+   * Duration in microseconds of a job acquisition cycle.
+   * Recorded as a timer, which is not reported to the database.
+   */
+  public final static String JOB_ACQUISITION_TIME = "job-acquisition-time";
+
+  /**
+   * Number of jobs acquired by a job acquisition cycle.
+   * Recorded as a histogram, which is not reported to the database.
+   */
+  public final static String JOB_ACQUISITION_SIZE = "job-acquisition-size";
+
+  /**
+   * Duration in microseconds of commands which open a new command context.
+   * Recorded as a timer, which is not reported to the database.
+   */
+  public final static String COMMAND_LATENCY = "command-latency";
 }
@@ -80,6 +80,9 @@ public interface MetricsQuery {
    * the maximum can be decreased with the MetricsQuery#limit method. Paging
    * is enabled with the help of the offset.
    *
+   * If the metrics are rolled up, a rolled up bucket is counted in the interval
+   * containing the start of the bucket.
+   *
    * @param interval The time interval on which the metrics should be aggregated.
    *                  The time unit is seconds.
    * @return the aggregated metrics
@@ -87,6 +90,9 @@ public interface MetricsQuery {
   List<MetricIntervalValue> interval(long interval);
 
   /**
+   * If the metrics are rolled up, a rolled up bucket is counted completely
+   * if it overlaps the period between start and end date.
+   *
    * @return the aggregated sum
    */
   long sum();
@@ -0,0 +1,62 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.runtime;
+
+import java.util.List;
+import java.util.Map;
+
+import org.camunda.bpm.engine.AuthorizationException;
+import org.camunda.bpm.engine.MismatchingMessageCorrelationException;
+import org.camunda.bpm.engine.RuntimeService;
+
+/**
+ * <p>Correlates many messages in a single command and transaction, which amortizes
+ * the cost of querying for subscriptions and of committing the transaction. Messages
+ * which are correlated by message name and business key only are matched to waiting
+ * executions with one query per message name.</p>
+ *
+ * <p>Each message is correlated like {@link MessageCorrelationBuilder#correlateWithResult()}.
+ * All messages are matched before the first message is delivered, so a message cannot
+ * be correlated to a subscription created by another message of the same bulk, and each
+ * execution is correlated at most once per bulk.</p>
+ */
+public interface BulkMessageCorrelationBuilder {
+
+  /**
+   * Adds a message correlation which was defined using
+   * {@link RuntimeService#createMessageCorrelation(String)} but not executed.
+   */
+  BulkMessageCorrelationBuilder add(MessageCorrelationBuilder messageCorrelation);
+
+  /**
+   * Adds a message which is correlated by its name and the business key of the process instance.
+   *
+   * @param variables the variables to set on the process instance, can be null
+   */
+  BulkMessageCorrelationBuilder add(String messageName, String businessKey, Map<String, Object> variables);
+
+  /**
+   * Executes the message correlations.
+   *
+   * <p>A message which cannot be correlated, for example because it matches no or more
+   * than one execution or process definition ({@link MismatchingMessageCorrelationException})
+   * or because the user is not authorized ({@link AuthorizationException}), does not
+   * affect the other messages. The error is reported in its result instead.
+   * An exception thrown while a message is delivered, for example by a delegate,
+   * rolls back the whole bulk.</p>
+   *
+   * @return one result per message in the order the messages were added
+   */
+  List<BulkMessageCorrelationResult> correlate();
+
+}
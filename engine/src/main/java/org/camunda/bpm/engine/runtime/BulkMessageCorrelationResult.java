@@ -0,0 +1,39 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.runtime;
+
+import org.camunda.bpm.engine.ProcessEngineException;
+
+/**
+ * The result of a single message of a {@link BulkMessageCorrelationBuilder}.
+ */
+public interface BulkMessageCorrelationResult {
+
+  String getMessageName();
+
+  /**
+   * @return true if the message was correlated
+   */
+  boolean isSuccessful();
+
+  /**
+   * @return the result of the correlation or null if the message could not be correlated
+   */
+  MessageCorrelationResult getCorrelationResult();
+
+  /**
+   * @return the reason why the message could not be correlated or null if the message was correlated
+   */
+  ProcessEngineException getException();
+
+}
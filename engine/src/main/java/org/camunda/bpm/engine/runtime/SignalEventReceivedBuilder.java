@@ -16,9 +16,11 @@ package org.camunda.bpm.engine.runtime;
 import java.util.Map;
 
 import org.camunda.bpm.engine.AuthorizationException;
+import org.camunda.bpm.engine.BadUserRequestException;
 import org.camunda.bpm.engine.ProcessEngineException;
 import org.camunda.bpm.engine.authorization.Permissions;
 import org.camunda.bpm.engine.authorization.Resources;
+import org.camunda.bpm.engine.batch.Batch;
 
 /**
  * Fluent builder to notify the process engine that a signal event has been
@@ -93,4 +95,26 @@ public interface SignalEventReceivedBuilder {
    */
   void send();
 
+  /**
+   * <p>
+   * Delivers the signal asynchronously to waiting executions and process definitions.
+   * The matching event subscriptions are collected page by page and the signal is
+   * delivered by batch jobs, such that a large broadcast is spread over many
+   * transactions and processed in parallel by the job executor.
+   * </p>
+   *
+   * <p>
+   * Executions which subscribe to the signal after the batch was created do not
+   * receive the signal. Only variables of primitive types can be passed.
+   * </p>
+   *
+   * @return the batch which delivers the signal
+   *
+   * @throws BadUserRequestException
+   *           if a single execution is specified or a variable is not of a primitive type
+   * @throws AuthorizationException
+   *           if the user has no {@link Permissions#CREATE} permission on {@link Resources#BATCH}.
+   */
+  Batch sendAsync();
+
 }
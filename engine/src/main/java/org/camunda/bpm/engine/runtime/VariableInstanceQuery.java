@@ -126,6 +126,16 @@ public interface VariableInstanceQuery extends Query<VariableInstanceQuery, Vari
    */
   VariableInstanceQuery disableBinaryFetching();
 
+  /**
+   * Disable fetching of all values which are stored as byte arrays. In addition to
+   * {@link #disableBinaryFetching()}, this applies to object values in their serialized
+   * form, so that the query does not read any blob data at all. The variables and their
+   * types are nonetheless included in the query result.
+   *
+   * @return the query builder
+   */
+  VariableInstanceQuery disableByteArrayValueFetching();
+
   /**
    * Disable deserialization of variable values that are custom objects. By default, the query
    * will attempt to deserialize the value of these variables. By calling this method you can
@@ -20,6 +20,9 @@ values ('deployment.lock', '0', 1);
 insert into ACT_GE_PROPERTY
 values ('history.cleanup.job.lock', '0', 1);
 
+insert into ACT_GE_PROPERTY
+values ('metrics.rollup.lock', '0', 1);
+
 insert into ACT_GE_PROPERTY
 values ('startup.lock', '0', 1);
 
@@ -31,6 +34,7 @@ create table ACT_GE_BYTEARRAY (
     BYTES_ BLOB,
     GENERATED_ smallint check(GENERATED_ in (1,0)),
     TENANT_ID_ varchar(64),
+    HASH_ varchar(64),
     primary key (ID_)
 );
 
@@ -40,6 +44,7 @@ create table ACT_RE_DEPLOYMENT (
     DEPLOY_TIME_ timestamp,
     SOURCE_ varchar(255),
     TENANT_ID_ varchar(64),
+    HASH_ varchar(64),
     primary key (ID_)
 );
 
@@ -90,6 +95,7 @@ create table ACT_RU_JOB (
     PRIORITY_ bigint not null default 0,
     SEQUENCE_COUNTER_ bigint,
     TENANT_ID_ varchar(64),
+    ACQ_PARTITION_ integer,
     primary key (ID_)
 );
 
@@ -195,6 +201,7 @@ create table ACT_RU_EVENT_SUBSCR (
     CONFIGURATION_ varchar(255),
     CREATED_ timestamp not null,
     TENANT_ID_ varchar(64),
+    CORRELATION_KEY_ varchar(64),
     primary key (ID_)
 );
 
@@ -249,6 +256,7 @@ create table ACT_RU_METER_LOG (
   VALUE_ bigint,
   TIMESTAMP_ timestamp,
   MILLISECONDS_ bigint DEFAULT 0,
+  GRANULARITY_ integer,
   primary key (ID_)
 );
 
@@ -498,6 +506,7 @@ create index ACT_IDX_DEPLOYMENT_TENANT_ID on ACT_RE_DEPLOYMENT(TENANT_ID_);
 create index ACT_IDX_JOBDEF_PROC_DEF_ID ON ACT_RU_JOBDEF(PROC_DEF_ID_);
 create index ACT_IDX_JOB_HANDLER_TYPE ON ACT_RU_JOB(HANDLER_TYPE_);
 create index ACT_IDX_EVENT_SUBSCR_EVT_NAME ON ACT_RU_EVENT_SUBSCR(EVENT_NAME_);
+create index ACT_IDX_EVENT_SUBSCR_CORR_KEY ON ACT_RU_EVENT_SUBSCR(CORRELATION_KEY_);
 create index ACT_IDX_PROCDEF_DEPLOYMENT_ID ON ACT_RE_PROCDEF(DEPLOYMENT_ID_);
 create index ACT_IDX_PROCDEF_TENANT_ID ON ACT_RE_PROCDEF(TENANT_ID_);
 create index ACT_IDX_PROCDEF_VER_TAG ON ACT_RE_PROCDEF(VERSION_TAG_);
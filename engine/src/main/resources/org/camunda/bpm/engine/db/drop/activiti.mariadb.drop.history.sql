@@ -2,6 +2,7 @@ drop index ACT_IDX_HI_PRO_INST_END on ACT_HI_PROCINST;
 drop index ACT_IDX_HI_PRO_I_BUSKEY on ACT_HI_PROCINST;
 drop index ACT_IDX_HI_PRO_INST_TENANT_ID on ACT_HI_PROCINST;
 drop index ACT_IDX_HI_PRO_INST_PROC_DEF_KEY on ACT_HI_PROCINST;
+drop index ACT_IDX_HI_PRO_INST_RM_TIME on ACT_HI_PROCINST;
 
 drop index ACT_IDX_HI_ACT_INST_START on ACT_HI_ACTINST;
 drop index ACT_IDX_HI_ACT_INST_END on ACT_HI_ACTINST;
@@ -10,17 +11,20 @@ drop index ACT_IDX_HI_ACT_INST_COMP on ACT_HI_ACTINST;
 drop index ACT_IDX_HI_ACT_INST_STATS on ACT_HI_ACTINST;
 drop index ACT_IDX_HI_ACT_INST_TENANT_ID on ACT_HI_ACTINST;
 drop index ACT_IDX_HI_ACT_INST_PROC_DEF_KEY on ACT_HI_ACTINST;
+drop index ACT_IDX_HI_ACT_INST_RM_TIME on ACT_HI_ACTINST;
 
 drop index ACT_IDX_HI_TASK_INST_TENANT_ID on ACT_HI_TASKINST;
 drop index ACT_IDX_HI_TASK_INST_PROC_DEF_KEY on ACT_HI_TASKINST;
 drop index ACT_IDX_HI_TASKINST_PROCINST on ACT_HI_TASKINST;
 drop index ACT_IDX_HI_TASKINSTID_PROCINST on ACT_HI_TASKINST;
+drop index ACT_IDX_HI_TASK_INST_RM_TIME on ACT_HI_TASKINST;
 
 drop index ACT_IDX_HI_IDENT_LNK_USER on ACT_HI_IDENTITYLINK;
 drop index ACT_IDX_HI_IDENT_LNK_GROUP on ACT_HI_IDENTITYLINK;
 drop index ACT_IDX_HI_IDENT_LNK_TENANT_ID on ACT_HI_IDENTITYLINK;
 drop index ACT_IDX_HI_IDENT_LNK_PROC_DEF_KEY on ACT_HI_IDENTITYLINK;
 drop index ACT_IDX_HI_IDENT_LINK_TASK on ACT_HI_IDENTITYLINK;
+drop index ACT_IDX_HI_IDENT_LINK_RM_TIME on ACT_HI_IDENTITYLINK;
 
 drop index ACT_IDX_HI_DETAIL_PROC_INST on ACT_HI_DETAIL;
 drop index ACT_IDX_HI_DETAIL_ACT_INST on ACT_HI_DETAIL;
@@ -32,6 +36,7 @@ drop index ACT_IDX_HI_DETAIL_TASK_ID on ACT_HI_DETAIL;
 drop index ACT_IDX_HI_DETAIL_TENANT_ID on ACT_HI_DETAIL;
 drop index ACT_IDX_HI_DETAIL_PROC_DEF_KEY on ACT_HI_DETAIL;
 drop index ACT_IDX_HI_DETAIL_BYTEAR on ACT_HI_DETAIL;
+drop index ACT_IDX_HI_DETAIL_RM_TIME on ACT_HI_DETAIL;
 
 drop index ACT_IDX_HI_PROCVAR_PROC_INST on ACT_HI_VARINST;
 drop index ACT_IDX_HI_PROCVAR_NAME_TYPE on ACT_HI_VARINST;
@@ -39,10 +44,12 @@ drop index ACT_IDX_HI_CASEVAR_CASE_INST on ACT_HI_VARINST;
 drop index ACT_IDX_HI_VAR_INST_TENANT_ID on ACT_HI_VARINST;
 drop index ACT_IDX_HI_VAR_INST_PROC_DEF_KEY on ACT_HI_VARINST;
 drop index ACT_IDX_HI_VARINST_BYTEAR on ACT_HI_VARINST;
+drop index ACT_IDX_HI_VAR_INST_RM_TIME on ACT_HI_VARINST;
 
 drop index ACT_IDX_HI_INCIDENT_TENANT_ID on ACT_HI_INCIDENT;
 drop index ACT_IDX_HI_INCIDENT_PROC_DEF_KEY on ACT_HI_INCIDENT;
 drop index ACT_IDX_HI_INCIDENT_PROCINST on ACT_HI_INCIDENT;
+drop index ACT_IDX_HI_INCIDENT_RM_TIME on ACT_HI_INCIDENT;
 
 drop index ACT_IDX_HI_JOB_LOG_PROCINST on ACT_HI_JOB_LOG;
 drop index ACT_IDX_HI_JOB_LOG_PROCDEF on ACT_HI_JOB_LOG;
@@ -50,12 +57,14 @@ drop index ACT_IDX_HI_JOB_LOG_TENANT_ID on ACT_HI_JOB_LOG;
 drop index ACT_IDX_HI_JOB_LOG_JOB_DEF_ID on ACT_HI_JOB_LOG;
 drop index ACT_IDX_HI_JOB_LOG_PROC_DEF_KEY on ACT_HI_JOB_LOG;
 drop index ACT_IDX_HI_JOB_LOG_EX_STACK on ACT_HI_JOB_LOG;
+drop index ACT_IDX_HI_JOB_LOG_RM_TIME on ACT_HI_JOB_LOG;
 
 drop index ACT_HI_EXT_TASK_LOG_PROCINST on ACT_HI_EXT_TASK_LOG;
 drop index ACT_HI_EXT_TASK_LOG_PROCDEF on ACT_HI_EXT_TASK_LOG;
 drop index ACT_HI_EXT_TASK_LOG_PROC_DEF_KEY on ACT_HI_EXT_TASK_LOG;
 drop index ACT_HI_EXT_TASK_LOG_TENANT_ID on ACT_HI_EXT_TASK_LOG;
 drop index ACT_IDX_HI_EXTTASKLOG_ERRORDET on ACT_HI_EXT_TASK_LOG;
+drop index ACT_IDX_HI_EXTTASKLOG_RM_TIME on ACT_HI_EXT_TASK_LOG;
 
 drop index ACT_IDX_HI_OP_LOG_PROCINST on ACT_HI_OP_LOG;
 drop index ACT_IDX_HI_OP_LOG_PROCDEF on ACT_HI_OP_LOG;
@@ -63,9 +72,11 @@ drop index ACT_IDX_HI_OP_LOG_PROCDEF on ACT_HI_OP_LOG;
 drop index ACT_IDX_HI_ATTACHMENT_CONTENT on ACT_HI_ATTACHMENT;
 drop index ACT_IDX_HI_ATTACHMENT_PROCINST on ACT_HI_ATTACHMENT;
 drop index ACT_IDX_HI_ATTACHMENT_TASK on ACT_HI_ATTACHMENT;
+drop index ACT_IDX_HI_ATTACHMENT_RM_TIME on ACT_HI_ATTACHMENT;
 
 drop index ACT_IDX_HI_COMMENT_TASK on ACT_HI_COMMENT;
 drop index ACT_IDX_HI_COMMENT_PROCINST on ACT_HI_COMMENT;
+drop index ACT_IDX_HI_COMMENT_RM_TIME on ACT_HI_COMMENT;
 
 drop table if exists ACT_HI_PROCINST;
 drop table if exists ACT_HI_ACTINST;
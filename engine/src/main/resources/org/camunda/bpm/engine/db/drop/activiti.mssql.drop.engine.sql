@@ -53,6 +53,7 @@ drop index ACT_RE_DEPLOYMENT.ACT_IDX_DEPLOYMENT_NAME;
 drop index ACT_RU_JOBDEF.ACT_IDX_JOBDEF_PROC_DEF_ID;
 drop index ACT_RU_JOB.ACT_IDX_JOB_HANDLER_TYPE;
 drop index ACT_RU_EVENT_SUBSCR.ACT_IDX_EVENT_SUBSCR_EVT_NAME;
+drop index ACT_RU_EVENT_SUBSCR.ACT_IDX_EVENT_SUBSCR_CORR_KEY;
 drop index ACT_RE_PROCDEF.ACT_IDX_PROCDEF_DEPLOYMENT_ID;
 
 drop index ACT_RU_EXT_TASK.ACT_IDX_EXT_TASK_TENANT_ID;
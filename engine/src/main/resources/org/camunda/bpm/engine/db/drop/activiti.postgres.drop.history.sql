@@ -2,6 +2,7 @@ drop index ACT_IDX_HI_PRO_INST_END;
 drop index ACT_IDX_HI_PRO_I_BUSKEY;
 drop index ACT_IDX_HI_PRO_INST_TENANT_ID;
 drop index ACT_IDX_HI_PRO_INST_PROC_DEF_KEY;
+drop index ACT_IDX_HI_PRO_INST_RM_TIME;
 
 drop index ACT_IDX_HI_ACT_INST_START;
 drop index ACT_IDX_HI_ACT_INST_END;
@@ -10,11 +11,13 @@ drop index ACT_IDX_HI_ACT_INST_COMP;
 drop index ACT_IDX_HI_ACT_INST_STATS;
 drop index ACT_IDX_HI_ACT_INST_TENANT_ID;
 drop index ACT_IDX_HI_ACT_INST_PROC_DEF_KEY;
+drop index ACT_IDX_HI_ACT_INST_RM_TIME;
 
 drop index ACT_IDX_HI_TASK_INST_TENANT_ID;
 drop index ACT_IDX_HI_TASK_INST_PROC_DEF_KEY;
 drop index ACT_IDX_HI_TASKINST_PROCINST;
 drop index ACT_IDX_HI_TASKINSTID_PROCINST;
+drop index ACT_IDX_HI_TASK_INST_RM_TIME;
 
 drop index ACT_IDX_HI_DETAIL_PROC_INST;
 drop index ACT_IDX_HI_DETAIL_ACT_INST;
@@ -26,12 +29,14 @@ drop index ACT_IDX_HI_DETAIL_TASK_ID;
 drop index ACT_IDX_HI_DETAIL_TENANT_ID;
 drop index ACT_IDX_HI_DETAIL_PROC_DEF_KEY;
 drop index ACT_IDX_HI_DETAIL_BYTEAR;
+drop index ACT_IDX_HI_DETAIL_RM_TIME;
 
 drop index ACT_IDX_HI_IDENT_LNK_USER;
 drop index ACT_IDX_HI_IDENT_LNK_GROUP;
 drop index ACT_IDX_HI_IDENT_LNK_TENANT_ID;
 drop index ACT_IDX_HI_IDENT_LNK_PROC_DEF_KEY;
 drop index ACT_IDX_HI_IDENT_LINK_TASK;
+drop index ACT_IDX_HI_IDENT_LINK_RM_TIME;
 
 drop index ACT_IDX_HI_PROCVAR_PROC_INST;
 drop index ACT_IDX_HI_PROCVAR_NAME_TYPE;
@@ -39,10 +44,12 @@ drop index ACT_IDX_HI_CASEVAR_CASE_INST;
 drop index ACT_IDX_HI_VAR_INST_TENANT_ID;
 drop index ACT_IDX_HI_VAR_INST_PROC_DEF_KEY;
 drop index ACT_IDX_HI_VARINST_BYTEAR;
+drop index ACT_IDX_HI_VAR_INST_RM_TIME;
 
 drop index ACT_IDX_HI_INCIDENT_TENANT_ID;
 drop index ACT_IDX_HI_INCIDENT_PROC_DEF_KEY;
 drop index ACT_IDX_HI_INCIDENT_PROCINST;
+drop index ACT_IDX_HI_INCIDENT_RM_TIME;
 
 drop index ACT_IDX_HI_JOB_LOG_PROCINST;
 drop index ACT_IDX_HI_JOB_LOG_PROCDEF;
@@ -50,12 +57,14 @@ drop index ACT_IDX_HI_JOB_LOG_TENANT_ID;
 drop index ACT_IDX_HI_JOB_LOG_JOB_DEF_ID;
 drop index ACT_IDX_HI_JOB_LOG_PROC_DEF_KEY;
 drop index ACT_IDX_HI_JOB_LOG_EX_STACK;
+drop index ACT_IDX_HI_JOB_LOG_RM_TIME;
 
 drop index ACT_HI_EXT_TASK_LOG_PROCINST;
 drop index ACT_HI_EXT_TASK_LOG_PROCDEF;
 drop index ACT_HI_EXT_TASK_LOG_PROC_DEF_KEY;
 drop index ACT_HI_EXT_TASK_LOG_TENANT_ID;
 drop index ACT_IDX_HI_EXTTASKLOG_ERRORDET;
+drop index ACT_IDX_HI_EXTTASKLOG_RM_TIME;
 
 drop index ACT_IDX_HI_OP_LOG_PROCINST;
 drop index ACT_IDX_HI_OP_LOG_PROCDEF;
@@ -63,9 +72,11 @@ drop index ACT_IDX_HI_OP_LOG_PROCDEF;
 drop index ACT_IDX_HI_ATTACHMENT_CONTENT;
 drop index ACT_IDX_HI_ATTACHMENT_PROCINST;
 drop index ACT_IDX_HI_ATTACHMENT_TASK;
+drop index ACT_IDX_HI_ATTACHMENT_RM_TIME;
 
 drop index ACT_IDX_HI_COMMENT_TASK;
 drop index ACT_IDX_HI_COMMENT_PROCINST;
+drop index ACT_IDX_HI_COMMENT_RM_TIME;
 
 drop table ACT_HI_PROCINST;
 drop table ACT_HI_ACTINST;
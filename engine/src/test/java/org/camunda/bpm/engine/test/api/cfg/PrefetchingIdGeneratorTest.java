@@ -0,0 +1,87 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.test.api.cfg;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.camunda.bpm.engine.ProcessEngine;
+import org.camunda.bpm.engine.impl.cfg.IdGenerator;
+import org.camunda.bpm.engine.impl.cfg.ProcessEngineConfigurationImpl;
+import org.camunda.bpm.engine.impl.cfg.StandaloneInMemProcessEngineConfiguration;
+import org.camunda.bpm.engine.impl.db.PrefetchingDbIdGenerator;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class PrefetchingIdGeneratorTest {
+
+  protected ProcessEngine processEngine;
+  protected IdGenerator idGenerator;
+
+  @Before
+  public void setUp() {
+    ProcessEngineConfigurationImpl configuration = new StandaloneInMemProcessEngineConfiguration()
+      .setIdBlockPrefetchEnabled(true)
+      .setMaxIdBlockSize(50)
+      .setIdBlockSize(3)
+      .setJdbcUrl("jdbc:h2:mem:camunda-prefetching-id-generator")
+      .setProcessEngineName("engine-prefetching-id-generator");
+
+    processEngine = configuration.buildProcessEngine();
+    idGenerator = configuration.getIdGenerator();
+  }
+
+  @After
+  public void tearDown() {
+    processEngine.close();
+  }
+
+  @Test
+  public void testPrefetchingIdGeneratorIsUsed() {
+    assertTrue(idGenerator instanceof PrefetchingDbIdGenerator);
+  }
+
+  @Test
+  public void testConcurrentIdsAreUnique() throws InterruptedException {
+    final List<String> ids = Collections.synchronizedList(new ArrayList<String>());
+
+    List<Thread> threads = new ArrayList<Thread>();
+    for (int i = 0; i < 10; i++) {
+      Thread thread = new Thread() {
+        public void run() {
+          for (int j = 0; j < 500; j++) {
+            ids.add(idGenerator.getNextId());
+          }
+        }
+      };
+      thread.start();
+      threads.add(thread);
+    }
+
+    for (Thread thread : threads) {
+      thread.join();
+    }
+
+    Set<String> distinctIds = new HashSet<String>(ids);
+    assertEquals(5000, ids.size());
+    assertEquals(5000, distinctIds.size());
+  }
+
+}
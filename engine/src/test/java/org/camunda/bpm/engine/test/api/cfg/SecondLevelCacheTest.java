@@ -0,0 +1,241 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.test.api.cfg;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.List;
+
+import org.camunda.bpm.engine.AuthorizationService;
+import org.camunda.bpm.engine.IdentityService;
+import org.camunda.bpm.engine.ManagementService;
+import org.camunda.bpm.engine.ProcessEngineConfiguration;
+import org.camunda.bpm.engine.authorization.Authorization;
+import org.camunda.bpm.engine.authorization.Permissions;
+import org.camunda.bpm.engine.authorization.Resources;
+import org.camunda.bpm.engine.identity.Tenant;
+import org.camunda.bpm.engine.impl.cfg.ProcessEngineConfigurationImpl;
+import org.camunda.bpm.engine.impl.interceptor.Command;
+import org.camunda.bpm.engine.impl.interceptor.CommandContext;
+import org.camunda.bpm.engine.impl.metrics.MetricsRegistry;
+import org.camunda.bpm.engine.impl.persistence.entity.JobDefinitionEntity;
+import org.camunda.bpm.engine.management.JobDefinition;
+import org.camunda.bpm.engine.management.Metrics;
+import org.camunda.bpm.engine.repository.ProcessDefinition;
+import org.camunda.bpm.engine.test.util.ProcessEngineBootstrapRule;
+import org.camunda.bpm.engine.test.util.ProcessEngineTestRule;
+import org.camunda.bpm.engine.test.util.ProvidedProcessEngineRule;
+import org.camunda.bpm.model.bpmn.Bpmn;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.RuleChain;
+
+public class SecondLevelCacheTest {
+
+  protected ProcessEngineBootstrapRule bootstrapRule = new ProcessEngineBootstrapRule() {
+    @Override
+    public ProcessEngineConfiguration configureEngine(ProcessEngineConfigurationImpl configuration) {
+      return configuration.setSecondLevelCacheEnabled(true);
+    }
+  };
+
+  public ProvidedProcessEngineRule engineRule = new ProvidedProcessEngineRule(bootstrapRule);
+  public ProcessEngineTestRule testRule = new ProcessEngineTestRule(engineRule);
+
+  @Rule
+  public RuleChain ruleChain = RuleChain.outerRule(bootstrapRule).around(engineRule).around(testRule);
+
+  protected ProcessEngineConfigurationImpl processEngineConfiguration;
+  protected ManagementService managementService;
+  protected AuthorizationService authorizationService;
+  protected IdentityService identityService;
+  protected MetricsRegistry metricsRegistry;
+
+  protected String processDefinitionId;
+  protected String jobDefinitionId;
+
+  @Before
+  public void init() {
+    processEngineConfiguration = engineRule.getProcessEngineConfiguration();
+    managementService = engineRule.getManagementService();
+    authorizationService = engineRule.getAuthorizationService();
+    identityService = engineRule.getIdentityService();
+    metricsRegistry = processEngineConfiguration.getMetricsRegistry();
+
+    ProcessDefinition processDefinition = testRule.deployAndGetDefinition(Bpmn.createExecutableProcess("process")
+      .startEvent()
+      .serviceTask()
+        .camundaExpression("${true}")
+        .camundaAsyncBefore()
+      .endEvent()
+      .done());
+    processDefinitionId = processDefinition.getId();
+    jobDefinitionId = managementService.createJobDefinitionQuery().singleResult().getId();
+
+    processEngineConfiguration.getSecondLevelCache().clear();
+    metricsRegistry.getMeterByName(Metrics.SECOND_LEVEL_CACHE_HIT).getAndClear();
+    metricsRegistry.getMeterByName(Metrics.SECOND_LEVEL_CACHE_MISS).getAndClear();
+  }
+
+  @Test
+  public void testSelectByIdFromCache() {
+    // given
+    JobDefinitionEntity firstJobDefinition = selectJobDefinition(jobDefinitionId);
+
+    // when
+    JobDefinitionEntity secondJobDefinition = selectJobDefinition(jobDefinitionId);
+
+    // then the second lookup is served from the cache with a copy of the entity
+    assertEquals(1, metricsRegistry.getMeterByName(Metrics.SECOND_LEVEL_CACHE_MISS).get());
+    assertEquals(1, metricsRegistry.getMeterByName(Metrics.SECOND_LEVEL_CACHE_HIT).get());
+
+    assertNotSame(firstJobDefinition, secondJobDefinition);
+    assertEquals(firstJobDefinition.getId(), secondJobDefinition.getId());
+    assertEquals(firstJobDefinition.getRevision(), secondJobDefinition.getRevision());
+  }
+
+  @Test
+  public void testSelectListFromCache() {
+    // given
+    selectJobDefinitionsByProcessDefinitionId(processDefinitionId);
+
+    // when
+    List<JobDefinitionEntity> jobDefinitions = selectJobDefinitionsByProcessDefinitionId(processDefinitionId);
+
+    // then
+    assertEquals(1, metricsRegistry.getMeterByName(Metrics.SECOND_LEVEL_CACHE_HIT).get());
+    assertEquals(1, jobDefinitions.size());
+    assertEquals(jobDefinitionId, jobDefinitions.get(0).getId());
+  }
+
+  @Test
+  public void testInvalidateOnUpdate() {
+    // given
+    selectJobDefinition(jobDefinitionId);
+    selectJobDefinitionsByProcessDefinitionId(processDefinitionId);
+
+    // when
+    managementService.suspendJobDefinitionById(jobDefinitionId);
+    metricsRegistry.getMeterByName(Metrics.SECOND_LEVEL_CACHE_HIT).getAndClear();
+
+    // then the cached entries are not used any more
+    assertTrue(selectJobDefinition(jobDefinitionId).isSuspended());
+    assertTrue(selectJobDefinitionsByProcessDefinitionId(processDefinitionId).get(0).isSuspended());
+    assertEquals(0, metricsRegistry.getMeterByName(Metrics.SECOND_LEVEL_CACHE_HIT).get());
+
+    // and the new state is cached again
+    JobDefinition jobDefinition = selectJobDefinition(jobDefinitionId);
+    assertTrue(jobDefinition.isSuspended());
+    assertEquals(1, metricsRegistry.getMeterByName(Metrics.SECOND_LEVEL_CACHE_HIT).get());
+  }
+
+  @Test
+  public void testCacheAuthorizationChecks() {
+    processEngineConfiguration.setAuthorizationEnabled(true);
+    Authorization authorization = null;
+    try {
+      // given
+      assertFalse(isAuthorized("demo", "process"));
+
+      // when an authorization is granted
+      authorization = authorizationService.createNewAuthorization(Authorization.AUTH_TYPE_GRANT);
+      authorization.setUserId("demo");
+      authorization.setResource(Resources.PROCESS_DEFINITION);
+      authorization.setResourceId("process");
+      authorization.addPermission(Permissions.READ);
+      authorizationService.saveAuthorization(authorization);
+
+      // then the cached check is not used any more
+      assertTrue(isAuthorized("demo", "process"));
+
+      // and the new result is cached
+      metricsRegistry.getMeterByName(Metrics.SECOND_LEVEL_CACHE_HIT).getAndClear();
+      assertTrue(isAuthorized("demo", "process"));
+      assertTrue(metricsRegistry.getMeterByName(Metrics.SECOND_LEVEL_CACHE_HIT).get() > 0);
+    }
+    finally {
+      processEngineConfiguration.setAuthorizationEnabled(false);
+      if (authorization != null) {
+        authorizationService.deleteAuthorization(authorization.getId());
+      }
+    }
+  }
+
+  @Test
+  public void testCacheTenantMembershipsOfUser() {
+    // given
+    identityService.saveUser(identityService.newUser("demo"));
+    identityService.saveTenant(identityService.newTenant("tenant1"));
+    identityService.createTenantUserMembership("tenant1", "demo");
+
+    try {
+      assertEquals(1, findTenantsOfUser("demo").size());
+
+      metricsRegistry.getMeterByName(Metrics.SECOND_LEVEL_CACHE_HIT).getAndClear();
+      assertEquals(1, findTenantsOfUser("demo").size());
+      assertEquals(1, metricsRegistry.getMeterByName(Metrics.SECOND_LEVEL_CACHE_HIT).get());
+
+      // when the user becomes member of a group of another tenant
+      identityService.saveGroup(identityService.newGroup("group"));
+      identityService.saveTenant(identityService.newTenant("tenant2"));
+      identityService.createTenantGroupMembership("tenant2", "group");
+      identityService.createMembership("demo", "group");
+
+      // then the cached memberships are not used any more
+      assertEquals(2, findTenantsOfUser("demo").size());
+    }
+    finally {
+      identityService.deleteUser("demo");
+      identityService.deleteGroup("group");
+      identityService.deleteTenant("tenant1");
+      identityService.deleteTenant("tenant2");
+    }
+  }
+
+  protected boolean isAuthorized(final String userId, final String processDefinitionKey) {
+    return processEngineConfiguration.getCommandExecutorTxRequired().execute(new Command<Boolean>() {
+      public Boolean execute(CommandContext commandContext) {
+        return commandContext.getAuthorizationManager()
+          .isAuthorized(userId, null, Permissions.READ, Resources.PROCESS_DEFINITION, processDefinitionKey);
+      }
+    });
+  }
+
+  protected List<Tenant> findTenantsOfUser(String userId) {
+    return identityService.createTenantQuery()
+      .userMember(userId)
+      .includingGroupsOfUser(true)
+      .list();
+  }
+
+  protected JobDefinitionEntity selectJobDefinition(final String jobDefinitionId) {
+    return processEngineConfiguration.getCommandExecutorTxRequired().execute(new Command<JobDefinitionEntity>() {
+      public JobDefinitionEntity execute(CommandContext commandContext) {
+        return commandContext.getJobDefinitionManager().findById(jobDefinitionId);
+      }
+    });
+  }
+
+  protected List<JobDefinitionEntity> selectJobDefinitionsByProcessDefinitionId(final String processDefinitionId) {
+    return processEngineConfiguration.getCommandExecutorTxRequired().execute(new Command<List<JobDefinitionEntity>>() {
+      public List<JobDefinitionEntity> execute(CommandContext commandContext) {
+        return commandContext.getJobDefinitionManager().findByProcessDefinitionId(processDefinitionId);
+      }
+    });
+  }
+
+}
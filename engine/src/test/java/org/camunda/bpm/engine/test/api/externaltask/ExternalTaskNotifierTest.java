@@ -0,0 +1,76 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.test.api.externaltask;
+
+import java.util.Arrays;
+import java.util.List;
+
+import org.camunda.bpm.engine.impl.externaltask.ExternalTaskNotifier;
+import org.camunda.bpm.engine.impl.test.PluggableProcessEngineTestCase;
+import org.camunda.bpm.engine.test.Deployment;
+
+public class ExternalTaskNotifierTest extends PluggableProcessEngineTestCase {
+
+  protected static final String TOPIC_NAME = "externalTaskTopic";
+
+  @Deployment(resources = "org/camunda/bpm/engine/test/api/externaltask/oneExternalTaskProcess.bpmn20.xml")
+  public void testNotifyOnExternalTaskCreation() throws InterruptedException {
+    // given
+    ExternalTaskNotifier externalTaskNotifier = processEngineConfiguration.getExternalTaskNotifier();
+    List<String> topicNames = Arrays.asList(TOPIC_NAME);
+    List<String> otherTopicNames = Arrays.asList("anotherTopic");
+
+    long notificationCount = externalTaskNotifier.getNotificationCount(topicNames);
+    long otherNotificationCount = externalTaskNotifier.getNotificationCount(otherTopicNames);
+
+    // when
+    runtimeService.startProcessInstanceByKey("oneExternalTaskProcess");
+
+    // then
+    assertEquals(notificationCount + 1, externalTaskNotifier.getNotificationCount(topicNames));
+    assertTrue(externalTaskNotifier.awaitNotification(topicNames, notificationCount, 0));
+
+    assertEquals(otherNotificationCount, externalTaskNotifier.getNotificationCount(otherTopicNames));
+    assertFalse(externalTaskNotifier.awaitNotification(otherTopicNames, otherNotificationCount, 10));
+  }
+
+  @Deployment(resources = "org/camunda/bpm/engine/test/api/externaltask/oneExternalTaskProcess.bpmn20.xml")
+  public void testWakeUpWaitingFetcher() throws InterruptedException {
+    // given
+    final ExternalTaskNotifier externalTaskNotifier = processEngineConfiguration.getExternalTaskNotifier();
+    final List<String> topicNames = Arrays.asList(TOPIC_NAME);
+    final long notificationCount = externalTaskNotifier.getNotificationCount(topicNames);
+    final boolean[] notified = new boolean[1];
+
+    Thread fetcher = new Thread() {
+      public void run() {
+        try {
+          notified[0] = externalTaskNotifier.awaitNotification(topicNames, notificationCount, 10000);
+        }
+        catch (InterruptedException e) {
+          // the fetcher has not been notified
+        }
+      }
+    };
+    fetcher.start();
+
+    // when
+    runtimeService.startProcessInstanceByKey("oneExternalTaskProcess");
+    fetcher.join(10000);
+
+    // then
+    assertFalse(fetcher.isAlive());
+    assertTrue(notified[0]);
+  }
+
+}
@@ -117,7 +117,7 @@ public class HistoricInstanceForCleanupQueryTest {
       public Void execute(CommandContext commandContext) {
 
         HistoricProcessInstanceManager historicProcessInstanceManager = commandContext.getHistoricProcessInstanceManager();
-        List<String> historicProcessInstanceIds = historicProcessInstanceManager.findHistoricProcessInstanceIdsForCleanup(7);
+        List<String> historicProcessInstanceIds = historicProcessInstanceManager.findHistoricProcessInstanceIdsForCleanup(7, 0, 59);
         assertEquals(3, historicProcessInstanceIds.size());
         HistoricProcessInstanceEntity historicProcessInstance1 = historicProcessInstanceManager.findHistoricProcessInstance(historicProcessInstanceIds.get(0));
         HistoricProcessInstanceEntity historicProcessInstance2 = historicProcessInstanceManager.findHistoricProcessInstance(historicProcessInstanceIds.get(1));
@@ -153,7 +153,7 @@ public class HistoricInstanceForCleanupQueryTest {
       public Void execute(CommandContext commandContext) {
 
         HistoricDecisionInstanceManager historicDecisionInstanceManager = commandContext.getHistoricDecisionInstanceManager();
-        List<String> historicDecisionInstanceIds = historicDecisionInstanceManager.findHistoricDecisionInstanceIdsForCleanup(7);
+        List<String> historicDecisionInstanceIds = historicDecisionInstanceManager.findHistoricDecisionInstanceIdsForCleanup(7, 0, 59);
         assertEquals(3, historicDecisionInstanceIds.size());
 
         HistoricDecisionInstanceEntity instance0 = historicDecisionInstanceManager.findHistoricDecisionInstance(historicDecisionInstanceIds.get(0));
@@ -189,7 +189,7 @@ public class HistoricInstanceForCleanupQueryTest {
       public Void execute(CommandContext commandContext) {
 
         HistoricCaseInstanceManager historicCaseInstanceManager = commandContext.getHistoricCaseInstanceManager();
-        List<String> historicCaseInstanceIds = historicCaseInstanceManager.findHistoricCaseInstanceIdsForCleanup(7);
+        List<String> historicCaseInstanceIds = historicCaseInstanceManager.findHistoricCaseInstanceIdsForCleanup(7, 0, 59);
         assertEquals(3, historicCaseInstanceIds.size());
         HistoricCaseInstanceEntity instance0 = historicCaseInstanceManager.findHistoricCaseInstance(historicCaseInstanceIds.get(0));
         HistoricCaseInstanceEntity instance1 = historicCaseInstanceManager.findHistoricCaseInstance(historicCaseInstanceIds.get(1));
@@ -233,7 +233,7 @@ public class HistoricInstanceForCleanupQueryTest {
       public Void execute(CommandContext commandContext) {
 
         HistoricBatchManager historicBatchManager = commandContext.getHistoricBatchManager();
-        List<String> ids = historicBatchManager.findHistoricBatchIdsForCleanup(7, batchOperationsMap);
+        List<String> ids = historicBatchManager.findHistoricBatchIdsForCleanup(7, batchOperationsMap, 0, 59);
         assertEquals(3, ids.size());
         HistoricBatchEntity instance0 = historicBatchManager.findHistoricBatchById(ids.get(0));
         HistoricBatchEntity instance1 = historicBatchManager.findHistoricBatchById(ids.get(1));
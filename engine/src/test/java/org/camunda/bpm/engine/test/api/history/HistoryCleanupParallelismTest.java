@@ -0,0 +1,229 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.test.api.history;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.util.Date;
+import java.util.List;
+
+import org.apache.commons.lang.time.DateUtils;
+import org.camunda.bpm.engine.HistoryService;
+import org.camunda.bpm.engine.ManagementService;
+import org.camunda.bpm.engine.ProcessEngineConfiguration;
+import org.camunda.bpm.engine.ProcessEngineException;
+import org.camunda.bpm.engine.RepositoryService;
+import org.camunda.bpm.engine.RuntimeService;
+import org.camunda.bpm.engine.TaskService;
+import org.camunda.bpm.engine.history.HistoricProcessInstance;
+import org.camunda.bpm.engine.impl.cfg.ProcessEngineConfigurationImpl;
+import org.camunda.bpm.engine.impl.interceptor.Command;
+import org.camunda.bpm.engine.impl.interceptor.CommandContext;
+import org.camunda.bpm.engine.impl.jobexecutor.historycleanup.HistoryCleanupJobHandlerConfiguration;
+import org.camunda.bpm.engine.impl.persistence.entity.JobEntity;
+import org.camunda.bpm.engine.impl.util.ClockUtil;
+import org.camunda.bpm.engine.impl.util.json.JSONObject;
+import org.camunda.bpm.engine.repository.ProcessDefinition;
+import org.camunda.bpm.engine.runtime.Job;
+import org.camunda.bpm.engine.test.RequiredHistoryLevel;
+import org.camunda.bpm.engine.test.util.ProcessEngineBootstrapRule;
+import org.camunda.bpm.engine.test.util.ProcessEngineTestRule;
+import org.camunda.bpm.engine.test.util.ProvidedProcessEngineRule;
+import org.camunda.bpm.model.bpmn.Bpmn;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.RuleChain;
+
+@RequiredHistoryLevel(ProcessEngineConfiguration.HISTORY_ACTIVITY)
+public class HistoryCleanupParallelismTest {
+
+  protected static final int HISTORY_TIME_TO_LIVE = 5;
+  protected static final int DEGREE_OF_PARALLELISM = 3;
+
+  protected ProcessEngineBootstrapRule bootstrapRule = new ProcessEngineBootstrapRule() {
+    @Override
+    public ProcessEngineConfiguration configureEngine(ProcessEngineConfigurationImpl configuration) {
+      return configuration.setHistoryCleanupDegreeOfParallelism(DEGREE_OF_PARALLELISM);
+    }
+  };
+
+  public ProvidedProcessEngineRule engineRule = new ProvidedProcessEngineRule(bootstrapRule);
+  public ProcessEngineTestRule testRule = new ProcessEngineTestRule(engineRule);
+
+  @Rule
+  public RuleChain ruleChain = RuleChain.outerRule(bootstrapRule).around(engineRule).around(testRule);
+
+  protected ProcessEngineConfigurationImpl processEngineConfiguration;
+  protected RuntimeService runtimeService;
+  protected TaskService taskService;
+  protected HistoryService historyService;
+  protected ManagementService managementService;
+  protected RepositoryService repositoryService;
+
+  protected Date now;
+
+  @Before
+  public void init() {
+    processEngineConfiguration = engineRule.getProcessEngineConfiguration();
+    runtimeService = engineRule.getRuntimeService();
+    taskService = engineRule.getTaskService();
+    historyService = engineRule.getHistoryService();
+    managementService = engineRule.getManagementService();
+    repositoryService = engineRule.getRepositoryService();
+
+    ProcessDefinition processDefinition = testRule.deployAndGetDefinition(Bpmn.createExecutableProcess("process")
+      .startEvent()
+      .userTask()
+      .endEvent()
+      .done());
+    repositoryService.updateProcessDefinitionHistoryTimeToLive(processDefinition.getId(), HISTORY_TIME_TO_LIVE);
+
+    now = DateUtils.setMilliseconds(DateUtils.setSeconds(new Date(), 0), 0);
+  }
+
+  @After
+  public void cleanUp() {
+    ClockUtil.reset();
+    processEngineConfiguration.setHistoryCleanupDegreeOfParallelism(DEGREE_OF_PARALLELISM);
+    processEngineConfiguration.setHistoryCleanupStrategy(ProcessEngineConfigurationImpl.HISTORY_CLEANUP_STRATEGY_END_TIME_BASED);
+
+    processEngineConfiguration.getCommandExecutorTxRequired().execute(new Command<Void>() {
+      public Void execute(CommandContext commandContext) {
+        List<Job> jobs = managementService.createJobQuery().list();
+        for (Job job : jobs) {
+          commandContext.getJobManager().deleteJob((JobEntity) job);
+          commandContext.getHistoricJobLogManager().deleteHistoricJobLogByJobId(job.getId());
+        }
+        return null;
+      }
+    });
+
+    for (HistoricProcessInstance historicProcessInstance : historyService.createHistoricProcessInstanceQuery().list()) {
+      historyService.deleteHistoricProcessInstance(historicProcessInstance.getId());
+    }
+  }
+
+  @Test
+  public void testCreateJobPerDegreeOfParallelism() {
+    // when
+    historyService.cleanUpHistoryAsync(true);
+
+    // then every job cleans up its own range of minutes
+    List<Job> historyCleanupJobs = historyService.findHistoryCleanupJobs();
+    assertEquals(DEGREE_OF_PARALLELISM, historyCleanupJobs.size());
+
+    boolean[] coveredMinutes = new boolean[60];
+    for (Job historyCleanupJob : historyCleanupJobs) {
+      HistoryCleanupJobHandlerConfiguration configuration = getConfiguration(historyCleanupJob);
+      for (int minute = configuration.getMinuteFrom(); minute <= configuration.getMinuteTo(); minute++) {
+        assertTrue("minute " + minute + " is covered twice", !coveredMinutes[minute]);
+        coveredMinutes[minute] = true;
+      }
+    }
+    for (int minute = 0; minute < 60; minute++) {
+      assertTrue("minute " + minute + " is not covered", coveredMinutes[minute]);
+    }
+  }
+
+  @Test
+  public void testReduceDegreeOfParallelism() {
+    // given
+    historyService.cleanUpHistoryAsync(true);
+
+    // when
+    processEngineConfiguration.setHistoryCleanupDegreeOfParallelism(1);
+    historyService.cleanUpHistoryAsync(true);
+
+    // then
+    List<Job> historyCleanupJobs = historyService.findHistoryCleanupJobs();
+    assertEquals(1, historyCleanupJobs.size());
+
+    HistoryCleanupJobHandlerConfiguration configuration = getConfiguration(historyCleanupJobs.get(0));
+    assertEquals(0, configuration.getMinuteFrom());
+    assertEquals(59, configuration.getMinuteTo());
+  }
+
+  @Test
+  public void testCleanupDisjointSlicesByEndTime() {
+    testCleanupDisjointSlices();
+  }
+
+  @Test
+  public void testCleanupDisjointSlicesByRemovalTime() {
+    processEngineConfiguration.setHistoryCleanupStrategy(ProcessEngineConfigurationImpl.HISTORY_CLEANUP_STRATEGY_REMOVAL_TIME_BASED);
+    testCleanupDisjointSlices();
+  }
+
+  @Test
+  public void testInvalidDegreeOfParallelism() {
+    processEngineConfiguration.setHistoryCleanupDegreeOfParallelism(0);
+    try {
+      processEngineConfiguration.initHistoryCleanup();
+      fail("exception expected");
+    }
+    catch (ProcessEngineException e) {
+      assertTrue(e.getMessage().contains("historyCleanupDegreeOfParallelism"));
+    }
+  }
+
+  protected void testCleanupDisjointSlices() {
+    // given a process instance which ended at minute 10 and one which ended at minute 50
+    String firstProcessInstanceId = runProcessInstanceEndingAt(DateUtils.setMinutes(now, 10));
+    String secondProcessInstanceId = runProcessInstanceEndingAt(DateUtils.setMinutes(now, 50));
+
+    ClockUtil.setCurrentTime(DateUtils.addDays(now, HISTORY_TIME_TO_LIVE + 1));
+    historyService.cleanUpHistoryAsync(true);
+
+    // when
+    managementService.executeJob(findHistoryCleanupJobForMinute(10).getId());
+
+    // then only the history of the first slice is removed
+    assertEquals(0, historyService.createHistoricProcessInstanceQuery().processInstanceId(firstProcessInstanceId).count());
+    assertEquals(1, historyService.createHistoricProcessInstanceQuery().processInstanceId(secondProcessInstanceId).count());
+
+    // when
+    managementService.executeJob(findHistoryCleanupJobForMinute(50).getId());
+
+    // then
+    assertEquals(0, historyService.createHistoricProcessInstanceQuery().count());
+    assertEquals(0, historyService.createHistoricActivityInstanceQuery().count());
+  }
+
+  protected String runProcessInstanceEndingAt(Date endTime) {
+    ClockUtil.setCurrentTime(endTime);
+    String processInstanceId = runtimeService.startProcessInstanceByKey("process").getId();
+    String taskId = taskService.createTaskQuery().processInstanceId(processInstanceId).singleResult().getId();
+    taskService.complete(taskId);
+    return processInstanceId;
+  }
+
+  protected Job findHistoryCleanupJobForMinute(int minute) {
+    for (Job historyCleanupJob : historyService.findHistoryCleanupJobs()) {
+      HistoryCleanupJobHandlerConfiguration configuration = getConfiguration(historyCleanupJob);
+      if (configuration.getMinuteFrom() <= minute && minute <= configuration.getMinuteTo()) {
+        return historyCleanupJob;
+      }
+    }
+    throw new IllegalStateException("no history cleanup job for minute " + minute);
+  }
+
+  protected HistoryCleanupJobHandlerConfiguration getConfiguration(Job job) {
+    String jobHandlerConfigurationRaw = ((JobEntity) job).getJobHandlerConfigurationRaw();
+    return HistoryCleanupJobHandlerConfiguration.fromJson(new JSONObject(jobHandlerConfigurationRaw));
+  }
+
+}
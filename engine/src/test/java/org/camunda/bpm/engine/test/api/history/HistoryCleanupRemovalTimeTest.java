@@ -0,0 +1,236 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.test.api.history;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+
+import java.util.Date;
+import java.util.List;
+
+import org.apache.commons.lang.time.DateUtils;
+import org.camunda.bpm.engine.HistoryService;
+import org.camunda.bpm.engine.ManagementService;
+import org.camunda.bpm.engine.ProcessEngineConfiguration;
+import org.camunda.bpm.engine.RepositoryService;
+import org.camunda.bpm.engine.RuntimeService;
+import org.camunda.bpm.engine.TaskService;
+import org.camunda.bpm.engine.history.HistoricProcessInstance;
+import org.camunda.bpm.engine.impl.cfg.ProcessEngineConfigurationImpl;
+import org.camunda.bpm.engine.impl.history.event.HistoricProcessInstanceEventEntity;
+import org.camunda.bpm.engine.impl.interceptor.Command;
+import org.camunda.bpm.engine.impl.interceptor.CommandContext;
+import org.camunda.bpm.engine.impl.metrics.sql.SqlStatementMetrics;
+import org.camunda.bpm.engine.impl.persistence.entity.JobEntity;
+import org.camunda.bpm.engine.impl.util.ClockUtil;
+import org.camunda.bpm.engine.repository.ProcessDefinition;
+import org.camunda.bpm.engine.runtime.Job;
+import org.camunda.bpm.engine.test.RequiredHistoryLevel;
+import org.camunda.bpm.engine.test.util.ProcessEngineBootstrapRule;
+import org.camunda.bpm.engine.test.util.ProcessEngineTestRule;
+import org.camunda.bpm.engine.test.util.ProvidedProcessEngineRule;
+import org.camunda.bpm.engine.variable.Variables;
+import org.camunda.bpm.model.bpmn.Bpmn;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.RuleChain;
+
+@RequiredHistoryLevel(ProcessEngineConfiguration.HISTORY_FULL)
+public class HistoryCleanupRemovalTimeTest {
+
+  protected static final int HISTORY_TIME_TO_LIVE = 5;
+
+  protected ProcessEngineBootstrapRule bootstrapRule = new ProcessEngineBootstrapRule() {
+    @Override
+    public ProcessEngineConfiguration configureEngine(ProcessEngineConfigurationImpl configuration) {
+      return configuration
+        .setHistoryCleanupStrategy(ProcessEngineConfigurationImpl.HISTORY_CLEANUP_STRATEGY_REMOVAL_TIME_BASED)
+        .setSqlStatementMetricsEnabled(true);
+    }
+  };
+
+  public ProvidedProcessEngineRule engineRule = new ProvidedProcessEngineRule(bootstrapRule);
+  public ProcessEngineTestRule testRule = new ProcessEngineTestRule(engineRule);
+
+  @Rule
+  public RuleChain ruleChain = RuleChain.outerRule(bootstrapRule).around(engineRule).around(testRule);
+
+  protected ProcessEngineConfigurationImpl processEngineConfiguration;
+  protected RuntimeService runtimeService;
+  protected TaskService taskService;
+  protected HistoryService historyService;
+  protected ManagementService managementService;
+  protected RepositoryService repositoryService;
+  protected SqlStatementMetrics sqlStatementMetrics;
+
+  protected Date endTime;
+
+  @Before
+  public void init() {
+    processEngineConfiguration = engineRule.getProcessEngineConfiguration();
+    runtimeService = engineRule.getRuntimeService();
+    taskService = engineRule.getTaskService();
+    historyService = engineRule.getHistoryService();
+    managementService = engineRule.getManagementService();
+    repositoryService = engineRule.getRepositoryService();
+    sqlStatementMetrics = processEngineConfiguration.getSqlStatementMetrics();
+
+    ProcessDefinition processDefinition = testRule.deployAndGetDefinition(Bpmn.createExecutableProcess("process")
+      .startEvent()
+      .userTask()
+        .camundaAssignee("demo")
+      .endEvent()
+      .done());
+    repositoryService.updateProcessDefinitionHistoryTimeToLive(processDefinition.getId(), HISTORY_TIME_TO_LIVE);
+
+    endTime = DateUtils.setMilliseconds(new Date(), 0);
+    ClockUtil.setCurrentTime(endTime);
+  }
+
+  @After
+  public void cleanUp() {
+    ClockUtil.reset();
+
+    processEngineConfiguration.getCommandExecutorTxRequired().execute(new Command<Void>() {
+      public Void execute(CommandContext commandContext) {
+        List<Job> jobs = managementService.createJobQuery().list();
+        for (Job job : jobs) {
+          commandContext.getJobManager().deleteJob((JobEntity) job);
+          commandContext.getHistoricJobLogManager().deleteHistoricJobLogByJobId(job.getId());
+        }
+        return null;
+      }
+    });
+
+    for (HistoricProcessInstance historicProcessInstance : historyService.createHistoricProcessInstanceQuery().list()) {
+      historyService.deleteHistoricProcessInstance(historicProcessInstance.getId());
+    }
+  }
+
+  @Test
+  public void testStampRemovalTimeOnEnd() {
+    // given
+    String processInstanceId = startProcessInstance();
+
+    // when
+    completeProcessInstance(processInstanceId);
+
+    // then
+    Date removalTime = getRemovalTime(processInstanceId);
+    assertEquals(DateUtils.addDays(endTime, HISTORY_TIME_TO_LIVE), removalTime);
+  }
+
+  @Test
+  public void testNoRemovalTimeWithoutHistoryTimeToLive() {
+    // given
+    String processInstanceId = startProcessInstance();
+    repositoryService.updateProcessDefinitionHistoryTimeToLive(getProcessDefinitionId(processInstanceId), null);
+
+    // when
+    completeProcessInstance(processInstanceId);
+
+    // then
+    assertNull(getRemovalTime(processInstanceId));
+  }
+
+  @Test
+  public void testCleanupByRemovalTime() {
+    // given
+    String processInstanceId = startProcessInstance();
+    completeProcessInstance(processInstanceId);
+    sqlStatementMetrics.reset();
+
+    // when
+    ClockUtil.setCurrentTime(DateUtils.addDays(endTime, HISTORY_TIME_TO_LIVE + 1));
+    runHistoryCleanup();
+
+    // then the history was deleted by removal time and not by process instance ids
+    assertEquals(0, historyService.createHistoricProcessInstanceQuery().count());
+    assertEquals(0, historyService.createHistoricActivityInstanceQuery().count());
+    assertEquals(0, historyService.createHistoricTaskInstanceQuery().count());
+    assertEquals(0, historyService.createHistoricVariableInstanceQuery().count());
+    assertEquals(0, historyService.createHistoricDetailQuery().count());
+    assertEquals(0, historyService.createHistoricIdentityLinkLogQuery().count());
+
+    assertNotNull(sqlStatementMetrics.getStatistics("deleteHistoricProcessInstancesByRemovalTime"));
+    assertNull(sqlStatementMetrics.getStatistics("deleteHistoricProcessInstances"));
+  }
+
+  @Test
+  public void testKeepHistoryBeforeRemovalTime() {
+    // given
+    String processInstanceId = startProcessInstance();
+    completeProcessInstance(processInstanceId);
+
+    // when
+    ClockUtil.setCurrentTime(DateUtils.addDays(endTime, HISTORY_TIME_TO_LIVE - 1));
+    runHistoryCleanup();
+
+    // then
+    assertEquals(1, historyService.createHistoricProcessInstanceQuery().count());
+    assertEquals(1, historyService.createHistoricTaskInstanceQuery().count());
+    assertEquals(1, historyService.createHistoricVariableInstanceQuery().count());
+  }
+
+  @Test
+  public void testCleanupCommentsAddedAfterEnd() {
+    // given
+    String processInstanceId = startProcessInstance();
+    String taskId = taskService.createTaskQuery().processInstanceId(processInstanceId).singleResult().getId();
+    completeProcessInstance(processInstanceId);
+
+    taskService.createComment(null, processInstanceId, "process instance comment");
+    taskService.createComment(taskId, null, "task comment");
+
+    // when
+    ClockUtil.setCurrentTime(DateUtils.addDays(endTime, HISTORY_TIME_TO_LIVE + 1));
+    runHistoryCleanup();
+
+    // then the comments were removed with the history of the process instance
+    assertEquals(0, historyService.createHistoricProcessInstanceQuery().count());
+    assertEquals(0, taskService.getProcessInstanceComments(processInstanceId).size());
+    assertEquals(0, taskService.getTaskComments(taskId).size());
+  }
+
+  protected String startProcessInstance() {
+    return runtimeService.startProcessInstanceByKey("process", Variables.createVariables().putValue("foo", "bar")).getId();
+  }
+
+  protected void completeProcessInstance(String processInstanceId) {
+    String taskId = taskService.createTaskQuery().processInstanceId(processInstanceId).singleResult().getId();
+    taskService.complete(taskId);
+  }
+
+  protected String getProcessDefinitionId(String processInstanceId) {
+    return historyService.createHistoricProcessInstanceQuery().processInstanceId(processInstanceId).singleResult().getProcessDefinitionId();
+  }
+
+  protected void runHistoryCleanup() {
+    String jobId = historyService.cleanUpHistoryAsync(true).getId();
+    managementService.executeJob(jobId);
+  }
+
+  protected Date getRemovalTime(final String processInstanceId) {
+    return processEngineConfiguration.getCommandExecutorTxRequired().execute(new Command<Date>() {
+      public Date execute(CommandContext commandContext) {
+        HistoricProcessInstanceEventEntity historicProcessInstance = commandContext.getHistoricProcessInstanceManager()
+            .findHistoricProcessInstance(processInstanceId);
+        return historicProcessInstance.getRemovalTime();
+      }
+    });
+  }
+
+}
@@ -0,0 +1,224 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.test.api.mgmt.metrics;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+
+import java.util.Date;
+import java.util.List;
+
+import org.camunda.bpm.engine.ManagementService;
+import org.camunda.bpm.engine.ProcessEngineConfiguration;
+import org.camunda.bpm.engine.impl.cfg.ProcessEngineConfigurationImpl;
+import org.camunda.bpm.engine.impl.metrics.reporter.DbMetricsReporter;
+import org.camunda.bpm.engine.impl.metrics.reporter.MetricsRollupTask;
+import org.camunda.bpm.engine.impl.util.ClockUtil;
+import org.camunda.bpm.engine.management.MetricIntervalValue;
+import org.camunda.bpm.engine.test.util.ProcessEngineBootstrapRule;
+import org.camunda.bpm.engine.test.util.ProcessEngineTestRule;
+import org.camunda.bpm.engine.test.util.ProvidedProcessEngineRule;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.RuleChain;
+
+public class MetricsRollupTest {
+
+  protected static final String METRIC = "rollup-test-metric";
+  protected static final long MINUTE = 60 * 1000L;
+  protected static final long DAY = 24 * 60 * MINUTE;
+
+  protected ProcessEngineBootstrapRule bootstrapRule = new ProcessEngineBootstrapRule() {
+    @Override
+    public ProcessEngineConfiguration configureEngine(ProcessEngineConfigurationImpl configuration) {
+      return configuration.setMetricsRollupEnabled(true);
+    }
+  };
+
+  public ProvidedProcessEngineRule engineRule = new ProvidedProcessEngineRule(bootstrapRule);
+  public ProcessEngineTestRule testRule = new ProcessEngineTestRule(engineRule);
+
+  @Rule
+  public RuleChain ruleChain = RuleChain.outerRule(bootstrapRule).around(engineRule).around(testRule);
+
+  protected ProcessEngineConfigurationImpl processEngineConfiguration;
+  protected ManagementService managementService;
+  protected DbMetricsReporter dbMetricsReporter;
+
+  // a day boundary, so that all buckets are aligned
+  protected long now = 17500 * DAY;
+
+  @Before
+  public void init() {
+    processEngineConfiguration = engineRule.getProcessEngineConfiguration();
+    managementService = engineRule.getManagementService();
+    dbMetricsReporter = processEngineConfiguration.getDbMetricsReporter();
+  }
+
+  @After
+  public void cleanUp() {
+    ClockUtil.reset();
+    managementService.deleteMetrics(null);
+  }
+
+  @Test
+  public void testCreateRollupTask() {
+    MetricsRollupTask metricsRollupTask = dbMetricsReporter.getMetricsRollupTask();
+    assertNotNull(metricsRollupTask);
+  }
+
+  @Test
+  public void testRollupIntoQuarterHours() {
+    // given four reports two days ago, three of them in the same quarter hour
+    long start = now - 2 * DAY;
+    report(start, 1);
+    report(start + 5 * MINUTE, 2);
+    report(start + 10 * MINUTE, 3);
+    report(start + 20 * MINUTE, 4);
+
+    // when
+    rollup(new MetricsRollupTask(processEngineConfiguration.getCommandExecutorTxRequired(), 1, 7, 90, 0));
+
+    // then the total is unchanged
+    assertEquals(10, managementService.createMetricsQuery().name(METRIC).sum());
+
+    // and the reports are aggregated per quarter hour
+    List<MetricIntervalValue> intervals = managementService.createMetricsQuery().name(METRIC).interval(15 * 60);
+    assertEquals(2, intervals.size());
+    assertEquals(start + 15 * MINUTE, intervals.get(0).getTimestamp().getTime());
+    assertEquals(4, intervals.get(0).getValue());
+    assertEquals(start, intervals.get(1).getTimestamp().getTime());
+    assertEquals(6, intervals.get(1).getValue());
+  }
+
+  @Test
+  public void testKeepRecentReports() {
+    // given
+    long start = now - 2 * 60 * MINUTE;
+    report(start, 1);
+    report(start + 5 * MINUTE, 2);
+
+    // when
+    rollup(new MetricsRollupTask(processEngineConfiguration.getCommandExecutorTxRequired(), 1, 7, 90, 0));
+
+    // then the reports are read instead of their rollups
+    List<MetricIntervalValue> intervals = managementService.createMetricsQuery().name(METRIC).interval(5 * 60);
+    assertEquals(2, intervals.size());
+    assertEquals(2, intervals.get(0).getValue());
+    assertEquals(1, intervals.get(1).getValue());
+    assertEquals(3, managementService.createMetricsQuery().name(METRIC).interval(60 * 60).get(0).getValue());
+    assertEquals(3, managementService.createMetricsQuery().name(METRIC).sum());
+  }
+
+  @Test
+  public void testReportRollupInIntervalOfBucketStart() {
+    // given reports which are only kept as quarter hours
+    long start = now - 2 * DAY;
+    report(start, 1);
+    report(start + 5 * MINUTE, 2);
+    rollup(new MetricsRollupTask(processEngineConfiguration.getCommandExecutorTxRequired(), 1, 7, 90, 0));
+
+    // when
+    List<MetricIntervalValue> intervals = managementService.createMetricsQuery().name(METRIC).interval(5 * 60);
+
+    // then the quarter hour is reported in the interval of its start
+    assertEquals(1, intervals.size());
+    assertEquals(start, intervals.get(0).getTimestamp().getTime());
+    assertEquals(3, intervals.get(0).getValue());
+  }
+
+  @Test
+  public void testSumCoveringBucketsOfRollup() {
+    // given
+    long start = now - 2 * DAY;
+    report(start, 1);
+    report(start + 5 * MINUTE, 2);
+    report(start + 20 * MINUTE, 4);
+    rollup(new MetricsRollupTask(processEngineConfiguration.getCommandExecutorTxRequired(), 1, 7, 90, 0));
+
+    // when the dates lie within the quarter hours
+    long sum = managementService.createMetricsQuery()
+      .name(METRIC)
+      .startDate(new Date(start + 5 * MINUTE))
+      .endDate(new Date(start + 20 * MINUTE))
+      .sum();
+
+    // then both quarter hours are counted completely
+    assertEquals(7, sum);
+    assertEquals(3, managementService.createMetricsQuery().name(METRIC).startDate(new Date(start)).endDate(new Date(start + 15 * MINUTE)).sum());
+  }
+
+  @Test
+  public void testReadAllEntriesIfRollupDisabled() {
+    // given reports next to their rollups
+    long start = now - 2 * 60 * MINUTE;
+    report(start, 1);
+    rollup(new MetricsRollupTask(processEngineConfiguration.getCommandExecutorTxRequired(), 1, 7, 90, 0));
+
+    // when
+    processEngineConfiguration.setMetricsRollupEnabled(false);
+    try {
+      // then the entries are not filtered by their granularity: the report, its quarter hour and its hour
+      assertEquals(3, managementService.createMetricsQuery().name(METRIC).sum());
+    }
+    finally {
+      processEngineConfiguration.setMetricsRollupEnabled(true);
+    }
+  }
+
+  @Test
+  public void testRollupIntoDays() {
+    // given reports of two days, 100 days ago
+    long start = now - 100 * DAY;
+    report(start + 60 * MINUTE, 1);
+    report(start + 600 * MINUTE, 2);
+    report(start + DAY + 30 * MINUTE, 3);
+
+    // when
+    rollup(new MetricsRollupTask(processEngineConfiguration.getCommandExecutorTxRequired(), 1, 7, 90, 0));
+
+    // then
+    List<MetricIntervalValue> intervals = managementService.createMetricsQuery().name(METRIC).interval(24 * 60 * 60);
+    assertEquals(2, intervals.size());
+    assertEquals(start + DAY, intervals.get(0).getTimestamp().getTime());
+    assertEquals(3, intervals.get(0).getValue());
+    assertEquals(start, intervals.get(1).getTimestamp().getTime());
+    assertEquals(3, intervals.get(1).getValue());
+  }
+
+  @Test
+  public void testDeleteDaysAfterRetention() {
+    // given
+    report(now - 100 * DAY, 1);
+    report(now - 10 * DAY, 2);
+
+    // when
+    rollup(new MetricsRollupTask(processEngineConfiguration.getCommandExecutorTxRequired(), 1, 7, 9, 30));
+
+    // then
+    assertEquals(2, managementService.createMetricsQuery().name(METRIC).sum());
+  }
+
+  protected void report(long timestamp, long value) {
+    ClockUtil.setCurrentTime(new Date(timestamp));
+    dbMetricsReporter.reportValueAtOnce(METRIC, value);
+  }
+
+  protected void rollup(MetricsRollupTask metricsRollupTask) {
+    ClockUtil.setCurrentTime(new Date(now));
+    metricsRollupTask.rollupAndCleanup();
+  }
+
+}
@@ -0,0 +1,146 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.test.api.mgmt.metrics;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.camunda.bpm.engine.RuntimeService;
+import org.camunda.bpm.engine.impl.cfg.ProcessEngineConfigurationImpl;
+import org.camunda.bpm.engine.impl.metrics.Histogram;
+import org.camunda.bpm.engine.impl.metrics.HistogramSnapshot;
+import org.camunda.bpm.engine.impl.metrics.Meter;
+import org.camunda.bpm.engine.impl.metrics.MetricsRegistry;
+import org.camunda.bpm.engine.impl.metrics.Timer;
+import org.camunda.bpm.engine.management.Metrics;
+import org.camunda.bpm.engine.test.ProcessEngineRule;
+import org.camunda.bpm.engine.test.util.ProcessEngineTestRule;
+import org.camunda.bpm.engine.test.util.ProvidedProcessEngineRule;
+import org.camunda.bpm.model.bpmn.Bpmn;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.RuleChain;
+
+public class MetricsTimerTest {
+
+  protected ProcessEngineRule engineRule = new ProvidedProcessEngineRule();
+  protected ProcessEngineTestRule testRule = new ProcessEngineTestRule(engineRule);
+
+  @Rule
+  public RuleChain ruleChain = RuleChain.outerRule(engineRule).around(testRule);
+
+  protected ProcessEngineConfigurationImpl processEngineConfiguration;
+  protected RuntimeService runtimeService;
+  protected MetricsRegistry metricsRegistry;
+
+  @Before
+  public void init() {
+    processEngineConfiguration = engineRule.getProcessEngineConfiguration();
+    runtimeService = engineRule.getRuntimeService();
+    metricsRegistry = processEngineConfiguration.getMetricsRegistry();
+
+    testRule.deploy(Bpmn.createExecutableProcess("process")
+      .startEvent()
+      .serviceTask()
+        .camundaExpression("${true}")
+      .userTask()
+      .endEvent()
+      .done());
+
+    for (Timer timer : metricsRegistry.getTimers().values()) {
+      timer.reset();
+    }
+    for (Histogram histogram : metricsRegistry.getHistograms().values()) {
+      histogram.reset();
+    }
+  }
+
+  @Test
+  public void testRecordActivityInstanceDuration() {
+    // when
+    runtimeService.startProcessInstanceByKey("process");
+
+    // then the activities completed within the command are measured, the waiting user task is not
+    HistogramSnapshot snapshot = metricsRegistry.getTimerByName(Metrics.ACTIVITY_INSTANCE_DURATION).snapshot();
+    assertTrue(snapshot.getCount() > 0);
+    assertTrue(snapshot.getCount() <= 2);
+  }
+
+  @Test
+  public void testRecordCommandLatency() {
+    // when
+    runtimeService.startProcessInstanceByKey("process");
+
+    // then
+    HistogramSnapshot snapshot = metricsRegistry.getTimerByName(Metrics.COMMAND_LATENCY).snapshot();
+    assertTrue(snapshot.getCount() >= 1);
+    assertTrue(snapshot.getPercentile(99) <= snapshot.getMax());
+  }
+
+  @Test
+  public void testHistogramPercentiles() {
+    // given
+    Histogram histogram = new Histogram("test");
+
+    // when
+    for (int i = 1; i <= 100; i++) {
+      histogram.record(i);
+    }
+
+    // then
+    HistogramSnapshot snapshot = histogram.snapshot();
+    assertEquals(100, snapshot.getCount());
+    assertEquals(5050, snapshot.getSum());
+    assertEquals(100, snapshot.getMax());
+    assertEquals(50.5, snapshot.getMean(), 0.0);
+    // the values 33 to 64 are counted in the bucket with the upper bound 64
+    assertEquals(64, snapshot.getPercentile(50));
+    assertEquals(100, snapshot.getPercentile(99));
+    // the bucket of the value 1 counts values smaller than 2
+    assertEquals(2, snapshot.getPercentile(1));
+  }
+
+  @Test
+  public void testCountConcurrentMarks() throws Exception {
+    // given
+    final Meter meter = new Meter("test");
+    List<Thread> threads = new ArrayList<Thread>();
+    for (int i = 0; i < 8; i++) {
+      threads.add(new Thread() {
+        public void run() {
+          for (int j = 0; j < 1000; j++) {
+            meter.mark();
+          }
+        }
+      });
+    }
+
+    // when
+    for (Thread thread : threads) {
+      thread.start();
+    }
+    for (Thread thread : threads) {
+      thread.join();
+    }
+
+    // then
+    assertEquals(8000, meter.get());
+    assertEquals(8000, meter.getAndClear());
+    assertEquals(0, meter.get());
+  }
+
+}
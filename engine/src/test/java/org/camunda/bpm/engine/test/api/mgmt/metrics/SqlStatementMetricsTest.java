@@ -0,0 +1,143 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.test.api.mgmt.metrics;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.lang.management.ManagementFactory;
+
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+import org.camunda.bpm.engine.ProcessEngineConfiguration;
+import org.camunda.bpm.engine.RuntimeService;
+import org.camunda.bpm.engine.impl.cfg.ProcessEngineConfigurationImpl;
+import org.camunda.bpm.engine.impl.metrics.sql.SqlStatementMetrics;
+import org.camunda.bpm.engine.impl.metrics.sql.SqlStatementStatistics;
+import org.camunda.bpm.engine.test.util.ProcessEngineBootstrapRule;
+import org.camunda.bpm.engine.test.util.ProcessEngineTestRule;
+import org.camunda.bpm.engine.test.util.ProvidedProcessEngineRule;
+import org.camunda.bpm.model.bpmn.Bpmn;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.RuleChain;
+
+public class SqlStatementMetricsTest {
+
+  protected ProcessEngineBootstrapRule bootstrapRule = new ProcessEngineBootstrapRule() {
+    @Override
+    public ProcessEngineConfiguration configureEngine(ProcessEngineConfigurationImpl configuration) {
+      return configuration
+        .setSqlStatementMetricsEnabled(true)
+        .setSqlStatementMetricsJmxEnabled(true);
+    }
+  };
+
+  public ProvidedProcessEngineRule engineRule = new ProvidedProcessEngineRule(bootstrapRule);
+  public ProcessEngineTestRule testRule = new ProcessEngineTestRule(engineRule);
+
+  @Rule
+  public RuleChain ruleChain = RuleChain.outerRule(bootstrapRule).around(engineRule).around(testRule);
+
+  protected ProcessEngineConfigurationImpl processEngineConfiguration;
+  protected RuntimeService runtimeService;
+  protected SqlStatementMetrics sqlStatementMetrics;
+
+  @Before
+  public void init() {
+    processEngineConfiguration = engineRule.getProcessEngineConfiguration();
+    runtimeService = engineRule.getRuntimeService();
+    sqlStatementMetrics = processEngineConfiguration.getSqlStatementMetrics();
+
+    testRule.deploy(Bpmn.createExecutableProcess("process")
+      .startEvent()
+      .userTask()
+      .endEvent()
+      .done());
+
+    sqlStatementMetrics.reset();
+  }
+
+  @Test
+  public void testRecordInserts() {
+    // when
+    runtimeService.startProcessInstanceByKey("process");
+    runtimeService.startProcessInstanceByKey("process");
+
+    // then
+    SqlStatementStatistics statistics = sqlStatementMetrics.getStatistics("insertExecution");
+    assertNotNull(statistics);
+    assertEquals(2, statistics.getRows());
+
+    if (processEngineConfiguration.isJdbcBatchProcessing()) {
+      assertEquals(2, statistics.getBatches());
+      assertEquals(1.0, statistics.getAverageBatchSize(), 0.0);
+    }
+    else {
+      assertEquals(2, statistics.getExecutions());
+    }
+  }
+
+  @Test
+  public void testRecordSelects() {
+    // given
+    runtimeService.startProcessInstanceByKey("process");
+    runtimeService.startProcessInstanceByKey("process");
+
+    // when
+    runtimeService.createProcessInstanceQuery().list();
+
+    // then
+    SqlStatementStatistics statistics = sqlStatementMetrics.getStatistics("selectProcessInstanceByQueryCriteria");
+    assertNotNull(statistics);
+    assertEquals(1, statistics.getExecutions());
+    assertEquals(2, statistics.getRows());
+    assertEquals(0, statistics.getBatches());
+
+    long histogramCount = 0;
+    for (long bucketCount : statistics.getLatencyHistogram()) {
+      histogramCount += bucketCount;
+    }
+    assertEquals(1, histogramCount);
+    assertTrue(statistics.getMaxNanos() > 0);
+    assertTrue(statistics.getLatencyPercentileMicros(99) * 1000 >= statistics.getMaxNanos());
+  }
+
+  @Test
+  public void testExportThroughMetricsRegistry() {
+    assertSame(sqlStatementMetrics, processEngineConfiguration.getMetricsRegistry().getSqlStatementMetrics());
+  }
+
+  @Test
+  public void testExportThroughJmx() throws Exception {
+    // given
+    runtimeService.createProcessInstanceQuery().list();
+
+    // when
+    MBeanServer mBeanServer = ManagementFactory.getPlatformMBeanServer();
+    ObjectName objectName = new ObjectName(SqlStatementMetrics.OBJECT_NAME_PREFIX
+        + ObjectName.quote(processEngineConfiguration.getProcessEngineName()));
+
+    // then
+    assertTrue(mBeanServer.isRegistered(objectName));
+
+    Object executionCount = mBeanServer.invoke(objectName, "getExecutionCount",
+        new Object[] { "selectProcessInstanceByQueryCriteria" }, new String[] { String.class.getName() });
+    assertEquals(1L, executionCount);
+  }
+
+}
@@ -0,0 +1,191 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.test.api.repository;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+
+import org.camunda.bpm.engine.ProcessEngineConfiguration;
+import org.camunda.bpm.engine.RepositoryService;
+import org.camunda.bpm.engine.RuntimeService;
+import org.camunda.bpm.engine.impl.bpmn.deployer.BpmnDeployer;
+import org.camunda.bpm.engine.impl.bpmn.parser.BpmnParser;
+import org.camunda.bpm.engine.impl.cfg.ProcessEngineConfigurationImpl;
+import org.camunda.bpm.engine.impl.interceptor.Command;
+import org.camunda.bpm.engine.impl.interceptor.CommandContext;
+import org.camunda.bpm.engine.impl.persistence.deploy.cache.DeploymentCache;
+import org.camunda.bpm.engine.impl.persistence.entity.ByteArrayEntity;
+import org.camunda.bpm.engine.impl.persistence.entity.ResourceEntity;
+import org.camunda.bpm.engine.impl.util.ReflectUtil;
+import org.camunda.bpm.engine.impl.util.xml.Element;
+import org.camunda.bpm.engine.impl.util.xml.ElementSnapshot;
+import org.camunda.bpm.engine.impl.util.xml.Parse;
+import org.camunda.bpm.engine.impl.util.xml.Parser;
+import org.camunda.bpm.engine.repository.ProcessDefinition;
+import org.camunda.bpm.engine.test.util.ProcessEngineBootstrapRule;
+import org.camunda.bpm.engine.test.util.ProcessEngineTestRule;
+import org.camunda.bpm.engine.test.util.ProvidedProcessEngineRule;
+import org.camunda.bpm.model.bpmn.Bpmn;
+import org.camunda.bpm.model.bpmn.BpmnModelInstance;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.RuleChain;
+
+public class BpmnParseSnapshotTest {
+
+  protected ProcessEngineBootstrapRule bootstrapRule = new ProcessEngineBootstrapRule() {
+    @Override
+    public ProcessEngineConfiguration configureEngine(ProcessEngineConfigurationImpl configuration) {
+      return configuration.setBpmnParseSnapshotsEnabled(true);
+    }
+  };
+
+  public ProvidedProcessEngineRule engineRule = new ProvidedProcessEngineRule(bootstrapRule);
+  public ProcessEngineTestRule testRule = new ProcessEngineTestRule(engineRule);
+
+  @Rule
+  public RuleChain ruleChain = RuleChain.outerRule(bootstrapRule).around(engineRule).around(testRule);
+
+  protected ProcessEngineConfigurationImpl processEngineConfiguration;
+  protected RepositoryService repositoryService;
+  protected RuntimeService runtimeService;
+
+  protected ProcessDefinition processDefinition;
+  protected String snapshotId;
+
+  @Before
+  public void init() {
+    processEngineConfiguration = engineRule.getProcessEngineConfiguration();
+    repositoryService = engineRule.getRepositoryService();
+    runtimeService = engineRule.getRuntimeService();
+
+    processDefinition = testRule.deployAndGetDefinition(createModel("process"));
+
+    ResourceEntity resource = findResource(processDefinition.getDeploymentId(), processDefinition.getResourceName());
+    snapshotId = BpmnDeployer.getParseSnapshotId(resource.getHash(), true);
+  }
+
+  @Test
+  public void testStoreSnapshotOnDeploy() {
+    assertNotNull(findSnapshot(snapshotId));
+  }
+
+  @Test
+  public void testUseSnapshotWhenCacheIsPopulated() throws Exception {
+    // given a snapshot which differs from the resource
+    updateSnapshot(snapshotId, ElementSnapshot.write(parse(createModel("fromSnapshot"))));
+    DeploymentCache deploymentCache = processEngineConfiguration.getDeploymentCache();
+    deploymentCache.discardProcessDefinitionCache();
+
+    // when
+    runtimeService.startProcessInstanceById(processDefinition.getId());
+
+    // then the definition was created from the snapshot
+    assertEquals("fromSnapshot", deploymentCache.findDeployedProcessDefinitionById(processDefinition.getId()).getName());
+  }
+
+  @Test
+  public void testParseResourceIfSnapshotIsCorrupt() {
+    // given
+    updateSnapshot(snapshotId, new byte[] { 1, 2, 3 });
+    DeploymentCache deploymentCache = processEngineConfiguration.getDeploymentCache();
+    deploymentCache.discardProcessDefinitionCache();
+
+    // when
+    runtimeService.startProcessInstanceById(processDefinition.getId());
+
+    // then
+    assertEquals("process", deploymentCache.findDeployedProcessDefinitionById(processDefinition.getId()).getName());
+  }
+
+  @Test
+  public void testDeleteSnapshotWithDeployment() {
+    // when
+    repositoryService.deleteDeployment(processDefinition.getDeploymentId(), true);
+
+    // then
+    assertNull(findSnapshot(snapshotId));
+  }
+
+  @Test
+  public void testRestoreElementTree() throws Exception {
+    // given
+    Element rootElement = parse(createModel("process"));
+
+    // when
+    Element restoredElement = ElementSnapshot.read(ElementSnapshot.write(rootElement));
+
+    // then
+    assertEqualElements(rootElement, restoredElement);
+  }
+
+  protected void assertEqualElements(Element expected, Element actual) {
+    assertEquals(expected.getUri(), actual.getUri());
+    assertEquals(expected.getTagName(), actual.getTagName());
+    assertEquals(expected.getLine(), actual.getLine());
+    assertEquals(expected.getColumn(), actual.getColumn());
+    assertEquals(expected.getText(), actual.getText());
+    assertEquals(expected.attributes(), actual.attributes());
+    for (String attribute : expected.attributes()) {
+      assertEquals(expected.attribute(attribute), actual.attribute(attribute));
+    }
+
+    assertEquals(expected.elements().size(), actual.elements().size());
+    for (int i = 0; i < expected.elements().size(); i++) {
+      assertEqualElements(expected.elements().get(i), actual.elements().get(i));
+    }
+  }
+
+  protected BpmnModelInstance createModel(String name) {
+    return Bpmn.createExecutableProcess("process")
+      .name(name)
+      .startEvent()
+      .userTask()
+      .endEvent()
+      .done();
+  }
+
+  protected Element parse(BpmnModelInstance modelInstance) {
+    Parse parse = Parser.INSTANCE.createParse().sourceString(Bpmn.convertToString(modelInstance));
+    parse.setSchemaResource(ReflectUtil.getResourceUrlAsString(BpmnParser.BPMN_20_SCHEMA_LOCATION));
+    return parse.execute().getRootElement();
+  }
+
+  protected ResourceEntity findResource(final String deploymentId, final String resourceName) {
+    return processEngineConfiguration.getCommandExecutorTxRequired().execute(new Command<ResourceEntity>() {
+      public ResourceEntity execute(CommandContext commandContext) {
+        return commandContext.getResourceManager().findResourceByDeploymentIdAndResourceName(deploymentId, resourceName);
+      }
+    });
+  }
+
+  protected ByteArrayEntity findSnapshot(final String snapshotId) {
+    return processEngineConfiguration.getCommandExecutorTxRequired().execute(new Command<ByteArrayEntity>() {
+      public ByteArrayEntity execute(CommandContext commandContext) {
+        return commandContext.getDbEntityManager().selectById(ByteArrayEntity.class, snapshotId);
+      }
+    });
+  }
+
+  protected void updateSnapshot(final String snapshotId, final byte[] bytes) {
+    processEngineConfiguration.getCommandExecutorTxRequired().execute(new Command<Void>() {
+      public Void execute(CommandContext commandContext) {
+        commandContext.getDbEntityManager().selectById(ByteArrayEntity.class, snapshotId).setBytes(bytes);
+        return null;
+      }
+    });
+  }
+
+}
@@ -0,0 +1,142 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.test.api.repository;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+
+import org.camunda.bpm.engine.RepositoryService;
+import org.camunda.bpm.engine.impl.cfg.ProcessEngineConfigurationImpl;
+import org.camunda.bpm.engine.impl.interceptor.Command;
+import org.camunda.bpm.engine.impl.interceptor.CommandContext;
+import org.camunda.bpm.engine.impl.persistence.entity.DeploymentEntity;
+import org.camunda.bpm.engine.impl.persistence.entity.ResourceEntity;
+import org.camunda.bpm.engine.repository.Deployment;
+import org.camunda.bpm.engine.repository.DeploymentBuilder;
+import org.camunda.bpm.engine.test.util.ProcessEngineTestRule;
+import org.camunda.bpm.engine.test.util.ProvidedProcessEngineRule;
+import org.camunda.bpm.model.bpmn.Bpmn;
+import org.camunda.bpm.model.bpmn.BpmnModelInstance;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.RuleChain;
+
+public class DeploymentHashTest {
+
+  protected ProvidedProcessEngineRule engineRule = new ProvidedProcessEngineRule();
+  protected ProcessEngineTestRule testRule = new ProcessEngineTestRule(engineRule);
+
+  @Rule
+  public RuleChain ruleChain = RuleChain.outerRule(engineRule).around(testRule);
+
+  protected ProcessEngineConfigurationImpl processEngineConfiguration;
+  protected RepositoryService repositoryService;
+
+  protected BpmnModelInstance model = Bpmn.createExecutableProcess("process").startEvent().endEvent().done();
+
+  @Before
+  public void init() {
+    processEngineConfiguration = engineRule.getProcessEngineConfiguration();
+    repositoryService = engineRule.getRepositoryService();
+  }
+
+  @Test
+  public void testStoreHashes() {
+    // when
+    Deployment deployment = deploy(model);
+
+    // then
+    DeploymentEntity deploymentEntity = findDeployment(deployment.getId());
+    assertNotNull(deploymentEntity.getHash());
+
+    ResourceEntity resource = findResource(deployment.getId(), "process.bpmn");
+    assertNotNull(resource.getHash());
+  }
+
+  @Test
+  public void testFilterIdenticalDeployment() {
+    // given
+    Deployment deployment = deploy(model);
+
+    // when
+    Deployment redeployment = createDeployment(Bpmn.createExecutableProcess("process").startEvent().endEvent().done()).deploy();
+
+    // then
+    assertEquals(deployment.getId(), redeployment.getId());
+    assertEquals(1, repositoryService.createDeploymentQuery().count());
+  }
+
+  @Test
+  public void testDeployChangedResource() {
+    // given
+    Deployment deployment = deploy(model);
+
+    // when
+    Deployment redeployment = deploy(Bpmn.createExecutableProcess("process").startEvent().userTask().endEvent().done());
+
+    // then
+    assertFalse(deployment.getId().equals(redeployment.getId()));
+    assertEquals(2, repositoryService.createProcessDefinitionQuery().processDefinitionKey("process").count());
+  }
+
+  @Test
+  public void testDeployChangedOnly() {
+    // given
+    BpmnModelInstance otherModel = Bpmn.createExecutableProcess("otherProcess").startEvent().endEvent().done();
+    testRule.deploy(repositoryService.createDeployment()
+      .name("deployment")
+      .addModelInstance("process.bpmn", model)
+      .addModelInstance("otherProcess.bpmn", otherModel));
+
+    // when
+    Deployment redeployment = testRule.deploy(repositoryService.createDeployment()
+      .name("deployment")
+      .enableDuplicateFiltering(true)
+      .addModelInstance("process.bpmn", Bpmn.createExecutableProcess("process").startEvent().userTask().endEvent().done())
+      .addModelInstance("otherProcess.bpmn", otherModel));
+
+    // then only the changed resource is deployed
+    assertEquals(1, repositoryService.getDeploymentResourceNames(redeployment.getId()).size());
+    assertEquals(1, repositoryService.createProcessDefinitionQuery().processDefinitionKey("otherProcess").count());
+  }
+
+  protected Deployment deploy(BpmnModelInstance modelInstance) {
+    return testRule.deploy(createDeployment(modelInstance));
+  }
+
+  protected DeploymentBuilder createDeployment(BpmnModelInstance modelInstance) {
+    return repositoryService.createDeployment()
+      .name("deployment")
+      .enableDuplicateFiltering(false)
+      .addModelInstance("process.bpmn", modelInstance);
+  }
+
+  protected DeploymentEntity findDeployment(final String deploymentId) {
+    return processEngineConfiguration.getCommandExecutorTxRequired().execute(new Command<DeploymentEntity>() {
+      public DeploymentEntity execute(CommandContext commandContext) {
+        return commandContext.getDeploymentManager().findDeploymentById(deploymentId);
+      }
+    });
+  }
+
+  protected ResourceEntity findResource(final String deploymentId, final String resourceName) {
+    return processEngineConfiguration.getCommandExecutorTxRequired().execute(new Command<ResourceEntity>() {
+      public ResourceEntity execute(CommandContext commandContext) {
+        return commandContext.getResourceManager().findResourceByDeploymentIdAndResourceName(deploymentId, resourceName);
+      }
+    });
+  }
+
+}
@@ -0,0 +1,139 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.test.api.repository;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.fail;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.camunda.bpm.engine.ManagementService;
+import org.camunda.bpm.engine.ProcessEngineConfiguration;
+import org.camunda.bpm.engine.ProcessEngineException;
+import org.camunda.bpm.engine.RepositoryService;
+import org.camunda.bpm.engine.impl.cfg.ProcessEngineConfigurationImpl;
+import org.camunda.bpm.engine.impl.persistence.deploy.cache.DeploymentCache;
+import org.camunda.bpm.engine.impl.persistence.deploy.cache.DeploymentCacheWarmUp;
+import org.camunda.bpm.engine.repository.DeploymentBuilder;
+import org.camunda.bpm.engine.repository.ProcessDefinition;
+import org.camunda.bpm.engine.test.util.ProcessEngineBootstrapRule;
+import org.camunda.bpm.engine.test.util.ProcessEngineTestRule;
+import org.camunda.bpm.engine.test.util.ProvidedProcessEngineRule;
+import org.camunda.bpm.model.bpmn.Bpmn;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.RuleChain;
+
+public class DeploymentParallelParsingTest {
+
+  protected static final int PROCESSES = 5;
+
+  protected ProcessEngineBootstrapRule bootstrapRule = new ProcessEngineBootstrapRule() {
+    @Override
+    public ProcessEngineConfiguration configureEngine(ProcessEngineConfigurationImpl configuration) {
+      return configuration.setDeploymentParseParallelism(3);
+    }
+  };
+
+  public ProvidedProcessEngineRule engineRule = new ProvidedProcessEngineRule(bootstrapRule);
+  public ProcessEngineTestRule testRule = new ProcessEngineTestRule(engineRule);
+
+  @Rule
+  public RuleChain ruleChain = RuleChain.outerRule(bootstrapRule).around(engineRule).around(testRule);
+
+  protected ProcessEngineConfigurationImpl processEngineConfiguration;
+  protected RepositoryService repositoryService;
+  protected ManagementService managementService;
+
+  @Before
+  public void init() {
+    processEngineConfiguration = engineRule.getProcessEngineConfiguration();
+    repositoryService = engineRule.getRepositoryService();
+    managementService = engineRule.getManagementService();
+  }
+
+  @Test
+  public void testParseResourcesInParallel() {
+    // when
+    testRule.deploy(createDeployment());
+
+    // then all definitions and their job definitions are deployed
+    assertEquals(PROCESSES, repositoryService.createProcessDefinitionQuery().count());
+    assertEquals(PROCESSES, managementService.createJobDefinitionQuery().count());
+
+    for (int i = 0; i < PROCESSES; i++) {
+      ProcessDefinition processDefinition = repositoryService.createProcessDefinitionQuery()
+        .processDefinitionKey("process" + i)
+        .singleResult();
+      assertEquals("process" + i + ".bpmn", processDefinition.getResourceName());
+    }
+  }
+
+  @Test
+  public void testPropagateParseException() {
+    DeploymentBuilder deploymentBuilder = createDeployment()
+      .addString("invalid.bpmn", "<definitions");
+
+    try {
+      deploymentBuilder.deploy();
+      fail("exception expected");
+    }
+    catch (ProcessEngineException e) {
+      // expected
+    }
+
+    assertEquals(0, repositoryService.createDeploymentQuery().count());
+  }
+
+  @Test
+  public void testWarmUpDeploymentCache() {
+    // given
+    testRule.deploy(createDeployment());
+    List<String> processDefinitionIds = new ArrayList<String>();
+    for (ProcessDefinition processDefinition : repositoryService.createProcessDefinitionQuery().list()) {
+      processDefinitionIds.add(processDefinition.getId());
+    }
+
+    DeploymentCache deploymentCache = processEngineConfiguration.getDeploymentCache();
+    deploymentCache.discardProcessDefinitionCache();
+    assertNull(deploymentCache.findProcessDefinitionFromCache(processDefinitionIds.get(0)));
+
+    // when
+    new DeploymentCacheWarmUp(processEngineConfiguration).warmUp();
+
+    // then
+    for (String processDefinitionId : processDefinitionIds) {
+      assertNotNull(deploymentCache.findProcessDefinitionFromCache(processDefinitionId));
+      assertNotNull(deploymentCache.getBpmnModelInstanceCache().get(processDefinitionId));
+    }
+  }
+
+  protected DeploymentBuilder createDeployment() {
+    DeploymentBuilder deploymentBuilder = repositoryService.createDeployment();
+    for (int i = 0; i < PROCESSES; i++) {
+      deploymentBuilder.addModelInstance("process" + i + ".bpmn", Bpmn.createExecutableProcess("process" + i)
+        .startEvent()
+        .serviceTask()
+          .camundaExpression("${true}")
+          .camundaAsyncBefore()
+        .endEvent()
+        .done());
+    }
+    return deploymentBuilder;
+  }
+
+}
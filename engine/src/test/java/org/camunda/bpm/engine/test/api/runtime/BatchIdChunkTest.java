@@ -0,0 +1,146 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.test.api.runtime;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.camunda.bpm.engine.ManagementService;
+import org.camunda.bpm.engine.ProcessEngineConfiguration;
+import org.camunda.bpm.engine.RuntimeService;
+import org.camunda.bpm.engine.batch.Batch;
+import org.camunda.bpm.engine.impl.cfg.ProcessEngineConfigurationImpl;
+import org.camunda.bpm.engine.impl.interceptor.Command;
+import org.camunda.bpm.engine.impl.interceptor.CommandContext;
+import org.camunda.bpm.engine.impl.persistence.entity.ByteArrayEntity;
+import org.camunda.bpm.engine.test.util.ProcessEngineBootstrapRule;
+import org.camunda.bpm.engine.test.util.ProcessEngineTestRule;
+import org.camunda.bpm.engine.test.util.ProvidedProcessEngineRule;
+import org.camunda.bpm.model.bpmn.Bpmn;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.RuleChain;
+
+public class BatchIdChunkTest {
+
+  protected static final int PROCESS_INSTANCES = 7;
+
+  protected ProcessEngineBootstrapRule bootstrapRule = new ProcessEngineBootstrapRule() {
+    @Override
+    public ProcessEngineConfiguration configureEngine(ProcessEngineConfigurationImpl configuration) {
+      configuration.setBatchJobsPerSeed(2);
+      configuration.setInvocationsPerBatchJob(1);
+      return configuration.setBatchIdChunkSize(3);
+    }
+  };
+
+  public ProvidedProcessEngineRule engineRule = new ProvidedProcessEngineRule(bootstrapRule);
+  public ProcessEngineTestRule testRule = new ProcessEngineTestRule(engineRule);
+  protected BatchSuspensionHelper helper = new BatchSuspensionHelper(engineRule);
+
+  @Rule
+  public RuleChain ruleChain = RuleChain.outerRule(bootstrapRule).around(engineRule).around(testRule);
+
+  protected RuntimeService runtimeService;
+  protected ManagementService managementService;
+
+  protected List<String> processInstanceIds = new ArrayList<String>();
+
+  @Before
+  public void init() {
+    runtimeService = engineRule.getRuntimeService();
+    managementService = engineRule.getManagementService();
+
+    testRule.deploy(Bpmn.createExecutableProcess("process")
+      .startEvent()
+      .userTask()
+      .endEvent()
+      .done());
+
+    for (int i = 0; i < PROCESS_INSTANCES; i++) {
+      processInstanceIds.add(runtimeService.startProcessInstanceByKey("process").getId());
+    }
+  }
+
+  @After
+  public void removeBatches() {
+    helper.removeAllRunningAndHistoricBatches();
+  }
+
+  @Test
+  public void testStoreIdsInChunks() {
+    // given
+    Batch batch = runtimeService.updateProcessInstanceSuspensionState()
+      .byProcessInstanceIds(processInstanceIds)
+      .suspendAsync();
+
+    // when
+    helper.executeSeedJob(batch);
+
+    // then the ids exceeding the chunk size were moved into two chunks
+    assertNotNull(findIdChunk(batch, 0));
+    assertNotNull(findIdChunk(batch, 1));
+    assertNull(findIdChunk(batch, 2));
+    assertEquals(2, helper.getExecutionJobs(batch).size());
+  }
+
+  @Test
+  public void testProcessAllChunks() {
+    // given
+    Batch batch = runtimeService.updateProcessInstanceSuspensionState()
+      .byProcessInstanceIds(processInstanceIds)
+      .suspendAsync();
+
+    // when
+    helper.completeSeedJobs(batch);
+
+    // then a job was created for every id and the chunks were removed
+    assertEquals(PROCESS_INSTANCES, helper.getExecutionJobs(batch).size());
+    assertNull(findIdChunk(batch, 0));
+    assertNull(findIdChunk(batch, 1));
+
+    helper.executeJobs(batch);
+    assertEquals(PROCESS_INSTANCES, runtimeService.createProcessInstanceQuery().suspended().count());
+  }
+
+  @Test
+  public void testDeleteChunksWithBatch() {
+    // given
+    Batch batch = runtimeService.updateProcessInstanceSuspensionState()
+      .byProcessInstanceIds(processInstanceIds)
+      .suspendAsync();
+    helper.executeSeedJob(batch);
+
+    // when
+    managementService.deleteBatch(batch.getId(), true);
+
+    // then
+    assertNull(findIdChunk(batch, 0));
+    assertNull(findIdChunk(batch, 1));
+  }
+
+  protected ByteArrayEntity findIdChunk(final Batch batch, final int idChunk) {
+    return engineRule.getProcessEngineConfiguration().getCommandExecutorTxRequired().execute(new Command<ByteArrayEntity>() {
+      public ByteArrayEntity execute(CommandContext commandContext) {
+        return commandContext.getDbEntityManager().selectById(ByteArrayEntity.class, batch.getId() + "-ids-" + idChunk);
+      }
+    });
+  }
+
+}
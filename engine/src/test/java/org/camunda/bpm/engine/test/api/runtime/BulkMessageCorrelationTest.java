@@ -0,0 +1,170 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.test.api.runtime;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.List;
+
+import org.camunda.bpm.engine.MismatchingMessageCorrelationException;
+import org.camunda.bpm.engine.RuntimeService;
+import org.camunda.bpm.engine.runtime.BulkMessageCorrelationResult;
+import org.camunda.bpm.engine.runtime.MessageCorrelationResultType;
+import org.camunda.bpm.engine.runtime.ProcessInstance;
+import org.camunda.bpm.engine.test.ProcessEngineRule;
+import org.camunda.bpm.engine.test.util.ProcessEngineTestRule;
+import org.camunda.bpm.engine.test.util.ProvidedProcessEngineRule;
+import org.camunda.bpm.engine.variable.Variables;
+import org.camunda.bpm.model.bpmn.Bpmn;
+import org.camunda.bpm.model.bpmn.BpmnModelInstance;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.RuleChain;
+
+public class BulkMessageCorrelationTest {
+
+  protected static final BpmnModelInstance CATCH_MESSAGE_PROCESS = Bpmn.createExecutableProcess("catchMessage")
+    .startEvent()
+    .intermediateCatchEvent("catch").message("message")
+    .userTask("afterCatch")
+    .endEvent()
+    .done();
+
+  protected static final BpmnModelInstance START_MESSAGE_PROCESS = Bpmn.createExecutableProcess("startMessage")
+    .startEvent().message("start")
+    .userTask()
+    .endEvent()
+    .done();
+
+  protected ProcessEngineRule engineRule = new ProvidedProcessEngineRule();
+  protected ProcessEngineTestRule testRule = new ProcessEngineTestRule(engineRule);
+
+  @Rule
+  public RuleChain ruleChain = RuleChain.outerRule(engineRule).around(testRule);
+
+  protected RuntimeService runtimeService;
+
+  @Before
+  public void init() {
+    runtimeService = engineRule.getRuntimeService();
+  }
+
+  @Test
+  public void testCorrelateByBusinessKey() {
+    // given
+    testRule.deploy(CATCH_MESSAGE_PROCESS);
+    ProcessInstance first = runtimeService.startProcessInstanceByKey("catchMessage", "a");
+    ProcessInstance second = runtimeService.startProcessInstanceByKey("catchMessage", "b");
+    runtimeService.startProcessInstanceByKey("catchMessage", "c");
+
+    // when
+    List<BulkMessageCorrelationResult> results = runtimeService.createBulkMessageCorrelation()
+      .add("message", "a", Variables.createVariables().putValue("foo", "bar"))
+      .add("message", "b", null)
+      .correlate();
+
+    // then
+    assertEquals(2, results.size());
+    assertTrue(results.get(0).isSuccessful());
+    assertEquals(MessageCorrelationResultType.Execution, results.get(0).getCorrelationResult().getResultType());
+    assertEquals(first.getId(), results.get(0).getCorrelationResult().getExecution().getProcessInstanceId());
+    assertEquals(second.getId(), results.get(1).getCorrelationResult().getExecution().getProcessInstanceId());
+
+    assertEquals(2, runtimeService.createExecutionQuery().activityId("afterCatch").count());
+    assertEquals(1, runtimeService.createExecutionQuery().activityId("catch").count());
+    assertEquals("bar", runtimeService.getVariable(first.getId(), "foo"));
+  }
+
+  @Test
+  public void testCorrelateStartMessages() {
+    // given
+    testRule.deploy(START_MESSAGE_PROCESS);
+
+    // when
+    List<BulkMessageCorrelationResult> results = runtimeService.createBulkMessageCorrelation()
+      .add("start", "a", null)
+      .add("start", "b", null)
+      .correlate();
+
+    // then a process instance was started for each message
+    assertEquals(MessageCorrelationResultType.ProcessDefinition, results.get(0).getCorrelationResult().getResultType());
+    assertEquals("a", results.get(0).getCorrelationResult().getProcessInstance().getBusinessKey());
+    assertEquals("b", results.get(1).getCorrelationResult().getProcessInstance().getBusinessKey());
+    assertEquals(2, runtimeService.createProcessInstanceQuery().processDefinitionKey("startMessage").count());
+  }
+
+  @Test
+  public void testReportMismatchPerMessage() {
+    // given
+    testRule.deploy(CATCH_MESSAGE_PROCESS);
+    runtimeService.startProcessInstanceByKey("catchMessage", "a");
+
+    // when
+    List<BulkMessageCorrelationResult> results = runtimeService.createBulkMessageCorrelation()
+      .add("message", "unknown", null)
+      .add("message", "a", null)
+      .correlate();
+
+    // then the mismatching message does not prevent the other message from being correlated
+    assertFalse(results.get(0).isSuccessful());
+    assertNull(results.get(0).getCorrelationResult());
+    assertTrue(results.get(0).getException() instanceof MismatchingMessageCorrelationException);
+
+    assertTrue(results.get(1).isSuccessful());
+    assertNull(results.get(1).getException());
+    assertEquals(1, runtimeService.createExecutionQuery().activityId("afterCatch").count());
+  }
+
+  @Test
+  public void testCorrelateExecutionOnlyOnce() {
+    // given
+    testRule.deploy(CATCH_MESSAGE_PROCESS);
+    runtimeService.startProcessInstanceByKey("catchMessage", "a");
+
+    // when
+    List<BulkMessageCorrelationResult> results = runtimeService.createBulkMessageCorrelation()
+      .add("message", "a", null)
+      .add("message", "a", null)
+      .correlate();
+
+    // then
+    assertTrue(results.get(0).isSuccessful());
+    assertFalse(results.get(1).isSuccessful());
+    assertTrue(results.get(1).getException() instanceof MismatchingMessageCorrelationException);
+  }
+
+  @Test
+  public void testCorrelateByCorrelationKeys() {
+    // given
+    testRule.deploy(CATCH_MESSAGE_PROCESS);
+    ProcessInstance processInstance = runtimeService.startProcessInstanceByKey("catchMessage",
+        Variables.createVariables().putValue("orderId", 42));
+    runtimeService.startProcessInstanceByKey("catchMessage", Variables.createVariables().putValue("orderId", 43));
+
+    // when
+    List<BulkMessageCorrelationResult> results = runtimeService.createBulkMessageCorrelation()
+      .add(runtimeService.createMessageCorrelation("message").processInstanceVariableEquals("orderId", 42))
+      .correlate();
+
+    // then
+    assertNotNull(results.get(0).getCorrelationResult());
+    assertEquals(processInstance.getId(), results.get(0).getCorrelationResult().getExecution().getProcessInstanceId());
+    assertEquals(1, runtimeService.createExecutionQuery().activityId("afterCatch").count());
+  }
+
+}
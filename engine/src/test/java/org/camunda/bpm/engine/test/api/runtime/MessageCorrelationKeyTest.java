@@ -0,0 +1,301 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.test.api.runtime;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.fail;
+
+import org.camunda.bpm.engine.MismatchingMessageCorrelationException;
+import org.camunda.bpm.engine.RuntimeService;
+import org.camunda.bpm.engine.impl.cfg.ProcessEngineConfigurationImpl;
+import org.camunda.bpm.engine.impl.interceptor.Command;
+import org.camunda.bpm.engine.impl.interceptor.CommandContext;
+import org.camunda.bpm.engine.impl.persistence.entity.EventSubscriptionEntity;
+import org.camunda.bpm.engine.runtime.EventSubscription;
+import org.camunda.bpm.engine.runtime.ProcessInstance;
+import org.camunda.bpm.engine.test.ProcessEngineRule;
+import org.camunda.bpm.engine.test.util.ProcessEngineTestRule;
+import org.camunda.bpm.engine.test.util.ProvidedProcessEngineRule;
+import org.camunda.bpm.engine.variable.Variables;
+import org.camunda.bpm.model.bpmn.Bpmn;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.RuleChain;
+
+public class MessageCorrelationKeyTest {
+
+  protected static final String KEYED_PROCESS = "org/camunda/bpm/engine/test/api/runtime/MessageCorrelationKeyTest.catchMessageWithCorrelationKeys.bpmn20.xml";
+
+  protected ProcessEngineRule engineRule = new ProvidedProcessEngineRule();
+  protected ProcessEngineTestRule testRule = new ProcessEngineTestRule(engineRule);
+
+  @Rule
+  public RuleChain ruleChain = RuleChain.outerRule(engineRule).around(testRule);
+
+  protected ProcessEngineConfigurationImpl processEngineConfiguration;
+  protected RuntimeService runtimeService;
+
+  @Before
+  public void init() {
+    processEngineConfiguration = engineRule.getProcessEngineConfiguration();
+    runtimeService = engineRule.getRuntimeService();
+  }
+
+  @After
+  public void resetConfiguration() {
+    processEngineConfiguration.setMessageCorrelationKeyFallbackEnabled(true);
+  }
+
+  @Test
+  public void testStoreCorrelationKeyOnSubscription() {
+    // given
+    testRule.deploy(KEYED_PROCESS);
+
+    // when
+    ProcessInstance processInstance = runtimeService.startProcessInstanceByKey("keyedProcess", Variables.createVariables()
+      .putValue("orderId", 42)
+      .putValue("customerId", "john"));
+    ProcessInstance processInstanceWithoutCustomer = runtimeService.startProcessInstanceByKey("keyedProcess", Variables.createVariables()
+      .putValue("orderId", 42));
+
+    // then only the subscription of the instance defining all correlation variables has a key
+    assertNotNull(getMessageSubscription(processInstance.getId()).getCorrelationKey());
+    assertNull(getMessageSubscription(processInstanceWithoutCustomer.getId()).getCorrelationKey());
+  }
+
+  @Test
+  public void testCorrelateByCorrelationKey() {
+    // given
+    testRule.deploy(KEYED_PROCESS);
+    ProcessInstance processInstance = runtimeService.startProcessInstanceByKey("keyedProcess", Variables.createVariables()
+      .putValue("orderId", 42)
+      .putValue("customerId", "john"));
+    runtimeService.startProcessInstanceByKey("keyedProcess", Variables.createVariables()
+      .putValue("orderId", 43)
+      .putValue("customerId", "john"));
+
+    // when the message is correlated by the declared variables, with an integral value of another type
+    runtimeService.createMessageCorrelation("orderPaid")
+      .processInstanceVariableEquals("customerId", "john")
+      .processInstanceVariableEquals("orderId", 42L)
+      .correlate();
+
+    // then
+    assertEquals(processInstance.getId(), runtimeService.createExecutionQuery().activityId("task").singleResult().getProcessInstanceId());
+  }
+
+  @Test
+  public void testCorrelateAfterCorrelationVariableChanged() {
+    // given
+    testRule.deploy(KEYED_PROCESS);
+    ProcessInstance processInstance = runtimeService.startProcessInstanceByKey("keyedProcess", Variables.createVariables()
+      .putValue("orderId", 42)
+      .putValue("customerId", "john"));
+    ProcessInstance otherProcessInstance = runtimeService.startProcessInstanceByKey("keyedProcess", Variables.createVariables()
+      .putValue("orderId", 43)
+      .putValue("customerId", "john"));
+
+    // when the correlation variables change after the subscriptions were created
+    runtimeService.setVariable(processInstance.getId(), "orderId", 44);
+    runtimeService.setVariable(otherProcessInstance.getId(), "orderId", 42);
+
+    runtimeService.createMessageCorrelation("orderPaid")
+      .processInstanceVariableEquals("customerId", "john")
+      .processInstanceVariableEquals("orderId", 42)
+      .correlate();
+
+    // then the message is correlated by the current values
+    assertEquals(otherProcessInstance.getId(), runtimeService.createExecutionQuery().activityId("task").singleResult().getProcessInstanceId());
+    assertNotNull(runtimeService.createEventSubscriptionQuery().processInstanceId(processInstance.getId()).singleResult());
+  }
+
+  @Test
+  public void testRefreshCorrelationKeyWhenCorrelationVariableChanges() {
+    // given
+    testRule.deploy(KEYED_PROCESS);
+    ProcessInstance processInstance = runtimeService.startProcessInstanceByKey("keyedProcess", Variables.createVariables()
+      .putValue("orderId", 44)
+      .putValue("customerId", "john"));
+    ProcessInstance otherProcessInstance = runtimeService.startProcessInstanceByKey("keyedProcess", Variables.createVariables()
+      .putValue("orderId", 42)
+      .putValue("customerId", "john"));
+
+    // when
+    runtimeService.setVariable(processInstance.getId(), "orderId", 42);
+
+    // then
+    assertEquals(getMessageSubscription(otherProcessInstance.getId()).getCorrelationKey(),
+        getMessageSubscription(processInstance.getId()).getCorrelationKey());
+
+    // and when a correlation variable is removed
+    runtimeService.removeVariable(processInstance.getId(), "orderId");
+
+    // then
+    assertNull(getMessageSubscription(processInstance.getId()).getCorrelationKey());
+  }
+
+  @Test
+  public void testCorrelateByRefreshedKeyWithoutFallback() {
+    // given
+    processEngineConfiguration.setMessageCorrelationKeyFallbackEnabled(false);
+    testRule.deploy(KEYED_PROCESS);
+    ProcessInstance processInstance = runtimeService.startProcessInstanceByKey("keyedProcess", Variables.createVariables()
+      .putValue("orderId", 44)
+      .putValue("customerId", "john"));
+    runtimeService.setVariable(processInstance.getId(), "orderId", 42);
+
+    // when
+    runtimeService.createMessageCorrelation("orderPaid")
+      .processInstanceVariableEquals("customerId", "john")
+      .processInstanceVariableEquals("orderId", 42)
+      .correlate();
+
+    // then the execution is found by its refreshed key
+    assertEquals(processInstance.getId(), runtimeService.createExecutionQuery().activityId("task").singleResult().getProcessInstanceId());
+  }
+
+  @Test
+  public void testNoCorrelationAfterCorrelationVariableChanged() {
+    // given
+    processEngineConfiguration.setMessageCorrelationKeyFallbackEnabled(false);
+    testRule.deploy(KEYED_PROCESS);
+    ProcessInstance processInstance = runtimeService.startProcessInstanceByKey("keyedProcess", Variables.createVariables()
+      .putValue("orderId", 42)
+      .putValue("customerId", "john"));
+    runtimeService.setVariable(processInstance.getId(), "orderId", 44);
+
+    // when
+    try {
+      runtimeService.createMessageCorrelation("orderPaid")
+        .processInstanceVariableEquals("customerId", "john")
+        .processInstanceVariableEquals("orderId", 42)
+        .correlate();
+      fail("exception expected");
+    }
+    catch (MismatchingMessageCorrelationException e) {
+      // then the execution with the changed variable is not correlated
+    }
+  }
+
+  @Test
+  public void testCorrelateAllWithAndWithoutCorrelationKey() {
+    // given a process with and a process without declared correlation keys
+    testRule.deploy(KEYED_PROCESS);
+    testRule.deploy(Bpmn.createExecutableProcess("process")
+      .startEvent()
+      .intermediateCatchEvent("messageCatch").message("orderPaid")
+      .userTask("task")
+      .endEvent()
+      .done());
+    runtimeService.startProcessInstanceByKey("keyedProcess", Variables.createVariables()
+      .putValue("orderId", 42)
+      .putValue("customerId", "john"));
+    runtimeService.startProcessInstanceByKey("process", Variables.createVariables()
+      .putValue("orderId", 42)
+      .putValue("customerId", "john"));
+
+    // when
+    runtimeService.createMessageCorrelation("orderPaid")
+      .processInstanceVariableEquals("customerId", "john")
+      .processInstanceVariableEquals("orderId", 42)
+      .correlateAll();
+
+    // then the execution without correlation key is correlated as well
+    assertEquals(2, runtimeService.createExecutionQuery().activityId("task").count());
+  }
+
+  @Test
+  public void testFallbackToVariableQuery() {
+    // given a process without declared correlation keys
+    testRule.deploy(Bpmn.createExecutableProcess("process")
+      .startEvent()
+      .intermediateCatchEvent("messageCatch").message("orderPaid")
+      .userTask("task")
+      .endEvent()
+      .done());
+    ProcessInstance processInstance = runtimeService.startProcessInstanceByKey("process", Variables.createVariables()
+      .putValue("orderId", 42)
+      .putValue("customerId", "john"));
+
+    // when
+    runtimeService.createMessageCorrelation("orderPaid")
+      .processInstanceVariableEquals("customerId", "john")
+      .processInstanceVariableEquals("orderId", 42)
+      .correlate();
+
+    // then
+    assertEquals(processInstance.getId(), runtimeService.createExecutionQuery().activityId("task").singleResult().getProcessInstanceId());
+  }
+
+  @Test
+  public void testNoFallbackToVariableQuery() {
+    // given
+    processEngineConfiguration.setMessageCorrelationKeyFallbackEnabled(false);
+    testRule.deploy(Bpmn.createExecutableProcess("process")
+      .startEvent()
+      .intermediateCatchEvent("messageCatch").message("orderPaid")
+      .userTask("task")
+      .endEvent()
+      .done());
+    runtimeService.startProcessInstanceByKey("process", Variables.createVariables()
+      .putValue("orderId", 42)
+      .putValue("customerId", "john"));
+
+    // when
+    try {
+      runtimeService.createMessageCorrelation("orderPaid")
+        .processInstanceVariableEquals("customerId", "john")
+        .processInstanceVariableEquals("orderId", 42)
+        .correlate();
+      fail("exception expected");
+    }
+    catch (MismatchingMessageCorrelationException e) {
+      // then the subscription without correlation key is not found
+    }
+  }
+
+  @Test
+  public void testCorrelateBySubsetOfCorrelationKeys() {
+    // given
+    testRule.deploy(KEYED_PROCESS);
+    ProcessInstance processInstance = runtimeService.startProcessInstanceByKey("keyedProcess", Variables.createVariables()
+      .putValue("orderId", 42)
+      .putValue("customerId", "john"));
+
+    // when the correlation variables do not form a declared key
+    runtimeService.createMessageCorrelation("orderPaid")
+      .processInstanceVariableEquals("orderId", 42)
+      .correlate();
+
+    // then the variables are queried
+    assertEquals(processInstance.getId(), runtimeService.createExecutionQuery().activityId("task").singleResult().getProcessInstanceId());
+    assertNull(runtimeService.createEventSubscriptionQuery().eventName("orderPaid").singleResult());
+  }
+
+  protected EventSubscriptionEntity getMessageSubscription(String processInstanceId) {
+    final EventSubscription eventSubscription = runtimeService.createEventSubscriptionQuery()
+      .processInstanceId(processInstanceId)
+      .singleResult();
+
+    return processEngineConfiguration.getCommandExecutorTxRequired().execute(new Command<EventSubscriptionEntity>() {
+      public EventSubscriptionEntity execute(CommandContext commandContext) {
+        return commandContext.getEventSubscriptionManager().findEventSubscriptionById(eventSubscription.getId());
+      }
+    });
+  }
+
+}
@@ -0,0 +1,141 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.test.api.variables;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Map;
+
+import org.camunda.bpm.engine.ProcessEngineConfiguration;
+import org.camunda.bpm.engine.RuntimeService;
+import org.camunda.bpm.engine.TaskService;
+import org.camunda.bpm.engine.impl.cfg.ProcessEngineConfigurationImpl;
+import org.camunda.bpm.engine.impl.metrics.sql.SqlStatementMetrics;
+import org.camunda.bpm.engine.impl.metrics.sql.SqlStatementStatistics;
+import org.camunda.bpm.engine.variable.Variables;
+import org.camunda.bpm.engine.test.util.ProcessEngineBootstrapRule;
+import org.camunda.bpm.engine.test.util.ProcessEngineTestRule;
+import org.camunda.bpm.engine.test.util.ProvidedProcessEngineRule;
+import org.camunda.bpm.model.bpmn.Bpmn;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.RuleChain;
+
+public class PartialVariableLoadingTest {
+
+  protected ProcessEngineBootstrapRule bootstrapRule = new ProcessEngineBootstrapRule() {
+    @Override
+    public ProcessEngineConfiguration configureEngine(ProcessEngineConfigurationImpl configuration) {
+      return configuration
+        .setPartialVariableLoadingEnabled(true)
+        .setSqlStatementMetricsEnabled(true);
+    }
+  };
+
+  public ProvidedProcessEngineRule engineRule = new ProvidedProcessEngineRule(bootstrapRule);
+  public ProcessEngineTestRule testRule = new ProcessEngineTestRule(engineRule);
+
+  @Rule
+  public RuleChain ruleChain = RuleChain.outerRule(bootstrapRule).around(engineRule).around(testRule);
+
+  protected RuntimeService runtimeService;
+  protected TaskService taskService;
+  protected SqlStatementMetrics sqlStatementMetrics;
+
+  protected String processInstanceId;
+
+  @Before
+  public void init() {
+    runtimeService = engineRule.getRuntimeService();
+    taskService = engineRule.getTaskService();
+    sqlStatementMetrics = engineRule.getProcessEngineConfiguration().getSqlStatementMetrics();
+
+    testRule.deploy(Bpmn.createExecutableProcess("process")
+      .startEvent()
+      .userTask()
+      .endEvent()
+      .done());
+
+    processInstanceId = runtimeService.startProcessInstanceByKey("process",
+        Variables.createVariables().putValue("a", "valueA").putValue("b", "valueB").putValue("c", "valueC")).getId();
+
+    sqlStatementMetrics.reset();
+  }
+
+  @Test
+  public void testLoadSingleVariable() {
+    // when
+    Object value = runtimeService.getVariable(processInstanceId, "a");
+
+    // then only the requested variable was fetched
+    assertEquals("valueA", value);
+
+    SqlStatementStatistics statistics = sqlStatementMetrics.getStatistics("selectVariablesByExecutionIdAndVariableNames");
+    assertNotNull(statistics);
+    assertEquals(1, statistics.getExecutions());
+    assertEquals(1, statistics.getRows());
+    assertNull(sqlStatementMetrics.getStatistics("selectVariablesByExecutionId"));
+  }
+
+  @Test
+  public void testLoadMissingVariable() {
+    assertNull(runtimeService.getVariable(processInstanceId, "d"));
+    assertNull(sqlStatementMetrics.getStatistics("selectVariablesByExecutionId"));
+  }
+
+  @Test
+  public void testLoadAllVariables() {
+    // when
+    Map<String, Object> variables = runtimeService.getVariables(processInstanceId);
+
+    // then
+    assertEquals(3, variables.size());
+    assertEquals(1, sqlStatementMetrics.getStatistics("selectVariablesByExecutionId").getExecutions());
+  }
+
+  @Test
+  public void testUpdateAndRemoveVariables() {
+    // when
+    runtimeService.setVariable(processInstanceId, "a", "newValueA");
+    runtimeService.setVariable(processInstanceId, "d", "valueD");
+    runtimeService.removeVariable(processInstanceId, "b");
+
+    // then
+    Map<String, Object> variables = runtimeService.getVariables(processInstanceId);
+    assertEquals(new HashSet<String>(Arrays.asList("a", "c", "d")), variables.keySet());
+    assertEquals("newValueA", variables.get("a"));
+    assertEquals("valueD", variables.get("d"));
+  }
+
+  @Test
+  public void testLoadSingleTaskVariable() {
+    // given
+    String taskId = taskService.createTaskQuery().singleResult().getId();
+    taskService.setVariableLocal(taskId, "x", "valueX");
+    sqlStatementMetrics.reset();
+
+    // when
+    Object value = taskService.getVariableLocal(taskId, "x");
+
+    // then
+    assertEquals("valueX", value);
+    assertEquals(1, sqlStatementMetrics.getStatistics("selectVariablesByTaskIdAndVariableNames").getExecutions());
+    assertNull(sqlStatementMetrics.getStatistics("selectVariablesByTaskId"));
+  }
+
+}
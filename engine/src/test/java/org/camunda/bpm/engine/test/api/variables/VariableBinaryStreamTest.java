@@ -0,0 +1,143 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.test.api.variables;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.camunda.bpm.engine.ProcessEngineConfiguration;
+import org.camunda.bpm.engine.RuntimeService;
+import org.camunda.bpm.engine.impl.cfg.ProcessEngineConfigurationImpl;
+import org.camunda.bpm.engine.impl.metrics.sql.SqlStatementMetrics;
+import org.camunda.bpm.engine.impl.util.IoUtil;
+import org.camunda.bpm.engine.runtime.VariableInstance;
+import org.camunda.bpm.engine.test.util.ProcessEngineBootstrapRule;
+import org.camunda.bpm.engine.test.util.ProcessEngineTestRule;
+import org.camunda.bpm.engine.test.util.ProvidedProcessEngineRule;
+import org.camunda.bpm.engine.variable.Variables;
+import org.camunda.bpm.model.bpmn.Bpmn;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.RuleChain;
+
+public class VariableBinaryStreamTest {
+
+  protected ProcessEngineBootstrapRule bootstrapRule = new ProcessEngineBootstrapRule() {
+    @Override
+    public ProcessEngineConfiguration configureEngine(ProcessEngineConfigurationImpl configuration) {
+      return configuration.setSqlStatementMetricsEnabled(true);
+    }
+  };
+
+  public ProvidedProcessEngineRule engineRule = new ProvidedProcessEngineRule(bootstrapRule);
+  public ProcessEngineTestRule testRule = new ProcessEngineTestRule(engineRule);
+
+  @Rule
+  public RuleChain ruleChain = RuleChain.outerRule(bootstrapRule).around(engineRule).around(testRule);
+
+  protected RuntimeService runtimeService;
+  protected SqlStatementMetrics sqlStatementMetrics;
+
+  protected String processInstanceId;
+  protected byte[] content;
+
+  @Before
+  public void init() {
+    runtimeService = engineRule.getRuntimeService();
+    sqlStatementMetrics = engineRule.getProcessEngineConfiguration().getSqlStatementMetrics();
+
+    testRule.deploy(Bpmn.createExecutableProcess("process")
+      .startEvent()
+      .userTask()
+      .endEvent()
+      .done());
+
+    processInstanceId = runtimeService.startProcessInstanceByKey("process").getId();
+
+    content = new byte[256 * 1024];
+    for (int i = 0; i < content.length; i++) {
+      content[i] = (byte) i;
+    }
+  }
+
+  @Test
+  public void testStreamByteArrayVariable() {
+    // given
+    runtimeService.setVariable(processInstanceId, "bytes", Variables.byteArrayValue(content));
+
+    // when
+    InputStream stream = runtimeService.getVariableBinaryStream(processInstanceId, "bytes");
+
+    // then
+    try {
+      assertArrayEquals(content, IoUtil.readInputStream(stream, "bytes"));
+    }
+    finally {
+      IoUtil.closeSilently(stream);
+    }
+  }
+
+  @Test
+  public void testStreamFileVariable() {
+    // given
+    runtimeService.setVariable(processInstanceId, "file", Variables.fileValue("content.bin").file(content).create());
+
+    // when
+    InputStream stream = runtimeService.getVariableBinaryStream(processInstanceId, "file");
+
+    // then
+    try {
+      assertArrayEquals(content, IoUtil.readInputStream(stream, "file"));
+    }
+    finally {
+      IoUtil.closeSilently(stream);
+    }
+  }
+
+  @Test
+  public void testStreamNonBinaryVariable() {
+    // given
+    runtimeService.setVariable(processInstanceId, "string", "value");
+
+    // then
+    assertNull(runtimeService.getVariableBinaryStream(processInstanceId, "string"));
+    assertNull(runtimeService.getVariableBinaryStream(processInstanceId, "undefined"));
+  }
+
+  @Test
+  public void testQueryWithoutByteArrayValues() {
+    // given
+    List<String> list = new ArrayList<String>();
+    list.add("value");
+    runtimeService.setVariable(processInstanceId, "object", list);
+    runtimeService.setVariable(processInstanceId, "file", Variables.fileValue("content.bin").file(content).create());
+    sqlStatementMetrics.reset();
+
+    // when
+    List<VariableInstance> variables = runtimeService.createVariableInstanceQuery()
+      .disableByteArrayValueFetching()
+      .list();
+
+    // then the variables are returned without reading the byte arrays
+    assertEquals(2, variables.size());
+    assertNull(sqlStatementMetrics.getStatistics("selectByteArray"));
+    assertNull(sqlStatementMetrics.getStatistics("selectByteArray_postgres"));
+  }
+
+}
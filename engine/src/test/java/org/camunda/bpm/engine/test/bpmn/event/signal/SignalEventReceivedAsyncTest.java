@@ -0,0 +1,186 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.test.bpmn.event.signal;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.util.Collections;
+
+import org.camunda.bpm.engine.BadUserRequestException;
+import org.camunda.bpm.engine.RuntimeService;
+import org.camunda.bpm.engine.TaskService;
+import org.camunda.bpm.engine.batch.Batch;
+import org.camunda.bpm.engine.management.JobDefinition;
+import org.camunda.bpm.engine.runtime.ProcessInstance;
+import org.camunda.bpm.engine.test.api.runtime.BatchHelper;
+import org.camunda.bpm.engine.test.util.ProcessEngineTestRule;
+import org.camunda.bpm.engine.test.util.ProvidedProcessEngineRule;
+import org.camunda.bpm.engine.variable.Variables;
+import org.camunda.bpm.model.bpmn.Bpmn;
+import org.camunda.bpm.model.bpmn.BpmnModelInstance;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.RuleChain;
+
+public class SignalEventReceivedAsyncTest {
+
+  protected static final BpmnModelInstance SIGNAL_START_PROCESS = Bpmn.createExecutableProcess("signalStart")
+      .startEvent()
+        .signal("signal")
+      .userTask()
+      .endEvent()
+      .done();
+
+  protected static final BpmnModelInstance SIGNAL_CATCH_PROCESS = Bpmn.createExecutableProcess("signalCatch")
+      .startEvent()
+      .intermediateCatchEvent()
+        .signal("signal")
+      .userTask()
+      .endEvent()
+      .done();
+
+  public ProvidedProcessEngineRule engineRule = new ProvidedProcessEngineRule();
+  public ProcessEngineTestRule testRule = new ProcessEngineTestRule(engineRule);
+
+  @Rule
+  public RuleChain ruleChain = RuleChain.outerRule(engineRule).around(testRule);
+
+  protected BatchHelper helper = new BatchHelper(engineRule) {
+    public JobDefinition getExecutionJobDefinition(Batch batch) {
+      return getManagementService().createJobDefinitionQuery()
+        .jobDefinitionId(batch.getBatchJobDefinitionId())
+        .jobType(Batch.TYPE_SIGNAL_EVENT_RECEIVED)
+        .singleResult();
+    }
+  };
+
+  protected RuntimeService runtimeService;
+  protected TaskService taskService;
+
+  @Before
+  public void init() {
+    runtimeService = engineRule.getRuntimeService();
+    taskService = engineRule.getTaskService();
+  }
+
+  @After
+  public void removeBatches() {
+    helper.removeAllRunningAndHistoricBatches();
+  }
+
+  @Test
+  public void testDeliverSignalToIntermediateCatchEvents() {
+    // given
+    testRule.deploy(SIGNAL_CATCH_PROCESS);
+    runtimeService.startProcessInstanceByKey("signalCatch");
+    runtimeService.startProcessInstanceByKey("signalCatch");
+
+    // when
+    Batch batch = runtimeService.createSignalEvent("signal")
+      .setVariables(Variables.createVariables().putValue("foo", "bar"))
+      .sendAsync();
+
+    // then the signal is not delivered before the batch is executed
+    assertEquals(Batch.TYPE_SIGNAL_EVENT_RECEIVED, batch.getType());
+    assertEquals(2, batch.getTotalJobs());
+    assertEquals(0, taskService.createTaskQuery().count());
+
+    helper.completeSeedJobs(batch);
+    helper.executeJobs(batch);
+
+    assertEquals(2, taskService.createTaskQuery().count());
+    assertEquals(2, runtimeService.createVariableInstanceQuery().variableValueEquals("foo", "bar").count());
+  }
+
+  @Test
+  public void testDeliverSignalToStartEvent() {
+    // given
+    testRule.deploy(SIGNAL_START_PROCESS);
+
+    // when
+    Batch batch = runtimeService.createSignalEvent("signal").sendAsync();
+    helper.completeSeedJobs(batch);
+    helper.executeJobs(batch);
+
+    // then
+    assertEquals(1, runtimeService.createProcessInstanceQuery().processDefinitionKey("signalStart").count());
+  }
+
+  @Test
+  public void testSkipSuspendedProcessInstance() {
+    // given
+    testRule.deploy(SIGNAL_CATCH_PROCESS);
+    ProcessInstance processInstance = runtimeService.startProcessInstanceByKey("signalCatch");
+
+    Batch batch = runtimeService.createSignalEvent("signal").sendAsync();
+    helper.completeSeedJobs(batch);
+
+    // when
+    runtimeService.suspendProcessInstanceById(processInstance.getId());
+    helper.executeJobs(batch);
+
+    // then
+    assertEquals(0, taskService.createTaskQuery().count());
+  }
+
+  @Test
+  public void testCreateBatchWithoutSubscriptions() {
+    // when
+    Batch batch = runtimeService.createSignalEvent("signal").sendAsync();
+
+    // then
+    assertEquals(0, batch.getTotalJobs());
+  }
+
+  @Test
+  public void testFailWithExecutionId() {
+    // given
+    testRule.deploy(SIGNAL_CATCH_PROCESS);
+    runtimeService.startProcessInstanceByKey("signalCatch");
+    String executionId = runtimeService.createEventSubscriptionQuery().singleResult().getExecutionId();
+
+    try {
+      // when
+      runtimeService.createSignalEvent("signal").executionId(executionId).sendAsync();
+      fail("expected exception");
+    }
+    catch (BadUserRequestException e) {
+      // then
+      assertTrue(e.getMessage().contains("Cannot deliver a signal asynchronously to a single execution"));
+    }
+  }
+
+  @Test
+  public void testFailWithNonPrimitiveVariable() {
+    // given
+    testRule.deploy(SIGNAL_CATCH_PROCESS);
+    runtimeService.startProcessInstanceByKey("signalCatch");
+
+    try {
+      // when
+      runtimeService.createSignalEvent("signal")
+        .setVariables(Variables.createVariables().putValue("list", Collections.singletonList("value")))
+        .sendAsync();
+      fail("expected exception");
+    }
+    catch (BadUserRequestException e) {
+      // then
+      assertTrue(e.getMessage().contains("Cannot deliver a signal asynchronously with variable 'list'"));
+    }
+  }
+
+}
@@ -0,0 +1,191 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.test.history;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+
+import org.camunda.bpm.engine.HistoryService;
+import org.camunda.bpm.engine.ProcessEngineConfiguration;
+import org.camunda.bpm.engine.RuntimeService;
+import org.camunda.bpm.engine.TaskService;
+import org.camunda.bpm.engine.history.HistoricActivityInstance;
+import org.camunda.bpm.engine.history.HistoricProcessInstance;
+import org.camunda.bpm.engine.impl.cfg.ProcessEngineConfigurationImpl;
+import org.camunda.bpm.engine.impl.history.event.HistoricActivityInstanceEventEntity;
+import org.camunda.bpm.engine.impl.history.event.HistoryEvent;
+import org.camunda.bpm.engine.impl.history.event.HistoryEventTypes;
+import org.camunda.bpm.engine.impl.history.handler.CompositeHistoryEventHandler;
+import org.camunda.bpm.engine.impl.history.handler.DbHistoryEventHandler;
+import org.camunda.bpm.engine.impl.history.handler.HistoryEventHandler;
+import org.camunda.bpm.engine.impl.metrics.sql.SqlStatementMetrics;
+import org.camunda.bpm.engine.impl.util.ClockUtil;
+import org.camunda.bpm.engine.test.RequiredHistoryLevel;
+import org.camunda.bpm.engine.test.util.ProcessEngineBootstrapRule;
+import org.camunda.bpm.engine.test.util.ProcessEngineTestRule;
+import org.camunda.bpm.engine.test.util.ProvidedProcessEngineRule;
+import org.camunda.bpm.model.bpmn.Bpmn;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.RuleChain;
+
+@RequiredHistoryLevel(ProcessEngineConfiguration.HISTORY_ACTIVITY)
+public class HistoricScopeInstanceDurationTest {
+
+  protected static final long START_TIME = 1500000000000L;
+  protected static final long DURATION = 3661005L;
+
+  protected ProcessEngineBootstrapRule bootstrapRule = new ProcessEngineBootstrapRule() {
+    @Override
+    public ProcessEngineConfiguration configureEngine(ProcessEngineConfigurationImpl configuration) {
+      return configuration.setSqlStatementMetricsEnabled(true);
+    }
+  };
+
+  public ProvidedProcessEngineRule engineRule = new ProvidedProcessEngineRule(bootstrapRule);
+  public ProcessEngineTestRule testRule = new ProcessEngineTestRule(engineRule);
+
+  @Rule
+  public RuleChain ruleChain = RuleChain.outerRule(bootstrapRule).around(engineRule).around(testRule);
+
+  protected RuntimeService runtimeService;
+  protected TaskService taskService;
+  protected HistoryService historyService;
+  protected SqlStatementMetrics sqlStatementMetrics;
+  protected HistoryEventHandler historyEventHandler;
+
+  @Before
+  public void init() {
+    runtimeService = engineRule.getRuntimeService();
+    taskService = engineRule.getTaskService();
+    historyService = engineRule.getHistoryService();
+    sqlStatementMetrics = engineRule.getProcessEngineConfiguration().getSqlStatementMetrics();
+    historyEventHandler = engineRule.getProcessEngineConfiguration().getHistoryEventHandler();
+
+    testRule.deploy(Bpmn.createExecutableProcess("process")
+      .startEvent()
+      .userTask("task")
+      .endEvent()
+      .done());
+  }
+
+  @After
+  public void resetClock() {
+    ClockUtil.reset();
+  }
+
+  @After
+  public void resetHistoryEventHandler() {
+    engineRule.getProcessEngineConfiguration().setHistoryEventHandler(historyEventHandler);
+  }
+
+  @Test
+  public void testCalculateDurationWithoutSelect() {
+    // given
+    ClockUtil.setCurrentTime(new Date(START_TIME));
+    String processInstanceId = runtimeService.startProcessInstanceByKey("process").getId();
+    String taskId = taskService.createTaskQuery().singleResult().getId();
+
+    // when the scopes end in a later transaction
+    ClockUtil.setCurrentTime(new Date(START_TIME + DURATION));
+    sqlStatementMetrics.reset();
+    taskService.complete(taskId);
+
+    // then the start times were not read
+    assertNull(sqlStatementMetrics.getStatistics("selectHistoricActivityInstanceEvent"));
+    assertNull(sqlStatementMetrics.getStatistics("selectHistoricProcessInstanceEvent"));
+
+    // and the durations were calculated by the update statements
+    HistoricActivityInstance activityInstance = historyService.createHistoricActivityInstanceQuery()
+      .activityId("task")
+      .singleResult();
+    assertEquals(DURATION, activityInstance.getDurationInMillis().longValue());
+
+    HistoricProcessInstance processInstance = historyService.createHistoricProcessInstanceQuery()
+      .processInstanceId(processInstanceId)
+      .singleResult();
+    assertEquals(DURATION, processInstance.getDurationInMillis().longValue());
+  }
+
+  @Test
+  @RequiredHistoryLevel(ProcessEngineConfiguration.HISTORY_AUDIT)
+  public void testCalculateTaskDurationWithoutSelect() {
+    // given
+    ClockUtil.setCurrentTime(new Date(START_TIME));
+    runtimeService.startProcessInstanceByKey("process");
+    String taskId = taskService.createTaskQuery().singleResult().getId();
+
+    // when
+    ClockUtil.setCurrentTime(new Date(START_TIME + DURATION));
+    sqlStatementMetrics.reset();
+    taskService.complete(taskId);
+
+    // then
+    assertNull(sqlStatementMetrics.getStatistics("selectHistoricTaskInstanceEvent"));
+    assertEquals(DURATION, historyService.createHistoricTaskInstanceQuery().singleResult().getDurationInMillis().longValue());
+  }
+
+  @Test
+  public void testPassStartTimeAndDurationToCompositeHandlers() {
+    // given a handler which receives the events after they were written to the database
+    final List<HistoricActivityInstanceEventEntity> endEvents = new ArrayList<HistoricActivityInstanceEventEntity>();
+    HistoryEventHandler recordingHandler = new HistoryEventHandler() {
+      public void handleEvent(HistoryEvent historyEvent) {
+        if (historyEvent instanceof HistoricActivityInstanceEventEntity
+            && historyEvent.isEventOfType(HistoryEventTypes.ACTIVITY_INSTANCE_END)) {
+          endEvents.add((HistoricActivityInstanceEventEntity) historyEvent);
+        }
+      }
+      public void handleEvents(List<HistoryEvent> historyEvents) {
+        for (HistoryEvent historyEvent : historyEvents) {
+          handleEvent(historyEvent);
+        }
+      }
+    };
+    engineRule.getProcessEngineConfiguration()
+      .setHistoryEventHandler(new CompositeHistoryEventHandler(new DbHistoryEventHandler(), recordingHandler));
+
+    ClockUtil.setCurrentTime(new Date(START_TIME));
+    runtimeService.startProcessInstanceByKey("process");
+    String taskId = taskService.createTaskQuery().singleResult().getId();
+
+    // when the task ends in a later transaction
+    ClockUtil.setCurrentTime(new Date(START_TIME + DURATION));
+    taskService.complete(taskId);
+
+    // then the handler receives the start time and the duration of the task
+    HistoricActivityInstanceEventEntity taskEndEvent = null;
+    for (HistoricActivityInstanceEventEntity endEvent : endEvents) {
+      if ("task".equals(endEvent.getActivityId())) {
+        taskEndEvent = endEvent;
+      }
+    }
+    assertNotNull(taskEndEvent);
+    assertEquals(START_TIME, taskEndEvent.getStartTime().getTime());
+    assertEquals(DURATION, taskEndEvent.getDurationInMillis().longValue());
+
+    // and the database holds the same duration
+    HistoricActivityInstance activityInstance = historyService.createHistoricActivityInstanceQuery()
+      .activityId("task")
+      .singleResult();
+    assertEquals(DURATION, activityInstance.getDurationInMillis().longValue());
+  }
+
+}
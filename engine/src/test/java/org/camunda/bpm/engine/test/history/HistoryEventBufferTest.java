@@ -0,0 +1,282 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.test.history;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+
+import java.sql.SQLTransientConnectionException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.camunda.bpm.engine.HistoryService;
+import org.camunda.bpm.engine.ProcessEngineException;
+import org.camunda.bpm.engine.ProcessEngineConfiguration;
+import org.camunda.bpm.engine.RuntimeService;
+import org.camunda.bpm.engine.TaskService;
+import org.camunda.bpm.engine.history.HistoricActivityInstance;
+import org.camunda.bpm.engine.history.HistoricProcessInstance;
+import org.camunda.bpm.engine.impl.cfg.ProcessEngineConfigurationImpl;
+import org.camunda.bpm.engine.impl.cmd.WriteHistoryEventsCmd;
+import org.camunda.bpm.engine.impl.history.buffer.HistoryEventBuffer;
+import org.camunda.bpm.engine.impl.history.buffer.HistoryEventBufferDurability;
+import org.camunda.bpm.engine.impl.history.event.HistoricProcessInstanceEventEntity;
+import org.camunda.bpm.engine.impl.history.event.HistoryEvent;
+import org.camunda.bpm.engine.impl.interceptor.Command;
+import org.camunda.bpm.engine.impl.interceptor.CommandExecutor;
+import org.camunda.bpm.engine.impl.metrics.MetricsRegistry;
+import org.camunda.bpm.engine.management.Metrics;
+import org.camunda.bpm.engine.test.RequiredHistoryLevel;
+import org.camunda.bpm.engine.test.util.ProcessEngineBootstrapRule;
+import org.camunda.bpm.engine.test.util.ProcessEngineTestRule;
+import org.camunda.bpm.engine.test.util.ProvidedProcessEngineRule;
+import org.camunda.bpm.model.bpmn.Bpmn;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.RuleChain;
+
+@RequiredHistoryLevel(ProcessEngineConfiguration.HISTORY_ACTIVITY)
+public class HistoryEventBufferTest {
+
+  protected ProcessEngineBootstrapRule bootstrapRule = new ProcessEngineBootstrapRule() {
+    @Override
+    public ProcessEngineConfiguration configureEngine(ProcessEngineConfigurationImpl configuration) {
+      return configuration
+        .setHistoryEventBufferEnabled(true)
+        .setHistoryEventBufferFlushInterval(100);
+    }
+  };
+
+  public ProvidedProcessEngineRule engineRule = new ProvidedProcessEngineRule(bootstrapRule);
+  public ProcessEngineTestRule testRule = new ProcessEngineTestRule(engineRule);
+
+  @Rule
+  public RuleChain ruleChain = RuleChain.outerRule(bootstrapRule).around(engineRule).around(testRule);
+
+  protected ProcessEngineConfigurationImpl processEngineConfiguration;
+  protected RuntimeService runtimeService;
+  protected TaskService taskService;
+  protected HistoryService historyService;
+  protected HistoryEventBuffer historyEventBuffer;
+
+  @Before
+  public void init() {
+    processEngineConfiguration = engineRule.getProcessEngineConfiguration();
+    runtimeService = engineRule.getRuntimeService();
+    taskService = engineRule.getTaskService();
+    historyService = engineRule.getHistoryService();
+    historyEventBuffer = processEngineConfiguration.getHistoryEventBuffer();
+
+    testRule.deploy(Bpmn.createExecutableProcess("process")
+      .startEvent()
+      .userTask("task")
+      .endEvent()
+      .done(),
+      Bpmn.createExecutableProcess("failingProcess")
+      .startEvent()
+      .serviceTask()
+        .camundaExpression("${unknownBean.fail()}")
+      .endEvent()
+      .done());
+  }
+
+  @After
+  public void flushBuffer() {
+    historyEventBuffer.flush();
+  }
+
+  @Test
+  public void testWriteEventsOfSingleTransaction() {
+    // given
+    runtimeService.startProcessInstanceByKey("process");
+    String taskId = taskService.createTaskQuery().singleResult().getId();
+
+    // when the instance is completed in one transaction
+    taskService.complete(taskId);
+    historyEventBuffer.flush();
+
+    // then the end events were merged into the entities inserted before
+    HistoricProcessInstance historicProcessInstance = historyService.createHistoricProcessInstanceQuery().singleResult();
+    assertNotNull(historicProcessInstance.getStartTime());
+    assertNotNull(historicProcessInstance.getEndTime());
+
+    assertEquals(3, historyService.createHistoricActivityInstanceQuery().finished().count());
+    for (HistoricActivityInstance activityInstance : historyService.createHistoricActivityInstanceQuery().list()) {
+      assertNotNull(activityInstance.getStartTime());
+      assertNotNull(activityInstance.getEndTime());
+    }
+  }
+
+  @Test
+  public void testWriteEventsOfSeveralTransactionsInOneBatch() {
+    // given
+    historyEventBuffer.stop();
+
+    // when
+    runtimeService.startProcessInstanceByKey("process");
+    String taskId = taskService.createTaskQuery().singleResult().getId();
+    taskService.complete(taskId);
+
+    // then nothing is written before the buffer is flushed
+    assertEquals(0, historyService.createHistoricProcessInstanceQuery().count());
+
+    historyEventBuffer.flush();
+    historyEventBuffer.start();
+
+    HistoricProcessInstance historicProcessInstance = historyService.createHistoricProcessInstanceQuery().singleResult();
+    assertNotNull(historicProcessInstance.getStartTime());
+    assertNotNull(historicProcessInstance.getEndTime());
+    assertEquals(3, historyService.createHistoricActivityInstanceQuery().finished().count());
+  }
+
+  @Test
+  public void testDeleteBufferedHistoricProcessInstance() {
+    // given a completed instance whose history is still buffered
+    historyEventBuffer.stop();
+
+    String processInstanceId = runtimeService.startProcessInstanceByKey("process").getId();
+    String taskId = taskService.createTaskQuery().singleResult().getId();
+    taskService.complete(taskId);
+
+    try {
+      // when
+      historyService.deleteHistoricProcessInstance(processInstanceId);
+
+      // then the buffered history was written and deleted
+      assertEquals(0, historyEventBuffer.getSize());
+      assertEquals(0, historyService.createHistoricProcessInstanceQuery().count());
+      assertEquals(0, historyService.createHistoricActivityInstanceQuery().count());
+    }
+    finally {
+      historyEventBuffer.start();
+    }
+  }
+
+  @Test
+  public void testDropEventsOfRolledBackTransaction() {
+    // when
+    try {
+      runtimeService.startProcessInstanceByKey("failingProcess");
+    }
+    catch (Exception e) {
+      // expected
+    }
+    historyEventBuffer.flush();
+
+    // then
+    assertEquals(0, historyService.createHistoricProcessInstanceQuery().count());
+    assertEquals(0, historyService.createHistoricActivityInstanceQuery().count());
+  }
+
+  @Test
+  public void testDiscardEventsIfFull() {
+    // given
+    MetricsRegistry metricsRegistry = processEngineConfiguration.getMetricsRegistry();
+    metricsRegistry.getMeterByName(Metrics.HISTORY_EVENT_BUFFER_OVERFLOW).getAndClear();
+    metricsRegistry.getMeterByName(Metrics.HISTORY_EVENT_BUFFER_DISCARDED).getAndClear();
+
+    HistoryEventBuffer buffer = new HistoryEventBuffer(2, 10, 100, HistoryEventBufferDurability.DISCARD);
+    buffer.setMetricsRegistry(metricsRegistry);
+
+    List<HistoryEvent> historyEvents = new ArrayList<HistoryEvent>();
+    for (int i = 0; i < 5; i++) {
+      historyEvents.add(new HistoricProcessInstanceEventEntity());
+    }
+
+    // when
+    buffer.add(historyEvents);
+
+    // then
+    assertEquals(2, buffer.getSize());
+    assertEquals(3, metricsRegistry.getMeterByName(Metrics.HISTORY_EVENT_BUFFER_OVERFLOW).get());
+    assertEquals(3, metricsRegistry.getMeterByName(Metrics.HISTORY_EVENT_BUFFER_DISCARDED).get());
+  }
+
+  @Test
+  public void testRetryBatchAfterTransientFailure() throws Exception {
+    // given a database which is unavailable for the first two attempts
+    final AtomicInteger attempts = new AtomicInteger();
+    final CountDownLatch written = new CountDownLatch(1);
+
+    HistoryEventBuffer buffer = new HistoryEventBuffer(10, 10, 10, HistoryEventBufferDurability.BLOCK);
+    buffer.setCommandExecutor(new CommandExecutor() {
+      public <T> T execute(Command<T> command) {
+        if (attempts.incrementAndGet() <= 2) {
+          throw new ProcessEngineException(new SQLTransientConnectionException("connection lost"));
+        }
+        written.countDown();
+        return null;
+      }
+    });
+
+    // when
+    buffer.start();
+    try {
+      buffer.add(createHistoryEvents(3));
+
+      // then the batch is kept and written once the database is available
+      assertTrue(written.await(10, TimeUnit.SECONDS));
+    }
+    finally {
+      buffer.stop();
+    }
+
+    assertEquals(3, attempts.get());
+    assertEquals(0, buffer.getSize());
+  }
+
+  @Test
+  public void testDiscardOnlyEventsWithNonTransientFailure() {
+    // given
+    MetricsRegistry metricsRegistry = processEngineConfiguration.getMetricsRegistry();
+    metricsRegistry.getMeterByName(Metrics.HISTORY_EVENT_BUFFER_WRITTEN).getAndClear();
+    metricsRegistry.getMeterByName(Metrics.HISTORY_EVENT_BUFFER_DISCARDED).getAndClear();
+
+    final List<HistoryEvent> historyEvents = createHistoryEvents(3);
+
+    HistoryEventBuffer buffer = new HistoryEventBuffer(10, 10, 10, HistoryEventBufferDurability.BLOCK);
+    buffer.setMetricsRegistry(metricsRegistry);
+    buffer.setCommandExecutor(new CommandExecutor() {
+      public <T> T execute(Command<T> command) {
+        List<HistoryEvent> events = ((WriteHistoryEventsCmd) command).getHistoryEvents();
+        if (events.contains(historyEvents.get(1))) {
+          throw new ProcessEngineException("value too long");
+        }
+        return null;
+      }
+    });
+
+    // when
+    buffer.add(historyEvents);
+    buffer.flush();
+
+    // then only the failing event is discarded
+    assertEquals(2, metricsRegistry.getMeterByName(Metrics.HISTORY_EVENT_BUFFER_WRITTEN).get());
+    assertEquals(1, metricsRegistry.getMeterByName(Metrics.HISTORY_EVENT_BUFFER_DISCARDED).get());
+  }
+
+  protected List<HistoryEvent> createHistoryEvents(int count) {
+    List<HistoryEvent> historyEvents = new ArrayList<HistoryEvent>();
+    for (int i = 0; i < count; i++) {
+      historyEvents.add(new HistoricProcessInstanceEventEntity());
+    }
+    return historyEvents;
+  }
+
+}
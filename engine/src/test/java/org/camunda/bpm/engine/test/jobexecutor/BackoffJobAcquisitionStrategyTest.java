@@ -157,6 +157,38 @@ public class BackoffJobAcquisitionStrategyTest {
     Assert.assertEquals(BackoffJobAcquisitionStrategy.DEFAULT_EXECUTION_SATURATION_WAIT_TIME, strategy.getWaitTime());
   }
 
+  @Test
+  public void testAcquireLessJobsOnLimitedExecutionCapacity() {
+    // given a job acquisition context in which the job executor
+    // reports less free capacity than jobs to acquire
+    JobAcquisitionContext context = new JobAcquisitionContext();
+    context.submitAcquiredJobs(ENGINE_NAME, buildAcquiredJobs(NUM_JOBS_TO_ACQUIRE, NUM_JOBS_TO_ACQUIRE, 0));
+    context.setAvailableExecutionCapacity(4);
+
+    // when reconfiguring the strategy
+    strategy.reconfigure(context);
+
+    // then only as many jobs are acquired as can be executed
+    Assert.assertEquals(0, strategy.getWaitTime());
+    Assert.assertEquals(4, strategy.getNumJobsToAcquire(ENGINE_NAME));
+  }
+
+  @Test
+  public void testWaitTimeOnExhaustedExecutionCapacity() {
+    // given a job acquisition context in which the job executor
+    // reports no free capacity
+    JobAcquisitionContext context = new JobAcquisitionContext();
+    context.submitAcquiredJobs(ENGINE_NAME, buildAcquiredJobs(NUM_JOBS_TO_ACQUIRE, NUM_JOBS_TO_ACQUIRE, 0));
+    context.setAvailableExecutionCapacity(0);
+
+    // when reconfiguring the strategy
+    strategy.reconfigure(context);
+
+    // then no jobs are acquired and there is a slight wait time
+    Assert.assertEquals(BackoffJobAcquisitionStrategy.DEFAULT_EXECUTION_SATURATION_WAIT_TIME, strategy.getWaitTime());
+    Assert.assertEquals(0, strategy.getNumJobsToAcquire(ENGINE_NAME));
+  }
+
   /**
    * numJobsToAcquire >= numJobsAcquired >= numJobsFailedToLock must hold
    */
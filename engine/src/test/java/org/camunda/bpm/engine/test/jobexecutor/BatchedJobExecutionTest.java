@@ -0,0 +1,207 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.test.jobexecutor;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Set;
+
+import org.camunda.bpm.engine.ManagementService;
+import org.camunda.bpm.engine.ProcessEngineConfiguration;
+import org.camunda.bpm.engine.RuntimeService;
+import org.camunda.bpm.engine.delegate.DelegateExecution;
+import org.camunda.bpm.engine.delegate.JavaDelegate;
+import org.camunda.bpm.engine.impl.cfg.ProcessEngineConfigurationImpl;
+import org.camunda.bpm.engine.impl.cmd.ExecuteJobsBatchCmd;
+import org.camunda.bpm.engine.impl.context.Context;
+import org.camunda.bpm.engine.impl.interceptor.CommandContext;
+import org.camunda.bpm.engine.impl.metrics.Meter;
+import org.camunda.bpm.engine.management.Metrics;
+import org.camunda.bpm.engine.runtime.Job;
+import org.camunda.bpm.engine.test.api.runtime.FailingDelegate;
+import org.camunda.bpm.engine.test.util.ProcessEngineBootstrapRule;
+import org.camunda.bpm.engine.test.util.ProcessEngineTestRule;
+import org.camunda.bpm.engine.test.util.ProvidedProcessEngineRule;
+import org.camunda.bpm.engine.variable.Variables;
+import org.camunda.bpm.model.bpmn.Bpmn;
+import org.camunda.bpm.model.bpmn.BpmnModelInstance;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.RuleChain;
+
+public class BatchedJobExecutionTest {
+
+  protected static final int BATCH_SIZE = 5;
+
+  protected ProcessEngineBootstrapRule bootstrapRule = new ProcessEngineBootstrapRule() {
+    @Override
+    public ProcessEngineConfiguration configureEngine(ProcessEngineConfigurationImpl configuration) {
+      configuration.setJobExecutorBatchSize(BATCH_SIZE);
+      return configuration;
+    }
+  };
+
+  public ProvidedProcessEngineRule engineRule = new ProvidedProcessEngineRule(bootstrapRule);
+  public ProcessEngineTestRule testRule = new ProcessEngineTestRule(engineRule);
+
+  @Rule
+  public RuleChain ruleChain = RuleChain.outerRule(bootstrapRule).around(engineRule).around(testRule);
+
+  protected ProcessEngineConfigurationImpl processEngineConfiguration;
+  protected RuntimeService runtimeService;
+  protected ManagementService managementService;
+
+  protected Set<String> defaultBatchHandlerTypes;
+
+  @Before
+  public void init() {
+    processEngineConfiguration = engineRule.getProcessEngineConfiguration();
+    runtimeService = engineRule.getRuntimeService();
+    managementService = engineRule.getManagementService();
+
+    defaultBatchHandlerTypes = processEngineConfiguration.getJobExecutorBatchHandlerTypes();
+
+    RecordCommandContextDelegate.COMMAND_CONTEXTS.clear();
+  }
+
+  @After
+  public void resetConfiguration() {
+    processEngineConfiguration.setJobExecutorBatchHandlerTypes(defaultBatchHandlerTypes);
+    processEngineConfiguration.setJobExecutorBatchActivityIds(new HashSet<String>());
+  }
+
+  @Test
+  public void testExecuteJobsInBatches() {
+    // given
+    testRule.deploy(createProcess(RecordCommandContextDelegate.class));
+
+    for (int i = 0; i < 4 * BATCH_SIZE; i++) {
+      runtimeService.startProcessInstanceByKey("process");
+    }
+
+    // when
+    testRule.waitForJobExecutorToProcessAllJobs();
+
+    // then all jobs were executed in fewer transactions than there were jobs
+    assertEquals(0, runtimeService.createProcessInstanceQuery().count());
+    assertTrue(RecordCommandContextDelegate.COMMAND_CONTEXTS.size() < 4 * BATCH_SIZE);
+  }
+
+  @Test
+  public void testExecuteJobsOfJobDefinitionInBatches() {
+    // given only the jobs of the service task may be batched
+    processEngineConfiguration.setJobExecutorBatchHandlerTypes(new HashSet<String>());
+    processEngineConfiguration.setJobExecutorBatchActivityIds(new HashSet<String>(Arrays.asList("task")));
+
+    testRule.deploy(createProcess(RecordCommandContextDelegate.class));
+
+    for (int i = 0; i < 4 * BATCH_SIZE; i++) {
+      runtimeService.startProcessInstanceByKey("process");
+    }
+
+    // when
+    testRule.waitForJobExecutorToProcessAllJobs();
+
+    // then
+    assertEquals(0, runtimeService.createProcessInstanceQuery().count());
+    assertTrue(RecordCommandContextDelegate.COMMAND_CONTEXTS.size() < 4 * BATCH_SIZE);
+  }
+
+  @Test
+  public void testExecuteJobsOneByOneWithoutOptIn() {
+    // given no jobs may be batched
+    processEngineConfiguration.setJobExecutorBatchHandlerTypes(new HashSet<String>());
+
+    testRule.deploy(createProcess(RecordCommandContextDelegate.class));
+
+    for (int i = 0; i < 2 * BATCH_SIZE; i++) {
+      runtimeService.startProcessInstanceByKey("process");
+    }
+
+    // when
+    testRule.waitForJobExecutorToProcessAllJobs();
+
+    // then every job was executed in its own transaction
+    assertEquals(0, runtimeService.createProcessInstanceQuery().count());
+    assertEquals(2 * BATCH_SIZE, RecordCommandContextDelegate.COMMAND_CONTEXTS.size());
+  }
+
+  @Test
+  public void testSkipDeletedJobs() {
+    // given
+    Meter successfulJobs = processEngineConfiguration.getMetricsRegistry().getMeterByName(Metrics.JOB_SUCCESSFUL);
+    long successfulJobsBefore = successfulJobs.get();
+
+    // when a batch contains jobs which do not exist anymore
+    List<String> skippedJobIds = processEngineConfiguration.getCommandExecutorTxRequired()
+      .execute(new ExecuteJobsBatchCmd(Arrays.asList("aDeletedJobId", "anotherDeletedJobId")));
+
+    // then they are neither executed nor counted as successful
+    assertTrue(skippedJobIds.isEmpty());
+    assertEquals(successfulJobsBefore, successfulJobs.get());
+  }
+
+  @Test
+  public void testFallbackToSingleJobExecutionOnFailure() {
+    // given
+    testRule.deploy(createProcess(FailingDelegate.class));
+
+    for (int i = 0; i < BATCH_SIZE - 1; i++) {
+      runtimeService.startProcessInstanceByKey("process", Variables.createVariables().putValue("fail", false));
+    }
+    String failingProcessInstanceId = runtimeService
+      .startProcessInstanceByKey("process", Variables.createVariables().putValue("fail", true))
+      .getId();
+
+    // when
+    testRule.waitForJobExecutorToProcessAllJobs();
+
+    // then only the failing job is left
+    assertEquals(1, runtimeService.createProcessInstanceQuery().count());
+
+    Job failedJob = managementService.createJobQuery().singleResult();
+    assertEquals(failingProcessInstanceId, failedJob.getProcessInstanceId());
+    assertEquals(0, failedJob.getRetries());
+    assertEquals(FailingDelegate.EXCEPTION_MESSAGE, failedJob.getExceptionMessage());
+  }
+
+  protected BpmnModelInstance createProcess(Class<? extends JavaDelegate> delegateClass) {
+    return Bpmn.createExecutableProcess("process")
+      .startEvent()
+      .serviceTask("task")
+        .camundaClass(delegateClass.getName())
+        .camundaAsyncBefore()
+        .camundaExclusive(false)
+      .endEvent()
+      .done();
+  }
+
+  public static class RecordCommandContextDelegate implements JavaDelegate {
+
+    public static final Set<CommandContext> COMMAND_CONTEXTS =
+        Collections.synchronizedSet(Collections.newSetFromMap(new IdentityHashMap<CommandContext, Boolean>()));
+
+    public void execute(DelegateExecution execution) throws Exception {
+      COMMAND_CONTEXTS.add(Context.getCommandContext());
+    }
+  }
+
+}
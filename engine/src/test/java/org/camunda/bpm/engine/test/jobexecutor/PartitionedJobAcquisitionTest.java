@@ -0,0 +1,229 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.test.jobexecutor;
+
+import java.util.Date;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.camunda.bpm.engine.impl.cmd.AcquireJobsCmd;
+import org.camunda.bpm.engine.impl.interceptor.Command;
+import org.camunda.bpm.engine.impl.interceptor.CommandContext;
+import org.camunda.bpm.engine.impl.interceptor.CommandExecutor;
+import org.camunda.bpm.engine.impl.jobexecutor.AcquiredJobs;
+import org.camunda.bpm.engine.impl.jobexecutor.JobAcquisitionPartitions;
+import org.camunda.bpm.engine.impl.persistence.entity.JobEntity;
+import org.camunda.bpm.engine.impl.persistence.entity.PropertyEntity;
+import org.camunda.bpm.engine.impl.test.PluggableProcessEngineTestCase;
+import org.camunda.bpm.engine.impl.util.ClockUtil;
+import org.camunda.bpm.engine.runtime.Job;
+import org.camunda.bpm.model.bpmn.Bpmn;
+
+public class PartitionedJobAcquisitionTest extends PluggableProcessEngineTestCase {
+
+  protected static final int PARTITION_COUNT = 4;
+  protected static final long LEASE_TIME = 60000;
+
+  protected CommandExecutor commandExecutor;
+  protected JobAcquisitionPartitions partitionsA;
+  protected JobAcquisitionPartitions partitionsB;
+
+  protected void setUp() throws Exception {
+    ClockUtil.setCurrentTime(new Date());
+    commandExecutor = processEngineConfiguration.getCommandExecutorTxRequired();
+
+    partitionsA = new JobAcquisitionPartitions(PARTITION_COUNT, LEASE_TIME);
+    partitionsB = new JobAcquisitionPartitions(PARTITION_COUNT, LEASE_TIME);
+  }
+
+  protected void tearDown() throws Exception {
+    processEngineConfiguration.setJobAcquisitionPartitions(null);
+    ClockUtil.reset();
+
+    commandExecutor.execute(new Command<Void>() {
+      public Void execute(CommandContext commandContext) {
+        List<PropertyEntity> properties = commandContext.getPropertyManager()
+          .findPropertiesByNamePrefix(JobAcquisitionPartitions.PROPERTY_PREFIX);
+        for (PropertyEntity property : properties) {
+          commandContext.getDbEntityManager().delete(property);
+        }
+        return null;
+      }
+    });
+  }
+
+  public void testRebalancePartitionsOnJoinAndLeave() {
+    // given a single node which owns all partitions
+    partitionsA.renewLeasesIfDue(commandExecutor, "ownerA");
+    assertEquals(PARTITION_COUNT, partitionsA.getOwnedPartitions().size());
+
+    // when a second node joins
+    partitionsB.renewLeasesIfDue(commandExecutor, "ownerB");
+
+    // then it cannot claim partitions before they are released
+    assertTrue(partitionsB.getOwnedPartitions().isEmpty());
+
+    // when both nodes renew their leases
+    advanceClock(LEASE_TIME / 2);
+    partitionsA.renewLeasesIfDue(commandExecutor, "ownerA");
+    partitionsB.renewLeasesIfDue(commandExecutor, "ownerB");
+
+    // then the partitions are split between them
+    assertEquals(PARTITION_COUNT / 2, partitionsA.getOwnedPartitions().size());
+    assertEquals(PARTITION_COUNT / 2, partitionsB.getOwnedPartitions().size());
+
+    Set<Integer> allPartitions = new HashSet<Integer>(partitionsA.getOwnedPartitions());
+    allPartitions.addAll(partitionsB.getOwnedPartitions());
+    assertEquals(PARTITION_COUNT, allPartitions.size());
+
+    // when the first node leaves
+    partitionsA.releaseLeases(commandExecutor, "ownerA");
+    advanceClock(LEASE_TIME / 2);
+    partitionsB.renewLeasesIfDue(commandExecutor, "ownerB");
+
+    // then the second node takes over all partitions
+    assertTrue(partitionsA.getOwnedPartitions().isEmpty());
+    assertEquals(PARTITION_COUNT, partitionsB.getOwnedPartitions().size());
+  }
+
+  public void testAcquireOnlyJobsOfOwnedPartitions() {
+    // given
+    deployment(Bpmn.createExecutableProcess("process")
+      .startEvent()
+      .serviceTask()
+        .camundaExpression("${true}")
+        .camundaAsyncBefore()
+      .endEvent()
+      .done());
+
+    processEngineConfiguration.setJobAcquisitionPartitions(partitionsA);
+
+    for (int i = 0; i < 20; i++) {
+      runtimeService.startProcessInstanceByKey("process");
+    }
+
+    claimHalfOfThePartitions();
+
+    Set<String> expectedJobIds = new HashSet<String>();
+    for (Job job : managementService.createJobQuery().list()) {
+      if (partitionsA.isOwned((JobEntity) job)) {
+        expectedJobIds.add(job.getId());
+      }
+    }
+
+    // when
+    AcquiredJobs acquiredJobs = commandExecutor.execute(new AcquireJobsCmd(processEngineConfiguration.getJobExecutor(), 20));
+
+    // then
+    Set<String> acquiredJobIds = new HashSet<String>();
+    for (List<String> jobIds : acquiredJobs.getJobIdBatches()) {
+      acquiredJobIds.addAll(jobIds);
+    }
+    assertEquals(expectedJobIds, acquiredJobIds);
+  }
+
+  public void testAcquireOwnedJobsBehindBacklogOfOtherPartitions() {
+    // given a backlog of jobs of foreign partitions and a single job of an owned partition
+    deployment(Bpmn.createExecutableProcess("process")
+      .startEvent()
+      .serviceTask()
+        .camundaExpression("${true}")
+        .camundaAsyncBefore()
+      .endEvent()
+      .done());
+
+    processEngineConfiguration.setJobAcquisitionPartitions(partitionsA);
+
+    for (int i = 0; i < 50; i++) {
+      runtimeService.startProcessInstanceByKey("process");
+    }
+
+    claimHalfOfThePartitions();
+
+    String ownedJobId = null;
+    for (Job job : managementService.createJobQuery().list()) {
+      if (partitionsA.isOwned((JobEntity) job)) {
+        if (ownedJobId == null) {
+          ownedJobId = job.getId();
+        }
+        else {
+          runtimeService.deleteProcessInstance(job.getProcessInstanceId(), null);
+        }
+      }
+    }
+    assertNotNull(ownedJobId);
+
+    // when
+    AcquiredJobs acquiredJobs = commandExecutor.execute(new AcquireJobsCmd(processEngineConfiguration.getJobExecutor(), 1));
+
+    // then the owned job is acquired
+    assertEquals(1, acquiredJobs.size());
+    assertTrue(acquiredJobs.contains(ownedJobId));
+  }
+
+  public void testAcquireUnpartitionedJobsByOwnerOfFirstPartition() {
+    // given a job which was created before partitioned acquisition was enabled
+    deployment(Bpmn.createExecutableProcess("process")
+      .startEvent()
+      .serviceTask()
+        .camundaExpression("${true}")
+        .camundaAsyncBefore()
+      .endEvent()
+      .done());
+
+    runtimeService.startProcessInstanceByKey("process");
+    String jobId = managementService.createJobQuery().singleResult().getId();
+
+    processEngineConfiguration.setJobAcquisitionPartitions(partitionsA);
+    claimHalfOfThePartitions();
+
+    // when
+    AcquiredJobs acquiredJobs = commandExecutor.execute(new AcquireJobsCmd(processEngineConfiguration.getJobExecutor(), 20));
+
+    // then it is acquired only by the owner of the first partition
+    assertEquals(partitionsA.getOwnedPartitions().contains(0), acquiredJobs.contains(jobId));
+  }
+
+  public void testAcquireNoJobsWithoutOwnedPartitions() {
+    // given
+    deployment(Bpmn.createExecutableProcess("process")
+      .startEvent()
+      .serviceTask()
+        .camundaExpression("${true}")
+        .camundaAsyncBefore()
+      .endEvent()
+      .done());
+
+    runtimeService.startProcessInstanceByKey("process");
+
+    // when
+    processEngineConfiguration.setJobAcquisitionPartitions(partitionsA);
+    AcquiredJobs acquiredJobs = commandExecutor.execute(new AcquireJobsCmd(processEngineConfiguration.getJobExecutor(), 20));
+
+    // then
+    assertEquals(0, acquiredJobs.size());
+  }
+
+  protected void claimHalfOfThePartitions() {
+    partitionsA.renewLeasesIfDue(commandExecutor, "ownerA");
+    partitionsB.renewLeasesIfDue(commandExecutor, "ownerB");
+    advanceClock(LEASE_TIME / 2);
+    partitionsA.renewLeasesIfDue(commandExecutor, "ownerA");
+  }
+
+  protected void advanceClock(long millis) {
+    ClockUtil.setCurrentTime(new Date(ClockUtil.getCurrentTime().getTime() + millis));
+  }
+
+}
@@ -0,0 +1,115 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.engine.test.jobexecutor;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.camunda.bpm.engine.ProcessEngineConfiguration;
+import org.camunda.bpm.engine.RuntimeService;
+import org.camunda.bpm.engine.delegate.DelegateExecution;
+import org.camunda.bpm.engine.delegate.JavaDelegate;
+import org.camunda.bpm.engine.impl.cfg.ProcessEngineConfigurationImpl;
+import org.camunda.bpm.engine.impl.jobexecutor.VirtualThreadJobExecutor;
+import org.camunda.bpm.engine.test.util.ProcessEngineBootstrapRule;
+import org.camunda.bpm.engine.test.util.ProcessEngineTestRule;
+import org.camunda.bpm.engine.test.util.ProvidedProcessEngineRule;
+import org.camunda.bpm.model.bpmn.Bpmn;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.RuleChain;
+
+public class VirtualThreadJobExecutorTest {
+
+  protected static final int MAX_ACTIVE_CONNECTIONS = 5;
+
+  protected ProcessEngineBootstrapRule bootstrapRule = new ProcessEngineBootstrapRule() {
+    @Override
+    public ProcessEngineConfiguration configureEngine(ProcessEngineConfigurationImpl configuration) {
+      configuration.setJdbcMaxActiveConnections(MAX_ACTIVE_CONNECTIONS);
+      return configuration.setJobExecutor(new VirtualThreadJobExecutor());
+    }
+  };
+
+  public ProvidedProcessEngineRule engineRule = new ProvidedProcessEngineRule(bootstrapRule);
+  public ProcessEngineTestRule testRule = new ProcessEngineTestRule(engineRule);
+
+  @Rule
+  public RuleChain ruleChain = RuleChain.outerRule(bootstrapRule).around(engineRule).around(testRule);
+
+  protected RuntimeService runtimeService;
+  protected VirtualThreadJobExecutor jobExecutor;
+
+  @Before
+  public void init() {
+    runtimeService = engineRule.getRuntimeService();
+    jobExecutor = (VirtualThreadJobExecutor) engineRule.getProcessEngineConfiguration().getJobExecutor();
+
+    ConcurrencyRecordingDelegate.reset();
+  }
+
+  @Test
+  public void testExecuteJobsBoundedByDatasourcePoolSize() {
+    // given
+    testRule.deploy(Bpmn.createExecutableProcess("process")
+      .startEvent()
+      .serviceTask()
+        .camundaClass(ConcurrencyRecordingDelegate.class.getName())
+        .camundaAsyncBefore()
+        .camundaExclusive(false)
+      .endEvent()
+      .done());
+
+    for (int i = 0; i < 20; i++) {
+      runtimeService.startProcessInstanceByKey("process");
+    }
+
+    // when
+    testRule.waitForJobExecutorToProcessAllJobs();
+
+    // then all jobs were executed with at most one connection less than the pool size
+    assertEquals(0, runtimeService.createProcessInstanceQuery().count());
+    assertTrue(ConcurrencyRecordingDelegate.MAX_CONCURRENT_EXECUTIONS.get() <= MAX_ACTIVE_CONNECTIONS - 1);
+    assertEquals(MAX_ACTIVE_CONNECTIONS - 1, jobExecutor.getAvailableExecutionCapacity());
+  }
+
+  public static class ConcurrencyRecordingDelegate implements JavaDelegate {
+
+    public static final AtomicInteger CONCURRENT_EXECUTIONS = new AtomicInteger();
+    public static final AtomicInteger MAX_CONCURRENT_EXECUTIONS = new AtomicInteger();
+
+    public static void reset() {
+      CONCURRENT_EXECUTIONS.set(0);
+      MAX_CONCURRENT_EXECUTIONS.set(0);
+    }
+
+    public void execute(DelegateExecution execution) throws Exception {
+      int concurrentExecutions = CONCURRENT_EXECUTIONS.incrementAndGet();
+      try {
+        int maxConcurrentExecutions = MAX_CONCURRENT_EXECUTIONS.get();
+        while (concurrentExecutions > maxConcurrentExecutions
+            && !MAX_CONCURRENT_EXECUTIONS.compareAndSet(maxConcurrentExecutions, concurrentExecutions)) {
+          maxConcurrentExecutions = MAX_CONCURRENT_EXECUTIONS.get();
+        }
+        Thread.sleep(20);
+      }
+      finally {
+        CONCURRENT_EXECUTIONS.decrementAndGet();
+      }
+    }
+  }
+
+}
@@ -0,0 +1,205 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.qa.performance.engine.jmh;
+
+import java.io.UnsupportedEncodingException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.camunda.bpm.engine.impl.db.DbEntity;
+import org.camunda.bpm.engine.impl.db.entitymanager.operation.DbEntityOperation;
+import org.camunda.bpm.engine.impl.db.entitymanager.operation.DbOperationType;
+import org.camunda.bpm.engine.impl.persistence.entity.ExecutionEntity;
+import org.camunda.bpm.engine.impl.persistence.entity.VariableInstanceEntity;
+import org.camunda.bpm.engine.impl.pvm.ProcessDefinitionBuilder;
+import org.camunda.bpm.engine.impl.pvm.PvmProcessDefinition;
+import org.camunda.bpm.engine.impl.pvm.PvmTransition;
+import org.camunda.bpm.engine.impl.pvm.delegate.ActivityBehavior;
+import org.camunda.bpm.engine.impl.pvm.delegate.ActivityExecution;
+import org.camunda.bpm.model.bpmn.Bpmn;
+import org.camunda.bpm.model.bpmn.BpmnModelInstance;
+import org.camunda.bpm.model.bpmn.builder.AbstractFlowNodeBuilder;
+import org.camunda.bpm.qa.performance.engine.framework.PerfTestException;
+
+/**
+ * Creates the fixtures used by the microbenchmarks. All fixtures are deterministic:
+ * ids, names and values only depend on the requested size, so that results of
+ * different runs are comparable.
+ */
+public class BenchmarkFixtures {
+
+  public static final String PROCESS_INSTANCE_ID = "processInstance";
+
+  /**
+   * Creates a tree of executions below a process instance, where every execution
+   * is the parent of the next one.
+   */
+  public static List<ExecutionEntity> createExecutions(int numberOfExecutions) {
+    List<ExecutionEntity> executions = new ArrayList<ExecutionEntity>();
+    String parentId = null;
+
+    for (int i = 0; i < numberOfExecutions; i++) {
+      ExecutionEntity execution = new ExecutionEntity();
+      execution.setId(i == 0 ? PROCESS_INSTANCE_ID : formatId("execution", i));
+      execution.setProcessInstanceId(PROCESS_INSTANCE_ID);
+      execution.setParentId(parentId);
+      execution.setActivityId(formatId("activity", i));
+      execution.setRevision(1);
+
+      executions.add(execution);
+      parentId = execution.getId();
+    }
+
+    return executions;
+  }
+
+  public static List<VariableInstanceEntity> createVariables(List<ExecutionEntity> executions) {
+    List<VariableInstanceEntity> variables = new ArrayList<VariableInstanceEntity>();
+
+    for (int i = 0; i < executions.size(); i++) {
+      VariableInstanceEntity variable = new VariableInstanceEntity();
+      variable.setId(formatId("variable", i));
+      variable.setName(formatId("name", i));
+      variable.setExecutionId(executions.get(i).getId());
+      variable.setProcessInstanceId(PROCESS_INSTANCE_ID);
+      variable.setTextValue(formatId("value", i));
+      variable.setRevision(1);
+
+      variables.add(variable);
+    }
+
+    return variables;
+  }
+
+  /**
+   * Creates the operations of a flush which inserts a tree of executions with a
+   * variable each, updates as many executions and deletes as many variables. The
+   * inserts are created child first, so that they have to be reordered by the flush.
+   */
+  public static List<DbEntityOperation> createFlushOperations(int numberOfEntities) {
+    List<DbEntityOperation> operations = new ArrayList<DbEntityOperation>();
+
+    List<ExecutionEntity> insertedExecutions = createExecutions(numberOfEntities);
+    Collections.reverse(insertedExecutions);
+    for (ExecutionEntity execution : insertedExecutions) {
+      Set<String> references = new HashSet<String>();
+      if (execution.getParentId() != null) {
+        references.add(execution.getParentId());
+      }
+      operations.add(createOperation(execution, DbOperationType.INSERT, references));
+    }
+
+    for (VariableInstanceEntity variable : createVariables(insertedExecutions)) {
+      operations.add(createOperation(variable, DbOperationType.INSERT, Collections.<String>emptySet()));
+    }
+
+    for (ExecutionEntity execution : createExecutions(numberOfEntities)) {
+      execution.setId("updated-" + execution.getId());
+      operations.add(createOperation(execution, DbOperationType.UPDATE, Collections.<String>emptySet()));
+    }
+
+    for (VariableInstanceEntity variable : createVariables(createExecutions(numberOfEntities))) {
+      variable.setId("deleted-" + variable.getId());
+      operations.add(createOperation(variable, DbOperationType.DELETE, Collections.<String>emptySet()));
+    }
+
+    return operations;
+  }
+
+  /**
+   * Creates a process with a sequence of service tasks followed by an exclusive
+   * gateway and a user task.
+   */
+  public static byte[] createProcessModelXml(int numberOfServiceTasks) {
+    AbstractFlowNodeBuilder<?, ?> builder = Bpmn.createExecutableProcess("benchmarkProcess")
+      .startEvent("start");
+
+    for (int i = 0; i < numberOfServiceTasks; i++) {
+      builder = builder.serviceTask(formatId("serviceTask", i))
+        .camundaExpression("${execution.getVariable('amount') > " + i + "}")
+        .camundaAsyncBefore(i % 2 == 0);
+    }
+
+    BpmnModelInstance modelInstance = builder
+      .exclusiveGateway("gateway")
+        .condition("approved", "${approved}")
+        .userTask("userTask")
+        .endEvent("approvedEnd")
+      .moveToNode("gateway")
+        .condition("rejected", "${!approved}")
+        .endEvent("rejectedEnd")
+      .done();
+
+    try {
+      return Bpmn.convertToString(modelInstance).getBytes("UTF-8");
+    }
+    catch (UnsupportedEncodingException e) {
+      throw new PerfTestException("Cannot convert process model", e);
+    }
+  }
+
+  /**
+   * Creates a process definition for the process virtual machine which passes a
+   * sequence of activities without waiting.
+   */
+  public static PvmProcessDefinition createSequence(int numberOfActivities) {
+    ProcessDefinitionBuilder builder = new ProcessDefinitionBuilder("sequence");
+
+    for (int i = 0; i < numberOfActivities; i++) {
+      builder.createActivity(formatId("activity", i));
+      if (i == 0) {
+        builder.initial();
+      }
+      builder.behavior(new Automatic());
+      if (i < numberOfActivities - 1) {
+        builder.transition(formatId("activity", i + 1));
+      }
+      builder.endActivity();
+    }
+
+    return builder.buildProcessDefinition();
+  }
+
+  protected static DbEntityOperation createOperation(DbEntity entity, DbOperationType operationType, Set<String> references) {
+    DbEntityOperation operation = new DbEntityOperation();
+    operation.setEntity(entity);
+    operation.setOperationType(operationType);
+    operation.setFlushRelevantEntityReferences(references);
+    return operation;
+  }
+
+  protected static String formatId(String prefix, int index) {
+    return String.format("%s-%05d", prefix, index);
+  }
+
+  /**
+   * Leaves the activity via its first outgoing transition or ends the execution
+   * if there is none.
+   */
+  public static class Automatic implements ActivityBehavior {
+
+    public void execute(ActivityExecution execution) throws Exception {
+      List<PvmTransition> outgoingTransitions = execution.getActivity().getOutgoingTransitions();
+      if (outgoingTransitions.isEmpty()) {
+        execution.end(true);
+      }
+      else {
+        execution.leaveActivityViaTransition(outgoingTransitions.get(0));
+      }
+    }
+  }
+
+}
@@ -0,0 +1,66 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.qa.performance.engine.jmh;
+
+import java.io.InputStream;
+import java.util.Properties;
+
+import org.camunda.bpm.engine.ProcessEngine;
+import org.camunda.bpm.engine.ProcessEngineConfiguration;
+import org.camunda.bpm.engine.impl.cfg.ProcessEngineConfigurationImpl;
+import org.camunda.bpm.engine.impl.cfg.StandaloneProcessEngineConfiguration;
+import org.camunda.bpm.engine.impl.util.IoUtil;
+import org.camunda.bpm.qa.performance.engine.framework.PerfTestException;
+
+/**
+ * Creates the process engines used by the microbenchmarks. By default, the engine
+ * runs against an in-memory H2 database which is created when the engine is built
+ * and dropped when it is closed, so that every benchmark starts from an empty schema.
+ */
+public class BenchmarkProcessEngine {
+
+  public static final String PROPERTIES_FILE_NAME = "jmh-config.properties";
+
+  public static ProcessEngine createProcessEngine() {
+    Properties properties = loadProperties();
+
+    ProcessEngineConfigurationImpl processEngineConfiguration = new StandaloneProcessEngineConfiguration();
+    processEngineConfiguration.setJdbcUrl(properties.getProperty("databaseUrl"));
+    processEngineConfiguration.setJdbcDriver(properties.getProperty("databaseDriver"));
+    processEngineConfiguration.setJdbcUsername(properties.getProperty("databaseUser"));
+    processEngineConfiguration.setJdbcPassword(properties.getProperty("databasePassword"));
+    processEngineConfiguration.setDatabaseSchemaUpdate(ProcessEngineConfiguration.DB_SCHEMA_UPDATE_CREATE_DROP);
+    processEngineConfiguration.setHistory(properties.getProperty("historyLevel"));
+    processEngineConfiguration.setJobExecutorActivate(false);
+    processEngineConfiguration.setMetricsEnabled(false);
+
+    return processEngineConfiguration.buildProcessEngine();
+  }
+
+  public static Properties loadProperties() {
+    InputStream propertyInputStream = null;
+    try {
+      propertyInputStream = BenchmarkProcessEngine.class.getClassLoader().getResourceAsStream(PROPERTIES_FILE_NAME);
+      Properties properties = new Properties();
+      properties.load(propertyInputStream);
+      return properties;
+
+    } catch(Exception e) {
+      throw new PerfTestException("Cannot load properties from file "+PROPERTIES_FILE_NAME+": "+e);
+
+    } finally {
+      IoUtil.closeSilently(propertyInputStream);
+    }
+  }
+
+}
@@ -0,0 +1,66 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.qa.performance.engine.jmh;
+
+import java.io.File;
+import java.util.Properties;
+import java.util.concurrent.TimeUnit;
+
+import org.camunda.bpm.qa.performance.engine.framework.PerfTestConfiguration;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * <p>Runs the microbenchmarks with JMH and writes the results to <code>target/results</code>,
+ * where the {@link org.camunda.bpm.qa.performance.engine.benchmark.BenchmarkReport} picks
+ * them up.</p>
+ *
+ * <p>Like the JUnit based benchmark, the benchmarks are run in multiple passes. The first
+ * pass uses one thread, the second one two threads and so forth up to
+ * <code>numberOfThreads</code>.</p>
+ */
+public class JmhBenchmarkRunner {
+
+  public static final String RESULTS_FOLDER = "target" + File.separatorChar + "results";
+
+  public static void main(String[] args) throws RunnerException {
+    Properties properties = BenchmarkProcessEngine.loadProperties();
+
+    int numberOfThreads = Integer.parseInt(properties.getProperty("numberOfThreads"));
+    int numberOfRuns = Integer.parseInt(properties.getProperty("numberOfRuns"));
+
+    PerfTestConfiguration configuration = JmhResultExporter
+        .createConfiguration(numberOfThreads, numberOfRuns, properties.getProperty("historyLevel"));
+    JmhResultExporter exporter = new JmhResultExporter(configuration);
+
+    for (int threads = 1; threads <= numberOfThreads; threads++) {
+      Options options = new OptionsBuilder()
+        .include(properties.getProperty("jmh.include"))
+        .forks(Integer.parseInt(properties.getProperty("jmh.forks")))
+        .warmupIterations(Integer.parseInt(properties.getProperty("jmh.warmupIterations")))
+        .measurementIterations(Integer.parseInt(properties.getProperty("jmh.measurementIterations")))
+        .threads(threads)
+        .mode(Mode.AverageTime)
+        .timeUnit(TimeUnit.MICROSECONDS)
+        .build();
+
+      exporter.addResults(new Runner(options).run());
+    }
+
+    exporter.writeResults(RESULTS_FOLDER);
+  }
+
+}
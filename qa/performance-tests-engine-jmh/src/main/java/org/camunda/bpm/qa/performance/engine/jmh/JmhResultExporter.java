@@ -0,0 +1,111 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.qa.performance.engine.jmh;
+
+import java.io.File;
+import java.util.Collection;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.camunda.bpm.qa.performance.engine.framework.PerfTestConfiguration;
+import org.camunda.bpm.qa.performance.engine.framework.PerfTestResult;
+import org.camunda.bpm.qa.performance.engine.framework.PerfTestResults;
+import org.camunda.bpm.qa.performance.engine.util.JsonUtil;
+import org.openjdk.jmh.infra.BenchmarkParams;
+import org.openjdk.jmh.results.RunResult;
+
+/**
+ * <p>Converts JMH results into {@link PerfTestResults}, so that they can be aggregated
+ * by the {@link org.camunda.bpm.qa.performance.engine.benchmark.BenchmarkAggregator}
+ * like the results of the JUnit based benchmark.</p>
+ *
+ * <p>Every benchmark method becomes a test and every thread count a pass. The average
+ * time per operation measured by JMH is converted into the duration of
+ * <code>numberOfRuns</code> operations, so that the throughput computed by the
+ * aggregator equals the number of operations per second.</p>
+ */
+public class JmhResultExporter {
+
+  protected PerfTestConfiguration configuration;
+  protected Map<String, PerfTestResults> results = new LinkedHashMap<String, PerfTestResults>();
+
+  public JmhResultExporter(PerfTestConfiguration configuration) {
+    this.configuration = configuration;
+  }
+
+  /**
+   * Adds the results of a JMH run. The results must have been measured in
+   * average time mode with microseconds as time unit.
+   */
+  public void addResults(Collection<RunResult> runResults) {
+    for (RunResult runResult : runResults) {
+      BenchmarkParams params = runResult.getParams();
+      String testName = formatTestName(params);
+
+      PerfTestResults testResults = results.get(testName);
+      if (testResults == null) {
+        testResults = new PerfTestResults(configuration);
+        testResults.setTestName(testName);
+        results.put(testName, testResults);
+      }
+
+      // the score is the average time per operation and thread
+      double microsPerOperation = runResult.getPrimaryResult().getScore();
+      long duration = Math.round(microsPerOperation * configuration.getNumberOfRuns() / params.getThreads() / 1000);
+
+      PerfTestResult passResult = new PerfTestResult();
+      passResult.setNumberOfThreads(params.getThreads());
+      passResult.setDuration(Math.max(1, duration));
+      testResults.getPassResults().add(passResult);
+    }
+  }
+
+  public void writeResults(String resultsFolder) {
+    File directory = new File(resultsFolder);
+    if (!directory.exists()) {
+      directory.mkdirs();
+    }
+
+    for (PerfTestResults testResults : results.values()) {
+      String resultFileName = resultsFolder + File.separatorChar + testResults.getTestName() + ".json";
+      JsonUtil.writeObjectToFile(resultFileName, testResults);
+    }
+  }
+
+  public Map<String, PerfTestResults> getResults() {
+    return results;
+  }
+
+  protected String formatTestName(BenchmarkParams params) {
+    String benchmark = params.getBenchmark();
+    int classNameStart = benchmark.lastIndexOf('.', benchmark.lastIndexOf('.') - 1) + 1;
+
+    StringBuilder testName = new StringBuilder(benchmark.substring(classNameStart));
+    for (String paramKey : params.getParamsKeys()) {
+      testName.append("[").append(paramKey).append("=").append(params.getParam(paramKey)).append("]");
+    }
+    return testName.toString();
+  }
+
+  public static PerfTestConfiguration createConfiguration(int numberOfThreads, int numberOfRuns, String historyLevel) {
+    PerfTestConfiguration configuration = new PerfTestConfiguration();
+    configuration.setNumberOfThreads(numberOfThreads);
+    configuration.setNumberOfRuns(numberOfRuns);
+    configuration.setHistoryLevel(historyLevel);
+    configuration.setStartTime(new Date());
+    configuration.setPlatform("jmh");
+    return configuration;
+  }
+
+}
@@ -0,0 +1,92 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.qa.performance.engine.jmh.benchmark;
+
+import java.io.ByteArrayInputStream;
+import java.util.List;
+
+import org.camunda.bpm.engine.ProcessEngine;
+import org.camunda.bpm.engine.impl.bpmn.deployer.BpmnDeployer;
+import org.camunda.bpm.engine.impl.bpmn.parser.BpmnParse;
+import org.camunda.bpm.engine.impl.bpmn.parser.BpmnParser;
+import org.camunda.bpm.engine.impl.cfg.ProcessEngineConfigurationImpl;
+import org.camunda.bpm.engine.impl.interceptor.Command;
+import org.camunda.bpm.engine.impl.interceptor.CommandContext;
+import org.camunda.bpm.engine.impl.interceptor.CommandExecutor;
+import org.camunda.bpm.engine.impl.persistence.deploy.Deployer;
+import org.camunda.bpm.engine.impl.persistence.entity.DeploymentEntity;
+import org.camunda.bpm.engine.impl.persistence.entity.ProcessDefinitionEntity;
+import org.camunda.bpm.qa.performance.engine.jmh.BenchmarkFixtures;
+import org.camunda.bpm.qa.performance.engine.jmh.BenchmarkProcessEngine;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+/**
+ * Measures how long it takes to parse a BPMN 2.0 XML into process definitions,
+ * including schema validation and the parse listeners of the process engine.
+ */
+@State(Scope.Benchmark)
+public class BpmnParseBenchmark {
+
+  @Param({"10", "100"})
+  public int numberOfServiceTasks;
+
+  protected ProcessEngine processEngine;
+  protected CommandExecutor commandExecutor;
+  protected BpmnParser bpmnParser;
+  protected byte[] bpmnXml;
+
+  @Setup
+  public void createProcessEngine() {
+    processEngine = BenchmarkProcessEngine.createProcessEngine();
+
+    ProcessEngineConfigurationImpl processEngineConfiguration = (ProcessEngineConfigurationImpl) processEngine.getProcessEngineConfiguration();
+    commandExecutor = processEngineConfiguration.getCommandExecutorTxRequired();
+    for (Deployer deployer : processEngineConfiguration.getDeployers()) {
+      if (deployer instanceof BpmnDeployer) {
+        bpmnParser = ((BpmnDeployer) deployer).getBpmnParser();
+      }
+    }
+
+    bpmnXml = BenchmarkFixtures.createProcessModelXml(numberOfServiceTasks);
+  }
+
+  @TearDown
+  public void closeProcessEngine() {
+    processEngine.close();
+  }
+
+  @Benchmark
+  public List<ProcessDefinitionEntity> parse() {
+    return commandExecutor.execute(new Command<List<ProcessDefinitionEntity>>() {
+      public List<ProcessDefinitionEntity> execute(CommandContext commandContext) {
+        DeploymentEntity deployment = new DeploymentEntity();
+        deployment.setId("benchmarkDeployment");
+
+        BpmnParse bpmnParse = bpmnParser
+          .createParse()
+          .sourceInputStream(new ByteArrayInputStream(bpmnXml))
+          .deployment(deployment)
+          .name("benchmark.bpmn");
+        bpmnParse.execute();
+
+        return bpmnParse.getProcessDefinitions();
+      }
+    });
+  }
+
+}
@@ -0,0 +1,58 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.qa.performance.engine.jmh.benchmark;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.camunda.bpm.engine.impl.db.DbEntity;
+import org.camunda.bpm.engine.impl.db.entitymanager.cache.DbEntityCache;
+import org.camunda.bpm.engine.impl.persistence.entity.ExecutionEntity;
+import org.camunda.bpm.qa.performance.engine.jmh.BenchmarkFixtures;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Measures how long it takes to put loaded entities into the first level cache,
+ * which determines their references and copies their persistent state.
+ */
+@State(Scope.Benchmark)
+public class DbEntityCacheBenchmark {
+
+  @Param({"10", "100", "1000"})
+  public int numberOfEntities;
+
+  protected List<DbEntity> entities;
+
+  @Setup
+  public void createEntities() {
+    List<ExecutionEntity> executions = BenchmarkFixtures.createExecutions(numberOfEntities);
+
+    entities = new ArrayList<DbEntity>();
+    entities.addAll(executions);
+    entities.addAll(BenchmarkFixtures.createVariables(executions));
+  }
+
+  @Benchmark
+  public DbEntityCache putPersistent() {
+    DbEntityCache entityCache = new DbEntityCache();
+    for (DbEntity entity : entities) {
+      entityCache.putPersistent(entity);
+    }
+    return entityCache;
+  }
+
+}
@@ -0,0 +1,53 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.qa.performance.engine.jmh.benchmark;
+
+import java.util.List;
+
+import org.camunda.bpm.engine.impl.db.entitymanager.operation.DbEntityOperation;
+import org.camunda.bpm.engine.impl.db.entitymanager.operation.DbOperation;
+import org.camunda.bpm.engine.impl.db.entitymanager.operation.DbOperationManager;
+import org.camunda.bpm.qa.performance.engine.jmh.BenchmarkFixtures;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Measures how long it takes to order the operations of a flush, including
+ * the reordering of self-referencing inserts.
+ */
+@State(Scope.Benchmark)
+public class DbOperationManagerBenchmark {
+
+  @Param({"10", "100", "1000"})
+  public int numberOfEntities;
+
+  protected List<DbEntityOperation> operations;
+
+  @Setup
+  public void createOperations() {
+    operations = BenchmarkFixtures.createFlushOperations(numberOfEntities);
+  }
+
+  @Benchmark
+  public List<DbOperation> calculateFlush() {
+    DbOperationManager operationManager = new DbOperationManager();
+    for (DbEntityOperation operation : operations) {
+      operationManager.addOperation(operation);
+    }
+    return operationManager.calculateFlush();
+  }
+
+}
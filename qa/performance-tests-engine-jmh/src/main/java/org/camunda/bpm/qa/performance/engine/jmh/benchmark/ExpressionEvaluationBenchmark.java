@@ -0,0 +1,61 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.qa.performance.engine.jmh.benchmark;
+
+import org.camunda.bpm.engine.impl.el.ExpressionManager;
+import org.camunda.bpm.engine.impl.javax.el.ValueExpression;
+import org.camunda.bpm.engine.variable.Variables;
+import org.camunda.bpm.engine.variable.context.VariableContext;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Measures how long it takes to evaluate a parsed JUEL expression against
+ * a set of variables, like a condition on a sequence flow.
+ */
+@State(Scope.Benchmark)
+public class ExpressionEvaluationBenchmark {
+
+  @Param({
+    "${approved}",
+    "${amount * 2 > limit && approved}",
+    "${customer.name == 'demo' || amount >= limit}"
+  })
+  public String expressionText;
+
+  protected ExpressionManager expressionManager;
+  protected ValueExpression expression;
+  protected VariableContext variables;
+
+  @Setup
+  public void createExpression() {
+    expressionManager = new ExpressionManager();
+    expression = expressionManager.createValueExpression(expressionText);
+
+    variables = Variables.createVariables()
+      .putValue("approved", true)
+      .putValue("amount", 750)
+      .putValue("limit", 1000)
+      .putValue("customer", Variables.createVariables().putValue("name", "demo"))
+      .asVariableContext();
+  }
+
+  @Benchmark
+  public Object evaluate() {
+    return expression.getValue(expressionManager.createElContext(variables));
+  }
+
+}
@@ -0,0 +1,49 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.qa.performance.engine.jmh.benchmark;
+
+import org.camunda.bpm.engine.impl.pvm.PvmProcessDefinition;
+import org.camunda.bpm.engine.impl.pvm.PvmProcessInstance;
+import org.camunda.bpm.qa.performance.engine.jmh.BenchmarkFixtures;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Measures the atomic operation loop of the process virtual machine by running
+ * an in-memory process instance through a sequence of activities. No database
+ * is involved.
+ */
+@State(Scope.Benchmark)
+public class PvmAtomicOperationBenchmark {
+
+  @Param({"10", "100"})
+  public int numberOfActivities;
+
+  protected PvmProcessDefinition processDefinition;
+
+  @Setup
+  public void createProcessDefinition() {
+    processDefinition = BenchmarkFixtures.createSequence(numberOfActivities);
+  }
+
+  @Benchmark
+  public PvmProcessInstance runSequence() {
+    PvmProcessInstance processInstance = processDefinition.createProcessInstance();
+    processInstance.start();
+    return processInstance;
+  }
+
+}
@@ -0,0 +1,78 @@
+/* Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.camunda.bpm.qa.performance.engine.jmh.benchmark;
+
+import java.util.Date;
+
+import org.camunda.bpm.engine.ProcessEngine;
+import org.camunda.bpm.engine.impl.cfg.ProcessEngineConfigurationImpl;
+import org.camunda.bpm.engine.impl.variable.serializer.TypedValueSerializer;
+import org.camunda.bpm.engine.impl.variable.serializer.VariableSerializers;
+import org.camunda.bpm.engine.variable.Variables;
+import org.camunda.bpm.engine.variable.value.TypedValue;
+import org.camunda.bpm.qa.performance.engine.jmh.BenchmarkProcessEngine;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+/**
+ * Measures how long it takes to find the serializer for a variable value with
+ * the serializers registered by the process engine. Untyped values have to be
+ * offered to the serializers one after another.
+ */
+@State(Scope.Benchmark)
+public class VariableSerializerLookupBenchmark {
+
+  @Param({"typedString", "untypedString", "untypedLong", "untypedDate", "untypedNull"})
+  public String valueType;
+
+  protected ProcessEngine processEngine;
+  protected VariableSerializers variableSerializers;
+  protected TypedValue value;
+
+  @Setup
+  public void createValue() {
+    processEngine = BenchmarkProcessEngine.createProcessEngine();
+    variableSerializers = ((ProcessEngineConfigurationImpl) processEngine.getProcessEngineConfiguration()).getVariableSerializers();
+
+    if ("typedString".equals(valueType)) {
+      value = Variables.stringValue("value");
+    }
+    else if ("untypedString".equals(valueType)) {
+      value = Variables.untypedValue("value");
+    }
+    else if ("untypedLong".equals(valueType)) {
+      value = Variables.untypedValue(42L);
+    }
+    else if ("untypedDate".equals(valueType)) {
+      value = Variables.untypedValue(new Date(0));
+    }
+    else {
+      value = Variables.untypedNullValue();
+    }
+  }
+
+  @TearDown
+  public void closeProcessEngine() {
+    processEngine.close();
+  }
+
+  @Benchmark
+  public TypedValueSerializer<?> findSerializerForValue() {
+    return variableSerializers.findSerializerForValue(value);
+  }
+
+}